@@ -37,19 +37,30 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String PREFETCH_BATCHES_FOR_BATCH_SCANNER = "accumulo.prefetchBatchesForBatchScanner";
+    public static final String PREFETCH_THREADS_FOR_BATCH_SCANNER = "accumulo.prefetchThreadsForBatchScanner";
+    public static final String MAX_SEEN_VERTICES_IN_MEMORY = "accumulo.maxSeenVerticesInMemory";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String NUM_THREADS_FOR_INGEST = "accumulo.numThreadsForIngest";
+    public static final String ELEMENTS_PER_INGEST_BATCH = "accumulo.elementsPerIngestBatch";
+    public static final String DEAD_LETTER_SINK_CLASS = "accumulo.deadLetterSinkClass";
     public static final String SPLITS_FILE_PATH = "accumulo.splits.file.path";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String NUM_THREADS_FOR_INGEST_DEFAULT = "1";
+    private static final String ELEMENTS_PER_INGEST_BATCH_DEFAULT = "1000";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String PREFETCH_BATCHES_FOR_BATCH_SCANNER_DEFAULT = "0";
+    private static final String PREFETCH_THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
+    private static final String MAX_SEEN_VERTICES_IN_MEMORY_DEFAULT = "1000000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
@@ -118,6 +129,69 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * mutations when adding elements. If this is 1 the elements are converted
+     * on the thread adding the elements.
+     *
+     * @return The number of threads to use to convert elements into mutations
+     */
+    public int getNumThreadsForIngest() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_INGEST, NUM_THREADS_FOR_INGEST_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * mutations when adding elements.
+     *
+     * @param numThreadsForIngest the number of threads to use to convert elements into mutations
+     */
+    public void setNumThreadsForIngest(final String numThreadsForIngest) {
+        set(NUM_THREADS_FOR_INGEST, numThreadsForIngest);
+    }
+
+    /**
+     * Gets the number of elements that are converted into mutations together
+     * when adding elements. Mutations for the same row within a batch are
+     * combined.
+     *
+     * @return The number of elements in each batch
+     */
+    public int getElementsPerIngestBatch() {
+        return Integer.parseInt(get(ELEMENTS_PER_INGEST_BATCH, ELEMENTS_PER_INGEST_BATCH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements that are converted into mutations together
+     * when adding elements.
+     *
+     * @param elementsPerIngestBatch the number of elements in each batch
+     */
+    public void setElementsPerIngestBatch(final String elementsPerIngestBatch) {
+        set(ELEMENTS_PER_INGEST_BATCH, elementsPerIngestBatch);
+    }
+
+    /**
+     * Gets the class name of the {@link gaffer.accumulostore.utils.DeadLetterSink}
+     * that elements which could not be added are passed to.
+     *
+     * @return The dead letter sink class name, or null if failed elements are
+     * only logged
+     */
+    public String getDeadLetterSinkClass() {
+        return get(DEAD_LETTER_SINK_CLASS, null);
+    }
+
+    /**
+     * Sets the class name of the {@link gaffer.accumulostore.utils.DeadLetterSink}
+     * that elements which could not be added are passed to.
+     *
+     * @param deadLetterSinkClass the dead letter sink class name
+     */
+    public void setDeadLetterSinkClass(final String deadLetterSinkClass) {
+        set(DEAD_LETTER_SINK_CLASS, deadLetterSinkClass);
+    }
+
     /**
      * Get the list of Zookeeper servers.
      *
@@ -248,6 +322,72 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of batches of seeds that should be prepared and sent to
+     * the batch scanner ahead of the batch currently being read. If this is 0
+     * then the next batch is only started once the current batch has been
+     * fully read.
+     *
+     * @return An integer representing the number of batches to prefetch
+     */
+    public int getPrefetchBatchesForBatchScanner() {
+        return Integer.parseInt(get(PREFETCH_BATCHES_FOR_BATCH_SCANNER, PREFETCH_BATCHES_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the number of batches of seeds that should be prepared and sent to
+     * the batch scanner ahead of the batch currently being read.
+     *
+     * @param prefetchBatchesForBatchScanner the number of batches to prefetch
+     */
+    public void setPrefetchBatchesForBatchScanner(final String prefetchBatchesForBatchScanner) {
+        set(PREFETCH_BATCHES_FOR_BATCH_SCANNER, prefetchBatchesForBatchScanner);
+    }
+
+    /**
+     * Get the maximum number of threads that may prefetch batches for the
+     * batch scanner at any one time. If all of these threads are busy then
+     * new retrievers create their batches without prefetching. The threads
+     * are shared by all stores in the JVM, so the pool is sized by the first
+     * store to use it.
+     *
+     * @return An integer representing the number of prefetch threads
+     */
+    public int getPrefetchThreadsForBatchScanner() {
+        return Integer.parseInt(get(PREFETCH_THREADS_FOR_BATCH_SCANNER, PREFETCH_THREADS_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of threads that may prefetch batches for the
+     * batch scanner at any one time.
+     *
+     * @param prefetchThreadsForBatchScanner the number of prefetch threads
+     */
+    public void setPrefetchThreadsForBatchScanner(final String prefetchThreadsForBatchScanner) {
+        set(PREFETCH_THREADS_FOR_BATCH_SCANNER, prefetchThreadsForBatchScanner);
+    }
+
+    /**
+     * Get the number of adjacent vertices that are held in memory when
+     * deduplicating adjacent entity seeds on the client. Once this many
+     * vertices have been seen they are spilled to local disk.
+     *
+     * @return An integer representing the number of seen vertices to hold in memory
+     */
+    public int getMaxSeenVerticesInMemory() {
+        return Integer.parseInt(get(MAX_SEEN_VERTICES_IN_MEMORY, MAX_SEEN_VERTICES_IN_MEMORY_DEFAULT));
+    }
+
+    /**
+     * Set the number of adjacent vertices that are held in memory when
+     * deduplicating adjacent entity seeds on the client.
+     *
+     * @param maxSeenVerticesInMemory the number of seen vertices to hold in memory
+     */
+    public void setMaxSeenVerticesInMemory(final String maxSeenVerticesInMemory) {
+        set(MAX_SEEN_VERTICES_IN_MEMORY, maxSeenVerticesInMemory);
+    }
+
     /**
      * Get the size that should be used for the creation of bloom filters on the
      * client side
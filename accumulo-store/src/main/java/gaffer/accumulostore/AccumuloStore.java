@@ -19,9 +19,10 @@ package gaffer.accumulostore;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.inputformat.ElementInputFormat;
 import gaffer.accumulostore.key.AccumuloKeyPackage;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.operation.handler.AccumuloGetKHopEntitySeedsHandler;
 import gaffer.accumulostore.operation.handler.AddElementsHandler;
+import gaffer.accumulostore.operation.handler.AddElementsWithIngestResultHandler;
 import gaffer.accumulostore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.accumulostore.operation.handler.GetAllElementsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
@@ -36,6 +37,7 @@ import gaffer.accumulostore.operation.hdfs.handler.SplitTableHandler;
 import gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
 import gaffer.accumulostore.operation.hdfs.operation.SampleDataForSplitPoints;
 import gaffer.accumulostore.operation.hdfs.operation.SplitTable;
+import gaffer.accumulostore.operation.impl.AddElementsWithIngestResult;
 import gaffer.accumulostore.operation.impl.GetEdgesBetweenSets;
 import gaffer.accumulostore.operation.impl.GetEdgesInRanges;
 import gaffer.accumulostore.operation.impl.GetEdgesWithinSet;
@@ -48,7 +50,9 @@ import gaffer.accumulostore.operation.spark.handler.GetDataFrameOfElementsOperat
 import gaffer.accumulostore.operation.spark.handler.GetJavaRDDOfElementsOperationHandler;
 import gaffer.accumulostore.operation.spark.handler.GetRDDOfAllElementsOperationHandler;
 import gaffer.accumulostore.operation.spark.handler.GetRDDOfElementsOperationHandler;
-import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.AccumuloElementWriter;
+import gaffer.accumulostore.utils.DeadLetterSink;
+import gaffer.accumulostore.utils.IngestResult;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
@@ -61,6 +65,7 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetKHopEntitySeeds;
 import gaffer.operation.simple.hdfs.operation.AddElementsFromHdfs;
 import gaffer.operation.simple.spark.GetDataFrameOfElements;
 import gaffer.operation.simple.spark.GetJavaRDDOfElements;
@@ -82,10 +87,6 @@ import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
-import org.apache.accumulo.core.data.Key;
-import org.apache.accumulo.core.data.Mutation;
-import org.apache.accumulo.core.data.Value;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.apache.hadoop.conf.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,6 +117,7 @@ public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(AGGREGATION, PRE_AGGREGATION_FILTERING, POST_AGGREGATION_FILTERING, POST_TRANSFORMATION_FILTERING, TRANSFORMATION, STORE_VALIDATION, ORDERED));
     private AccumuloKeyPackage keyPackage;
+    private DeadLetterSink deadLetterSink;
     private Connector connection = null;
 
     @Override
@@ -129,6 +131,16 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass);
         }
         this.keyPackage.setSchema(schema);
+        final String deadLetterSinkClass = getProperties().getDeadLetterSinkClass();
+        if (null != deadLetterSinkClass) {
+            try {
+                this.deadLetterSink = Class.forName(deadLetterSinkClass).asSubclass(DeadLetterSink.class).newInstance();
+            } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+                throw new StoreException("Unable to construct an instance of dead letter sink: " + deadLetterSinkClass);
+            }
+        } else {
+            this.deadLetterSink = null;
+        }
         TableUtils.ensureTableExists(this);
     }
 
@@ -220,6 +232,7 @@ public class AccumuloStore extends Store {
 
     @Override
     protected void addAdditionalOperationHandlers() {
+        addOperationHandler(AddElementsWithIngestResult.class, new AddElementsWithIngestResultHandler());
         addOperationHandler(AddElementsFromHdfs.class, new AddElementsFromHdfsHandler());
         addOperationHandler(GetEdgesBetweenSets.class, new GetElementsBetweenSetsHandler());
         addOperationHandler(GetElementsBetweenSets.class, new GetElementsBetweenSetsHandler());
@@ -253,6 +266,11 @@ public class AccumuloStore extends Store {
         return new GetAdjacentEntitySeedsHandler();
     }
 
+    @Override
+    protected OperationHandler<? extends GetKHopEntitySeeds, CloseableIterable<EntitySeed>> getKHopEntitySeedsHandler() {
+        return new AccumuloGetKHopEntitySeedsHandler();
+    }
+
     @Override
     protected OperationHandler<? extends AddElements, Void> getAddElementsHandler() {
         return new AddElementsHandler();
@@ -267,64 +285,58 @@ public class AccumuloStore extends Store {
      * Method to add {@link Element}s into Accumulo
      *
      * @param elements the elements to be added
+     * @return the counts of the elements that were added and that failed
      * @throws StoreException failure to insert the elements into a table
      */
-    public void addElements(final Iterable<Element> elements) throws StoreException {
-        insertGraphElements(elements);
+    public IngestResult addElements(final Iterable<Element> elements) throws StoreException {
+        return insertGraphElements(elements);
     }
 
-    protected void insertGraphElements(final Iterable<Element> elements) throws StoreException {
+    protected IngestResult insertGraphElements(final Iterable<Element> elements) throws StoreException {
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
+        // Convert the elements to mutations, on a pool of threads if
+        // configured, and add them to the BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        for (final Element element : elements) {
-            final Pair<Key> keys;
-            try {
-                keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-            } catch (final AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
-                        + " when trying to insert elements");
-                continue;
-            }
-            final Value value;
-            try {
-                value = keyPackage.getKeyConverter().getValueFromElement(element);
-            } catch (final AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
-                        + " when trying to insert elements");
-                continue;
-            }
-            final Mutation m = new Mutation(keys.getFirst().getRow());
-            m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                    new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-            try {
-                writer.addMutation(m);
-            } catch (final MutationsRejectedException e) {
-                LOGGER.error("Failed to create an accumulo key mutation");
-                continue;
-            }
-            // If the GraphElement is a Vertex then there will only be 1 key,
-            // and the second will be null.
-            // If the GraphElement is an Edge then there will be 2 keys.
-            if (keys.getSecond() != null) {
-                final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                        new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                        value);
-                try {
-                    writer.addMutation(m2);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                }
-            }
+        final IngestResult result;
+        try {
+            result = new AccumuloElementWriter(keyPackage.getKeyConverter(), writer,
+                    getProperties().getNumThreadsForIngest(), getProperties().getElementsPerIngestBatch(),
+                    deadLetterSink)
+                    .write(elements);
+        } catch (final StoreException e) {
+            closeBatchWriter(writer);
+            throw e;
         }
+
+        if (result.isBatchWriterFailed()) {
+            closeBatchWriter(writer);
+            LOGGER.error("Failed to add elements: {}", result);
+            throw new StoreException("Accumulo batch writer rejected mutations, some elements may not have been added");
+        }
+
+        if (!closeBatchWriter(writer)) {
+            result.setBatchWriterFailed(true);
+            LOGGER.error("Failed to add elements: {}", result);
+            throw new StoreException("Accumulo batch writer rejected mutations when it was closed, some elements may not have been added");
+        }
+
+        if (result.hasFailures()) {
+            LOGGER.warn("Added elements with failures: {}", result);
+        } else {
+            LOGGER.debug("Added elements: {}", result);
+        }
+        return result;
+    }
+
+    private boolean closeBatchWriter(final BatchWriter writer) {
         try {
             writer.close();
+            return true;
         } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            LOGGER.error("Accumulo batch writer failed to close", e);
+            return false;
         }
     }
 
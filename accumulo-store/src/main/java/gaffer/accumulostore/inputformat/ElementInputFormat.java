@@ -20,7 +20,8 @@ import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.AccumuloKeyPackage;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
-import gaffer.commonutil.CommonConstants;
+import gaffer.accumulostore.utils.IteratorCache;
+import gaffer.accumulostore.utils.PropertyProjection;
 import gaffer.data.element.Element;
 import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.exception.SchemaException;
@@ -52,6 +53,7 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
     public static final String KEY_PACKAGE = "KEY_PACKAGE";
     public static final String SCHEMA = AccumuloStoreConstants.SCHEMA;
     public static final String VIEW = AccumuloStoreConstants.VIEW;
+    public static final String POPULATE_PROPERTIES = AccumuloStoreConstants.POPULATE_PROPERTIES;
 
     @Override
     public RecordReader<Element, NullWritable> createRecordReader(final InputSplit split, final TaskAttemptContext context)
@@ -59,10 +61,11 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
         log.setLevel(getLogLevel(context));
         final Configuration conf = context.getConfiguration();
         final String keyPackageClass = conf.get(KEY_PACKAGE);
-        final Schema schema = Schema.fromJson(conf.get(SCHEMA).getBytes(CommonConstants.UTF_8));
-        final View view = View.fromJson(conf.get(VIEW).getBytes(CommonConstants.UTF_8));
+        final Schema schema = IteratorCache.getSchema(conf.get(SCHEMA));
+        final View view = IteratorCache.getView(conf.get(VIEW));
+        final boolean populateProperties = conf.getBoolean(POPULATE_PROPERTIES, true);
         try {
-            return new ElementWithPropertiesRecordReader(keyPackageClass, schema, view);
+            return new ElementWithPropertiesRecordReader(keyPackageClass, schema, view, populateProperties);
         } catch (final StoreException | SchemaException | SerialisationException e) {
             throw new IOException("Exception creating RecordReader", e);
         }
@@ -72,8 +75,10 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
 
         private AccumuloElementConverter converter;
         private View view;
+        private PropertyProjection projection;
 
-        ElementWithPropertiesRecordReader(final String keyPackageClass, final Schema schema, final View view)
+        ElementWithPropertiesRecordReader(final String keyPackageClass, final Schema schema, final View view,
+                                          final boolean populateProperties)
                 throws StoreException, SchemaException, SerialisationException, UnsupportedEncodingException {
             super();
             final AccumuloKeyPackage keyPackage;
@@ -85,6 +90,7 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
             keyPackage.setSchema(schema);
             this.converter = keyPackage.getKeyConverter();
             this.view = view;
+            this.projection = new PropertyProjection(view, populateProperties);
         }
 
         @Override
@@ -93,7 +99,8 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
                 ++numKeysRead;
                 final Map.Entry<Key, Value> entry = scannerIterator.next();
                 try {
-                    currentK = converter.getFullElement(entry.getKey(), entry.getValue());
+                    // Only deserialise the properties required by the view
+                    currentK = converter.getFullElement(entry.getKey(), entry.getValue(), null, projection);
                     final ViewElementDefinition viewDef = view.getElement(currentK.getGroup());
                     if (viewDef != null) {
                         final ElementTransformer transformer = viewDef.getTransformer();
@@ -101,6 +108,7 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
                             transformer.transform(currentK);
                         }
                     }
+                    projection.project(currentK);
                     currentV = NullWritable.get();
                 } catch (final AccumuloElementConversionException e) {
                     throw new IOException("Exception converting the key-value to an Element:", e);
@@ -20,25 +20,23 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.ElementFilterException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
-import gaffer.commonutil.CommonConstants;
+import gaffer.accumulostore.utils.IteratorCache;
 import gaffer.data.element.Element;
-import gaffer.data.elementdefinition.exception.SchemaException;
-import gaffer.data.elementdefinition.view.View;
 import gaffer.store.ElementValidator;
-import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.Filter;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 /**
  * The AbstractElementFilter will filter out {@link Element}s based on the filtering
- * instructions given in the {@link View} that is passed to this iterator
+ * instructions given in the {@link View} that is passed to this iterator.
+ * The elements are lazily loaded, so only the identifiers and properties that
+ * the filter functions select are deserialised.
  */
 public abstract class AbstractElementFilter extends Filter {
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "validator is initialised in validateOptions method, which is always called first")
@@ -50,7 +48,7 @@ public abstract class AbstractElementFilter extends Filter {
     public boolean accept(final Key key, final Value value) {
         final Element element;
         try {
-            element = elementConverter.getFullElement(key, value);
+            element = elementConverter.getLazyElement(key, value, null);
         } catch (final AccumuloElementConversionException e) {
             throw new ElementFilterException(
                     "Element filter iterator failed to create an element from an accumulo key value pair", e);
@@ -79,18 +77,10 @@ public abstract class AbstractElementFilter extends Filter {
 
         validator = getElementValidator(options);
 
-        final Schema schema;
         try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema from JSON", e);
-        }
-
-        try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
         } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new ElementFilterException("Failed to load element converter from class name provided : "
@@ -106,10 +96,6 @@ public abstract class AbstractElementFilter extends Filter {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
         }
 
-        try {
-            return new ElementValidator(View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8)));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise view from JSON", e);
-        }
+        return IteratorCache.getViewValidator(options.get(AccumuloStoreConstants.VIEW));
     }
 }
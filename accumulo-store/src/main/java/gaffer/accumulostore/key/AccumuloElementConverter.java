@@ -18,6 +18,7 @@ package gaffer.accumulostore.key;
 
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.PropertyProjection;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
@@ -25,6 +26,7 @@ import gaffer.data.element.Properties;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
@@ -101,6 +103,20 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException;
 
+    /**
+     * Returns a copy of an Accumulo {@link Value} that only contains the given
+     * properties. The other properties are replaced with empty entries, so
+     * the returned value can be converted in the same way as the original.
+     *
+     * @param group      the element group
+     * @param value      the Value containing the serialised properties
+     * @param properties the properties to keep, or null to keep all properties
+     * @return a {@link Value} containing only the given properties
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Value projectValue(final String group, final Value value, final Set<String> properties)
+            throws AccumuloElementConversionException;
+
     /**
      * Gets a new {@link Element} from an Accumulo {@link Key}.
      *
@@ -149,6 +165,38 @@ public interface AccumuloElementConverter {
     Element getFullElement(final Key key, final Value value, final Map<String, String> options)
             throws AccumuloElementConversionException;
 
+    /**
+     * Returns an {@link Element} populated with the properties defined within
+     * the {@link Key} and {@link Value} that are required by the given
+     * {@link PropertyProjection}. The other properties are not deserialised.
+     *
+     * @param key        the accumulo Key containing serialised parts of the Element
+     * @param value      the accumulo Value containing serialised properties of the Element
+     * @param options    operation options
+     * @param projection the properties required for each group, or null if all properties are required
+     * @return Returns an {@link Element} populated with the required properties defined within the {@link Key}
+     * and {@link Value}
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getFullElement(final Key key, final Value value, final Map<String, String> options,
+                           final PropertyProjection projection)
+            throws AccumuloElementConversionException;
+
+    /**
+     * Returns a lazy {@link Element} that only deserialises its identifiers
+     * and properties from the {@link Key} and {@link Value} when they are
+     * requested. This avoids deserialising the whole element when only a few
+     * of its properties are needed, for example to filter it.
+     *
+     * @param key     the accumulo Key containing serialised parts of the Element
+     * @param value   the accumulo Value containing serialised properties of the Element
+     * @param options operation options
+     * @return Returns a lazy {@link Element} backed by the {@link Key} and {@link Value}
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException;
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link gaffer.operation.data.EntitySeed} ) with the Identifier
@@ -160,6 +208,27 @@ public interface AccumuloElementConverter {
      */
     byte[] serialiseVertex(final Object vertex) throws AccumuloElementConversionException;
 
+    /**
+     * Deserialises a vertex that was serialised with the Identifier Serialiser
+     * defined in the schema, e.g. by {@link #getAdjacentVertexBytesFromKey(Key)}.
+     *
+     * @param bytes the serialised vertex, without any escaping
+     * @return the deserialised vertex
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Object deserialiseVertex(final byte[] bytes) throws AccumuloElementConversionException;
+
+    /**
+     * Gets the serialised vertex at the far end of the edge represented by the
+     * given {@link Key}, i.e. the vertex that is not the one the row key starts
+     * with. Only the row key is read, nothing is deserialised.
+     *
+     * @param key the accumulo Key of an edge
+     * @return the serialised adjacent vertex, without any escaping
+     * @throws AccumuloElementConversionException If the key does not represent an edge
+     */
+    byte[] getAdjacentVertexBytesFromKey(final Key key) throws AccumuloElementConversionException;
+
     /**
      * Creates a byte array representing a set of
      * {@link gaffer.data.element.Properties} that are to be stored in the
@@ -140,6 +140,37 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getElementPropertyRangeQueryFilter(GetOperation<?, ?> operation);
 
+    /**
+     * Returns an {@link IteratorSetting} for an Iterator that removes the
+     * properties that are not required by the operation from the values
+     * returned by a scan. This method returns null if the operation requires
+     * all properties.
+     *
+     * @param operation the operation to get the IteratorSetting for
+     * @param store     the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator that will only return the
+     * properties required by the operation, or null if all properties are required
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getPropertyProjectionIteratorSetting(final GetOperation<?, ?> operation, final AccumuloStore store)
+            throws IteratorSettingException;
+
+    /**
+     * Returns an {@link IteratorSetting} for an Iterator that replaces the
+     * value of each edge returned by a scan with the serialised vertex at the
+     * far end of the edge, i.e. the vertex that is not the one the row was
+     * matched on. If <code>deduplicate</code> is true each tablet server only
+     * returns the first edge it finds for each adjacent vertex.
+     *
+     * @param store       the accumulo store
+     * @param deduplicate true if duplicate adjacent vertices should be removed
+     * @return A new {@link IteratorSetting} for an Iterator that will only return the
+     * adjacent vertices
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getAdjacentVertexIteratorSetting(final AccumuloStore store, final boolean deduplicate)
+            throws IteratorSettingException;
+
     /**
      * Returns the iterator settings for a given iterator name. Allowed iterator
      * names are: Aggregator, Validator and Bloom_Filter.
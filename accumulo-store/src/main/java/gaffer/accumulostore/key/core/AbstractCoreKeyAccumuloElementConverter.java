@@ -20,13 +20,17 @@ import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.PropertyProjection;
 import gaffer.commonutil.ByteArrayEscapeUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
 import gaffer.data.element.Properties;
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetDeserialisation;
 import gaffer.serialisation.Serialisation;
 import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 import gaffer.store.schema.Schema;
@@ -38,10 +42,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
+    private static final Map<String, String> MATCHED_VERTEX_AS_SOURCE = Collections.singletonMap(
+            AccumuloStoreConstants.OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE, "true");
+
     protected final Schema schema;
 
     public AbstractCoreKeyAccumuloElementConverter(final Schema schema) {
@@ -146,43 +155,52 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     public Properties getPropertiesFromValue(final String group, final Value value)
             throws AccumuloElementConversionException {
         final Properties properties = new Properties();
-        if (value == null || value.getSize() == 0) {
-            return properties;
+        addPropertiesFromValue(group, value, properties);
+        return properties;
+    }
+
+    @Override
+    public Value projectValue(final String group, final Value value, final Set<String> properties)
+            throws AccumuloElementConversionException {
+        if (null == properties || value == null || value.getSize() == 0) {
+            return value;
         }
-        final byte[] bytes = value.get();
-        int lastDelimiter = 0;
-        final int arrayLength = bytes.length;
-        long currentPropLength;
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
         }
+
+        final byte[] bytes = value.get();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        boolean hasValue = false;
+        int lastDelimiter = 0;
+        final int arrayLength = bytes.length;
         final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
         while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
             final String propertyName = propertyNames.next();
-            TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             if (typeDefinition != null && isStoredInValue(propertyName, elementDefinition)) {
-                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                final byte[] length = new byte[numBytesForLength];
-                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-                try {
-                    currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Exception reading length of property");
-                }
-                lastDelimiter += numBytesForLength;
-                if (currentPropLength > 0) {
+                final int propLength = (int) readPropertyLength(bytes, lastDelimiter);
+                final int propOffset = lastDelimiter + CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
+                final int nextDelimiter = propLength > 0 ? propOffset + propLength : propOffset;
+                if (propLength > 0 && properties.contains(propertyName)) {
+                    hasValue = true;
+                    out.write(bytes, lastDelimiter, nextDelimiter - lastDelimiter);
+                } else {
                     try {
-                        properties.put(propertyName, typeDefinition.getSerialiser()
-                                .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
-                    } catch (SerialisationException e) {
-                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                        CompactRawSerialisationUtils.write(0L, out);
+                    } catch (final IOException e) {
+                        throw new AccumuloElementConversionException("Failed to write empty property to ByteArrayOutputStream" + propertyName, e);
                     }
                 }
+                lastDelimiter = nextDelimiter;
             }
         }
 
-        return properties;
+        if (!hasValue) {
+            return new Value();
+        }
+        return new Value(out.toByteArray());
     }
 
     @Override
@@ -193,11 +211,31 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Element getElementFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException {
+        return getElementFromKey(key, options, null);
+    }
+
+    /**
+     * Gets a new {@link Element} from an Accumulo {@link Key}, only
+     * deserialising the properties in the key that are required.
+     *
+     * @param key                the Key containing serialised parts of the Element
+     * @param options            operation options
+     * @param requiredProperties the properties to deserialise, or null to deserialise all properties
+     * @return A new {@link Element} including the required properties stored in the {@link Key}
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    protected Element getElementFromKey(final Key key, final Map<String, String> options,
+                                        final Set<String> requiredProperties)
+            throws AccumuloElementConversionException {
         final boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
+        final Element element;
         if (keyRepresentsEntity) {
-            return getEntityFromKey(key);
+            element = getEntityFromKey(key);
+        } else {
+            element = getEdgeFromKey(key, options);
         }
-        return getEdgeFromKey(key, options);
+        addPropertiesToElement(element, key, requiredProperties);
+        return element;
     }
 
     @Override
@@ -208,8 +246,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Element getFullElement(final Key key, final Value value, final Map<String, String> options)
             throws AccumuloElementConversionException {
-        final Element element = getElementFromKey(key, options);
-        element.copyProperties(getPropertiesFromValue(element.getGroup(), value));
+        return getFullElement(key, value, options, null);
+    }
+
+    @Override
+    public Element getFullElement(final Key key, final Value value, final Map<String, String> options,
+                                  final PropertyProjection projection)
+            throws AccumuloElementConversionException {
+        final Set<String> requiredProperties = null != projection
+                ? projection.getRequiredProperties(getGroupFromKey(key)) : null;
+        final Element element = getElementFromKey(key, options, requiredProperties);
+        addPropertiesFromValue(element.getGroup(), value, element.getProperties(), requiredProperties);
         return element;
     }
 
@@ -231,6 +278,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    @Override
+    public Element getLazyElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException {
+        final String group = getGroupFromKey(key);
+        final AccumuloElementValueLoader valueLoader = new AccumuloElementValueLoader(group, key, value, options, schema, this);
+        if (doesKeyRepresentEntity(key.getRowData().getBackingArray())) {
+            return new LazyEntity(new Entity(group), valueLoader);
+        }
+        return new LazyEdge(new Edge(group), valueLoader);
+    }
+
     @Override
     public byte[] buildColumnVisibility(final String group, final Properties properties)
             throws AccumuloElementConversionException {
@@ -328,44 +386,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes)
             throws AccumuloElementConversionException {
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-
         final Properties properties = new Properties();
-        if (bytes == null || bytes.length == 0) {
-            return properties;
-        }
-
-        int lastDelimiter = 0;
-        final int arrayLength = bytes.length;
-        long currentPropLength;
-        final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
-        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
-            final String propertyName = propertyNames.next();
-            TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            if (typeDefinition != null) {
-                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                final byte[] length = new byte[numBytesForLength];
-                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-                try {
-                    currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Exception reading length of property");
-                }
-                lastDelimiter += numBytesForLength;
-                if (currentPropLength > 0) {
-                    try {
-                        properties.put(propertyName, typeDefinition.getSerialiser()
-                                .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
-                    } catch (SerialisationException e) {
-                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
-                    }
-                }
-            }
-        }
-
+        addPropertiesFromColumnQualifier(group, bytes, properties);
         return properties;
     }
 
@@ -387,16 +409,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         long currentPropLength;
         int propIndex = 0;
         while (propIndex < numProps && lastDelimiter < arrayLength) {
-            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-            final byte[] length = new byte[numBytesForLength];
-            System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-            try {
-                currentPropLength = CompactRawSerialisationUtils.readLong(length);
-            } catch (final SerialisationException e) {
-                throw new AccumuloElementConversionException("Exception reading length of property");
-            }
-
-            lastDelimiter += numBytesForLength;
+            currentPropLength = readPropertyLength(bytes, lastDelimiter);
+            lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
             if (currentPropLength > 0) {
                 lastDelimiter += currentPropLength;
             }
@@ -458,6 +472,28 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    @Override
+    public Object deserialiseVertex(final byte[] bytes) throws AccumuloElementConversionException {
+        try {
+            return getVertexSerialiser().deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to deserialise vertex", e);
+        }
+    }
+
+    @Override
+    public byte[] getAdjacentVertexBytesFromKey(final Key key) throws AccumuloElementConversionException {
+        final byte[] row = key.getRowData().getBackingArray();
+        if (doesKeyRepresentEntity(row)) {
+            throw new AccumuloElementConversionException("Unable to get the adjacent vertex of an entity");
+        }
+
+        // With the matched vertex as the source the destination is always the adjacent vertex.
+        final byte[][] sourceDestValues = new byte[2][];
+        getSourceAndDestinationFromRowKey(row, sourceDestValues, MATCHED_VERTEX_AS_SOURCE);
+        return sourceDestValues[1];
+    }
+
     protected abstract byte[] getRowKeyFromEntity(final Entity entity) throws AccumuloElementConversionException;
 
     protected abstract Pair<byte[]> getRowKeysFromEdge(final Edge edge) throws AccumuloElementConversionException;
@@ -476,12 +512,132 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected void addPropertiesToElement(final Element element, final Key key)
             throws AccumuloElementConversionException {
-        element.copyProperties(
-                getPropertiesFromColumnQualifier(element.getGroup(), key.getColumnQualifierData().getBackingArray()));
-        element.copyProperties(
-                getPropertiesFromColumnVisibility(element.getGroup(), key.getColumnVisibilityData().getBackingArray()));
-        element.copyProperties(
-                getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp()));
+        addPropertiesToElement(element, key, null);
+    }
+
+    /**
+     * Deserialises the required properties stored in the {@link Key} and adds
+     * them to the element.
+     *
+     * @param element            the element to add the properties to
+     * @param key                the key to read the properties from
+     * @param requiredProperties the properties to deserialise, or null to deserialise all properties
+     * @throws AccumuloElementConversionException if the group is not in the schema or a property cannot be deserialised
+     */
+    protected void addPropertiesToElement(final Element element, final Key key, final Set<String> requiredProperties)
+            throws AccumuloElementConversionException {
+        addPropertiesFromColumnQualifier(element.getGroup(), key.getColumnQualifierData().getBackingArray(),
+                element.getProperties(), requiredProperties);
+        if (isRequired(schema.getVisibilityProperty(), requiredProperties)) {
+            element.copyProperties(
+                    getPropertiesFromColumnVisibility(element.getGroup(), key.getColumnVisibilityData().getBackingArray()));
+        }
+        if (isRequired(schema.getTimestampProperty(), requiredProperties)) {
+            element.copyProperties(
+                    getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp()));
+        }
+    }
+
+    /**
+     * Deserialises the properties stored in the {@link Value} and adds them to
+     * the supplied {@link Properties}. Each property is deserialised directly
+     * from the bytes of the value, without copying them into a new array.
+     *
+     * @param group      the group of the element the value belongs to
+     * @param value      the value to read the properties from
+     * @param properties the properties to add the deserialised properties to
+     * @throws AccumuloElementConversionException if the group is not in the schema or a property cannot be deserialised
+     */
+    protected void addPropertiesFromValue(final String group, final Value value, final Properties properties)
+            throws AccumuloElementConversionException {
+        addPropertiesFromValue(group, value, properties, null);
+    }
+
+    /**
+     * Deserialises the required properties stored in the {@link Value} and
+     * adds them to the supplied {@link Properties}. The other properties are
+     * skipped without being deserialised.
+     *
+     * @param group              the group of the element the value belongs to
+     * @param value              the value to read the properties from
+     * @param properties         the properties to add the deserialised properties to
+     * @param requiredProperties the properties to deserialise, or null to deserialise all properties
+     * @throws AccumuloElementConversionException if the group is not in the schema or a property cannot be deserialised
+     */
+    protected void addPropertiesFromValue(final String group, final Value value, final Properties properties,
+                                          final Set<String> requiredProperties)
+            throws AccumuloElementConversionException {
+        if (value == null || value.getSize() == 0) {
+            return;
+        }
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+
+        final byte[] bytes = value.get();
+        int lastDelimiter = 0;
+        final int arrayLength = bytes.length;
+        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
+            final String propertyName = propertyNames.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (typeDefinition != null && isStoredInValue(propertyName, elementDefinition)) {
+                lastDelimiter = addProperty(propertyName, typeDefinition, bytes, lastDelimiter, properties,
+                        isRequired(propertyName, requiredProperties));
+            }
+        }
+    }
+
+    /**
+     * Deserialises the group by properties stored in the column qualifier and
+     * adds them to the supplied {@link Properties}. Each property is
+     * deserialised directly from the bytes of the column qualifier, without
+     * copying them into a new array.
+     *
+     * @param group      the group of the element the column qualifier belongs to
+     * @param bytes      the column qualifier bytes
+     * @param properties the properties to add the deserialised properties to
+     * @throws AccumuloElementConversionException if the group is not in the schema or a property cannot be deserialised
+     */
+    protected void addPropertiesFromColumnQualifier(final String group, final byte[] bytes, final Properties properties)
+            throws AccumuloElementConversionException {
+        addPropertiesFromColumnQualifier(group, bytes, properties, null);
+    }
+
+    /**
+     * Deserialises the required group by properties stored in the column
+     * qualifier and adds them to the supplied {@link Properties}. The other
+     * properties are skipped without being deserialised.
+     *
+     * @param group              the group of the element the column qualifier belongs to
+     * @param bytes              the column qualifier bytes
+     * @param properties         the properties to add the deserialised properties to
+     * @param requiredProperties the properties to deserialise, or null to deserialise all properties
+     * @throws AccumuloElementConversionException if the group is not in the schema or a property cannot be deserialised
+     */
+    protected void addPropertiesFromColumnQualifier(final String group, final byte[] bytes, final Properties properties,
+                                                    final Set<String> requiredProperties)
+            throws AccumuloElementConversionException {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+        if (bytes == null || bytes.length == 0) {
+            return;
+        }
+
+        int lastDelimiter = 0;
+        final int arrayLength = bytes.length;
+        final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
+        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
+            final String propertyName = propertyNames.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (typeDefinition != null) {
+                lastDelimiter = addProperty(propertyName, typeDefinition, bytes, lastDelimiter, properties,
+                        isRequired(propertyName, requiredProperties));
+            }
+        }
     }
 
     protected Serialisation getVertexSerialiser() {
@@ -499,10 +655,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
             throw new AccumuloElementConversionException(e.getMessage(), e);
         }
         try {
-            final Edge edge = new Edge(group, getVertexSerialiser().deserialise(result[0]),
+            return new Edge(group, getVertexSerialiser().deserialise(result[0]),
                     getVertexSerialiser().deserialise(result[1]), directed);
-            addPropertiesToElement(edge, key);
-            return edge;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Edge from key", e);
         }
@@ -537,4 +691,57 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 && !propertyName.equals(schema.getVisibilityProperty())
                 && !propertyName.equals(schema.getTimestampProperty());
     }
+
+    /**
+     * Reads the length prefixed property starting at the given offset and, if
+     * it is not empty and is required, adds it to the properties.
+     *
+     * @param propertyName   the name of the property
+     * @param typeDefinition the type definition of the property
+     * @param bytes          the bytes containing the property
+     * @param offset         the offset of the length of the property
+     * @param properties     the properties to add the property to
+     * @param required       true if the property should be deserialised, false if it should be skipped
+     * @return the offset of the next property
+     * @throws AccumuloElementConversionException if the property cannot be deserialised
+     */
+    private int addProperty(final String propertyName, final TypeDefinition typeDefinition, final byte[] bytes,
+                            final int offset, final Properties properties, final boolean required)
+            throws AccumuloElementConversionException {
+        final int propLength = (int) readPropertyLength(bytes, offset);
+        final int propOffset = offset + CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+        if (propLength > 0) {
+            if (required) {
+                try {
+                    properties.put(propertyName, deserialise(typeDefinition.getSerialiser(), bytes, propOffset, propLength));
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                }
+            }
+            return propOffset + propLength;
+        }
+
+        return propOffset;
+    }
+
+    private boolean isRequired(final String propertyName, final Set<String> requiredProperties) {
+        return null == requiredProperties || requiredProperties.contains(propertyName);
+    }
+
+    private long readPropertyLength(final byte[] bytes, final int offset) throws AccumuloElementConversionException {
+        try {
+            return CompactRawSerialisationUtils.readLong(bytes, offset);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Exception reading length of property");
+        }
+    }
+
+    private Object deserialise(final Serialisation serialiser, final byte[] bytes, final int offset, final int length)
+            throws SerialisationException {
+        if (serialiser instanceof OffsetDeserialisation) {
+            return ((OffsetDeserialisation) serialiser).deserialise(bytes, offset, length);
+        }
+
+        return serialiser.deserialise(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
 }
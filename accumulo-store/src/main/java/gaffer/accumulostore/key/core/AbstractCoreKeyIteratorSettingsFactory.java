@@ -21,15 +21,19 @@ import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.key.impl.AdjacentVertexIterator;
 import gaffer.accumulostore.key.impl.AggregatorIterator;
 import gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import gaffer.accumulostore.key.impl.PropertyProjectionIterator;
 import gaffer.accumulostore.key.impl.RowIDAggregator;
 import gaffer.accumulostore.key.impl.ValidatorFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorSettingBuilder;
+import gaffer.accumulostore.utils.PropertyProjection;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.operation.GetOperation;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaEdgeDefinition;
 import gaffer.store.schema.SchemaEntityDefinition;
@@ -60,6 +64,32 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
     }
 
+    @Override
+    public IteratorSetting getPropertyProjectionIteratorSetting(final GetOperation<?, ?> operation, final AccumuloStore store)
+            throws IteratorSettingException {
+        if (!new PropertyProjection(operation).isProjecting()) {
+            return null;
+        }
+        return new IteratorSettingBuilder(AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_NAME, PropertyProjectionIterator.class)
+                .schema(store.getSchema())
+                .view(operation.getView())
+                .populateProperties(operation.isPopulateProperties())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getAdjacentVertexIteratorSetting(final AccumuloStore store, final boolean deduplicate)
+            throws IteratorSettingException {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME, AdjacentVertexIterator.class)
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .option(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES, String.valueOf(deduplicate))
+                .build();
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         return new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.data.element.ElementValueLoader;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.element.Properties;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An <code>AccumuloElementValueLoader</code> loads the identifiers and
+ * properties of a single element from an Accumulo {@link Key} and
+ * {@link Value} when they are requested. Each property is deserialised on its
+ * own, the other properties are skipped over without being deserialised.
+ * <p>
+ * This is used by the server side iterators, so it cannot be serialised.
+ *
+ * @see AbstractCoreKeyAccumuloElementConverter#getLazyElement(Key, Value, Map)
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The loader is only used within a single iterator and is never serialised")
+public class AccumuloElementValueLoader implements ElementValueLoader {
+    private static final long serialVersionUID = -1846592271950214742L;
+
+    private final String group;
+    private final transient Key key;
+    private final transient Value value;
+    private final transient Map<String, String> options;
+    private final transient Schema schema;
+    private final transient AbstractCoreKeyAccumuloElementConverter elementConverter;
+    private transient Element identifiers;
+
+    public AccumuloElementValueLoader(final String group, final Key key, final Value value,
+                                      final Map<String, String> options, final Schema schema,
+                                      final AbstractCoreKeyAccumuloElementConverter elementConverter) {
+        this.group = group;
+        this.key = key;
+        this.value = value;
+        this.options = options;
+        this.schema = schema;
+        this.elementConverter = elementConverter;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new IteratorException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+
+        final Properties properties;
+        try {
+            if (name.equals(schema.getVisibilityProperty())) {
+                properties = elementConverter.getPropertiesFromColumnVisibility(group,
+                        key.getColumnVisibilityData().getBackingArray());
+            } else if (name.equals(schema.getTimestampProperty())) {
+                properties = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
+            } else if (elementDefinition.getGroupBy().contains(name)) {
+                properties = new Properties();
+                elementConverter.addPropertiesFromColumnQualifier(group,
+                        key.getColumnQualifierData().getBackingArray(), properties, Collections.singleton(name));
+            } else {
+                properties = new Properties();
+                elementConverter.addPropertiesFromValue(group, value, properties, Collections.singleton(name));
+            }
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to load property " + name + " from an accumulo key value pair", e);
+        }
+
+        return properties.get(name);
+    }
+
+    @Override
+    public Object getIdentifier(final IdentifierType idType) {
+        if (null == identifiers) {
+            try {
+                identifiers = elementConverter.getElementFromKey(key, options, Collections.<String>emptySet());
+            } catch (final AccumuloElementConversionException e) {
+                throw new IteratorException("Failed to load the identifiers from an accumulo key", e);
+            }
+        }
+
+        return identifiers.getIdentifier(idType);
+    }
+}
@@ -15,23 +15,24 @@
  */
 package gaffer.accumulostore.key.core.impl;
 
-import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorCache;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
-import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
 public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
+    private final Map<String, RawLongValueAggregator> rawAggregators = new HashMap<>();
 
     @Override
     public Properties reduce(final String group, final Key key, final Iterator<Properties> iter) {
@@ -56,6 +57,15 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
         return aggregatedProperties;
     }
 
+    @Override
+    protected RawLongValueAggregator getRawLongValueAggregator(final String group) {
+        if (!rawAggregators.containsKey(group)) {
+            rawAggregators.put(group, RawLongValueAggregator.create(schema, view, group));
+        }
+
+        return rawAggregators.get(group);
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
@@ -70,10 +80,9 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
         }
 
         try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
         } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new AggregationException("Failed to load element converter from class name provided : "
@@ -20,10 +20,9 @@ import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.ByteUtils;
+import gaffer.accumulostore.utils.IteratorCache;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
-import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Properties;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.ByteSequence;
@@ -37,7 +36,6 @@ import org.apache.accumulo.core.iterators.OptionDescriber;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import org.apache.accumulo.core.iterators.WrappingIterator;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -262,6 +260,12 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 throw new RuntimeException(e);
             }
 
+            final RawLongValueAggregator rawAggregator = getRawLongValueAggregator(group);
+            if (null != rawAggregator) {
+                findTopFromRawValues(columnFamily, rawAggregator);
+                return;
+            }
+
             final Iterator<Properties> iter = new KeyValueIterator(
                     getSource(), group, elementConverter, schema, view);
             final Properties aggregatedProperties = reduce(group, workKey, iter);
@@ -297,6 +301,57 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         }
     }
 
+    /**
+     * Aggregates the values of the keys with the same row, column family and
+     * column qualifier as the top key of the source directly on their
+     * serialised bytes.
+     *
+     * @param columnFamily  the column family of the top key
+     * @param rawAggregator the aggregator for the group of the top key
+     */
+    private void findTopFromRawValues(final byte[] columnFamily, final RawLongValueAggregator rawAggregator) {
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        final Key unsafeRef = source.getTopKey();
+        final Key firstKey = new Key(unsafeRef.getRow().getBytes(),
+                unsafeRef.getColumnFamily().getBytes(),
+                unsafeRef.getColumnQualifier().getBytes(),
+                unsafeRef.getColumnVisibility().getBytes(),
+                unsafeRef.getTimestamp(),
+                unsafeRef.isDeleted(), true);
+
+        try {
+            rawAggregator.reset();
+            while (source.hasTop() && !source.getTopKey().isDeleted()
+                    && firstKey.equals(source.getTopKey(), PartialKey.ROW_COLFAM_COLQUAL)) {
+                final Value value = source.getTopValue();
+                rawAggregator.aggregate(value.get(), 0, value.getSize());
+                source.next();
+            }
+
+            topValue = rawAggregator.getValue();
+        } catch (final AccumuloElementConversionException | IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // The group has no visibility or timestamp properties, so the key is
+        // built in the same way as the element converter would build it.
+        topKey = new Key(firstKey.getRowData().getBackingArray(), columnFamily,
+                firstKey.getColumnQualifierData().getBackingArray(),
+                AccumuloStoreConstants.EMPTY_BYTES, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns a {@link RawLongValueAggregator} if the values of the given group
+     * can be aggregated directly on their serialised bytes, skipping
+     * {@link #reduce(String, Key, Iterator)}. By default this returns null.
+     *
+     * @param group the schema group taken from the key
+     * @return the raw value aggregator for the group, or null if the values should be reduced as {@link Properties}.
+     */
+    protected RawLongValueAggregator getRawLongValueAggregator(final String group) {
+        return null;
+    }
+
     @Override
     public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
             throws IOException {
@@ -354,20 +409,12 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
         }
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema", e);
-        }
+        schema = IteratorCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
 
         if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
         }
-        try {
-            view = View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the view", e);
-        }
+        view = IteratorCache.getView(options.get(AccumuloStoreConstants.VIEW));
 
         return true;
     }
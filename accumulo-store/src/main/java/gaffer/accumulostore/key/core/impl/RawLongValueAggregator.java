@@ -0,0 +1,289 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core.impl;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.ElementComponentKey;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.function.AggregateFunction;
+import gaffer.function.context.PassThroughFunctionContext;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.Min;
+import gaffer.function.simple.aggregate.NumericAggregateFunction;
+import gaffer.function.simple.aggregate.NumericAggregateFunction.NumberType;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.Value;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>RawLongValueAggregator</code> aggregates the {@link Value}s of a
+ * group directly on their serialised bytes, without deserialising them into
+ * {@link gaffer.data.element.Properties}.
+ * <p>
+ * It can only be created for groups where every property stored in the value
+ * is a {@link Long} serialised with a {@link CompactRawLongSerialiser} or a
+ * {@link RawLongSerialiser} and aggregated with a {@link Sum}, {@link Max} or
+ * {@link Min}, and where the group has no visibility or timestamp property and
+ * the view does not change the group by properties. The result is identical to
+ * deserialising, aggregating and reserialising the properties.
+ */
+public final class RawLongValueAggregator {
+    private final String[] propertyNames;
+    private final Operation[] operations;
+    private final Serialisation[] serialisers;
+    private final long[] state;
+    private final boolean[] hasState;
+
+    private RawLongValueAggregator(final List<String> propertyNames, final List<Operation> operations,
+                                   final List<Serialisation> serialisers) {
+        this.propertyNames = propertyNames.toArray(new String[propertyNames.size()]);
+        this.operations = operations.toArray(new Operation[operations.size()]);
+        this.serialisers = serialisers.toArray(new Serialisation[serialisers.size()]);
+        state = new long[this.propertyNames.length];
+        hasState = new boolean[this.propertyNames.length];
+    }
+
+    /**
+     * Creates a <code>RawLongValueAggregator</code> for the given group if its
+     * properties can be aggregated on their serialised bytes.
+     *
+     * @param schema the schema
+     * @param view   the view
+     * @param group  the group of the elements to aggregate
+     * @return the aggregator, or null if the group's properties cannot be aggregated on their serialised bytes.
+     */
+    public static RawLongValueAggregator create(final Schema schema, final View view, final String group) {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef) {
+            return null;
+        }
+
+        final LinkedHashSet<String> viewGroupBy = null != view ? view.getElementGroupBy(group) : null;
+        if (null != viewGroupBy && !viewGroupBy.equals(elementDef.getGroupBy())) {
+            return null;
+        }
+
+        if ((null != schema.getVisibilityProperty() && elementDef.containsProperty(schema.getVisibilityProperty()))
+                || (null != schema.getTimestampProperty() && elementDef.containsProperty(schema.getTimestampProperty()))) {
+            return null;
+        }
+
+        final Map<String, Operation> operationsByProperty = getOperationsByProperty(elementDef);
+        final List<String> propertyNames = new ArrayList<>();
+        final List<Operation> operations = new ArrayList<>();
+        final List<Serialisation> serialisers = new ArrayList<>();
+        for (final String propertyName : elementDef.getProperties()) {
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+            if (null == typeDef || elementDef.getGroupBy().contains(propertyName)) {
+                continue;
+            }
+
+            final Operation operation = operationsByProperty.get(propertyName);
+            final Serialisation serialiser = typeDef.getSerialiser();
+            if (null == operation
+                    || !Long.class.equals(typeDef.getClazz())
+                    || null == serialiser
+                    || (!CompactRawLongSerialiser.class.equals(serialiser.getClass())
+                    && !RawLongSerialiser.class.equals(serialiser.getClass()))) {
+                return null;
+            }
+
+            propertyNames.add(propertyName);
+            operations.add(operation);
+            serialisers.add(serialiser);
+        }
+
+        return new RawLongValueAggregator(propertyNames, operations, serialisers);
+    }
+
+    /**
+     * Clears the aggregated state, ready to aggregate the values of another key.
+     */
+    public void reset() {
+        for (int i = 0; i < hasState.length; i++) {
+            hasState[i] = false;
+        }
+    }
+
+    /**
+     * Aggregates the properties serialised in the given bytes of a value.
+     *
+     * @param bytes  the bytes of the value
+     * @param offset the offset of the first byte of the value
+     * @param length the number of bytes in the value
+     * @throws AccumuloElementConversionException if the bytes cannot be read
+     */
+    public void aggregate(final byte[] bytes, final int offset, final int length)
+            throws AccumuloElementConversionException {
+        final int end = offset + length;
+        int position = offset;
+        for (int i = 0; i < propertyNames.length && position < end; i++) {
+            final long propLength;
+            try {
+                propLength = CompactRawSerialisationUtils.readLong(bytes, position);
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Exception reading length of property");
+            }
+            position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+            if (propLength > 0) {
+                final long value;
+                try {
+                    value = readLong(serialisers[i], bytes, position);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to deserialise property " + propertyNames[i], e);
+                }
+                if (hasState[i]) {
+                    state[i] = operations[i].apply(state[i], value);
+                } else {
+                    state[i] = value;
+                    hasState[i] = true;
+                }
+                position += propLength;
+            }
+        }
+    }
+
+    /**
+     * @return a value containing the aggregated properties, serialised in the same way as
+     * {@link gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter#getValueFromProperties}.
+     * @throws AccumuloElementConversionException if the aggregated properties cannot be serialised
+     */
+    public Value getValue() throws AccumuloElementConversionException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean hasValue = false;
+        for (int i = 0; i < propertyNames.length; i++) {
+            try {
+                if (hasState[i]) {
+                    final byte[] bytes = serialisers[i].serialise(state[i]);
+                    hasValue = true;
+                    CompactRawSerialisationUtils.write(bytes.length, out);
+                    out.write(bytes);
+                } else {
+                    CompactRawSerialisationUtils.write(0L, out);
+                }
+            } catch (final IOException e) {
+                throw new AccumuloElementConversionException("Failed to write serialise property to ByteArrayOutputStream" + propertyNames[i], e);
+            }
+        }
+
+        if (!hasValue) {
+            return new Value();
+        }
+        return new Value(out.toByteArray());
+    }
+
+    private static Map<String, Operation> getOperationsByProperty(final SchemaElementDefinition elementDef) {
+        final Map<String, Operation> operationsByProperty = new HashMap<>();
+        final ElementAggregator aggregator = elementDef.getAggregator();
+        if (null == aggregator.getFunctions()) {
+            return operationsByProperty;
+        }
+
+        for (final PassThroughFunctionContext<ElementComponentKey, AggregateFunction> context : aggregator.getFunctions()) {
+            final List<ElementComponentKey> selection = context.getSelection();
+            if (null == selection) {
+                continue;
+            }
+
+            final Operation operation = 1 == selection.size() ? Operation.fromFunction(context.getFunction()) : null;
+            for (final ElementComponentKey key : selection) {
+                if (!key.isId()) {
+                    // Properties aggregated by more than one function are not supported.
+                    final String propertyName = key.getPropertyName();
+                    operationsByProperty.put(propertyName, operationsByProperty.containsKey(propertyName) ? null : operation);
+                }
+            }
+        }
+
+        return operationsByProperty;
+    }
+
+    private static long readLong(final Serialisation serialiser, final byte[] bytes, final int offset)
+            throws SerialisationException {
+        if (serialiser instanceof CompactRawLongSerialiser) {
+            return CompactRawSerialisationUtils.readLong(bytes, offset);
+        }
+
+        return (long) bytes[offset] & 255L
+                | ((long) bytes[offset + 1] & 255L) << 8
+                | ((long) bytes[offset + 2] & 255L) << 16
+                | ((long) bytes[offset + 3] & 255L) << 24
+                | ((long) bytes[offset + 4] & 255L) << 32
+                | ((long) bytes[offset + 5] & 255L) << 40
+                | ((long) bytes[offset + 6] & 255L) << 48
+                | ((long) bytes[offset + 7] & 255L) << 56;
+    }
+
+    private enum Operation {
+        SUM {
+            @Override
+            long apply(final long aggregate, final long value) {
+                return aggregate + value;
+            }
+        },
+        MAX {
+            @Override
+            long apply(final long aggregate, final long value) {
+                return value > aggregate ? value : aggregate;
+            }
+        },
+        MIN {
+            @Override
+            long apply(final long aggregate, final long value) {
+                return value < aggregate ? value : aggregate;
+            }
+        };
+
+        abstract long apply(final long aggregate, final long value);
+
+        private static Operation fromFunction(final AggregateFunction function) {
+            if (!(function instanceof NumericAggregateFunction)) {
+                return null;
+            }
+
+            final NumberType mode = ((NumericAggregateFunction) function).getMode();
+            if (NumberType.AUTO != mode && NumberType.LONG != mode) {
+                return null;
+            }
+
+            if (Sum.class.equals(function.getClass())) {
+                return SUM;
+            }
+            if (Max.class.equals(function.getClass())) {
+                return MAX;
+            }
+            if (Min.class.equals(function.getClass())) {
+                return MIN;
+            }
+            return null;
+        }
+    }
+}
@@ -122,7 +122,6 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
             final Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser()
                     .deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(key.getRowData().getBackingArray(), 0,
                             (key.getRowData().getBackingArray().length) - 2))));
-            addPropertiesToElement(entity, key);
             return entity;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
@@ -122,7 +122,6 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
         try {
             final Entity entity = new Entity(getGroupFromKey((key)), getVertexSerialiser()
                     .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())));
-            addPropertiesToElement(entity, key);
             return entity;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorCache;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Filter;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The <code>AdjacentVertexIterator</code> replaces the {@link Value} of each
+ * edge returned by a scan with the serialised vertex at the far end of the
+ * edge, read straight from the row key. No properties are deserialised or
+ * sent back to the client, so the client only has to deserialise a single
+ * vertex per edge.
+ * <p>
+ * If the deduplicate option is set, an edge is only returned if its adjacent
+ * vertex has not already been returned by this iterator, so each tablet only
+ * returns each adjacent vertex once per scan. To bound the memory used, the
+ * vertices seen are forgotten once there are more than
+ * {@link #MAX_SEEN_VERTICES} of them.
+ * <p>
+ * The keys are returned unchanged so scans can be resumed from the last key
+ * returned.
+ */
+public class AdjacentVertexIterator extends Filter {
+    public static final int MAX_SEEN_VERTICES = 100000;
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    private boolean deduplicate;
+    private final Set<ByteBuffer> seenVertices = new HashSet<>();
+    private byte[] topVertex;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final AdjacentVertexIterator copy = new AdjacentVertexIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.deduplicate = deduplicate;
+        return copy;
+    }
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final byte[] vertex;
+        try {
+            vertex = elementConverter.getAdjacentVertexBytesFromKey(key);
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Adjacent vertex iterator failed to read the adjacent vertex from an accumulo key", e);
+        }
+
+        if (deduplicate) {
+            if (seenVertices.size() >= MAX_SEEN_VERTICES) {
+                seenVertices.clear();
+            }
+            if (!seenVertices.add(ByteBuffer.wrap(vertex))) {
+                return false;
+            }
+        }
+
+        topVertex = vertex;
+        return true;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return new Value(topVertex, false);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME,
+                "Returns the serialised adjacent vertex of each edge as its value")
+                .addSchemaNamedOption().addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES,
+                        "Optional: true if each adjacent vertex should only be returned once")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!super.validateOptions(options)) {
+            return false;
+        }
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+
+        deduplicate = Boolean.parseBoolean(options.get(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES));
+
+        try {
+            elementConverter = IteratorCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorCache;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.PropertyProjection;
+import gaffer.commonutil.CommonConstants;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+/**
+ * The <code>PropertyProjectionIterator</code> strips the properties that are
+ * not required by a query from the {@link Value}s returned by a scan, so only
+ * the required properties are sent back to the client. The properties are
+ * copied as bytes and are not deserialised.
+ * <p>
+ * The required properties are worked out from the {@link View} and the
+ * populate properties option using a {@link PropertyProjection}.
+ */
+public class PropertyProjectionIterator extends WrappingIterator implements OptionDescriber {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "projection is initialised in validateOptions method, which is always called first")
+    private PropertyProjection projection;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final PropertyProjectionIterator copy = new PropertyProjectionIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.projection = projection;
+        return copy;
+    }
+
+    @Override
+    public Value getTopValue() {
+        final Key key = getTopKey();
+        final Value value = super.getTopValue();
+        final String group;
+        try {
+            group = new String(key.getColumnFamilyData().getBackingArray(), CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IteratorException("Failed to read the group from the column family", e);
+        }
+
+        try {
+            return elementConverter.projectValue(group, value, projection.getRequiredProperties(group));
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Property projection iterator failed to project the properties of an accumulo value", e);
+        }
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_NAME,
+                "Only returns the properties of each value that are required by the given view")
+                .addViewNamedOption().addSchemaNamedOption().addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.POPULATE_PROPERTIES, "Optional: false if no properties should be returned")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
+        }
+
+        final boolean populateProperties = !options.containsKey(AccumuloStoreConstants.POPULATE_PROPERTIES)
+                || Boolean.parseBoolean(options.get(AccumuloStoreConstants.POPULATE_PROPERTIES));
+        projection = new PropertyProjection(IteratorCache.getView(options.get(AccumuloStoreConstants.VIEW)),
+                populateProperties);
+
+        try {
+            elementConverter = IteratorCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        return true;
+    }
+}
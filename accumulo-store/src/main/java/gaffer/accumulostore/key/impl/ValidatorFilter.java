@@ -18,12 +18,9 @@ package gaffer.accumulostore.key.impl;
 
 import gaffer.accumulostore.key.AbstractElementFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
-import gaffer.commonutil.CommonConstants;
+import gaffer.accumulostore.utils.IteratorCache;
 import gaffer.data.element.Element;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.ElementValidator;
-import gaffer.store.schema.Schema;
-import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -54,10 +51,6 @@ public class ValidatorFilter extends AbstractElementFilter {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
         }
 
-        try {
-            return new ElementValidator(Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8)), false);
-        } catch (UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise schema from JSON", e);
-        }
+        return IteratorCache.getSchemaValidator(options.get(AccumuloStoreConstants.SCHEMA), false);
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.GetKHopEntitySeedsHandler;
+
+/**
+ * Runs each hop of a {@link gaffer.operation.impl.get.GetKHopEntitySeeds}
+ * directly with the {@link GetAdjacentEntitySeedsHandler}. The hop views are
+ * validated against the schema by {@link Store} before the traversal starts.
+ * The seeds of each hop are read in batches as the previous hop returns them.
+ * The scans for hop N+1 only overlap with hop N returning results if batch
+ * prefetching is enabled with
+ * {@link gaffer.accumulostore.AccumuloProperties#PREFETCH_BATCHES_FOR_BATCH_SCANNER},
+ * otherwise each batch is started when the previous one has been read. Each
+ * hop is deduplicated on the tablet servers, so a vertex reached by many edges
+ * is only sent back once by each tablet.
+ */
+public class AccumuloGetKHopEntitySeedsHandler extends GetKHopEntitySeedsHandler {
+    private final GetAdjacentEntitySeedsHandler adjacentEntitySeedsHandler = new GetAdjacentEntitySeedsHandler();
+
+    @Override
+    protected CloseableIterable<EntitySeed> getAdjacentEntitySeeds(final GetAdjacentEntitySeeds hopOperation,
+                                                                   final Context context, final Store store)
+            throws OperationException {
+        hopOperation.setDeduplicate(true);
+        return adjacentEntitySeedsHandler.doOperation(hopOperation, context.getUser(), (AccumuloStore) store);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.operation.impl.AddElementsWithIngestResult;
+import gaffer.accumulostore.utils.IngestResult;
+import gaffer.operation.OperationException;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.operation.handler.OperationHandler;
+
+public class AddElementsWithIngestResultHandler implements OperationHandler<AddElementsWithIngestResult, IngestResult> {
+    @Override
+    public IngestResult doOperation(final AddElementsWithIngestResult operation,
+                                    final Context context, final Store store)
+            throws OperationException {
+        try {
+            return ((AccumuloStore) store).addElements(operation.getElements());
+        } catch (final StoreException e) {
+            throw new OperationException("Failed to add elements", e);
+        }
+    }
+}
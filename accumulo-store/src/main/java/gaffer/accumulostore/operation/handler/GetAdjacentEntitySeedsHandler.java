@@ -18,7 +18,7 @@ package gaffer.accumulostore.operation.handler;
 
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
-import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.impl.AccumuloAdjacentEntitySeedRetriever;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
@@ -26,6 +26,8 @@ import gaffer.data.IsEdgeValidator;
 import gaffer.data.TransformIterable;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.operation.GetOperation.IncludeEdgeType;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EntitySeed;
@@ -35,6 +37,7 @@ import gaffer.store.Store;
 import gaffer.store.StoreException;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.user.User;
+import java.util.List;
 
 public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>> {
 
@@ -50,19 +53,48 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
                                             final AccumuloStore store)
             throws OperationException {
         operation.addOption(AccumuloStoreConstants.OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE, "true");
+        operation.setIncludeEntities(false);
+        // Only the edge vertices are returned so the properties are not needed
+        operation.setPopulateProperties(false);
+        if (IncludeEdgeType.NONE == operation.getIncludeEdges()) {
+            operation.setIncludeEdges(IncludeEdgeType.ALL);
+        }
 
-        final AccumuloRetriever<?> edgeRetriever;
         try {
-            operation.setIncludeEntities(false);
-            if (IncludeEdgeType.NONE == operation.getIncludeEdges()) {
-                operation.setIncludeEdges(IncludeEdgeType.ALL);
+            if (!hasClientSideFunctions(operation.getView())) {
+                // The adjacent vertices can be read straight from the row keys on the tablet servers
+                return new AccumuloAdjacentEntitySeedRetriever(store, operation, user);
             }
-            edgeRetriever = new AccumuloSingleIDRetriever(store, operation, user);
+
+            return new ExtractDestinationEntitySeed(new AccumuloSingleIDRetriever(store, operation, user));
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
+    }
+
+    /**
+     * Transformations and post transform filters are applied to whole edges
+     * on the client, so if the view has any of these the edges must be
+     * returned in full.
+     *
+     * @param view the view to check
+     * @return true if any edge group in the view has transform functions or
+     * post transform filter functions
+     */
+    private boolean hasClientSideFunctions(final View view) {
+        for (final String group : view.getEdgeGroups()) {
+            final ViewElementDefinition elementDef = view.getEdge(group);
+            if (null != elementDef
+                    && (isNotEmpty(elementDef.getTransformFunctions())
+                    || isNotEmpty(elementDef.getPostTransformFilterFunctions()))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return new ExtractDestinationEntitySeed(edgeRetriever);
+    private boolean isNotEmpty(final List<?> functions) {
+        return null != functions && !functions.isEmpty();
     }
 
     private static final class ExtractDestinationEntitySeed extends TransformIterable<Element, EntitySeed> {
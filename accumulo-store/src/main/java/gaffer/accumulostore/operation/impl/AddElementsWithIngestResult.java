@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.operation.impl;
+
+import gaffer.accumulostore.utils.IngestResult;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.operation.AbstractValidatable;
+
+/**
+ * An <code>AddElementsWithIngestResult</code> operation adds elements in the
+ * same way as {@link gaffer.operation.impl.add.AddElements}, but returns the
+ * {@link IngestResult} for the elements rather than only logging it. The
+ * result holds the number of elements of each group that were added and that
+ * failed, and how long the elements took to convert and write.
+ *
+ * @see gaffer.accumulostore.operation.impl.AddElementsWithIngestResult.Builder
+ */
+public class AddElementsWithIngestResult extends AbstractValidatable<IngestResult> {
+    public AddElementsWithIngestResult() {
+        super();
+    }
+
+    public AddElementsWithIngestResult(final CloseableIterable<Element> elements) {
+        super(elements);
+    }
+
+    public AddElementsWithIngestResult(final Iterable<Element> elements) {
+        super(elements);
+    }
+
+    public abstract static class BaseBuilder<CHILD_CLASS extends BaseBuilder<?>>
+            extends AbstractValidatable.BaseBuilder<AddElementsWithIngestResult, IngestResult, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new AddElementsWithIngestResult());
+        }
+    }
+
+    public static final class Builder extends BaseBuilder<Builder> {
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package gaffer.accumulostore.operation.spark.handler;
 
 import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.inputformat.ElementInputFormat;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
 import gaffer.commonutil.CommonConstants;
@@ -64,6 +65,14 @@ public abstract class AbstractGetRDDOperationHandler<OUTPUT, OP_TYPE extends Get
             if (queryTimeAggregator != null) {
                 InputConfigurator.addIterator(AccumuloInputFormat.class, conf, queryTimeAggregator);
             }
+            // Only return the properties required by the view from the tablet servers
+            final IteratorSetting propertyProjection = accumuloStore.getKeyPackage()
+                    .getIteratorFactory()
+                    .getPropertyProjectionIteratorSetting(operation, accumuloStore);
+            if (propertyProjection != null) {
+                InputConfigurator.addIterator(AccumuloInputFormat.class, conf, propertyProjection);
+            }
+            conf.setBoolean(ElementInputFormat.POPULATE_PROPERTIES, operation.isPopulateProperties());
         } catch (final StoreException | IteratorSettingException e) {
             throw new OperationException("Failed to update configuration", e);
         }
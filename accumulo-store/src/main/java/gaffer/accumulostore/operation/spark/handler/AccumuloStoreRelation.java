@@ -21,16 +21,18 @@ import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.Entity;
+import gaffer.data.element.IdentifierType;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.function.FilterFunction;
+import gaffer.function.MultiFilterFunction;
 import gaffer.function.context.ConsumerFunctionContext;
 import gaffer.function.simple.filter.Exists;
 import gaffer.function.simple.filter.IsEqual;
 import gaffer.function.simple.filter.IsIn;
 import gaffer.function.simple.filter.IsLessThan;
 import gaffer.function.simple.filter.IsMoreThan;
-import gaffer.function.simple.filter.Not;
+import gaffer.function.simple.filter.Regex;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.simple.spark.AbstractGetRDD;
@@ -57,8 +59,13 @@ import org.apache.spark.sql.sources.IsNotNull;
 import org.apache.spark.sql.sources.IsNull;
 import org.apache.spark.sql.sources.LessThan;
 import org.apache.spark.sql.sources.LessThanOrEqual;
+import org.apache.spark.sql.sources.Not;
+import org.apache.spark.sql.sources.Or;
 import org.apache.spark.sql.sources.PrunedFilteredScan;
 import org.apache.spark.sql.sources.PrunedScan;
+import org.apache.spark.sql.sources.StringContains;
+import org.apache.spark.sql.sources.StringEndsWith;
+import org.apache.spark.sql.sources.StringStartsWith;
 import org.apache.spark.sql.sources.TableScan;
 import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.DataTypes;
@@ -73,9 +80,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Allows Apache Spark to retrieve data from an {@link AccumuloStore} as a <code>DataFrame</code>. Spark's Java API
@@ -89,17 +98,19 @@ import java.util.Set;
  * <p>
  * <code>AccumuloStoreRelation</code> implements the {@link PrunedScan} interface which allows all {@link Element}s
  * of the specified group to be returned to the <code>DataFrame</code> but with only the specified columns returned.
- * Currently, {@link AccumuloStore} does not allow projection of properties in the tablet server, so this projection
- * is performed within the Spark executors, rather than in Accumulo's tablet servers. Once {@link AccumuloStore}
- * supports this projection in the tablet servers, then this will become more efficient.
+ * The required columns are added to the {@link View} as the properties to return, so this projection is performed
+ * within Accumulo's tablet servers and unused properties are never deserialised.
  * <p>
  * <code>AccumuloStoreRelation</code> implements the {@link PrunedFilteredScan} interface which allows only
  * {@link Element}s that match the the provided {@link Filter}s to be returned. The majority of these are implemented
  * by adding them to the {@link View}, which causes them to be applied on Accumulo's tablet server (i.e. before
  * the data is sent to a Spark executor). If a {@link Filter} is specified that specifies either the vertex in an
  * {@link Entity} or either the source or destination vertex in an {@link Edge} then this is applied by using the
- * appropriate range scan on Accumulo. Queries against this <code>DataFrame</code> that do this should be very
- * quick.
+ * appropriate range scan on Accumulo. <code>In</code> filters and <code>Or</code>s of such filters on these columns
+ * are combined into a single query with one range per vertex. As Accumulo stores each {@link Edge} under both its
+ * source and destination, the {@link Edge}s returned by a query for several vertices are deduplicated. Queries
+ * against this <code>DataFrame</code> that do this should be very quick. <code>And</code>, <code>Or</code> and <code>Not</code> filters, and string prefix,
+ * suffix and substring filters, are converted to the equivalent Gaffer {@link FilterFunction}s.
  */
 public class AccumuloStoreRelation extends BaseRelation implements TableScan, PrunedScan, PrunedFilteredScan {
 
@@ -171,8 +182,8 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
      * Creates a <code>DataFrame</code> of all {@link Element}s from <code>group</code> with columns that are not
      * required filtered out.
      * <p>
-     * Currently this does not push the projection down to the store (i.e. it should be implemented in an iterator,
-     * not in the transform). Issue 320 refers to this.
+     * The projection is pushed down to the store, so only the required properties are deserialised and returned
+     * from Accumulo's tablet servers.
      *
      * @param requiredColumns The columns to return.
      * @return An {@link RDD} of {@link Row}s containing the requested columns.
@@ -183,11 +194,13 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             LOGGER.info("Building scan with required columns: {}", ArrayUtils.toString(requiredColumns));
             LOGGER.info("Building GetRDDOfAllElements with view set to group {}", group);
             final GetRDDOfAllElements operation = new GetRDDOfAllElements(sqlContext.sparkContext());
+            final ViewElementDefinition ved = new ViewElementDefinition();
+            ved.setProperties(getRequiredProperties(requiredColumns));
             View view;
             if (entityOrEdge.equals(EntityOrEdge.ENTITY)) {
-                view = new View.Builder().entity(group).build();
+                view = new View.Builder().entity(group, ved).build();
             } else {
-                view = new View.Builder().edge(group).build();
+                view = new View.Builder().edge(group, ved).build();
             }
             operation.setView(view);
             final RDD<Element> rdd = store.execute(operation, user);
@@ -205,8 +218,8 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
      * Note that Spark also applies the provided {@link Filter}s - applying them here is an optimisation to reduce
      * the amount of data transferred from the store to Spark's executors (this is known as "predicate pushdown").
      * <p>
-     * Currently this does not push the projection down to the store (i.e. it should be implemented in an iterator,
-     * not in the transform). Issue 320 refers to this.
+     * The projection is also pushed down to the store. Spark includes the columns needed by any {@link Filter}s it
+     * applies in <code>requiredColumns</code>.
      *
      * @param requiredColumns The columns to return.
      * @param filters         The pre Aggregation {@link Filter}s to apply.
@@ -215,22 +228,48 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
     @Override
     public RDD<Row> buildScan(final String[] requiredColumns, final Filter[] filters) {
         LOGGER.info("Building scan with required columns {} and {} filters ({})", ArrayUtils.toString(requiredColumns),
-                filters.length, ArrayUtils.toString(filters));
-        // If any of the filters can be translated into Accumulo queries (i.e. specifying ranges rather than a full
-        // table scan) then do this.
-        AbstractGetRDD<?> operation = null;
-        for (final Filter filter : filters) {
-            if (filter instanceof EqualTo) {
-                final EqualTo equalTo = (EqualTo) filter;
-                final String attribute = equalTo.attribute();
-                if (attribute.equals(SRC_COL_NAME) || attribute.equals(DST_COL_NAME) || attribute.equals(VERTEX_COL_NAME)) {
-                    LOGGER.debug("Found EqualTo filter with attribute {}, creating GetRDDOfElements", attribute);
-                    operation = new GetRDDOfElements<>(sqlContext.sparkContext(), new EntitySeed(equalTo.value()));
-                }
-                break;
+                filters.length, Arrays.toString(filters));
+        final AbstractGetRDD<?> operation = createOperation(requiredColumns, filters);
+        if (operation instanceof GetRDDOfElements && !operation.getSeeds().iterator().hasNext()) {
+            // An empty list of ranges would cause Accumulo to scan the whole table
+            LOGGER.debug("Filters do not match any vertices, returning an empty RDD");
+            return sqlContext.sparkContext().emptyRDD(ClassTagConstants.ROW_CLASS_TAG);
+        }
+        // Create RDD
+        try {
+            RDD<Element> rdd = store.execute(operation, user);
+            if (mayReturnDuplicateEdges(operation)) {
+                rdd = rdd.toJavaRDD().distinct().rdd();
             }
+            return rdd.map(new ElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns))), ClassTagConstants.ROW_CLASS_TAG);
+        } catch (final OperationException e) {
+            LOGGER.error("OperationException while executing operation {}", e);
+            return null;
         }
-        if (operation == null) {
+    }
+
+    /**
+     * Creates the operation that {@link #buildScan(String[], Filter[])} executes, with the seeds, filters and
+     * properties derived from the provided columns and {@link Filter}s.
+     *
+     * @param requiredColumns The columns to return.
+     * @param filters         The pre Aggregation {@link Filter}s to apply.
+     * @return A {@link GetRDDOfElements} if the filters restrict the vertices, otherwise a
+     * {@link GetRDDOfAllElements}.
+     */
+    AbstractGetRDD<?> createOperation(final String[] requiredColumns, final Filter[] filters) {
+        // If the filters restrict the vertices then query for those vertices, using range scans on Accumulo,
+        // rather than doing a full table scan.
+        final AbstractGetRDD<?> operation;
+        final Set<Object> seeds = getSeeds(filters);
+        if (null != seeds) {
+            LOGGER.debug("Found filters on {} seeds, creating GetRDDOfElements", seeds.size());
+            final List<EntitySeed> entitySeeds = new ArrayList<>(seeds.size());
+            for (final Object seed : seeds) {
+                entitySeeds.add(new EntitySeed(seed));
+            }
+            operation = new GetRDDOfElements<>(sqlContext.sparkContext(), entitySeeds);
+        } else {
             LOGGER.debug("Creating GetRDDOfAllElements");
             operation = new GetRDDOfAllElements(sqlContext.sparkContext());
         }
@@ -241,6 +280,19 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
         }
         final ViewElementDefinition ved = new ViewElementDefinition();
         ved.addPreAggregationElementFilterFunctions(filterList);
+        final LinkedHashSet<String> properties = getRequiredProperties(requiredColumns);
+        if (mayReturnDuplicateEdges(operation)) {
+            // The properties that distinguish stored edges are needed to remove the duplicates without removing
+            // distinct edges.
+            properties.addAll(store.getSchema().getElement(group).getGroupBy());
+            if (null != store.getSchema().getVisibilityProperty()) {
+                properties.add(store.getSchema().getVisibilityProperty());
+            }
+            if (null != store.getSchema().getTimestampProperty()) {
+                properties.add(store.getSchema().getTimestampProperty());
+            }
+        }
+        ved.setProperties(properties);
         View view;
         if (entityOrEdge.equals(EntityOrEdge.ENTITY)) {
             view = new View.Builder().entity(group, ved).build();
@@ -248,89 +300,278 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             view = new View.Builder().edge(group, ved).build();
         }
         operation.setView(view);
-        // Create RDD
-        try {
-            final RDD<Element> rdd = store.execute(operation, user);
-            return rdd.map(new ElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns))), ClassTagConstants.ROW_CLASS_TAG);
-        } catch (final OperationException e) {
-            LOGGER.error("OperationException while executing operation {}", e);
-            return null;
+        return operation;
+    }
+
+    /**
+     * Accumulo stores an {@link Edge} under both its source and its destination, so an {@link Edge} whose source and
+     * destination are both seeds is returned once for each of them.
+     *
+     * @param operation The operation created by {@link #createOperation(String[], Filter[])}.
+     * @return True if the operation queries for {@link Edge}s with more than one seed.
+     */
+    private boolean mayReturnDuplicateEdges(final AbstractGetRDD<?> operation) {
+        if (!entityOrEdge.equals(EntityOrEdge.EDGE) || !(operation instanceof GetRDDOfElements)) {
+            return false;
+        }
+        final Iterator<?> seeds = operation.getSeeds().iterator();
+        if (!seeds.hasNext()) {
+            return false;
+        }
+        seeds.next();
+        return seeds.hasNext();
+    }
+
+    /**
+     * Removes the identifier columns from the required columns, leaving the properties that need to be returned
+     * from the store.
+     *
+     * @param requiredColumns The columns to return.
+     * @return The names of the properties to return.
+     */
+    private static LinkedHashSet<String> getRequiredProperties(final String[] requiredColumns) {
+        final LinkedHashSet<String> properties = new LinkedHashSet<>(Arrays.asList(requiredColumns));
+        properties.remove(VERTEX_COL_NAME);
+        properties.remove(SRC_COL_NAME);
+        properties.remove(DST_COL_NAME);
+        return properties;
+    }
+
+    /**
+     * Finds the smallest set of vertices that every {@link Element} matching all of the provided {@link Filter}s
+     * must contain, i.e. as its vertex if it is an {@link Entity}, or as its source or destination if it is an
+     * {@link Edge}.
+     *
+     * @param filters The {@link Filter}s, all of which must be matched.
+     * @return The vertices, or null if the {@link Filter}s do not restrict the vertices.
+     */
+    private Set<Object> getSeeds(final Filter[] filters) {
+        Set<Object> seeds = null;
+        for (final Filter filter : filters) {
+            seeds = getSmallestSeeds(seeds, getSeeds(filter));
+        }
+        return seeds;
+    }
+
+    /**
+     * Finds the vertices that an {@link Element} matching the provided {@link Filter} must contain.
+     * <code>EqualTo</code>, <code>EqualNullSafe</code> and <code>In</code> filters on the vertex, source or
+     * destination columns restrict the vertices, as do <code>Or</code>s of these. An <code>And</code> is restricted
+     * by whichever side restricts the vertices most.
+     *
+     * @param filter The {@link Filter}.
+     * @return The vertices, or null if the {@link Filter} does not restrict the vertices.
+     */
+    private Set<Object> getSeeds(final Filter filter) {
+        if (filter instanceof EqualTo && isVertexColumn(((EqualTo) filter).attribute())) {
+            return Collections.singleton(((EqualTo) filter).value());
+        } else if (filter instanceof EqualNullSafe && isVertexColumn(((EqualNullSafe) filter).attribute())
+                && null != ((EqualNullSafe) filter).value()) {
+            return Collections.singleton(((EqualNullSafe) filter).value());
+        } else if (filter instanceof In && isVertexColumn(((In) filter).attribute())) {
+            final Set<Object> seeds = new LinkedHashSet<>(Arrays.asList(((In) filter).values()));
+            seeds.remove(null);
+            return seeds;
+        } else if (filter instanceof Or) {
+            final Set<Object> left = getSeeds(((Or) filter).left());
+            final Set<Object> right = getSeeds(((Or) filter).right());
+            if (null == left || null == right) {
+                return null;
+            }
+            final Set<Object> seeds = new LinkedHashSet<>(left);
+            seeds.addAll(right);
+            return seeds;
+        } else if (filter instanceof And) {
+            return getSmallestSeeds(getSeeds(((And) filter).left()), getSeeds(((And) filter).right()));
+        }
+        return null;
+    }
+
+    private static Set<Object> getSmallestSeeds(final Set<Object> seeds, final Set<Object> otherSeeds) {
+        if (null == seeds) {
+            return otherSeeds;
+        }
+        if (null == otherSeeds) {
+            return seeds;
+        }
+        return otherSeeds.size() < seeds.size() ? otherSeeds : seeds;
+    }
+
+    private boolean isVertexColumn(final String attribute) {
+        if (entityOrEdge.equals(EntityOrEdge.ENTITY)) {
+            return VERTEX_COL_NAME.equals(attribute);
         }
+        return SRC_COL_NAME.equals(attribute) || DST_COL_NAME.equals(attribute);
     }
 
     /**
-     * Converts a Spark {@link Filter} to a Gaffer {@link ConsumerFunctionContext}.
+     * Converts a Spark {@link Filter} to Gaffer {@link ConsumerFunctionContext}s.
      * <p>
      * Note that Spark also applies all the filters provided to the {@link #buildScan(String[], Filter[])} method so
      * not implementing some of the provided {@link Filter}s in Gaffer will not cause errors. However, as many as
      * possible should be implemented so that as much filtering as possible happens in iterators running in Accumulo's
      * tablet servers (this avoids unnecessary data transfer from Accumulo to Spark).
+     * <p>
+     * If only one side of an <code>And</code> can be converted then that side is still applied, as this only removes
+     * rows that Spark would remove anyway.
      *
      * @param filter The {@link Filter} to transform.
      * @return Gaffer function(s) implementing the provided {@link Filter}.
      */
     private List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> getFunctionsFromFilter(final Filter filter) {
         final List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> functions = new ArrayList<>();
+        if (filter instanceof And) {
+            final And and = (And) filter;
+            final List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> left = getFunctionsFromFilter(and.left());
+            final List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> right = getFunctionsFromFilter(and.right());
+            functions.addAll(left);
+            functions.addAll(right);
+            LOGGER.debug("Converted {} to 2 filters ({}, {})", filter, left, right);
+        } else {
+            final ConsumerFunctionContext<ElementComponentKey, FilterFunction> function = getFunctionFromFilter(filter);
+            if (null != function) {
+                functions.add(function);
+            }
+        }
+        return functions;
+    }
+
+    /**
+     * Converts a Spark {@link Filter} to a single Gaffer {@link ConsumerFunctionContext} that matches the same
+     * {@link Element}s. <code>And</code>, <code>Or</code> and <code>Not</code> filters are only converted if all of
+     * the filters they contain can be converted, otherwise the Gaffer function could remove rows that Spark would
+     * keep.
+     * <p>
+     * Filters on the vertex, source or destination columns are applied to the identifiers of the {@link Element},
+     * rather than to its properties.
+     *
+     * @param filter The {@link Filter} to transform.
+     * @return A Gaffer function implementing the provided {@link Filter}, or null if it cannot be converted.
+     */
+    private ConsumerFunctionContext<ElementComponentKey, FilterFunction> getFunctionFromFilter(final Filter filter) {
+        final ConsumerFunctionContext<ElementComponentKey, FilterFunction> function;
         if (filter instanceof EqualTo) {
-            // Not dealt with as requires a FilterFunction that returns null if either the controlValue or the
-            // test value is null - the API of FilterFunction doesn't permit this.
+            // Spark removes rows where the column is null, so IsEqual matches the same rows as EqualTo.
+            final EqualTo equalTo = (EqualTo) filter;
+            function = createFunction(new IsEqual(equalTo.value()), equalTo.attribute());
         } else if (filter instanceof EqualNullSafe) {
             final EqualNullSafe equalNullSafe = (EqualNullSafe) filter;
-            final FilterFunction isEqual = new IsEqual(equalNullSafe.value());
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(equalNullSafe.attribute()));
-            functions.add(new ConsumerFunctionContext<>(isEqual, ecks));
-            LOGGER.debug("Converted {} to IsEqual ({})", filter, ecks.get(0));
+            function = createFunction(new IsEqual(equalNullSafe.value()), equalNullSafe.attribute());
         } else if (filter instanceof GreaterThan) {
             final GreaterThan greaterThan = (GreaterThan) filter;
-            final FilterFunction isMoreThan = new IsMoreThan((Comparable<?>) greaterThan.value(), false);
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(greaterThan.attribute()));
-            functions.add(new ConsumerFunctionContext<>(isMoreThan, ecks));
-            LOGGER.debug("Converted {} to isMoreThan ({})", filter, ecks.get(0));
+            function = createFunction(new IsMoreThan((Comparable<?>) greaterThan.value(), false), greaterThan.attribute());
         } else if (filter instanceof GreaterThanOrEqual) {
             final GreaterThanOrEqual greaterThan = (GreaterThanOrEqual) filter;
-            final FilterFunction isMoreThan = new IsMoreThan((Comparable<?>) greaterThan.value(), true);
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(greaterThan.attribute()));
-            functions.add(new ConsumerFunctionContext<>(isMoreThan, ecks));
-            LOGGER.debug("Converted {} to IsMoreThan ({})", filter, ecks.get(0));
+            function = createFunction(new IsMoreThan((Comparable<?>) greaterThan.value(), true), greaterThan.attribute());
         } else if (filter instanceof LessThan) {
             final LessThan lessThan = (LessThan) filter;
-            final FilterFunction isLessThan = new IsLessThan((Comparable<?>) lessThan.value(), false);
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(lessThan.attribute()));
-            functions.add(new ConsumerFunctionContext<>(isLessThan, ecks));
-            LOGGER.debug("Converted {} to IsLessThan ({})", filter, ecks.get(0));
+            function = createFunction(new IsLessThan((Comparable<?>) lessThan.value(), false), lessThan.attribute());
         } else if (filter instanceof LessThanOrEqual) {
             final LessThanOrEqual lessThan = (LessThanOrEqual) filter;
-            final FilterFunction isLessThan = new IsLessThan((Comparable<?>) lessThan.value(), true);
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(lessThan.attribute()));
-            functions.add(new ConsumerFunctionContext<>(isLessThan, ecks));
-            LOGGER.debug("Converted {} to LessThanOrEqual ({})", filter, ecks.get(0));
+            function = createFunction(new IsLessThan((Comparable<?>) lessThan.value(), true), lessThan.attribute());
         } else if (filter instanceof In) {
             final In in = (In) filter;
-            final FilterFunction isIn = new IsIn(new HashSet<>(Arrays.asList(in.values())));
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(in.attribute()));
-            functions.add(new ConsumerFunctionContext<>(isIn, ecks));
-            LOGGER.debug("Converted {} to IsIn ({})", filter, ecks.get(0));
+            function = createFunction(new IsIn(new HashSet<>(Arrays.asList(in.values()))), in.attribute());
         } else if (filter instanceof IsNull) {
             final IsNull isNull = (IsNull) filter;
-            final FilterFunction doesntExist = new Not(new Exists());
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(isNull.attribute()));
-            functions.add(new ConsumerFunctionContext<>(doesntExist, ecks));
-            LOGGER.debug("Converted {} to Not(Exists) ({})", filter, ecks.get(0));
+            function = createFunction(new gaffer.function.simple.filter.Not(new Exists()), isNull.attribute());
         } else if (filter instanceof IsNotNull) {
             final IsNotNull isNotNull = (IsNotNull) filter;
-            final FilterFunction exists = new Exists();
-            final List<ElementComponentKey> ecks = Collections.singletonList(new ElementComponentKey(isNotNull.attribute()));
-            functions.add(new ConsumerFunctionContext<>(exists, ecks));
-            LOGGER.debug("Converted {} to Exists ({})", filter, ecks.get(0));
+            function = createFunction(new Exists(), isNotNull.attribute());
+        } else if (filter instanceof StringStartsWith) {
+            final StringStartsWith startsWith = (StringStartsWith) filter;
+            function = createFunction(createRegex(startsWith.value(), false, true), startsWith.attribute());
+        } else if (filter instanceof StringEndsWith) {
+            final StringEndsWith endsWith = (StringEndsWith) filter;
+            function = createFunction(createRegex(endsWith.value(), true, false), endsWith.attribute());
+        } else if (filter instanceof StringContains) {
+            final StringContains contains = (StringContains) filter;
+            function = createFunction(createRegex(contains.value(), true, true), contains.attribute());
         } else if (filter instanceof And) {
             final And and = (And) filter;
-            final List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> left = getFunctionsFromFilter(and.left());
-            final List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> right = getFunctionsFromFilter(and.right());
-            functions.addAll(left);
-            functions.addAll(right);
-            LOGGER.debug("Converted {} to 2 filters ({}, {})", filter, ArrayUtils.toString(left), ArrayUtils.toString(right));
+            function = combineFunctions(new gaffer.function.simple.filter.And(),
+                    getFunctionFromFilter(and.left()), getFunctionFromFilter(and.right()));
+        } else if (filter instanceof Or) {
+            final Or or = (Or) filter;
+            function = combineFunctions(new gaffer.function.simple.filter.Or(),
+                    getFunctionFromFilter(or.left()), getFunctionFromFilter(or.right()));
+        } else if (filter instanceof Not) {
+            final ConsumerFunctionContext<ElementComponentKey, FilterFunction> child = getFunctionFromFilter(((Not) filter).child());
+            function = null != child
+                    ? new ConsumerFunctionContext<ElementComponentKey, FilterFunction>(new gaffer.function.simple.filter.Not(child.getFunction()), child.getSelection())
+                    : null;
+        } else {
+            function = null;
         }
-        return functions;
+
+        if (null != function) {
+            LOGGER.debug("Converted {} to {} ({})", filter, function.getFunction().getClass().getSimpleName(), function.getSelection());
+        }
+        return function;
+    }
+
+    private ConsumerFunctionContext<ElementComponentKey, FilterFunction> createFunction(final FilterFunction function,
+                                                                                       final String attribute) {
+        return new ConsumerFunctionContext<>(function, Collections.singletonList(getElementComponentKey(attribute)));
+    }
+
+    /**
+     * Combines the provided functions into a single {@link MultiFilterFunction}, selecting the union of the
+     * {@link ElementComponentKey}s they select.
+     *
+     * @param multiFunction The {@link MultiFilterFunction} to add the functions to.
+     * @param left          The first function to combine.
+     * @param right         The second function to combine.
+     * @return The combined function, or null if either of the functions is null.
+     */
+    private ConsumerFunctionContext<ElementComponentKey, FilterFunction> combineFunctions(
+            final MultiFilterFunction multiFunction,
+            final ConsumerFunctionContext<ElementComponentKey, FilterFunction> left,
+            final ConsumerFunctionContext<ElementComponentKey, FilterFunction> right) {
+        if (null == left || null == right) {
+            return null;
+        }
+        final List<ElementComponentKey> selection = new ArrayList<>();
+        final List<ConsumerFunctionContext<Integer, FilterFunction>> indexedFunctions = new ArrayList<>(2);
+        for (final ConsumerFunctionContext<ElementComponentKey, FilterFunction> function : Arrays.asList(left, right)) {
+            final List<Integer> indices = new ArrayList<>(function.getSelection().size());
+            for (final ElementComponentKey key : function.getSelection()) {
+                if (!selection.contains(key)) {
+                    selection.add(key);
+                }
+                indices.add(selection.indexOf(key));
+            }
+            indexedFunctions.add(new ConsumerFunctionContext<>(function.getFunction(), indices));
+        }
+        multiFunction.setFunctions(indexedFunctions);
+        return new ConsumerFunctionContext<ElementComponentKey, FilterFunction>(multiFunction, selection);
+    }
+
+    private ElementComponentKey getElementComponentKey(final String attribute) {
+        switch (attribute) {
+            case VERTEX_COL_NAME:
+                return new ElementComponentKey(IdentifierType.VERTEX);
+            case SRC_COL_NAME:
+                return new ElementComponentKey(IdentifierType.SOURCE);
+            case DST_COL_NAME:
+                return new ElementComponentKey(IdentifierType.DESTINATION);
+            default:
+                return new ElementComponentKey(attribute);
+        }
+    }
+
+    /**
+     * Creates a {@link Regex} that matches strings starting with, ending with or containing the provided value. The
+     * DOTALL flag is embedded in the pattern, as flags passed to {@link Pattern#compile(String, int)} are lost when
+     * the {@link View} is serialised to JSON.
+     *
+     * @param value     The value to match.
+     * @param anyPrefix Whether any characters may precede the value.
+     * @param anySuffix Whether any characters may follow the value.
+     * @return A {@link Regex} matching the value.
+     */
+    private static Regex createRegex(final String value, final boolean anyPrefix, final boolean anySuffix) {
+        return new Regex(Pattern.compile("(?s)" + (anyPrefix ? ".*" : "") + Pattern.quote(value) + (anySuffix ? ".*" : "")));
     }
 
     private void buildSchema() {
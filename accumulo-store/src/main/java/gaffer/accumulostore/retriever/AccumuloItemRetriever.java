@@ -20,13 +20,14 @@ import com.google.common.collect.Iterators;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher.BatchFactory;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher.ScannerBatch;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.EmptyCloseableIterator;
 import gaffer.data.element.Element;
 import gaffer.operation.GetOperation;
 import gaffer.store.StoreException;
 import gaffer.user.User;
-import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
@@ -74,32 +75,26 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends SEED_TYPE> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+        private final BatchScannerPrefetcher batches;
+        private ScannerBatch batch;
         private Element nextElm;
 
         protected ElementIterator(final Iterator<? extends SEED_TYPE> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
+            batches = new BatchScannerPrefetcher(new BatchFactory() {
+                @Override
+                public ScannerBatch createBatch() throws RetrieverException {
+                    return createNextBatch();
                 }
-            }
+            }, store.getProperties().getPrefetchBatchesForBatchScanner(),
+                    store.getProperties().getPrefetchThreadsForBatchScanner());
 
-            // Create BatchScanner, appropriately configured (i.e. ranges,
-            // iterators, etc).
             try {
-                scanner = getScanner(ranges);
-            } catch (TableNotFoundException | StoreException e) {
-                throw new RetrieverException(e);
+                batch = batches.nextBatch();
+            } catch (final RetrieverException e) {
+                batches.close();
+                throw e;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
@@ -108,53 +103,40 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Map.Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                            operation.getOptions());
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    return true;
-                } else {
-                    nextElm = null;
-                }
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
+            while (null != batch) {
+                final Iterator<Map.Entry<Key, Value>> scannerIterator = batch.getIterator();
+                while (scannerIterator.hasNext()) {
+                    final Map.Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
+                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
+                                operation.getOptions(), projection);
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                                e);
+                        continue;
+                    }
+                    doTransformation(nextElm);
+                    if (doPostFilter(nextElm)) {
+                        doProjection(nextElm);
+                        return true;
+                    } else {
+                        nextElm = null;
                     }
                 }
-                scanner.close();
+
+                // If current scanner is spent then move on to the next batch
+                // of the provided entities. If there are no more entities
+                // then return false.
+                batch.close();
                 try {
-                    scanner = getScanner(ranges);
-                } catch (TableNotFoundException | StoreException e) {
+                    batch = batches.nextBatch();
+                } catch (final RetrieverException e) {
                     LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
-                    return false;
+                    batch = null;
                 }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
             }
+
+            return false;
         }
 
         @Override
@@ -176,8 +158,42 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
         @Override
         public void close() {
-            if (scanner != null) {
-                scanner.close();
+            batches.close();
+            if (batch != null) {
+                batch.close();
+            }
+        }
+
+        /**
+         * Creates a batch scanner for the next N entities (where N =
+         * maxEntriesForBatchScanner). This may be called from a background
+         * thread if prefetching is enabled.
+         *
+         * @return the next batch, or null if there are no more entities.
+         * @throws RetrieverException if the scanner could not be created
+         */
+        private ScannerBatch createNextBatch() throws RetrieverException {
+            if (!idsIterator.hasNext()) {
+                return null;
+            }
+
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+
+            // Create BatchScanner, appropriately configured (i.e. ranges,
+            // iterators, etc).
+            try {
+                return new ScannerBatch(getScanner(ranges));
+            } catch (TableNotFoundException | StoreException e) {
+                throw new RetrieverException(e);
             }
         }
     }
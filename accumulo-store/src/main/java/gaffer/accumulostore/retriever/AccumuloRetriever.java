@@ -20,6 +20,8 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.RangeFactory;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.utils.PropertyProjection;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.data.element.Element;
@@ -48,6 +50,8 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     protected final OP_TYPE operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    protected final PropertyProjection projection;
+    private final IteratorSetting projectionIteratorSetting;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP_TYPE operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -59,12 +63,61 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
         this.user = user;
-        if (null != user && null != user.getDataAuths()) {
-            this.authorisations = new Authorizations(
-                    user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
+        this.projection = new PropertyProjection(operation);
+        if (projection.isProjecting()) {
+            try {
+                this.projectionIteratorSetting = iteratorSettingFactory.getPropertyProjectionIteratorSetting(operation, store);
+            } catch (final IteratorSettingException e) {
+                throw new StoreException(e.getMessage(), e);
+            }
         } else {
-            this.authorisations = new Authorizations();
+            this.projectionIteratorSetting = null;
         }
+        this.authorisations = getAuthorisations(user);
+    }
+
+    /**
+     * Creates the {@link Authorizations} to scan with for a user.
+     *
+     * @param user the user running the query
+     * @return the data auths of the user, or no authorisations if the user
+     * does not have any.
+     */
+    public static Authorizations getAuthorisations(final User user) {
+        if (null != user && null != user.getDataAuths()) {
+            return new Authorizations(user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
+        }
+        return new Authorizations();
+    }
+
+    /**
+     * Creates a batch scanner over the table of a store for the provided
+     * ranges, with the provided scan iterators. Null iterator settings are
+     * skipped.
+     *
+     * @param store            the store to scan
+     * @param authorisations   the authorisations to scan with
+     * @param ranges           the ranges to scan
+     * @param iteratorSettings the scan iterators to add
+     * @return a {@link BatchScanner} for the table specified in the
+     * properties with the ranges and iterators provided.
+     * @throws TableNotFoundException if an accumulo table could not be found
+     * @throws StoreException         if a connection to accumulo could not be created.
+     */
+    public static BatchScanner createBatchScanner(final AccumuloStore store, final Authorizations authorisations,
+                                                  final Set<Range> ranges, final IteratorSetting... iteratorSettings)
+            throws TableNotFoundException, StoreException {
+        final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
+                authorisations, store.getProperties().getThreadsForBatchScanner());
+        if (iteratorSettings != null) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (iteratorSetting != null) {
+                    scanner.addScanIterator(iteratorSetting);
+                }
+            }
+        }
+        scanner.setRanges(ranges);
+        return scanner;
     }
 
     /**
@@ -93,6 +146,18 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         return true;
     }
 
+    /**
+     * Removes any properties from an element that have not been requested,
+     * either in the view or by the populate properties flag of the operation.
+     * This should be called after the element has been transformed and
+     * post filtered.
+     *
+     * @param element the element to project
+     */
+    public void doProjection(final Element element) {
+        projection.project(element);
+    }
+
     @Override
     public void close() {
         if (iterator != null) {
@@ -111,16 +176,10 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
      * @throws StoreException         if a connection to accumulo could not be created.
      */
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
-        final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
-                authorisations, store.getProperties().getThreadsForBatchScanner());
-        if (iteratorSettings != null) {
-            for (final IteratorSetting iteratorSetting : iteratorSettings) {
-                if (iteratorSetting != null) {
-                    scanner.addScanIterator(iteratorSetting);
-                }
-            }
+        final BatchScanner scanner = createBatchScanner(store, authorisations, ranges, iteratorSettings);
+        if (null != projectionIteratorSetting) {
+            scanner.addScanIterator(projectionIteratorSetting);
         }
-        scanner.setRanges(ranges);
 
         // Currently hard links element class to column family position.
         if (IncludeEdgeType.NONE != operation.getIncludeEdges()) {
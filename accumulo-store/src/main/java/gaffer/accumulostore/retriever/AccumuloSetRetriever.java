@@ -20,6 +20,8 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher.BatchFactory;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher.ScannerBatch;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import gaffer.accumulostore.utils.BloomFilterUtils;
 import gaffer.commonutil.iterable.CloseableIterator;
@@ -144,7 +146,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         addToBloomFilter(seed.getVertex(), filter2);
     }
 
-    private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
+    protected void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
         try {
             filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
         } catch (final AccumuloElementConversionException e) {
@@ -259,11 +261,10 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         // as a secondary defeat of false positives.
         protected BloomFilter clientSideFilter;
         protected Set<Object> currentSeeds;
-        protected BatchScanner scanner;
         protected BloomFilter filter;
-        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+        private BatchScannerPrefetcher batches;
+        private ScannerBatch batch;
         private Element nextElm;
-        private int count;
 
         public AbstractElementIteratorFromBatches() {
             // Set up client side filter
@@ -282,10 +283,10 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             }
             try {
                 while (_hasNext()) {
-                    final Map.Entry<Key, Value> entry = scannerIterator.next();
+                    final Map.Entry<Key, Value> entry = batch.getIterator().next();
                     try {
                         nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                                operation.getOptions());
+                                operation.getOptions(), projection);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
                         continue;
@@ -293,9 +294,11 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                     if (secondaryCheck(nextElm)) {
                         doTransformation(nextElm);
                         if (doPostFilter(nextElm)) {
+                            doProjection(nextElm);
                             return true;
                         }
                     }
+                    nextElm = null;
                 }
             } catch (final RetrieverException e) {
                 LOGGER.debug("Failed to retrieve elements into iterator : " + e.getMessage()
@@ -326,22 +329,96 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
         @Override
         public void close() {
-            if (scanner != null) {
-                scanner.close();
+            if (null != batches) {
+                batches.close();
+            }
+            if (null != batch) {
+                batch.close();
             }
         }
 
+        /**
+         * Adds the seed to the Bloom filter that is passed to the iterators.
+         * If prefetching is enabled this is called from a background thread,
+         * so it must not update any state used by {@link #secondaryCheck(Element)}.
+         *
+         * @param seed the seed to add
+         * @throws RetrieverException if the seed could not be added
+         */
         protected abstract void updateBloomFilterIfRequired(final EntitySeed seed) throws RetrieverException;
 
+        /**
+         * Adds the vertex of a seed to the client side Bloom filter. This is
+         * called when the batch containing the seed starts to be read.
+         *
+         * @param vertex the vertex to add
+         * @throws RetrieverException if the vertex could not be added
+         */
+        protected void updateClientSideFilterIfRequired(final Object vertex) throws RetrieverException {
+            // no action required.
+        }
+
+        /**
+         * Closes the current scanner and moves on to the next batch of seeds,
+         * which may already have been prefetched.
+         *
+         * @throws RetrieverException if the next batch could not be created
+         */
         protected void updateScanner() throws RetrieverException {
+            if (null == batches) {
+                batches = new BatchScannerPrefetcher(new BatchFactory() {
+                    @Override
+                    public ScannerBatch createBatch() throws RetrieverException {
+                        return createNextBatch();
+                    }
+                }, store.getProperties().getPrefetchBatchesForBatchScanner(),
+                        store.getProperties().getPrefetchThreadsForBatchScanner());
+            }
+
+            if (null != batch) {
+                batch.close();
+            }
+
+            try {
+                batch = batches.nextBatch();
+            } catch (final RetrieverException e) {
+                close();
+                throw e;
+            }
+
+            if (null != batch) {
+                for (final Object seed : batch.getSeeds()) {
+                    currentSeeds.add(seed);
+                    updateClientSideFilterIfRequired(seed);
+                }
+            }
+        }
+
+        /**
+         * Check whether this is valid, i.e. one end is in the current set of
+         * seeds that are being queried for and the other matches the Bloom
+         * filter (i.e. the client side Bloom filter that is being used as a
+         * secondary defeat of false positives).
+         *
+         * @param elm the element to check
+         * @return true if the element matches the seeds, otherwise false
+         */
+        protected abstract boolean secondaryCheck(final Element elm);
+
+        private ScannerBatch createNextBatch() throws RetrieverException {
+            if (!idsAIterator.hasNext()) {
+                return null;
+            }
+
             // Read through the first N entities (where N =
             // maxEntriesForBatchScanner), create the associated ranges
             // and add them to a set.
-            count = 0;
+            int count = 0;
             final Set<Range> ranges = new HashSet<>();
+            final Set<Object> seeds = new HashSet<>();
             while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
                 final EntitySeed seed = idsAIterator.next();
-                currentSeeds.add(seed.getVertex());
+                seeds.add(seed.getVertex());
                 count++;
                 try {
                     ranges.addAll(rangeFactory.getRange(seed, operation));
@@ -351,6 +428,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 updateBloomFilterIfRequired(seed);
             }
 
+            final BatchScanner scanner;
             try {
                 scanner = getScanner(ranges);
             } catch (TableNotFoundException | StoreException e) {
@@ -373,45 +451,24 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Error creating filter iterator continuing query without filter");
             }
-            try {
-                elementFilterSetting = iteratorSettingFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(),
-                        store);
-            } catch (final IteratorSettingException e) {
-                LOGGER.error("Error creating filter iterator continuing query without filter");
-            }
             if (elementFilterSetting != null) {
                 scanner.addScanIterator(elementFilterSetting);
             }
-            scannerIterator = scanner.iterator();
+            return new ScannerBatch(scanner, seeds);
         }
 
-        /**
-         * Check whether this is valid, i.e. one end is in the current set of
-         * seeds that are being queried for and the other matches the Bloom
-         * filter (i.e. the client side Bloom filter that is being used as a
-         * secondary defeat of false positives).
-         *
-         * @param elm the element to check
-         * @return true if the element matches the seeds, otherwise false
-         */
-        protected abstract boolean secondaryCheck(final Element elm);
-
         private boolean _hasNext() throws RetrieverException {
-            // If current scanner has next then return true.
-            if (scannerIterator.hasNext()) {
-                return true;
-            }
             // If current scanner is spent then go back to the iterator
             // through the provided entities, and see if there are more.
             // If so create the next scanner, if there are no more entities
             // then return false.
-            while (idsAIterator.hasNext() && !scannerIterator.hasNext()) {
+            while (null != batch) {
+                if (batch.getIterator().hasNext()) {
+                    return true;
+                }
                 updateScanner();
             }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-            }
-            return scannerIterator.hasNext();
+            return false;
         }
     }
 }
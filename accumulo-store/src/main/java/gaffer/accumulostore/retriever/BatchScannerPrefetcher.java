@@ -0,0 +1,360 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import gaffer.store.metrics.Histogram;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.store.metrics.Timer;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>BatchScannerPrefetcher</code> supplies the batches of a retriever in
+ * order. If prefetching is enabled, the next batches are created and their
+ * {@link BatchScanner}s started on a background thread while the current batch
+ * is being consumed, so the tablet servers keep working while the client
+ * converts elements. At most <code>prefetchBatches</code> batches are held
+ * ahead of the consumer.
+ * <p>
+ * If prefetching is disabled each batch is created when it is requested.
+ * <p>
+ * The background thread waits for the consumer for as long as the prefetcher
+ * is open, however slowly the batches are read, so the prefetcher must be
+ * closed when the consumer stops iterating. The prefetch threads are daemon
+ * threads, and if they are all held by retrievers that were not closed then
+ * new retrievers create their batches without prefetching.
+ * <p>
+ * The time taken to create each batch, the time each batch is open for and the
+ * number of entries read from each batch are recorded in the
+ * {@link MetricsRegistry}.
+ */
+public class BatchScannerPrefetcher implements Closeable {
+    public static final String BATCH_CREATE_TIMER = "accumulo.batch.create";
+    public static final String BATCH_DURATION_TIMER = "accumulo.batch.duration";
+    public static final String BATCH_ENTRIES_HISTOGRAM = "accumulo.batch.entries";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchScannerPrefetcher.class);
+    private static final Timer CREATE_TIMER = MetricsRegistry.getInstance().timer(BATCH_CREATE_TIMER);
+    private static final Timer DURATION_TIMER = MetricsRegistry.getInstance().timer(BATCH_DURATION_TIMER);
+    private static final Histogram ENTRIES_HISTOGRAM = MetricsRegistry.getInstance().histogram(BATCH_ENTRIES_HISTOGRAM);
+    private static final Object END_OF_BATCHES = new Object();
+    private static final long OFFER_INTERVAL_MILLIS = 1000L;
+    private static ThreadPoolExecutor executor;
+
+    private final BatchFactory factory;
+    private final BlockingQueue<Object> queue;
+    private final Future<?> producer;
+    private volatile boolean closed;
+    private boolean finished;
+
+    /**
+     * @param factory         the factory used to create the batches
+     * @param prefetchBatches the number of batches to hold ahead of the consumer,
+     *                        or 0 to disable prefetching
+     * @param prefetchThreads the maximum number of threads prefetching batches
+     *                        for all retrievers in this JVM. The thread pool
+     *                        is sized by the first retriever to use it. If the
+     *                        threads are all busy the batches are created
+     *                        without prefetching.
+     */
+    public BatchScannerPrefetcher(final BatchFactory factory, final int prefetchBatches, final int prefetchThreads) {
+        this.factory = factory;
+        Future<?> prefetchProducer = null;
+        BlockingQueue<Object> prefetchQueue = null;
+        if (prefetchBatches > 0 && prefetchThreads > 0) {
+            prefetchQueue = new ArrayBlockingQueue<>(prefetchBatches);
+            try {
+                prefetchProducer = getExecutor(prefetchThreads).submit(new Producer(prefetchQueue));
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("All {} prefetch threads are busy, batches will not be prefetched", prefetchThreads);
+                prefetchQueue = null;
+            }
+        }
+        this.queue = prefetchQueue;
+        this.producer = prefetchProducer;
+    }
+
+    /**
+     * @return the next batch, or null if there are no more batches.
+     * @throws RetrieverException if the next batch could not be created
+     */
+    public ScannerBatch nextBatch() throws RetrieverException {
+        if (finished || closed) {
+            return null;
+        }
+
+        if (null == queue) {
+            final ScannerBatch batch = createBatch();
+            finished = null == batch;
+            return batch;
+        }
+
+        Object next = null;
+        try {
+            while (null == next) {
+                next = queue.poll(OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (null == next && producer.isDone()) {
+                    // The producer may have queued an item just before finishing
+                    next = queue.poll();
+                    if (null == next) {
+                        finished = true;
+                        throw new RetrieverException("Prefetching of batches stopped unexpectedly");
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetrieverException("Interrupted whilst waiting for the next batch", e);
+        }
+
+        if (END_OF_BATCHES == next) {
+            finished = true;
+            return null;
+        }
+
+        if (next instanceof RetrieverException) {
+            finished = true;
+            throw (RetrieverException) next;
+        }
+
+        return (ScannerBatch) next;
+    }
+
+    /**
+     * Stops creating batches and closes any batches that have been created
+     * but not yet consumed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (null != producer) {
+            producer.cancel(true);
+            closeQueuedBatches(queue);
+        }
+    }
+
+    /**
+     * The prefetch threads are shared by all retrievers in the JVM. The pool
+     * is created with the size requested by the first retriever and is not
+     * resized afterwards, so concurrent queries cannot change each other's
+     * parallelism.
+     *
+     * @param prefetchThreads the maximum number of prefetch threads
+     * @return the executor to run producers on
+     */
+    private static synchronized ExecutorService getExecutor(final int prefetchThreads) {
+        if (null == executor) {
+            executor = new ThreadPoolExecutor(prefetchThreads, prefetchThreads, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<Runnable>(), new ThreadFactory() {
+                private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = defaultFactory.newThread(runnable);
+                    thread.setName("gaffer-batch-scanner-prefetch-" + thread.getName());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executor.allowCoreThreadTimeOut(true);
+        } else if (executor.getMaximumPoolSize() != prefetchThreads) {
+            LOGGER.debug("The prefetch thread pool already has {} threads, so the requested {} threads are ignored",
+                    executor.getMaximumPoolSize(), prefetchThreads);
+        }
+        return executor;
+    }
+
+    private ScannerBatch createBatch() throws RetrieverException {
+        final long startTime = System.nanoTime();
+        final ScannerBatch batch = factory.createBatch();
+        if (null != batch) {
+            CREATE_TIMER.update(System.nanoTime() - startTime);
+        }
+
+        return batch;
+    }
+
+    private static void closeQueuedBatches(final BlockingQueue<Object> queue) {
+        Object next;
+        while (null != (next = queue.poll())) {
+            if (next instanceof ScannerBatch) {
+                ((ScannerBatch) next).close();
+            }
+        }
+    }
+
+    /**
+     * Creates the batches of a retriever.
+     */
+    public interface BatchFactory {
+        /**
+         * @return the next batch, or null if there are no more batches.
+         * @throws RetrieverException if the next batch could not be created
+         */
+        ScannerBatch createBatch() throws RetrieverException;
+    }
+
+    /**
+     * A started {@link BatchScanner} along with the seeds it was created for.
+     */
+    public static class ScannerBatch implements Closeable {
+        private final BatchScanner scanner;
+        private final Iterator<Map.Entry<Key, Value>> iterator;
+        private final Set<Object> seeds;
+        private final long startTime = System.nanoTime();
+        private long entries;
+        private boolean closed;
+
+        public ScannerBatch(final BatchScanner scanner) {
+            this(scanner, Collections.<Object>emptySet());
+        }
+
+        public ScannerBatch(final BatchScanner scanner, final Set<Object> seeds) {
+            this.scanner = scanner;
+            this.seeds = seeds;
+
+            // Creating the iterator starts the look ups on the tablet servers.
+            this.iterator = new CountingIterator(scanner.iterator());
+        }
+
+        public Iterator<Map.Entry<Key, Value>> getIterator() {
+            return iterator;
+        }
+
+        public Set<Object> getSeeds() {
+            return seeds;
+        }
+
+        /**
+         * @return the number of entries read from the scanner so far.
+         */
+        public long getEntries() {
+            return entries;
+        }
+
+        @Override
+        public void close() {
+            scanner.close();
+            if (!closed) {
+                closed = true;
+                DURATION_TIMER.update(System.nanoTime() - startTime);
+                ENTRIES_HISTOGRAM.record(entries);
+            }
+        }
+
+        private final class CountingIterator implements Iterator<Map.Entry<Key, Value>> {
+            private final Iterator<Map.Entry<Key, Value>> delegate;
+
+            private CountingIterator(final Iterator<Map.Entry<Key, Value>> delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Map.Entry<Key, Value> next() {
+                final Map.Entry<Key, Value> entry = delegate.next();
+                entries++;
+                return entry;
+            }
+
+            @Override
+            public void remove() {
+                delegate.remove();
+            }
+        }
+    }
+
+    private class Producer implements Runnable {
+        private final BlockingQueue<Object> queue;
+
+        Producer(final BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            ScannerBatch batch = null;
+            try {
+                while (!closed) {
+                    batch = createBatch();
+                    if (null == batch) {
+                        offer(END_OF_BATCHES);
+                        break;
+                    }
+                    if (!offer(batch)) {
+                        break;
+                    }
+                    batch = null;
+                }
+            } catch (final RetrieverException e) {
+                offer(e);
+            } catch (final RuntimeException e) {
+                offer(new RetrieverException(e.getMessage(), e));
+            } finally {
+                // Close the batch if it was not handed to the consumer
+                if (null != batch) {
+                    batch.close();
+                }
+                if (closed) {
+                    closeQueuedBatches(queue);
+                }
+            }
+        }
+
+        /**
+         * Adds an item to the queue, waiting for space whilst the prefetcher
+         * is open. The closed flag is checked between waits so a producer
+         * blocked on a full queue stops soon after the prefetcher is closed.
+         *
+         * @param item the item to add
+         * @return true if the item was added to the queue
+         */
+        private boolean offer(final Object item) {
+            try {
+                while (!closed) {
+                    if (queue.offer(item, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.debug("Prefetching of batches was interrupted", e);
+            }
+            return false;
+        }
+    }
+}
@@ -20,6 +20,10 @@ public class RetrieverException extends Exception {
 
     private static final long serialVersionUID = -5471324536508286444L;
 
+    public RetrieverException(final String message) {
+        super(message);
+    }
+
     public RetrieverException(final String message, final Throwable e) {
         super(message, e);
     }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever.impl;
+
+import com.google.common.collect.Iterators;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorSettingFactory;
+import gaffer.accumulostore.key.RangeFactory;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher.BatchFactory;
+import gaffer.accumulostore.retriever.BatchScannerPrefetcher.ScannerBatch;
+import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.EmptyCloseableIterator;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.EntitySeed;
+import gaffer.store.StoreException;
+import gaffer.store.operation.handler.deduplicate.SeenSet;
+import gaffer.store.operation.handler.deduplicate.SpillableSeenSet;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This returns the {@link EntitySeed}s adjacent to the provided
+ * {@link EntitySeed}s without creating the edges that join them.
+ * <p>
+ * An {@link gaffer.accumulostore.key.impl.AdjacentVertexIterator} is run on
+ * the tablet servers so only the serialised adjacent vertex of each edge is
+ * returned, and the client only deserialises that vertex. The view must not
+ * contain any transformations or post transform filters as these are applied
+ * to whole edges on the client.
+ * <p>
+ * If the operation is set to deduplicate its results, each tablet server
+ * removes duplicate adjacent vertices and the client keeps a
+ * {@link SpillableSeenSet} of the vertices it has returned so each adjacent
+ * {@link EntitySeed} is only returned once across all batches. Once
+ * {@link gaffer.accumulostore.AccumuloProperties#MAX_SEEN_VERTICES_IN_MEMORY}
+ * vertices have been seen they are spilled to local disk. Otherwise an adjacent seed is returned
+ * for every edge, as it is when the edges are returned in full.
+ */
+public class AccumuloAdjacentEntitySeedRetriever implements CloseableIterable<EntitySeed> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloAdjacentEntitySeedRetriever.class);
+
+    private final AccumuloStore store;
+    private final GetOperation<? extends EntitySeed, ?> operation;
+    private final Authorizations authorisations;
+    private final RangeFactory rangeFactory;
+    private final AccumuloElementConverter elementConverter;
+    private final IteratorSetting[] iteratorSettings;
+    private final boolean deduplicate;
+    private CloseableIterator<EntitySeed> iterator;
+
+    public AccumuloAdjacentEntitySeedRetriever(final AccumuloStore store,
+                                               final GetOperation<? extends EntitySeed, ?> operation,
+                                               final User user)
+            throws IteratorSettingException {
+        this.store = store;
+        this.operation = operation;
+        this.rangeFactory = store.getKeyPackage().getRangeFactory();
+        this.elementConverter = store.getKeyPackage().getKeyConverter();
+        this.deduplicate = operation.isDeduplicate();
+
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        this.iteratorSettings = new IteratorSetting[]{
+                iteratorFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                iteratorFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
+                iteratorFactory.getAdjacentVertexIteratorSetting(store, deduplicate)
+        };
+        this.authorisations = AccumuloRetriever.getAuthorisations(user);
+    }
+
+    @Override
+    public CloseableIterator<EntitySeed> iterator() {
+        final Iterable<? extends EntitySeed> seeds = operation.getSeeds();
+        final Iterator<? extends EntitySeed> seedsIterator = null != seeds ? seeds.iterator() : Iterators.<EntitySeed>emptyIterator();
+        if (!seedsIterator.hasNext()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        try {
+            iterator = new AdjacentEntitySeedIterator(seedsIterator);
+        } catch (final RetrieverException e) {
+            LOGGER.error(e.getMessage() + " returning empty iterator", e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        if (null != iterator) {
+            iterator.close();
+        }
+    }
+
+    private BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        final BatchScanner scanner = AccumuloRetriever.createBatchScanner(store, authorisations, ranges, iteratorSettings);
+
+        // Only edges are scanned.
+        for (final String col : operation.getView().getEdgeGroups()) {
+            scanner.fetchColumnFamily(new Text(col));
+        }
+        return scanner;
+    }
+
+    private class AdjacentEntitySeedIterator implements CloseableIterator<EntitySeed> {
+        private final Iterator<? extends EntitySeed> seedsIterator;
+        private final BatchScannerPrefetcher batches;
+        private final SeenSet<Object> seenVertices;
+        private ScannerBatch batch;
+        private EntitySeed nextSeed;
+
+        AdjacentEntitySeedIterator(final Iterator<? extends EntitySeed> seedsIterator) throws RetrieverException {
+            this.seedsIterator = seedsIterator;
+            this.seenVertices = deduplicate
+                    ? new SpillableSeenSet<>(store.getProperties().getMaxSeenVerticesInMemory())
+                    : null;
+            batches = new BatchScannerPrefetcher(new BatchFactory() {
+                @Override
+                public ScannerBatch createBatch() throws RetrieverException {
+                    return createNextBatch();
+                }
+            }, store.getProperties().getPrefetchBatchesForBatchScanner(),
+                    store.getProperties().getPrefetchThreadsForBatchScanner());
+
+            try {
+                batch = batches.nextBatch();
+            } catch (final RetrieverException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextSeed) {
+                return true;
+            }
+            while (null != batch) {
+                final Iterator<Map.Entry<Key, Value>> scannerIterator = batch.getIterator();
+                while (scannerIterator.hasNext()) {
+                    final Object vertex;
+                    try {
+                        vertex = elementConverter.deserialiseVertex(scannerIterator.next().getValue().get());
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to deserialise an adjacent vertex, skipping it", e);
+                        continue;
+                    }
+                    if (!deduplicate || seenVertices.add(vertex)) {
+                        nextSeed = new EntitySeed(vertex);
+                        return true;
+                    }
+                }
+
+                batch.close();
+                try {
+                    batch = batches.nextBatch();
+                } catch (final RetrieverException e) {
+                    LOGGER.error(e.getMessage() + " returning iterator doesn't have any more seeds", e);
+                    batch = null;
+                }
+            }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public EntitySeed next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final EntitySeed result = nextSeed;
+            nextSeed = null;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove seeds from this iterator");
+        }
+
+        @Override
+        public void close() {
+            batches.close();
+            if (null != batch) {
+                batch.close();
+                batch = null;
+            }
+            if (null != seenVertices) {
+                seenVertices.close();
+            }
+        }
+
+        private ScannerBatch createNextBatch() throws RetrieverException {
+            if (!seedsIterator.hasNext()) {
+                return null;
+            }
+
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (seedsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    ranges.addAll(rangeFactory.getRange(seedsIterator.next(), operation));
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+
+            try {
+                return new ScannerBatch(getScanner(ranges));
+            } catch (TableNotFoundException | StoreException e) {
+                throw new RetrieverException(e);
+            }
+        }
+    }
+}
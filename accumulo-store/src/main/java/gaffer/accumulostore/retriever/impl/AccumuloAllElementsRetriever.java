@@ -114,8 +114,9 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
             final Map.Entry<Key, Value> entry = scannerIterator.next();
             try {
                 final Element elm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                        operation.getOptions());
+                        operation.getOptions(), projection);
                 doTransformation(elm);
+                doProjection(elm);
                 return elm;
             } catch (final AccumuloElementConversionException e) {
                 LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
@@ -147,7 +147,12 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
             // we next query for the second batch of seeds and the Bloom filters
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
-            addToBloomFilter(seed, filter, clientSideFilter);
+            addToBloomFilter(seed.getVertex(), filter);
+        }
+
+        @Override
+        protected void updateClientSideFilterIfRequired(final Object vertex) throws RetrieverException {
+            addToBloomFilter(vertex, clientSideFilter);
         }
 
         protected boolean secondaryCheck(final Element elm) {
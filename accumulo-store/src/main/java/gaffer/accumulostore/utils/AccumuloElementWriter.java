@@ -0,0 +1,303 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An <code>AccumuloElementWriter</code> converts {@link Element}s into
+ * {@link Mutation}s and adds them to a {@link BatchWriter}.
+ * <p>
+ * The elements are split into batches. Within a batch, the keys for the same
+ * row are put into a single {@link Mutation}, unless the same key appears
+ * more than once. If more than one thread is configured, the batches are
+ * converted on a pool of background threads and added to the shared
+ * {@link BatchWriter}, which is thread safe. At most <code>numThreads</code>
+ * batches are converted at once; once that limit is reached the thread
+ * reading the elements waits for a batch to complete before reading any more.
+ * <p>
+ * If only one thread is configured, the batches are converted on the calling
+ * thread.
+ * <p>
+ * Elements that cannot be converted are counted as failed in the returned
+ * {@link IngestResult} and passed to the {@link DeadLetterSink}, if there is
+ * one.
+ * <p>
+ * The {@link BatchWriter} reports rejected mutations asynchronously, so a
+ * {@link MutationsRejectedException} may relate to mutations from any earlier
+ * batch. Rejections are therefore recorded as a failure of the whole write,
+ * using {@link IngestResult#setBatchWriterFailed(boolean)}, rather than
+ * against individual elements. Once the {@link BatchWriter} has rejected
+ * mutations it cannot be used again, so no more batches are written.
+ */
+public class AccumuloElementWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloElementWriter.class);
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = defaultFactory.newThread(runnable);
+            thread.setName("gaffer-element-writer-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final AccumuloElementConverter converter;
+    private final BatchWriter writer;
+    private final int numThreads;
+    private final int batchSize;
+    private final DeadLetterSink deadLetterSink;
+
+    public AccumuloElementWriter(final AccumuloElementConverter converter, final BatchWriter writer,
+                                 final int numThreads, final int batchSize) {
+        this(converter, writer, numThreads, batchSize, null);
+    }
+
+    public AccumuloElementWriter(final AccumuloElementConverter converter, final BatchWriter writer,
+                                 final int numThreads, final int batchSize, final DeadLetterSink deadLetterSink) {
+        this.converter = converter;
+        this.writer = writer;
+        this.numThreads = Math.max(1, numThreads);
+        this.batchSize = Math.max(1, batchSize);
+        this.deadLetterSink = deadLetterSink;
+    }
+
+    /**
+     * Converts the elements and adds them to the {@link BatchWriter}. This
+     * method returns once all the elements have been added, but it does not
+     * flush or close the {@link BatchWriter}.
+     * <p>
+     * Elements that cannot be converted are logged, counted and passed to the
+     * {@link DeadLetterSink}. If the {@link BatchWriter} rejects mutations the
+     * write stops and the result is marked as having a failed batch writer.
+     *
+     * @param elements the elements to write
+     * @return the counts of the elements that were added and that failed
+     * @throws StoreException if a batch failed unexpectedly or the calling
+     *                        thread was interrupted
+     */
+    public IngestResult write(final Iterable<Element> elements) throws StoreException {
+        final long startTime = System.nanoTime();
+        final IngestResult result = new IngestResult();
+        if (1 == numThreads) {
+            writeInCallingThread(elements, result);
+        } else {
+            writeInParallel(elements, result);
+        }
+        result.setDurationNanos(System.nanoTime() - startTime);
+        return result;
+    }
+
+    private void writeInCallingThread(final Iterable<Element> elements, final IngestResult result) {
+        List<Element> batch = new ArrayList<>(batchSize);
+        for (final Element element : elements) {
+            batch.add(element);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, result);
+                batch = new ArrayList<>(batchSize);
+                if (result.isBatchWriterFailed()) {
+                    return;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, result);
+        }
+    }
+
+    private void writeInParallel(final Iterable<Element> elements, final IngestResult result) throws StoreException {
+        final Semaphore permits = new Semaphore(numThreads);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submitBatch(batch, result, permits, failure);
+                    batch = new ArrayList<>(batchSize);
+                    if (null != failure.get() || result.isBatchWriterFailed()) {
+                        break;
+                    }
+                }
+            }
+            if (!batch.isEmpty() && null == failure.get() && !result.isBatchWriterFailed()) {
+                submitBatch(batch, result, permits, failure);
+            }
+
+            // Wait for the remaining batches to complete.
+            permits.acquire(numThreads);
+            permits.release(numThreads);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        }
+
+        if (null != failure.get()) {
+            throw new StoreException("Failed to add elements: " + failure.get().getMessage(), failure.get());
+        }
+    }
+
+    private void submitBatch(final List<Element> batch, final IngestResult result, final Semaphore permits,
+                             final AtomicReference<RuntimeException> failure) throws InterruptedException {
+        permits.acquire();
+        try {
+            EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        final IngestResult batchResult = new IngestResult();
+                        writeBatch(batch, batchResult);
+                        result.merge(batchResult);
+                    } catch (final RuntimeException e) {
+                        LOGGER.error("Failed to add a batch of elements", e);
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (final RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void writeBatch(final List<Element> batch, final IngestResult result) {
+        final List<Mutation> mutations = new ArrayList<>();
+        final Map<Text, RowMutation> rowMutations = new HashMap<>();
+        final List<Element> convertedElements = new ArrayList<>(batch.size());
+        final long[] conversionTimes = new long[batch.size()];
+        for (final Element element : batch) {
+            final long startTime = System.nanoTime();
+            final Pair<Key> keys;
+            try {
+                keys = converter.getKeysFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
+                        + " when trying to insert elements");
+                failed(element, e, result);
+                continue;
+            }
+            final Value value;
+            try {
+                value = converter.getValueFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
+                        + " when trying to insert elements");
+                failed(element, e, result);
+                continue;
+            }
+            addToMutations(keys.getFirst(), value, mutations, rowMutations);
+            // If the GraphElement is a Vertex then there will only be 1 key,
+            // and the second will be null.
+            // If the GraphElement is an Edge then there will be 2 keys.
+            if (null != keys.getSecond()) {
+                addToMutations(keys.getSecond(), value, mutations, rowMutations);
+            }
+            conversionTimes[convertedElements.size()] = System.nanoTime() - startTime;
+            convertedElements.add(element);
+        }
+
+        if (!mutations.isEmpty()) {
+            final long startTime = System.nanoTime();
+            try {
+                writer.addMutations(mutations);
+            } catch (final MutationsRejectedException e) {
+                // The rejected mutations may have come from any earlier batch, so they are not
+                // attributed to the elements in this batch.
+                LOGGER.error("Accumulo batch writer rejected mutations: {} constraint violation summaries, "
+                                + "{} tablets with authorization failures, {} servers with errors",
+                        e.getConstraintViolationSummaries().size(), e.getAuthorizationFailuresMap().size(),
+                        e.getErrorServers().size(), e);
+                result.setBatchWriterFailed(true);
+                return;
+            } finally {
+                result.addWriteTime(System.nanoTime() - startTime);
+            }
+        }
+
+        for (int i = 0; i < convertedElements.size(); i++) {
+            result.addedElement(convertedElements.get(i).getGroup(), conversionTimes[i]);
+        }
+    }
+
+    private void failed(final Element element, final Exception cause, final IngestResult result) {
+        result.failedElement(element.getGroup());
+        if (null != deadLetterSink) {
+            deadLetterSink.add(element, cause);
+        }
+    }
+
+    /**
+     * Adds the key and value to the current mutation for the key's row. Puts
+     * of the same key within a single mutation overwrite each other rather
+     * than being aggregated, so if the row's current mutation already
+     * contains the key a new mutation is started for the row.
+     *
+     * @param key          the key to add
+     * @param value        the value to add
+     * @param mutations    all the mutations for the batch
+     * @param rowMutations the current mutation for each row
+     */
+    private void addToMutations(final Key key, final Value value, final List<Mutation> mutations,
+                                final Map<Text, RowMutation> rowMutations) {
+        final Text row = key.getRow();
+        RowMutation rowMutation = rowMutations.get(row);
+        if (null == rowMutation || !rowMutation.keys.add(key)) {
+            rowMutation = new RowMutation(row, key);
+            rowMutations.put(row, rowMutation);
+            mutations.add(rowMutation.mutation);
+        }
+        rowMutation.mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+    }
+
+    private static final class RowMutation {
+        private final Mutation mutation;
+        private final Set<Key> keys = new HashSet<>();
+
+        private RowMutation(final Text row, final Key key) {
+            mutation = new Mutation(row);
+            keys.add(key);
+        }
+    }
+}
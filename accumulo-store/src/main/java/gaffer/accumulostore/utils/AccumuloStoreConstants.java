@@ -30,6 +30,8 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String PROPERTY_PROJECTION_ITERATOR_NAME = "Property_Projection";
+    public static final String ADJACENT_VERTEX_ITERATOR_NAME = "Adjacent_Vertex";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -49,6 +51,8 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String POPULATE_PROPERTIES = "Populate_Properties";
+    public static final String DEDUPLICATE_ADJACENT_VERTICES = "Deduplicate_Adjacent_Vertices";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -70,6 +74,10 @@ public final class AccumuloStoreConstants {
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
     // Applied only during scans.
+    public static final int PROPERTY_PROJECTION_ITERATOR_PRIORITY = 38;
+    // Applied only during scans.
+    public static final int ADJACENT_VERTEX_ITERATOR_PRIORITY = 39;
+    // Applied only during scans.
     public static final int TRANSFORM_PRIORITY = 50;
 
     // Operations options
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.data.element.Element;
+
+/**
+ * A <code>DeadLetterSink</code> receives the elements that the
+ * {@link gaffer.accumulostore.AccumuloStore} could not add, so they can be
+ * stored and re-added later rather than being lost. The sink class is set
+ * using the <code>accumulo.deadLetterSinkClass</code> store property and must
+ * have a no-argument constructor.
+ * <p>
+ * If elements are added using more than one thread the sink is called from
+ * all of them, so implementations must be thread safe.
+ */
+public interface DeadLetterSink {
+    /**
+     * Called for each element that could not be added.
+     *
+     * @param element the element that could not be added
+     * @param cause   the reason the element could not be added
+     */
+    void add(final Element element, final Exception cause);
+}
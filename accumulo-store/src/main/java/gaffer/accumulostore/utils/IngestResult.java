@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An <code>IngestResult</code> records what happened to the elements passed to
+ * an {@link AccumuloElementWriter}: how many elements of each group were added
+ * to the batch writer and how many failed, how long the elements took to
+ * convert into mutations and how long was spent waiting for the batch writer
+ * to accept them.
+ * <p>
+ * A large write time compared to the conversion time suggests the batch
+ * writer's buffer size or number of threads should be increased.
+ * <p>
+ * The methods that update a result are synchronized, so a result can be
+ * shared between threads.
+ */
+public class IngestResult {
+    private final Map<String, GroupResult> groupResults = new TreeMap<>();
+    private long writeTimeNanos;
+    private long durationNanos;
+    private boolean batchWriterFailed;
+
+    /**
+     * Records an element that was converted into mutations and added to the
+     * batch writer.
+     *
+     * @param group               the group of the element
+     * @param conversionTimeNanos the time taken to convert the element
+     */
+    public synchronized void addedElement(final String group, final long conversionTimeNanos) {
+        final GroupResult groupResult = getOrCreateGroupResult(group);
+        groupResult.added++;
+        groupResult.conversionTimeNanos += conversionTimeNanos;
+    }
+
+    /**
+     * Records an element that could not be converted into mutations or added
+     * to the batch writer.
+     *
+     * @param group the group of the element
+     */
+    public synchronized void failedElement(final String group) {
+        getOrCreateGroupResult(group).failed++;
+    }
+
+    /**
+     * Records the time spent waiting for the batch writer to accept mutations.
+     *
+     * @param nanos the time spent waiting
+     */
+    public synchronized void addWriteTime(final long nanos) {
+        writeTimeNanos += nanos;
+    }
+
+    /**
+     * Adds all the counts and times from another result to this result.
+     *
+     * @param other the result to add
+     */
+    public synchronized void merge(final IngestResult other) {
+        synchronized (other) {
+            for (final Map.Entry<String, GroupResult> entry : other.groupResults.entrySet()) {
+                final GroupResult groupResult = getOrCreateGroupResult(entry.getKey());
+                groupResult.added += entry.getValue().added;
+                groupResult.failed += entry.getValue().failed;
+                groupResult.conversionTimeNanos += entry.getValue().conversionTimeNanos;
+            }
+            writeTimeNanos += other.writeTimeNanos;
+            batchWriterFailed |= other.batchWriterFailed;
+        }
+    }
+
+    public synchronized void setDurationNanos(final long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Records that the batch writer rejected mutations when they were added,
+     * flushed or closed. The batch writer reports rejections asynchronously,
+     * so these mutations cannot be traced back to their elements. Elements
+     * written before the rejection are still counted as added, and the
+     * elements that were not written are not counted.
+     *
+     * @param batchWriterFailed true if the batch writer rejected mutations
+     */
+    public synchronized void setBatchWriterFailed(final boolean batchWriterFailed) {
+        this.batchWriterFailed = batchWriterFailed;
+    }
+
+    public synchronized Map<String, GroupResult> getGroupResults() {
+        final Map<String, GroupResult> copy = new TreeMap<>();
+        for (final Map.Entry<String, GroupResult> entry : groupResults.entrySet()) {
+            copy.put(entry.getKey(), new GroupResult(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public synchronized long getElementsAdded() {
+        long added = 0;
+        for (final GroupResult groupResult : groupResults.values()) {
+            added += groupResult.added;
+        }
+        return added;
+    }
+
+    public synchronized long getElementsFailed() {
+        long failed = 0;
+        for (final GroupResult groupResult : groupResults.values()) {
+            failed += groupResult.failed;
+        }
+        return failed;
+    }
+
+    public synchronized boolean isBatchWriterFailed() {
+        return batchWriterFailed;
+    }
+
+    public synchronized long getWriteTimeNanos() {
+        return writeTimeNanos;
+    }
+
+    public synchronized long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return true if any elements failed or the batch writer rejected
+     * mutations when it was flushed or closed
+     */
+    public synchronized boolean hasFailures() {
+        return batchWriterFailed || getElementsFailed() > 0;
+    }
+
+    /**
+     * @return the number of elements added per second over the whole ingest,
+     * or 0 if the duration has not been set
+     */
+    public synchronized double getElementsAddedPerSecond() {
+        return perSecond(getElementsAdded(), durationNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder builder = new StringBuilder()
+                .append("added=").append(getElementsAdded())
+                .append(", failed=").append(getElementsFailed())
+                .append(", batchWriterFailed=").append(batchWriterFailed)
+                .append(", durationMillis=").append(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .append(", writeTimeMillis=").append(TimeUnit.NANOSECONDS.toMillis(writeTimeNanos))
+                .append(", elementsPerSecond=").append(String.format("%.1f", getElementsAddedPerSecond()))
+                .append(", groups={");
+        boolean first = true;
+        for (final Map.Entry<String, GroupResult> entry : groupResults.entrySet()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            builder.append(entry.getKey()).append("=").append(entry.getValue());
+        }
+        return builder.append("}").toString();
+    }
+
+    private GroupResult getOrCreateGroupResult(final String group) {
+        GroupResult groupResult = groupResults.get(group);
+        if (null == groupResult) {
+            groupResult = new GroupResult();
+            groupResults.put(group, groupResult);
+        }
+        return groupResult;
+    }
+
+    private static double perSecond(final long count, final long nanos) {
+        if (nanos <= 0) {
+            return 0;
+        }
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    /**
+     * The counts and conversion time for the elements of a single group.
+     */
+    public static class GroupResult {
+        private long added;
+        private long failed;
+        private long conversionTimeNanos;
+
+        GroupResult() {
+        }
+
+        GroupResult(final GroupResult groupResult) {
+            added = groupResult.added;
+            failed = groupResult.failed;
+            conversionTimeNanos = groupResult.conversionTimeNanos;
+        }
+
+        public long getAdded() {
+            return added;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getConversionTimeNanos() {
+            return conversionTimeNanos;
+        }
+
+        /**
+         * @return the average time taken to convert an element of this group
+         * into mutations, or 0 if no elements were added
+         */
+        public long getAverageConversionTimeNanos() {
+            return added > 0 ? conversionTimeNanos / added : 0;
+        }
+
+        /**
+         * @return the number of elements of this group that can be converted
+         * per second on a single thread, based on the average conversion time
+         */
+        public double getConversionsPerSecond() {
+            return perSecond(added, conversionTimeNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "{added=" + added
+                    + ", failed=" + failed
+                    + ", averageConversionMicros=" + TimeUnit.NANOSECONDS.toMicros(getAverageConversionTimeNanos())
+                    + "}";
+        }
+    }
+}
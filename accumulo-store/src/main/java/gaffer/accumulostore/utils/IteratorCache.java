@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.store.ElementValidator;
+import gaffer.store.schema.Schema;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An <code>IteratorCache</code> holds the {@link Schema}s, {@link View}s,
+ * {@link ElementValidator}s and {@link AccumuloElementConverter}s created by
+ * the Gaffer iterators and record readers, keyed on the JSON they were
+ * parsed from. Iterators are created for every scan and compaction, so this
+ * avoids parsing the same JSON and reflectively creating the same converter
+ * over and over again on the tablet servers.
+ * <p>
+ * Each cache is shared by the whole JVM and holds at most
+ * {@value #DEFAULT_MAX_SIZE} entries, the least recently used entries are
+ * evicted first. The maximum size can be changed with the
+ * {@value #MAX_SIZE_PROPERTY} system property.
+ * <p>
+ * Schemas, schema validators and converters are safe to share between
+ * threads. The filters and transformers in a view are not, so each call to
+ * {@link #getView(String)} returns a clone of the cached view.
+ */
+public final class IteratorCache {
+    public static final String MAX_SIZE_PROPERTY = "gaffer.accumulostore.iterator.cache.max_size";
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    private static final int MAX_SIZE = Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+    private static final LruCache<String, Schema> SCHEMAS = new LruCache<>(MAX_SIZE);
+    private static final LruCache<String, View> VIEWS = new LruCache<>(MAX_SIZE);
+    private static final LruCache<String, ElementValidator> SCHEMA_VALIDATORS = new LruCache<>(MAX_SIZE);
+    private static final LruCache<ConverterKey, AccumuloElementConverter> CONVERTERS = new LruCache<>(MAX_SIZE);
+
+    private IteratorCache() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * @param schemaJson the json serialised schema
+     * @return the cached {@link Schema} for the json, parsing it if it is not cached
+     * @throws SchemaException if the schema cannot be deserialised
+     */
+    public static Schema getSchema(final String schemaJson) throws SchemaException {
+        Schema schema = SCHEMAS.get(schemaJson);
+        if (null == schema) {
+            schema = Schema.fromJson(getBytes(schemaJson));
+            SCHEMAS.put(schemaJson, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * @param viewJson the json serialised view
+     * @return a clone of the cached {@link View} for the json, parsing it if it is not cached
+     * @throws SchemaException if the view cannot be deserialised
+     */
+    public static View getView(final String viewJson) throws SchemaException {
+        View view = VIEWS.get(viewJson);
+        if (null == view) {
+            view = View.fromJson(getBytes(viewJson));
+            VIEWS.put(viewJson, view);
+        }
+        return view.clone();
+    }
+
+    /**
+     * @param viewJson the json serialised view
+     * @return a new {@link ElementValidator} for a clone of the cached {@link View}
+     * @throws SchemaException if the view cannot be deserialised
+     */
+    public static ElementValidator getViewValidator(final String viewJson) throws SchemaException {
+        return new ElementValidator(getView(viewJson));
+    }
+
+    /**
+     * @param schemaJson the json serialised schema
+     * @param includeIsA true if the IsA validate functions should be used
+     * @return the cached {@link ElementValidator} for the schema
+     * @throws SchemaException if the schema cannot be deserialised
+     */
+    public static ElementValidator getSchemaValidator(final String schemaJson, final boolean includeIsA)
+            throws SchemaException {
+        final String key = includeIsA + schemaJson;
+        ElementValidator validator = SCHEMA_VALIDATORS.get(key);
+        if (null == validator) {
+            validator = new ElementValidator(getSchema(schemaJson), includeIsA);
+            SCHEMA_VALIDATORS.put(key, validator);
+        }
+        return validator;
+    }
+
+    /**
+     * @param converterClassName the name of the {@link AccumuloElementConverter} class
+     * @param schemaJson         the json serialised schema
+     * @return the cached {@link AccumuloElementConverter} for the class and schema, creating it if it is not cached
+     * @throws ClassNotFoundException    if the converter class cannot be found
+     * @throws NoSuchMethodException     if the converter class does not have a constructor that takes a {@link Schema}
+     * @throws InstantiationException    if the converter class is abstract
+     * @throws IllegalAccessException    if the converter constructor is not accessible
+     * @throws InvocationTargetException if the converter constructor throws an exception
+     * @throws SchemaException           if the schema cannot be deserialised
+     */
+    public static AccumuloElementConverter getElementConverter(final String converterClassName, final String schemaJson)
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException,
+            InvocationTargetException, SchemaException {
+        final ConverterKey key = new ConverterKey(converterClassName, schemaJson);
+        AccumuloElementConverter converter = CONVERTERS.get(key);
+        if (null == converter) {
+            converter = (AccumuloElementConverter) Class.forName(converterClassName)
+                    .getConstructor(Schema.class)
+                    .newInstance(getSchema(schemaJson));
+            CONVERTERS.put(key, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * Removes all the cached items.
+     */
+    public static void clear() {
+        SCHEMAS.clear();
+        VIEWS.clear();
+        SCHEMA_VALIDATORS.clear();
+        CONVERTERS.clear();
+    }
+
+    private static byte[] getBytes(final String json) {
+        try {
+            return json.getBytes(CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise JSON", e);
+        }
+    }
+
+    private static final class LruCache<K, V> {
+        private final Map<K, V> items;
+
+        private LruCache(final int maxSize) {
+            items = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1836574052317683412L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized V get(final K key) {
+            return items.get(key);
+        }
+
+        private synchronized void put(final K key, final V value) {
+            items.put(key, value);
+        }
+
+        private synchronized void clear() {
+            items.clear();
+        }
+    }
+
+    private static final class ConverterKey {
+        private final String converterClassName;
+        private final String schemaJson;
+
+        private ConverterKey(final String converterClassName, final String schemaJson) {
+            this.converterClassName = converterClassName;
+            this.schemaJson = schemaJson;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ConverterKey other = (ConverterKey) obj;
+            return converterClassName.equals(other.converterClassName) && schemaJson.equals(other.schemaJson);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * converterClassName.hashCode() + schemaJson.hashCode();
+        }
+    }
+}
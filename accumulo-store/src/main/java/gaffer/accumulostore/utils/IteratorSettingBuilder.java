@@ -118,6 +118,11 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder populateProperties(final boolean populateProperties) {
+        setting.addOption(AccumuloStoreConstants.POPULATE_PROPERTIES, String.valueOf(populateProperties));
+        return this;
+    }
+
     public IteratorSettingBuilder schema(final Schema schema) {
         try {
             setting.addOption(AccumuloStoreConstants.SCHEMA, new String(schema.toJson(false), CommonConstants.UTF_8));
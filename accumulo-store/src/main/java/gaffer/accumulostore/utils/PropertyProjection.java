@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.data.element.Element;
+import gaffer.data.element.ElementComponentKey;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.operation.GetOperation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>PropertyProjection</code> works out which properties of each group
+ * need to be read to answer a query, based on the properties listed in the
+ * {@link ViewElementDefinition}s of the {@link View} and the operation's
+ * populate properties flag.
+ * <p>
+ * The properties used by the transformer and post transform filter are always
+ * required, as these are applied on the client after the properties have
+ * been read. The projected properties are the properties that are returned
+ * to the user once the element has been transformed and filtered.
+ * <p>
+ * A group with no projection requires, and returns, all of its properties.
+ */
+public class PropertyProjection {
+    private final Map<String, Set<String>> requiredProperties = new HashMap<>();
+    private final Map<String, Set<String>> projectedProperties = new HashMap<>();
+
+    public PropertyProjection(final GetOperation<?, ?> operation) {
+        this(operation.getView(), operation.isPopulateProperties());
+    }
+
+    public PropertyProjection(final View view, final boolean populateProperties) {
+        if (null != view) {
+            addGroups(view.getEntities(), populateProperties);
+            addGroups(view.getEdges(), populateProperties);
+        }
+    }
+
+    /**
+     * @return true if any group does not require all of its properties.
+     */
+    public boolean isProjecting() {
+        return !requiredProperties.isEmpty();
+    }
+
+    /**
+     * @param group the group
+     * @return the properties of the group that need to be read, or null if all
+     * properties are required.
+     */
+    public Set<String> getRequiredProperties(final String group) {
+        return requiredProperties.get(group);
+    }
+
+    /**
+     * @param group the group
+     * @return the properties of the group that should be returned, or null if
+     * all properties should be returned.
+     */
+    public Set<String> getProjectedProperties(final String group) {
+        return projectedProperties.get(group);
+    }
+
+    /**
+     * Removes the properties that should not be returned from the element.
+     * This should be called after the element has been transformed and
+     * filtered.
+     *
+     * @param element the element to project
+     */
+    public void project(final Element element) {
+        final Set<String> properties = projectedProperties.get(element.getGroup());
+        if (null != properties) {
+            final Iterator<String> propertyNames = element.getProperties().keySet().iterator();
+            while (propertyNames.hasNext()) {
+                if (!properties.contains(propertyNames.next())) {
+                    propertyNames.remove();
+                }
+            }
+        }
+    }
+
+    private void addGroups(final Map<String, ViewElementDefinition> elementDefs, final boolean populateProperties) {
+        for (final Map.Entry<String, ViewElementDefinition> entry : elementDefs.entrySet()) {
+            final ViewElementDefinition elementDef = entry.getValue();
+            final Set<String> projected;
+            if (!populateProperties) {
+                projected = Collections.emptySet();
+            } else if (null != elementDef && null != elementDef.getProperties()) {
+                projected = Collections.unmodifiableSet(new HashSet<>(elementDef.getProperties()));
+            } else {
+                continue;
+            }
+
+            final Set<String> required = new HashSet<>(projected);
+            if (null != elementDef) {
+                addSelectedProperties(elementDef.getTransformFunctions(), required);
+                addSelectedProperties(elementDef.getPostTransformFilterFunctions(), required);
+            }
+            projectedProperties.put(entry.getKey(), projected);
+            requiredProperties.put(entry.getKey(), Collections.unmodifiableSet(required));
+        }
+    }
+
+    private void addSelectedProperties(final List<? extends ConsumerFunctionContext<ElementComponentKey, ?>> functions,
+                                       final Set<String> properties) {
+        if (null != functions) {
+            for (final ConsumerFunctionContext<ElementComponentKey, ?> function : functions) {
+                if (null != function.getSelection()) {
+                    for (final ElementComponentKey key : function.getSelection()) {
+                        if (!key.isId()) {
+                            properties.add(key.getPropertyName());
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -57,6 +57,7 @@ import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsBySeed;
 import gaffer.operation.impl.get.GetRelatedElements;
@@ -77,6 +78,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class AccumuloStoreTest {
@@ -176,6 +178,100 @@ public class AccumuloStoreTest {
         assertEquals(0, Iterables.size(relatedResults));
     }
 
+    @Test
+    public void shouldAddAndAggregateElementsUsingMultipleIngestThreads() throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setNumThreadsForIngest("4");
+        properties.setElementsPerIngestBatch("7");
+        properties.setTable("parallelIngestTable");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+
+        final int numEntities = 100;
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numEntities; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "" + i);
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+        final User user = new User();
+
+        // When
+        store.execute(new AddElements.Builder().elements(elements).build(), user);
+        store.execute(new AddElements.Builder().elements(elements).build(), user);
+
+        // Then
+        final CloseableIterable<Element> results = store.execute(new GetAllElements.Builder<>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build(), user);
+        int count = 0;
+        for (final Element result : results) {
+            assertEquals(2, result.getProperty(TestPropertyNames.COUNT));
+            count++;
+        }
+        results.close();
+        assertEquals(numEntities, count);
+    }
+
+    @Test
+    public void shouldOnlyReturnProjectedPropertiesGaffer1() throws OperationException, StoreException {
+        shouldOnlyReturnProjectedProperties(CLASSIC_PROPERTIES, "classicProjectionTable");
+    }
+
+    @Test
+    public void shouldOnlyReturnProjectedPropertiesByteEntity() throws OperationException, StoreException {
+        shouldOnlyReturnProjectedProperties(PROPERTIES, "byteEntityProjectionTable");
+    }
+
+    public void shouldOnlyReturnProjectedProperties(final AccumuloProperties storeProperties, final String table)
+            throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties properties = storeProperties.clone();
+        properties.setTable(table);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+
+        final Entity entity = new Entity(TestGroups.ENTITY, "1");
+        entity.putProperty(TestPropertyNames.PROP_1, 1);
+        entity.putProperty(TestPropertyNames.PROP_2, 2);
+        entity.putProperty(TestPropertyNames.COUNT, 3);
+        final User user = new User();
+        store.execute(new AddElements.Builder().elements(Collections.<Element>singletonList(entity)).build(), user);
+
+        // When
+        final GetElements<EntitySeed, Element> getProjected = new GetRelatedElements.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.PROP_2)
+                                        .execute(new IsMoreThan(1))
+                                        .build())
+                                .build())
+                        .build())
+                .addSeed(new EntitySeed("1"))
+                .build();
+        final Element projected = Iterables.getOnlyElement(store.execute(getProjected, user));
+
+        final GetElements<EntitySeed, Element> getNoProperties = new GetRelatedElements.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .addSeed(new EntitySeed("1"))
+                .populateProperties(false)
+                .build();
+        final Element noProperties = Iterables.getOnlyElement(store.execute(getNoProperties, user));
+
+        // Then
+        assertEquals(1, projected.getProperties().size());
+        assertEquals(3, projected.getProperty(TestPropertyNames.COUNT));
+        assertEquals("1", ((Entity) noProperties).getVertex());
+        assertTrue(noProperties.getProperties().isEmpty());
+    }
+
     @Test
     public void testStoreReturnsHandlersForRegisteredOperationsGaffer1() throws OperationException, StoreException {
         testStoreReturnsHandlersForRegisteredOperations(gaffer1KeyStore);
@@ -28,7 +28,9 @@ import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.aggregate.Max;
 import gaffer.function.simple.aggregate.StringConcat;
+import gaffer.function.simple.aggregate.Sum;
 import gaffer.graph.Graph;
 import gaffer.graph.Graph.Builder;
 import gaffer.operation.OperationException;
@@ -36,6 +38,8 @@ import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
 import gaffer.store.StoreProperties;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaEntityDefinition;
@@ -45,6 +49,7 @@ import org.hamcrest.core.IsCollectionContaining;
 import org.junit.Test;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class AccumuloAggregationIT {
@@ -434,6 +439,71 @@ public class AccumuloAggregationIT {
         ));
     }
 
+    @Test
+    public void shouldAggregateRawLongPropertiesOnTheirSerialisedBytes() throws OperationException {
+        final Graph graph = new Builder()
+                .storeProperties(STORE_PROPERTIES)
+                .addSchema(new Schema.Builder()
+                        .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                                .clazz(String.class)
+                                .build())
+                        .type("colQual", new TypeDefinition.Builder()
+                                .clazz(String.class)
+                                .aggregateFunction(new StringConcat())
+                                .serialiser(new StringSerialiser())
+                                .build())
+                        .type("count", new TypeDefinition.Builder()
+                                .clazz(Long.class)
+                                .aggregateFunction(new Sum())
+                                .serialiser(new CompactRawLongSerialiser())
+                                .build())
+                        .type("max", new TypeDefinition.Builder()
+                                .clazz(Long.class)
+                                .aggregateFunction(new Max())
+                                .serialiser(new RawLongSerialiser())
+                                .build())
+                        .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                .vertex(TestTypes.ID_STRING)
+                                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, "colQual")
+                                .property(AccumuloPropertyNames.COUNT, "count")
+                                .property(AccumuloPropertyNames.PROP_1, "max")
+                                .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .build())
+                        .build())
+                .build();
+
+        graph.execute(new AddElements(Arrays.asList((Element) createCountEntity("a", 1L, 10L), createCountEntity("b", 5L, 1L))), USER);
+        graph.execute(new AddElements(Collections.singletonList((Element) createCountEntity("a", 2L, 7L))), USER);
+        graph.execute(new AddElements(Collections.singletonList((Element) createCountEntity("a", 3L, 12L))), USER);
+
+        // Given
+        final GetEntitiesBySeed getElements = new GetEntitiesBySeed.Builder()
+                .addSeed(new EntitySeed(VERTEX))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+
+        // When
+        final List<Entity> results = Lists.newArrayList(graph.execute(getElements, USER));
+
+        // Then
+        assertEquals(2, results.size());
+        assertThat(results, IsCollectionContaining.hasItems(
+                createCountEntity("a", 6L, 12L), createCountEntity("b", 5L, 1L)
+        ));
+    }
+
+    private Entity createCountEntity(final String columnQualifier, final long count, final long max) {
+        return new Entity.Builder()
+                .vertex(VERTEX)
+                .group(TestGroups.ENTITY)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier)
+                .property(AccumuloPropertyNames.COUNT, count)
+                .property(AccumuloPropertyNames.PROP_1, max)
+                .build();
+    }
+
     protected Graph createGraph() {
         return new Builder()
                 .storeProperties(STORE_PROPERTIES)
@@ -19,6 +19,7 @@ package gaffer.accumulostore.key.core.impl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
@@ -26,12 +27,16 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.PropertyProjection;
 import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.element.Properties;
 import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaEdgeDefinition;
 import org.apache.accumulo.core.data.Key;
@@ -39,7 +44,9 @@ import org.apache.accumulo.core.data.Value;
 import org.junit.Before;
 import org.junit.Test;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 public abstract class AbstractAccumuloElementConverterTest {
@@ -204,6 +211,23 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(100, newEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
     }
 
+    @Test
+    public void shouldGetAdjacentVertexFromBothKeysOfAnEdge() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+
+        // When
+        final Object adjacentToSource = converter.deserialiseVertex(converter.getAdjacentVertexBytesFromKey(keys.getFirst()));
+        final Object adjacentToDestination = converter.deserialiseVertex(converter.getAdjacentVertexBytesFromKey(keys.getSecond()));
+
+        // Then
+        assertEquals("2", adjacentToSource);
+        assertEquals("1", adjacentToDestination);
+    }
+
     @Test
     public void shouldSkipNullPropertyValuesWhenCreatingAccumuloValue() throws SchemaException, AccumuloElementConversionException, IOException {
         // Given
@@ -306,6 +330,92 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldProjectValueToOnlyTheGivenProperties() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_2, 166);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.projectValue(TestGroups.EDGE, value,
+                new HashSet<>(Arrays.asList(AccumuloPropertyNames.PROP_2, AccumuloPropertyNames.COUNT)));
+
+        // Then
+        final Properties deSerialisedProperties = converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue);
+        assertEquals(2, deSerialisedProperties.size());
+        assertEquals(166, deSerialisedProperties.get(AccumuloPropertyNames.PROP_2));
+        assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldProjectValueToEmptyValueWhenNoPropertiesAreRequired() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.projectValue(TestGroups.EDGE, value, new HashSet<String>());
+
+        // Then
+        assertEquals(0, projectedValue.getSize());
+        assertEquals(0, converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue).size());
+    }
+
+    @Test
+    public void shouldOnlyDeserialiseRequiredPropertiesWhenGettingFullElement() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_2, 200);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 60);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 166);
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+        final PropertyProjection projection = new PropertyProjection(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(AccumuloPropertyNames.COLUMN_QUALIFIER_2, AccumuloPropertyNames.PROP_1)
+                        .build())
+                .build(), true);
+
+        // When
+        final Element element = converter.getFullElement(keys.getFirst(), value, new HashMap<String, String>(), projection);
+
+        // Then
+        assertEquals(2, element.getProperties().size());
+        assertEquals(200, element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_2));
+        assertEquals(60, element.getProperty(AccumuloPropertyNames.PROP_1));
+    }
+
+    @Test
+    public void shouldOnlyLoadRequestedPropertiesFromLazyElement() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_2, 200);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 60);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 299);
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Element element = converter.getLazyElement(keys.getFirst(), value, new HashMap<String, String>());
+
+        // Then
+        assertEquals(TestGroups.EDGE, element.getGroup());
+        assertTrue(element.getProperties().isEmpty());
+        assertEquals(299, element.getProperty(AccumuloPropertyNames.PROP_3));
+        assertEquals(200, element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_2));
+        assertNull(element.getProperty(AccumuloPropertyNames.PROP_2));
+        assertEquals(3, element.getProperties().size());
+        assertEquals("1", ((Edge) element).getSource());
+        assertEquals("2", ((Edge) element).getDestination());
+        assertTrue(((Edge) element).isDirected());
+    }
+
     @Test
     public void shouldSerialiseAndDeSerialiseBetweenPropertyAndValueWithNullProperty() throws AccumuloElementConversionException {
         Properties properties = new Properties();
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestTypes;
+import gaffer.data.element.Properties;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.Min;
+import gaffer.function.simple.aggregate.StringConcat;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+
+public class RawLongValueAggregatorTest {
+    private static final String COUNT_TYPE = "count";
+    private static final String MAX_TYPE = "max";
+    private static final String MIN_TYPE = "min";
+    private static final String STRING_TYPE = "string";
+
+    @Test
+    public void shouldAggregateValuesInTheSameWayAsTheSchemaAggregator() throws AccumuloElementConversionException {
+        // Given
+        final Schema schema = createSchema(AccumuloPropertyNames.PROP_1, MIN_TYPE);
+        final AccumuloElementConverter converter = new ClassicAccumuloElementConverter(schema);
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(schema, new View(), TestGroups.ENTITY);
+
+        // When
+        aggregator.reset();
+        aggregate(aggregator, converter.getValueFromProperties(TestGroups.ENTITY, createProperties(5L, 10L, 3L)));
+        aggregate(aggregator, converter.getValueFromProperties(TestGroups.ENTITY, createProperties(1000L, -20L, null)));
+        aggregate(aggregator, converter.getValueFromProperties(TestGroups.ENTITY, createProperties(Long.MAX_VALUE - 2000L, 300L, -7L)));
+        final Value value = aggregator.getValue();
+
+        // Then
+        final Properties expected = createProperties(Long.MAX_VALUE - 995L, 300L, -7L);
+        assertArrayEquals(converter.getValueFromProperties(TestGroups.ENTITY, expected).get(), value.get());
+        assertEquals(expected, converter.getPropertiesFromValue(TestGroups.ENTITY, value));
+    }
+
+    @Test
+    public void shouldResetAggregatedValues() throws AccumuloElementConversionException {
+        // Given
+        final Schema schema = createSchema(AccumuloPropertyNames.PROP_1, MIN_TYPE);
+        final AccumuloElementConverter converter = new ClassicAccumuloElementConverter(schema);
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(schema, new View(), TestGroups.ENTITY);
+        aggregate(aggregator, converter.getValueFromProperties(TestGroups.ENTITY, createProperties(5L, 10L, 3L)));
+
+        // When
+        aggregator.reset();
+        final Value value = aggregator.getValue();
+
+        // Then
+        assertEquals(0, value.getSize());
+    }
+
+    @Test
+    public void shouldNotCreateAggregatorWhenAPropertyIsNotARawLong() {
+        // Given
+        final Schema schema = createSchema(AccumuloPropertyNames.PROP_1, STRING_TYPE);
+
+        // When
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(schema, new View(), TestGroups.ENTITY);
+
+        // Then
+        assertNull(aggregator);
+    }
+
+    @Test
+    public void shouldNotCreateAggregatorWhenTheViewChangesTheGroupBy() {
+        // Given
+        final Schema schema = createSchema(AccumuloPropertyNames.PROP_1, MIN_TYPE);
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+
+        // When
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(schema, view, TestGroups.ENTITY);
+
+        // Then
+        assertNull(aggregator);
+    }
+
+    @Test
+    public void shouldCreateAggregatorWhenTheViewKeepsTheGroupBy() {
+        // Given
+        final Schema schema = createSchema(AccumuloPropertyNames.PROP_1, MIN_TYPE);
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                        .build())
+                .build();
+
+        // When
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(schema, view, TestGroups.ENTITY);
+
+        // Then
+        assertNotNull(aggregator);
+    }
+
+    private static void aggregate(final RawLongValueAggregator aggregator, final Value value)
+            throws AccumuloElementConversionException {
+        aggregator.aggregate(value.get(), 0, value.getSize());
+    }
+
+    private static Properties createProperties(final Long count, final Long max, final Long min) {
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COUNT, count);
+        properties.put(AccumuloPropertyNames.PROP_2, max);
+        if (null != min) {
+            properties.put(AccumuloPropertyNames.PROP_1, min);
+        }
+        return properties;
+    }
+
+    private static Schema createSchema(final String thirdProperty, final String thirdPropertyType) {
+        return new Schema.Builder()
+                .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .build())
+                .type(STRING_TYPE, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new StringConcat())
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type(COUNT_TYPE, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .type(MAX_TYPE, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Max())
+                        .serialiser(new RawLongSerialiser())
+                        .build())
+                .type(MIN_TYPE, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Min())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, STRING_TYPE)
+                        .property(AccumuloPropertyNames.COUNT, COUNT_TYPE)
+                        .property(AccumuloPropertyNames.PROP_2, MAX_TYPE)
+                        .property(thirdProperty, thirdPropertyType)
+                        .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                        .build())
+                .build();
+    }
+}
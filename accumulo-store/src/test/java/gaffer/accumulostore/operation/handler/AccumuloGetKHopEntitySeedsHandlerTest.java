@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetKHopEntitySeeds;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AccumuloGetKHopEntitySeedsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloGetKHopEntitySeedsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloGetKHopEntitySeedsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloGetKHopEntitySeedsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+
+    @Test
+    public void shouldGetSeedsTwoHopsAwayByteEntityStore() throws OperationException, StoreException {
+        shouldGetSeedsTwoHopsAway(createStore(PROPERTIES));
+    }
+
+    @Test
+    public void shouldGetSeedsTwoHopsAwayGaffer1Store() throws OperationException, StoreException {
+        shouldGetSeedsTwoHopsAway(createStore(CLASSIC_PROPERTIES));
+    }
+
+    @Test
+    public void shouldNotReExpandVisitedSeedsByteEntityStore() throws OperationException, StoreException {
+        shouldNotReExpandVisitedSeeds(createStore(PROPERTIES));
+    }
+
+    @Test
+    public void shouldNotReExpandVisitedSeedsGaffer1Store() throws OperationException, StoreException {
+        shouldNotReExpandVisitedSeeds(createStore(CLASSIC_PROPERTIES));
+    }
+
+    private void shouldGetSeedsTwoHopsAway(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .addSeed(new EntitySeed("A"))
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .hops(2)
+                .build();
+
+        // When
+        final List<String> results = execute(operation, store);
+
+        // Then
+        assertEquals(Arrays.asList("C", "D"), results);
+    }
+
+    private void shouldNotReExpandVisitedSeeds(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .addSeed(new EntitySeed("A"))
+                .hops(4)
+                .build();
+
+        // When
+        final List<String> results = execute(operation, store);
+
+        // Then
+        assertEquals(Collections.<String>emptyList(), results);
+    }
+
+    private List<String> execute(final GetKHopEntitySeeds operation, final AccumuloStore store) throws OperationException {
+        final List<String> results = new ArrayList<>();
+        try (final CloseableIterable<EntitySeed> seeds = store.execute(operation, user)) {
+            for (final EntitySeed seed : seeds) {
+                results.add((String) seed.getVertex());
+            }
+        }
+        Collections.sort(results);
+        return results;
+    }
+
+    private AccumuloStore createStore(final AccumuloProperties properties) throws StoreException, OperationException {
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, properties);
+        store.execute(new AddElements.Builder()
+                .elements(Arrays.<Element>asList(
+                        createEdge("A", "B", 1),
+                        createEdge("A", "B", 2),
+                        createEdge("B", "C", 1),
+                        createEdge("B", "D", 1),
+                        createEdge("D", "A", 1)))
+                .build(), user);
+        return store;
+    }
+
+    private Edge createEdge(final String source, final String destination, final int columnQualifier) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_4, 0);
+        return edge;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.operation.impl.AddElementsWithIngestResult;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.IngestResult;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class AddElementsWithIngestResultHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AddElementsWithIngestResultHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AddElementsWithIngestResultHandlerTest.class));
+
+    @Test
+    public void shouldAddElementsAndReturnIngestResult() throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, PROPERTIES);
+        final AddElementsWithIngestResult addElements = new AddElementsWithIngestResult.Builder()
+                .elements(Arrays.<Element>asList(
+                        createEdge("A", "B"),
+                        createEdge("A", "C")))
+                .build();
+
+        // When
+        final IngestResult result = store.execute(addElements, new User());
+
+        // Then
+        assertEquals(2, result.getElementsAdded());
+        assertEquals(0, result.getElementsFailed());
+        assertFalse(result.hasFailures());
+        assertEquals(2, result.getGroupResults().get(TestGroups.EDGE).getAdded());
+    }
+
+    private Edge createEdge(final String source, final String destination) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_4, 0);
+        return edge;
+    }
+}
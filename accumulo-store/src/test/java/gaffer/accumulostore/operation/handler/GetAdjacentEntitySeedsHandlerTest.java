@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class GetAdjacentEntitySeedsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetAdjacentEntitySeedsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetAdjacentEntitySeedsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetAdjacentEntitySeedsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+
+    @Test
+    public void shouldReturnAnAdjacentSeedForEveryEdgeByteEntityStore() throws OperationException, StoreException {
+        shouldReturnAnAdjacentSeedForEveryEdge(createStore(PROPERTIES));
+    }
+
+    @Test
+    public void shouldReturnAnAdjacentSeedForEveryEdgeGaffer1Store() throws OperationException, StoreException {
+        shouldReturnAnAdjacentSeedForEveryEdge(createStore(CLASSIC_PROPERTIES));
+    }
+
+    @Test
+    public void shouldDeduplicateAdjacentSeedsByteEntityStore() throws OperationException, StoreException {
+        shouldDeduplicateAdjacentSeeds(createStore(PROPERTIES));
+    }
+
+    @Test
+    public void shouldDeduplicateAdjacentSeedsGaffer1Store() throws OperationException, StoreException {
+        shouldDeduplicateAdjacentSeeds(createStore(CLASSIC_PROPERTIES));
+    }
+
+    @Test
+    public void shouldDeduplicateAdjacentSeedsWhenSpillingSeenVerticesByteEntityStore() throws OperationException, StoreException {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxSeenVerticesInMemory("1");
+        shouldDeduplicateAdjacentSeeds(createStore(properties));
+    }
+
+    @Test
+    public void shouldApplyPostTransformFiltersByteEntityStore() throws OperationException, StoreException {
+        shouldApplyPostTransformFilters(createStore(PROPERTIES));
+    }
+
+    @Test
+    public void shouldApplyPostTransformFiltersGaffer1Store() throws OperationException, StoreException {
+        shouldApplyPostTransformFilters(createStore(CLASSIC_PROPERTIES));
+    }
+
+    private void shouldReturnAnAdjacentSeedForEveryEdge(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetAdjacentEntitySeeds operation = new GetAdjacentEntitySeeds.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .addSeed(new EntitySeed("A"))
+                .build();
+
+        // When
+        final List<String> results = execute(operation, store);
+
+        // Then
+        assertEquals(Arrays.asList("B", "B", "C", "D"), results);
+    }
+
+    private void shouldDeduplicateAdjacentSeeds(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetAdjacentEntitySeeds operation = new GetAdjacentEntitySeeds.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .addSeed(new EntitySeed("A"))
+                .addSeed(new EntitySeed("C"))
+                .deduplicate(true)
+                .build();
+
+        // When
+        final List<String> results = execute(operation, store);
+
+        // Then
+        assertEquals(Arrays.asList("A", "B", "C", "D"), results);
+    }
+
+    private void shouldApplyPostTransformFilters(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetAdjacentEntitySeeds operation = new GetAdjacentEntitySeeds.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(AccumuloPropertyNames.COUNT)
+                                        .execute(new IsMoreThan(5))
+                                        .build())
+                                .build())
+                        .build())
+                .addSeed(new EntitySeed("A"))
+                .build();
+
+        // When
+        final List<String> results = execute(operation, store);
+
+        // Then
+        assertEquals(Arrays.asList("B", "B", "D"), results);
+    }
+
+    private List<String> execute(final GetAdjacentEntitySeeds operation, final AccumuloStore store) throws OperationException {
+        final List<String> results = new ArrayList<>();
+        try (final CloseableIterable<EntitySeed> seeds = new GetAdjacentEntitySeedsHandler().doOperation(operation, user, store)) {
+            for (final EntitySeed seed : seeds) {
+                results.add((String) seed.getVertex());
+            }
+        }
+        Collections.sort(results);
+        return results;
+    }
+
+    private AccumuloStore createStore(final AccumuloProperties properties) throws StoreException, OperationException {
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, properties);
+        store.execute(new AddElements.Builder()
+                .elements(Arrays.<Element>asList(
+                        createEdge("A", "B", true, 1, 10),
+                        createEdge("A", "B", true, 2, 10),
+                        createEdge("A", "C", true, 1, 1),
+                        createEdge("D", "A", false, 1, 10)))
+                .build(), user);
+        return store;
+    }
+
+    private Edge createEdge(final String source, final String destination, final boolean directed,
+                            final int columnQualifier, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, directed);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_4, 0);
+        return edge;
+    }
+}
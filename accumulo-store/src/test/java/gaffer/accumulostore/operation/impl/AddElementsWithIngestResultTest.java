@@ -0,0 +1,54 @@
+package gaffer.accumulostore.operation.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.utils.AccumuloTestData;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationTest;
+import org.junit.Test;
+import java.util.Collections;
+import java.util.Iterator;
+
+public class AddElementsWithIngestResultTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity("entity type 1", "vertex 1");
+        final AddElementsWithIngestResult op = new AddElementsWithIngestResult(Collections.<Element>singletonList(entity));
+        op.setSkipInvalidElements(true);
+
+        // When
+        final byte[] json = serialiser.serialise(op, true);
+        final AddElementsWithIngestResult deserialisedOp = serialiser.deserialise(json, AddElementsWithIngestResult.class);
+
+        // Then
+        final Iterator<Element> itr = deserialisedOp.getElements().iterator();
+        assertEquals(entity, itr.next());
+        assertFalse(itr.hasNext());
+        assertTrue(deserialisedOp.isSkipInvalidElements());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final Entity entity = new Entity("entity type 1", "vertex 1");
+        final AddElementsWithIngestResult op = new AddElementsWithIngestResult.Builder()
+                .elements(entity)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .skipInvalidElements(true)
+                .validate(false)
+                .build();
+        assertEquals(entity, op.getElements().iterator().next());
+        assertEquals("true", op.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertTrue(op.isSkipInvalidElements());
+        assertFalse(op.isValidate());
+    }
+}
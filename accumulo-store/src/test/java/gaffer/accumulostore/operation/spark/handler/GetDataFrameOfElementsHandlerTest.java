@@ -16,15 +16,32 @@
 package gaffer.accumulostore.operation.spark.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStore;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
+import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.Entity;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.FilterFunction;
+import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.function.simple.filter.Regex;
 import gaffer.graph.Graph;
 import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.simple.spark.AbstractGetRDD;
 import gaffer.operation.simple.spark.GetDataFrameOfElements;
+import gaffer.operation.simple.spark.GetRDDOfElements;
+import gaffer.store.StoreException;
 import gaffer.user.User;
 import org.apache.spark.SparkConf;
 import org.apache.spark.SparkContext;
@@ -32,11 +49,21 @@ import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.Row$;
 import org.apache.spark.sql.SQLContext;
+import org.apache.spark.sql.sources.EqualTo;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.GreaterThan;
+import org.apache.spark.sql.sources.In;
+import org.apache.spark.sql.sources.Not;
+import org.apache.spark.sql.sources.Or;
+import org.apache.spark.sql.sources.StringStartsWith;
 import org.junit.Test;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 public class GetDataFrameOfElementsHandlerTest {
 
@@ -257,6 +284,142 @@ public class GetDataFrameOfElementsHandlerTest {
         sparkContext.stop();
     }
 
+    @Test
+    public void checkGetCorrectElementsInDataFrameWithVertexAndCompoundFilters() throws OperationException, StoreException {
+        final Graph graph1 = new Graph.Builder()
+                .addSchema(getClass().getResourceAsStream("/schema-DataFrame/dataSchema.json"))
+                .addSchema(getClass().getResourceAsStream("/schema-DataFrame/dataTypes.json"))
+                .addSchema(getClass().getResourceAsStream("/schema-DataFrame/storeTypes.json"))
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+
+        final User user = new User();
+        graph1.execute(new AddElements(getElements()), user);
+        // Add edges between two vertices that are both used as seeds below. They differ only in their group by
+        // property, so they must not be merged when removing duplicates.
+        final Edge edge01A = new Edge(EDGE_GROUP, "0", "1", true);
+        edge01A.putProperty("columnQualifier", 1);
+        edge01A.putProperty("property1", 11);
+        edge01A.putProperty("property2", 12.0F);
+        final Edge edge01B = new Edge(EDGE_GROUP, "0", "1", true);
+        edge01B.putProperty("columnQualifier", 2);
+        edge01B.putProperty("property1", 11);
+        edge01B.putProperty("property2", 12.0F);
+        graph1.execute(new AddElements(Arrays.<Element>asList(edge01A, edge01B)), user);
+
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName("checkGetCorrectElementsInDataFrameWithVertexAndCompoundFilters")
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "gaffer.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        final SparkContext sparkContext = new SparkContext(sparkConf);
+        final SQLContext sqlContext = new SQLContext(sparkContext);
+
+        // Get DataFrame
+        final GetDataFrameOfElements dfOperation = new GetDataFrameOfElements.Builder()
+                .sqlContext(sqlContext)
+                .group(EDGE_GROUP)
+                .build();
+        final Dataset<Row> dataFrame = graph1.execute(dfOperation, user);
+        if (dataFrame == null) {
+            fail("No DataFrame returned");
+        }
+
+        // Check get correct rows when an Or of EqualTo filters is applied to the source vertex. Edges from "0" to "1"
+        // are stored under both seeds but must only be returned once.
+        List<Row> results = dataFrame.select("src", "dst").filter("src = '0' OR src = '1'").collectAsList();
+        final List<Row> expectedRows = new ArrayList<>();
+        expectedRows.add(getRow("0", "B"));
+        expectedRows.add(getRow("0", "C"));
+        expectedRows.add(getRow("0", "1"));
+        expectedRows.add(getRow("0", "1"));
+        assertSameRows(expectedRows, results);
+
+        // Check get correct rows when an Or of filters is applied to the source and destination vertices
+        results = dataFrame.select("src", "dst").filter("src = '0' OR dst = '1'").collectAsList();
+        assertSameRows(expectedRows, results);
+
+        // Check get correct rows when an In filter is applied to the source vertex and a prefix filter to the
+        // destination vertex
+        results = dataFrame.select("src", "dst").filter("src IN ('0', '1') AND dst LIKE 'C%'").collectAsList();
+        expectedRows.clear();
+        expectedRows.add(getRow("0", "C"));
+        assertSameRows(expectedRows, results);
+
+        // Check get correct rows when an Or containing a Not is applied to the properties
+        results = dataFrame.select("src", "dst").filter("src = '0' AND (NOT (property2 > 4.0) OR property1 = 7)").collectAsList();
+        expectedRows.clear();
+        expectedRows.add(getRow("0", "B"));
+        expectedRows.add(getRow("0", "C"));
+        assertSameRows(expectedRows, results);
+
+        // Check get no rows when the property filters do not match
+        results = dataFrame.select("src", "dst").filter("src = '0' AND NOT (property2 > 4.0 OR property1 = 2)").collectAsList();
+        assertEquals(Collections.emptyList(), results);
+
+        // Check the filters are converted to seeds and view filters
+        final AccumuloStore store = new MockAccumuloStore();
+        store.initialise(graph1.getSchema(), AccumuloProperties.loadStoreProperties(getClass().getResourceAsStream("/store.properties")));
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(sqlContext, EDGE_GROUP, store, user);
+        final AbstractGetRDD<?> operation = relation.createOperation(new String[]{"src", "dst", "property1"}, new Filter[]{
+                new Or(new EqualTo("src", "0"), new EqualTo("src", "1")),
+                new StringStartsWith("dst", "C"),
+                new Not(new GreaterThan("property2", 4.0F))});
+        assertTrue(operation instanceof GetRDDOfElements);
+        final Set<Object> seeds = new HashSet<>();
+        for (final Object seed : operation.getSeeds()) {
+            seeds.add(seed);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(new EntitySeed("0"), new EntitySeed("1"))), seeds);
+        final ViewElementDefinition edgeDefinition = operation.getView().getEdge(EDGE_GROUP);
+        // The group by property is also returned so that distinct edges are not removed as duplicates
+        assertEquals(new HashSet<>(Arrays.asList("property1", "columnQualifier")), edgeDefinition.getProperties());
+        final List<ConsumerFunctionContext<ElementComponentKey, FilterFunction>> functions = edgeDefinition.getPreAggregationFilterFunctions();
+        assertEquals(3, functions.size());
+        assertTrue(functions.get(0).getFunction() instanceof gaffer.function.simple.filter.Or);
+        assertEquals(Collections.singletonList(new ElementComponentKey(IdentifierType.SOURCE)), functions.get(0).getSelection());
+        assertEquals("(?s)" + Pattern.quote("C") + ".*", ((Regex) functions.get(1).getFunction()).getControlValue().pattern());
+        assertEquals(Collections.singletonList(new ElementComponentKey(IdentifierType.DESTINATION)), functions.get(1).getSelection());
+        assertTrue(functions.get(2).getFunction() instanceof gaffer.function.simple.filter.Not);
+        assertEquals(Collections.singletonList(new ElementComponentKey("property2")), functions.get(2).getSelection());
+
+        // Check string filters still match values containing new lines once the view has been serialised to JSON
+        final View view = View.fromJson(relation.createOperation(new String[]{"src", "dst"},
+                new Filter[]{new StringStartsWith("dst", "C")}).getView().toJson(false));
+        final ElementFilter filter = view.getEdge(EDGE_GROUP).getPreAggregationFilter();
+        assertTrue(filter.filter(new Edge(EDGE_GROUP, "0", "C\nD", true)));
+        assertFalse(filter.filter(new Edge(EDGE_GROUP, "0", "B\nC", true)));
+
+        // Check an In filter containing only nulls does not cause a full table scan
+        assertEquals(0, relation.buildScan(new String[]{"src", "dst"},
+                new Filter[]{new In("src", new Object[]{null})}).count());
+
+        sparkContext.stop();
+    }
+
+    private static void assertSameRows(final List<Row> expectedRows, final List<Row> rows) {
+        final List<String> expected = new ArrayList<>();
+        for (final Row row : expectedRows) {
+            expected.add(row.toString());
+        }
+        final List<String> actual = new ArrayList<>();
+        for (final Row row : rows) {
+            actual.add(row.toString());
+        }
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    private static Row getRow(final Object... values) {
+        final scala.collection.mutable.MutableList<Object> fields = new scala.collection.mutable.MutableList<>();
+        for (final Object value : values) {
+            fields.appendElem(value);
+        }
+        return Row$.MODULE$.fromSeq(fields);
+    }
+
     private static List<Element> getElements() {
         final List<Element> elements = new ArrayList<>();
         for (int i = 0; i < NUM_ELEMENTS; i++) {
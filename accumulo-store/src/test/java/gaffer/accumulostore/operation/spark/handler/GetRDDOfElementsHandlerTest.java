@@ -23,6 +23,7 @@ import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.graph.Graph;
 import gaffer.operation.GetOperation;
 import gaffer.operation.OperationException;
@@ -179,6 +180,34 @@ public class GetRDDOfElementsHandlerTest {
         expectedElements.add(edge1C);
         assertEquals(expectedElements, results);
 
+        // Check get correct edges for "1" when specify no properties are returned
+        rddQuery = new GetRDDOfElements.Builder<EntitySeed>()
+                .sparkContext(sparkContext)
+                .seeds(Collections.singleton(new EntitySeed("1")))
+                .view(new View.Builder()
+                        .edge(EDGE_GROUP, new ViewElementDefinition.Builder()
+                                .properties()
+                                .build())
+                        .build())
+                .build();
+        rddQuery.addOption(AbstractGetRDDOperationHandler.HADOOP_CONFIGURATION_KEY, configurationString);
+        rdd = graph1.execute(rddQuery, user);
+        if (rdd == null) {
+            fail("No RDD returned");
+        }
+
+        results.clear();
+        returnedElements = (Element[]) rdd.collect();
+        for (int i = 0; i < returnedElements.length; i++) {
+            results.add(returnedElements[i]);
+        }
+        expectedElements.clear();
+        final Edge edge1BWithoutProperties = edge1B.emptyClone();
+        final Edge edge1CWithoutProperties = edge1C.emptyClone();
+        expectedElements.add(edge1BWithoutProperties);
+        expectedElements.add(edge1CWithoutProperties);
+        assertEquals(expectedElements, results);
+
         // Check get correct edges for "1" and "5"
         Set<EntitySeed> seeds = new HashSet<>();
         seeds.add(new EntitySeed("1"));
@@ -16,6 +16,7 @@
 
 package gaffer.accumulostore.retriever.impl;
 
+import com.google.common.collect.Lists;
 import gaffer.accumulostore.AccumuloProperties;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.SingleUseMockAccumuloStore;
@@ -50,7 +51,10 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.*;
@@ -151,6 +155,38 @@ public class AccumuloIDWithinSetRetrieverTest {
         assertThat(a1A2Results, IsCollectionContaining.hasItems(AccumuloTestData.A1_ENTITY, AccumuloTestData.A2_ENTITY));
     }
 
+    @Test
+    public void shouldGetCorrectEdgesWhenPrefetchingBatchesFromByteEntityStore() throws StoreException {
+        shouldGetCorrectEdgesWhenPrefetchingBatches(byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetCorrectEdgesWhenPrefetchingBatchesFromGaffer1Store() throws StoreException {
+        shouldGetCorrectEdgesWhenPrefetchingBatches(gaffer1KeyStore);
+    }
+
+    private void shouldGetCorrectEdgesWhenPrefetchingBatches(final AccumuloStore store) throws StoreException {
+        final AccumuloProperties properties = store.getProperties();
+        final int maxEntriesForBatchScanner = properties.getMaxEntriesForBatchScanner();
+        final int prefetchBatchesForBatchScanner = properties.getPrefetchBatchesForBatchScanner();
+        properties.setMaxEntriesForBatchScanner("1");
+        properties.setPrefetchBatchesForBatchScanner("2");
+        try {
+            // Query for all edges in set {A0, A23}, one seed per batch
+            final List<EntitySeed> seeds = Arrays.asList(AccumuloTestData.SEED_A0, AccumuloTestData.SEED_A23);
+            final GetElements<EntitySeed, ?> op = new GetRelatedElements<>(defaultView, seeds);
+            final AccumuloRetriever<?> retriever = new AccumuloIDWithinSetRetriever(store, op, new User(), false);
+            final List<Element> results = Lists.newArrayList(retriever);
+            retriever.close();
+
+            assertThat(results, IsCollectionContaining.hasItems(AccumuloTestData.EDGE_A0_A23, AccumuloTestData.A0_ENTITY, AccumuloTestData.A23_ENTITY));
+            assertEquals(1, Collections.frequency(results, AccumuloTestData.EDGE_A0_A23));
+        } finally {
+            properties.setMaxEntriesForBatchScanner(Integer.toString(maxEntriesForBatchScanner));
+            properties.setPrefetchBatchesForBatchScanner(Integer.toString(prefetchBatchesForBatchScanner));
+        }
+    }
+
     /**
      * Tests that the subtle case of setting outgoing or incoming edges only option is dealt with correctly.
      * When querying for edges within a set, the outgoing or incoming edges only needs to be turned off, for
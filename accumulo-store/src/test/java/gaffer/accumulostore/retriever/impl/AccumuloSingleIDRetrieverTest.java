@@ -20,12 +20,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import gaffer.accumulostore.AccumuloProperties;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.SingleUseMockAccumuloStore;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
@@ -115,6 +117,66 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldGetTheSameElementsWhenPrefetchingBatches() throws StoreException, IteratorSettingException {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setPrefetchBatchesForBatchScanner("2");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        setupGraph(store, numEntries);
+
+        // Create set to query for
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        //Should find both i-B and i-C edges and entities i
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+        retriever.close();
+    }
+
+    @Test
+    public void shouldGetTheSameElementsWhenAllPrefetchThreadsAreBusy() throws StoreException, IteratorSettingException {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setPrefetchBatchesForBatchScanner("1");
+        properties.setPrefetchThreadsForBatchScanner("1");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        setupGraph(store, numEntries);
+
+        // Create set to query for
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        final AccumuloSingleIDRetriever otherRetriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // The first iterator holds the only prefetch thread, so the second creates its batches itself
+        final CloseableIterator<Element> itr = retriever.iterator();
+        final CloseableIterator<Element> otherItr = otherRetriever.iterator();
+        assertEquals(numEntries * 3, Iterators.size(otherItr));
+        assertEquals(numEntries * 3, Iterators.size(itr));
+        itr.close();
+        otherItr.close();
+        retriever.close();
+        otherRetriever.close();
+    }
+
     @Test
     public void testEntitySeedQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntitySeedQueryEdgesOnly(byteEntityStore);
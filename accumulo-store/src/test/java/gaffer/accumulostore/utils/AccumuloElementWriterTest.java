@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AccumuloElementWriterTest {
+    private AccumuloElementConverter converter;
+    private BatchWriter writer;
+    private CollectingDeadLetterSink deadLetterSink;
+
+    @Before
+    public void setup() throws AccumuloElementConversionException {
+        converter = mock(AccumuloElementConverter.class);
+        writer = mock(BatchWriter.class);
+        deadLetterSink = new CollectingDeadLetterSink();
+        given(converter.getKeysFromElement(any(Element.class))).willReturn(new Pair<>(new Key("row"), null));
+        given(converter.getValueFromElement(any(Element.class))).willReturn(new Value());
+    }
+
+    @Test
+    public void shouldCountAddedAndFailedElementsAndPassFailuresToDeadLetterSink() throws Exception {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "destination", true);
+        final Entity invalidEntity = new Entity(TestGroups.ENTITY, "invalid");
+        final AccumuloElementConversionException conversionException = new AccumuloElementConversionException("invalid");
+        given(converter.getKeysFromElement(invalidEntity)).willThrow(conversionException);
+        final AccumuloElementWriter elementWriter = new AccumuloElementWriter(converter, writer, 1, 10, deadLetterSink);
+
+        // When
+        final IngestResult result = elementWriter.write(Arrays.asList((Element) entity, edge, invalidEntity));
+
+        // Then
+        assertEquals(2, result.getElementsAdded());
+        assertEquals(1, result.getElementsFailed());
+        assertTrue(result.hasFailures());
+        assertEquals(1, result.getGroupResults().get(TestGroups.ENTITY).getAdded());
+        assertEquals(1, result.getGroupResults().get(TestGroups.ENTITY).getFailed());
+        assertEquals(1, result.getGroupResults().get(TestGroups.EDGE).getAdded());
+        assertEquals(Collections.singletonList((Element) invalidEntity), deadLetterSink.elements);
+        assertSame(conversionException, deadLetterSink.causes.get(0));
+    }
+
+    @Test
+    public void shouldStopAndRecordBatchWriterFailureWithoutBlamingElementsWhenTheBatchWriterRejectsMutations() throws Exception {
+        // Given
+        final MutationsRejectedException rejectedException = mock(MutationsRejectedException.class);
+        doNothing().doThrow(rejectedException).when(writer).addMutations(Matchers.<Iterable<Mutation>>any());
+        final List<Element> elements = createEntities(5);
+        final AccumuloElementWriter elementWriter = new AccumuloElementWriter(converter, writer, 1, 2, deadLetterSink);
+
+        // When
+        final IngestResult result = elementWriter.write(elements);
+
+        // Then
+        assertTrue(result.isBatchWriterFailed());
+        assertTrue(result.hasFailures());
+        assertEquals(2, result.getElementsAdded());
+        assertEquals(0, result.getElementsFailed());
+        assertTrue(deadLetterSink.elements.isEmpty());
+        verify(writer, times(2)).addMutations(Matchers.<Iterable<Mutation>>any());
+    }
+
+    @Test
+    public void shouldCountAllElementsWhenAddingUsingMultipleThreads() throws StoreException {
+        // Given
+        final List<Element> elements = createEntities(100);
+        final AccumuloElementWriter elementWriter = new AccumuloElementWriter(converter, writer, 4, 3, deadLetterSink);
+
+        // When
+        final IngestResult result = elementWriter.write(elements);
+
+        // Then
+        assertEquals(100, result.getElementsAdded());
+        assertEquals(0, result.getElementsFailed());
+        assertFalse(result.hasFailures());
+        assertTrue(deadLetterSink.elements.isEmpty());
+    }
+
+    private List<Element> createEntities(final int numEntities) {
+        final List<Element> elements = new ArrayList<>(numEntities);
+        for (int i = 0; i < numEntities; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        return elements;
+    }
+
+    private static class CollectingDeadLetterSink implements DeadLetterSink {
+        private final List<Element> elements = Collections.synchronizedList(new ArrayList<Element>());
+        private final List<Exception> causes = Collections.synchronizedList(new ArrayList<Exception>());
+
+        @Override
+        public void add(final Element element, final Exception cause) {
+            elements.add(element);
+            causes.add(cause);
+        }
+    }
+}
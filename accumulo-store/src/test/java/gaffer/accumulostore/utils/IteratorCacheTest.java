@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.store.schema.Schema;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IteratorCacheTest {
+    private String schemaJson;
+
+    @Before
+    public void setUp() throws Exception {
+        IteratorCache.clear();
+        schemaJson = new String(Schema.fromJson(StreamUtil.schemas(getClass())).toJson(false), CommonConstants.UTF_8);
+    }
+
+    @Test
+    public void shouldReturnTheSameSchemaForTheSameJson() {
+        // When
+        final Schema schema1 = IteratorCache.getSchema(schemaJson);
+        final Schema schema2 = IteratorCache.getSchema(new String(schemaJson));
+
+        // Then
+        assertSame(schema1, schema2);
+    }
+
+    @Test
+    public void shouldReturnACloneOfTheCachedView() throws Exception {
+        // Given
+        final String viewJson = new String(new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build()
+                .toJson(false), CommonConstants.UTF_8);
+
+        // When
+        final View view1 = IteratorCache.getView(viewJson);
+        final View view2 = IteratorCache.getView(viewJson);
+
+        // Then
+        assertNotSame(view1, view2);
+        assertNotSame(view1.getEdge(TestGroups.EDGE), view2.getEdge(TestGroups.EDGE));
+        assertEquals(view1.getEdgeGroups(), view2.getEdgeGroups());
+    }
+
+    @Test
+    public void shouldReturnTheSameConverterForTheSameClassAndSchema() throws Exception {
+        // When
+        final AccumuloElementConverter converter1 = IteratorCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), schemaJson);
+        final AccumuloElementConverter converter2 = IteratorCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), schemaJson);
+
+        // Then
+        assertSame(converter1, converter2);
+    }
+
+    @Test
+    public void shouldReturnTheSameSchemaValidatorForTheSameJson() {
+        // When / Then
+        assertSame(IteratorCache.getSchemaValidator(schemaJson, false),
+                IteratorCache.getSchemaValidator(schemaJson, false));
+        assertNotSame(IteratorCache.getSchemaValidator(schemaJson, false),
+                IteratorCache.getSchemaValidator(schemaJson, true));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.RawLongValueAggregator;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks aggregating the films example elements with the schema
+ * {@link ElementAggregator}s, and aggregating serialised count values with
+ * and without a {@link RawLongValueAggregator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AggregationBenchmark {
+    private static final String COUNT_GROUP = "count";
+    private static final String COUNT = "count";
+    private static final String LAST_SEEN = "lastSeen";
+    private static final int NUM_VALUES = 1000;
+
+    private Schema filmsSchema;
+    private Map<String, List<Element>> elementsByGroup;
+
+    private Schema countSchema;
+    private AccumuloElementConverter countConverter;
+    private Value[] countValues;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException {
+        filmsSchema = FilmsData.createSchema();
+        elementsByGroup = new HashMap<>();
+        for (final Element element : FilmsData.createElements(1000, 100)) {
+            List<Element> elements = elementsByGroup.get(element.getGroup());
+            if (null == elements) {
+                elements = new ArrayList<>();
+                elementsByGroup.put(element.getGroup(), elements);
+            }
+            elements.add(element);
+        }
+
+        countSchema = createCountSchema();
+        countConverter = new ByteEntityAccumuloElementConverter(countSchema);
+        final Random random = new Random(0);
+        countValues = new Value[NUM_VALUES];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            final Properties properties = new Properties();
+            properties.put(COUNT, (long) random.nextInt(1000));
+            properties.put(LAST_SEEN, 1400000000000L + random.nextInt(100000000));
+            countValues[i] = countConverter.getValueFromProperties(COUNT_GROUP, properties);
+        }
+    }
+
+    @Benchmark
+    public List<Element> elementAggregator() {
+        final List<Element> results = new ArrayList<>(elementsByGroup.size());
+        for (final Map.Entry<String, List<Element>> entry : elementsByGroup.entrySet()) {
+            final ElementAggregator aggregator = filmsSchema.getElement(entry.getKey()).getAggregator();
+            for (final Element element : entry.getValue()) {
+                aggregator.aggregate(element);
+            }
+            final Element result = entry.getValue().get(0).emptyClone();
+            aggregator.state(result);
+            results.add(result);
+        }
+
+        return results;
+    }
+
+    @Benchmark
+    public Value countValuesAsProperties() throws AccumuloElementConversionException {
+        final ElementAggregator aggregator = countSchema.getElement(COUNT_GROUP).getAggregator();
+        for (final Value value : countValues) {
+            aggregator.aggregate(countConverter.getPropertiesFromValue(COUNT_GROUP, value));
+        }
+        final Properties properties = new Properties();
+        aggregator.state(properties);
+        return countConverter.getValueFromProperties(COUNT_GROUP, properties);
+    }
+
+    @Benchmark
+    public Value countValuesAsRawLongs() throws AccumuloElementConversionException {
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(countSchema, new View(), COUNT_GROUP);
+        for (final Value value : countValues) {
+            aggregator.aggregate(value.get(), 0, value.getSize());
+        }
+        return aggregator.getValue();
+    }
+
+    private static Schema createCountSchema() {
+        return new Schema.Builder()
+                .type("id.string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .build())
+                .type("count.long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .type("timestamp.long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Max())
+                        .serialiser(new RawLongSerialiser())
+                        .build())
+                .entity(COUNT_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("id.string")
+                        .property(COUNT, "count.long")
+                        .property(LAST_SEEN, "timestamp.long")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting the films example elements to and from Accumulo keys
+ * and values using the byte entity and classic element converters.
+ * <p>
+ * <code>propertiesFromValueByCopying</code> decodes the values by copying
+ * each property length and property into a new byte array before
+ * deserialising it, as the converters did before they decoded properties in
+ * place. It is a baseline for <code>propertiesFromValue</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementConverterBenchmark {
+    @Param({"byteEntity", "classic"})
+    private String keyPackage;
+
+    @Param({"1000"})
+    private int numUsers;
+
+    private Schema schema;
+    private AccumuloElementConverter converter;
+    private List<Element> elements;
+    private Key[] keys;
+    private Value[] values;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException {
+        schema = FilmsData.createSchema();
+        converter = "classic".equals(keyPackage)
+                ? new ClassicAccumuloElementConverter(schema)
+                : new ByteEntityAccumuloElementConverter(schema);
+        elements = FilmsData.createElements(numUsers, numUsers / 10);
+        keys = new Key[elements.size()];
+        values = new Value[elements.size()];
+        for (int i = 0; i < elements.size(); i++) {
+            keys[i] = converter.getKeysFromElement(elements.get(i)).getFirst();
+            values[i] = converter.getValueFromElement(elements.get(i));
+        }
+    }
+
+    @Benchmark
+    public void elementToKeyValue(final Blackhole blackhole) throws AccumuloElementConversionException {
+        for (final Element element : elements) {
+            final Pair<Key> elementKeys = converter.getKeysFromElement(element);
+            blackhole.consume(elementKeys);
+            blackhole.consume(converter.getValueFromElement(element));
+        }
+    }
+
+    @Benchmark
+    public void keyValueToElement(final Blackhole blackhole) throws AccumuloElementConversionException {
+        for (int i = 0; i < keys.length; i++) {
+            blackhole.consume(converter.getFullElement(keys[i], values[i]));
+        }
+    }
+
+    @Benchmark
+    public void propertiesFromValue(final Blackhole blackhole) throws AccumuloElementConversionException {
+        for (int i = 0; i < keys.length; i++) {
+            blackhole.consume(converter.getPropertiesFromValue(elements.get(i).getGroup(), values[i]));
+        }
+    }
+
+    @Benchmark
+    public void propertiesFromValueByCopying(final Blackhole blackhole) throws SerialisationException {
+        for (int i = 0; i < keys.length; i++) {
+            blackhole.consume(getPropertiesFromValueByCopying(elements.get(i).getGroup(), values[i]));
+        }
+    }
+
+    private Properties getPropertiesFromValueByCopying(final String group, final Value value)
+            throws SerialisationException {
+        final Properties properties = new Properties();
+        if (value == null || value.getSize() == 0) {
+            return properties;
+        }
+        final byte[] bytes = value.get();
+        int lastDelimiter = 0;
+        final int arrayLength = bytes.length;
+        long currentPropLength;
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
+            final String propertyName = propertyNames.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (typeDefinition != null && isStoredInValue(propertyName, elementDefinition)) {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
+                final byte[] length = new byte[numBytesForLength];
+                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
+                currentPropLength = CompactRawSerialisationUtils.readLong(length);
+                lastDelimiter += numBytesForLength;
+                if (currentPropLength > 0) {
+                    properties.put(propertyName, typeDefinition.getSerialiser()
+                            .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
+                }
+            }
+        }
+
+        return properties;
+    }
+
+    private boolean isStoredInValue(final String propertyName, final SchemaElementDefinition elementDef) {
+        return !elementDef.getGroupBy().contains(propertyName)
+                && !propertyName.equals(schema.getVisibilityProperty())
+                && !propertyName.equals(schema.getTimestampProperty());
+    }
+}
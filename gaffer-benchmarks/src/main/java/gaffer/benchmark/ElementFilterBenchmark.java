@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.store.schema.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks validating the films example elements with the schema
+ * {@link ElementFilter}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementFilterBenchmark {
+    private List<Element> elements;
+    private Map<String, ElementFilter> validators;
+
+    @Setup
+    public void setup() {
+        final Schema schema = FilmsData.createSchema();
+        elements = FilmsData.createElements(1000, 100);
+        validators = new HashMap<>();
+        for (final String group : schema.getEntityGroups()) {
+            validators.put(group, schema.getElement(group).getValidator());
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            validators.put(group, schema.getElement(group).getValidator());
+        }
+    }
+
+    @Benchmark
+    public int validate() {
+        int valid = 0;
+        for (final Element element : elements) {
+            if (validators.get(element.getGroup()).filter(element)) {
+                valid++;
+            }
+        }
+
+        return valid;
+    }
+}
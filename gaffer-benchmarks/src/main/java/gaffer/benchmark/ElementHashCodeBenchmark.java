@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark;
+
+import gaffer.data.element.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks deduplicating skewed films example elements in a {@link HashSet},
+ * using the {@link Element} hash code that includes the cached
+ * {@link gaffer.data.element.Properties} hash code, and the previous hash code
+ * that only covered the group and identifiers.
+ * The elements are generated for many users and only a few films, so most of
+ * the review entities share a film vertex and only differ by their properties.
+ * Each element is added twice so half of the additions are duplicates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementHashCodeBenchmark {
+    private static final int NUM_USERS = 1000;
+    private static final int NUM_FILMS = 5;
+
+    private List<Element> elements;
+    private List<GroupOnlyHashElement> groupOnlyHashElements;
+
+    @Setup
+    public void setup() {
+        elements = new ArrayList<>();
+        elements.addAll(FilmsData.createElements(NUM_USERS, NUM_FILMS));
+        elements.addAll(FilmsData.createElements(NUM_USERS, NUM_FILMS));
+        groupOnlyHashElements = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            groupOnlyHashElements.add(new GroupOnlyHashElement(element));
+        }
+    }
+
+    @Benchmark
+    public int deduplicateWithPropertiesHashCode() {
+        final Set<Element> deduplicated = new HashSet<>(elements);
+        return deduplicated.size();
+    }
+
+    @Benchmark
+    public int deduplicateWithGroupOnlyHashCode() {
+        final Set<GroupOnlyHashElement> deduplicated = new HashSet<>(groupOnlyHashElements);
+        return deduplicated.size();
+    }
+
+    /**
+     * Wraps an {@link Element}, hashing only its group and identifiers as
+     * {@link Element#hashCode()} did before the properties were included.
+     */
+    private static final class GroupOnlyHashElement {
+        private final Element element;
+
+        private GroupOnlyHashElement(final Element element) {
+            this.element = element;
+        }
+
+        @Override
+        public int hashCode() {
+            return element.shallowHashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof GroupOnlyHashElement && element.equals(((GroupOnlyHashElement) obj).element);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.commonutil.StreamUtil;
+import gaffer.data.element.Element;
+import gaffer.example.films.data.Certificate;
+import gaffer.example.films.data.Film;
+import gaffer.example.films.data.Person;
+import gaffer.example.films.data.Review;
+import gaffer.example.films.data.Viewing;
+import gaffer.example.films.generator.DataGenerator;
+import gaffer.graph.Graph;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaOptimiser;
+import gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Utility methods for creating the films example schema, graph and data used
+ * by the benchmarks. The data is generated using the films domain objects, so
+ * it has the same shape as the films example but a configurable size.
+ */
+public final class FilmsData {
+    public static final String SCHEMA_PATH = "/example/films/schema";
+    public static final String STORE_PROPERTIES_PATH = "/example/films/mockaccumulostore.properties";
+    public static final User USER = new User.Builder()
+            .userId("benchmarkUser")
+            .dataAuth(Certificate.U.name())
+            .dataAuth(Certificate.PG.name())
+            .dataAuth(Certificate._12A.name())
+            .dataAuth(Certificate._15.name())
+            .dataAuth(Certificate._18.name())
+            .build();
+
+    private static final long SEED = 12345L;
+    private static final int VIEWINGS_PER_USER = 10;
+
+    private FilmsData() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Loads the films schema and optimises it in the same way as the Accumulo
+     * store, so the default vertex and property serialisers are set.
+     *
+     * @return the optimised films schema
+     */
+    public static Schema createSchema() {
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(FilmsData.class, SCHEMA_PATH, true));
+        new SchemaOptimiser().optimise(schema, true);
+        return schema;
+    }
+
+    public static Graph createGraph() {
+        return new Graph.Builder()
+                .storeProperties(StreamUtil.openStream(FilmsData.class, STORE_PROPERTIES_PATH, true))
+                .addSchemas(StreamUtil.openStreams(FilmsData.class, SCHEMA_PATH, true))
+                .build();
+    }
+
+    public static String getUserId(final int index) {
+        return "user" + index;
+    }
+
+    /**
+     * Generates the elements for the given number of users and films. Each
+     * user has a person entity and views and reviews a random selection of
+     * films.
+     *
+     * @param numUsers the number of users
+     * @param numFilms the number of films
+     * @return the generated elements
+     */
+    public static List<Element> createElements(final int numUsers, final int numFilms) {
+        final Random random = new Random(SEED);
+        final Certificate[] certificates = Certificate.values();
+        final List<Object> objects = new ArrayList<>();
+        for (int film = 0; film < numFilms; film++) {
+            objects.add(new Film("film" + film, "Film " + film, certificates[film % certificates.length]));
+        }
+
+        for (int user = 0; user < numUsers; user++) {
+            final String userId = getUserId(user);
+            objects.add(new Person(userId, "User " + user, 18 + random.nextInt(60)));
+            for (int i = 0; i < VIEWINGS_PER_USER; i++) {
+                final String filmId = "film" + random.nextInt(numFilms);
+                objects.add(new Viewing(filmId, userId, 1400000000000L + random.nextInt(100000000)));
+                objects.add(new Review(filmId, userId, 1 + random.nextInt(100)));
+            }
+        }
+
+        final DataGenerator generator = new DataGenerator();
+        final List<Element> elements = new ArrayList<>(objects.size());
+        for (final Object obj : objects) {
+            elements.add(generator.getElement(obj));
+        }
+
+        return elements;
+    }
+}
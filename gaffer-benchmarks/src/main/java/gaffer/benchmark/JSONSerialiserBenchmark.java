@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.data.element.Element;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialising the films example elements to and from JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JSONSerialiserBenchmark {
+    private final JSONSerialiser serialiser = new JSONSerialiser();
+    private List<Element> elements;
+    private byte[][] json;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        elements = FilmsData.createElements(1000, 100);
+        json = new byte[elements.size()][];
+        for (int i = 0; i < elements.size(); i++) {
+            json[i] = serialiser.serialise(elements.get(i));
+        }
+    }
+
+    @Benchmark
+    public void serialise(final Blackhole blackhole) throws SerialisationException {
+        for (final Element element : elements) {
+            blackhole.consume(serialiser.serialise(element));
+        }
+    }
+
+    @Benchmark
+    public void deserialise(final Blackhole blackhole) throws SerialisationException {
+        for (final byte[] elementJson : json) {
+            blackhole.consume(serialiser.deserialise(elementJson, Element.class));
+        }
+    }
+}
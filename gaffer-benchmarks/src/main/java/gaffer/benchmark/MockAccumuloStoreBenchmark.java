@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.example.films.data.schema.Group;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElementsBySeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end benchmarks of adding the films example elements to, and getting
+ * them from, a graph backed by a mock Accumulo store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MockAccumuloStoreBenchmark {
+    @Param({"1000"})
+    private int numUsers;
+
+    private List<Element> elements;
+    private List<EntitySeed> seeds;
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setup() throws OperationException {
+        elements = FilmsData.createElements(numUsers, numUsers / 10);
+        seeds = new ArrayList<>();
+        for (int i = 0; i < numUsers; i += 10) {
+            seeds.add(new EntitySeed(FilmsData.getUserId(i)));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createGraph() throws OperationException {
+        graph = FilmsData.createGraph();
+        graph.execute(new AddElements(elements), FilmsData.USER);
+    }
+
+    @Benchmark
+    public void addElements() throws OperationException {
+        graph.execute(new AddElements(elements), FilmsData.USER);
+    }
+
+    @Benchmark
+    public int getElementsBySeed() throws OperationException {
+        final GetElementsBySeed<EntitySeed, Element> operation = new GetElementsBySeed.Builder<EntitySeed, Element>()
+                .seeds(seeds)
+                .view(new View.Builder()
+                        .entity(Group.PERSON)
+                        .edge(Group.VIEWING)
+                        .build())
+                .build();
+
+        final CloseableIterable<Element> results = graph.execute(operation, FilmsData.USER);
+        int count = 0;
+        try {
+            final Iterator<Element> itr = results.iterator();
+            while (itr.hasNext()) {
+                itr.next();
+                count++;
+            }
+        } finally {
+            results.close();
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compact raw serialisation of longs, which is used for
+ * property lengths and counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerialisationBenchmark {
+    private static final int OFFSET = 3;
+    private static final CompactRawLongSerialiser SERIALISER = new CompactRawLongSerialiser();
+
+    @Param({"1", "1000", "1000000000000"})
+    private long value;
+
+    private byte[] serialised;
+    private byte[] padded;
+
+    @Setup
+    public void setup() {
+        serialised = CompactRawSerialisationUtils.writeLong(value);
+        padded = new byte[serialised.length + OFFSET];
+        System.arraycopy(serialised, 0, padded, OFFSET, serialised.length);
+    }
+
+    @Benchmark
+    public byte[] writeLong() {
+        return CompactRawSerialisationUtils.writeLong(value);
+    }
+
+    @Benchmark
+    public long readLong() throws SerialisationException {
+        return CompactRawSerialisationUtils.readLong(serialised);
+    }
+
+    @Benchmark
+    public long deserialiseFromCopyOfRange() throws SerialisationException {
+        return SERIALISER.deserialise(Arrays.copyOfRange(padded, OFFSET, padded.length));
+    }
+
+    @Benchmark
+    public long deserialiseFromOffset() throws SerialisationException {
+        return SERIALISER.deserialise(padded, OFFSET, serialised.length);
+    }
+}
@@ -16,6 +16,7 @@
 
 package gaffer.commonutil.iterable;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.Iterator;
 
 public class WrappedCloseableIterable<T> implements CloseableIterable<T> {
@@ -33,6 +34,14 @@ public class WrappedCloseableIterable<T> implements CloseableIterable<T> {
         }
     }
 
+    /**
+     * @return the wrapped iterable, or an empty iterable if null was wrapped.
+     */
+    @JsonIgnore
+    public Iterable<T> getIterable() {
+        return iterable;
+    }
+
     @Override
     public void close() {
         if (iterable instanceof CloseableIterable) {
@@ -113,17 +113,23 @@ public class Edge extends Element {
         }
     }
 
+    @Override
     public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    public int shallowHashCode() {
         int hash;
         if (directed) {
             hash = new HashCodeBuilder(21, 3)
-                    .appendSuper(super.hashCode())
+                    .appendSuper(super.shallowHashCode())
                     .append(source)
                     .append(destination)
                     .append(directed)
                     .toHashCode();
         } else {
-            hash = super.hashCode();
+            hash = super.shallowHashCode();
             hash ^= source.hashCode();
             hash ^= destination.hashCode();
         }
@@ -39,7 +39,9 @@ import java.util.Map;
  * simple properties, enabling validation, aggregation, transformation and filtering to be done more precisely.</li>
  * </ul>
  * <p>
- * Equals has been overridden to check groups are equal. NOTE - it does not compare property values.
+ * Equals and hashCode have been overridden to compare the group, identifiers and property values. The hash code of the
+ * properties is cached, so elements that only differ by their properties can be hashed cheaply without all falling
+ * into the same bucket.
  */
 @JsonTypeInfo(use = Id.CLASS, include = As.PROPERTY, property = "class")
 public abstract class Element implements Serializable {
@@ -82,6 +84,13 @@ public abstract class Element implements Serializable {
 
     @Override
     public int hashCode() {
+        return 31 * shallowHashCode() + properties.hashCode();
+    }
+
+    /**
+     * @return a hash code of the group and identifiers, ignoring the properties.
+     */
+    public int shallowHashCode() {
         return new HashCodeBuilder(13, 17)
                 .append(group)
                 .toHashCode();
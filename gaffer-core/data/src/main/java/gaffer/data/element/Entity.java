@@ -83,9 +83,15 @@ public class Entity extends Element {
         }
     }
 
+    @Override
     public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    public int shallowHashCode() {
         return new HashCodeBuilder(23, 5)
-                .appendSuper(super.hashCode())
+                .appendSuper(super.shallowHashCode())
                 .append(vertex)
                 .toHashCode();
     }
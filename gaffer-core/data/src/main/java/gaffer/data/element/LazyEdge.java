@@ -68,7 +68,7 @@ public class LazyEdge extends Edge {
 
     @Override
     public boolean isDirected() {
-        if (!loadedIdentifiers.contains(IdentifierType.DIRECTED)) {
+        if (loadedIdentifiers.contains(IdentifierType.DIRECTED)) {
             return edge.isDirected();
         }
 
@@ -123,6 +123,11 @@ public class LazyEdge extends Edge {
         return edge.hashCode();
     }
 
+    @Override
+    public int shallowHashCode() {
+        return edge.shallowHashCode();
+    }
+
     private Object lazyLoadIdentifier(final Object currentValue, final IdentifierType name) {
         Object value = currentValue;
         if (null == value && !loadedIdentifiers.contains(name)) {
@@ -97,6 +97,11 @@ public class LazyEntity extends Entity {
         return entity.hashCode();
     }
 
+    @Override
+    public int shallowHashCode() {
+        return entity.shallowHashCode();
+    }
+
     private Object lazyLoadIdentifier(final Object currentValue, final IdentifierType name) {
         Object value = currentValue;
         if (null == value && !loadedIdentifiers.contains(name)) {
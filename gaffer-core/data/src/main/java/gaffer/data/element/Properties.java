@@ -16,16 +16,31 @@
 
 package gaffer.data.element;
 
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * <code>Properties</code> simply extends {@link java.util.HashMap} with property names (String) as keys and property value (Object) as values.
+ * <p>
+ * The hash code is cached, as it is used in the hash code of the {@link Element}. It is reset by the methods that
+ * modify the map, including the compute, merge and replaceAll methods and modifications made through the key set,
+ * values and entry set views and their iterators. If a property value is mutated in place, the cached hash code will
+ * be stale.
  */
 public class Properties extends HashMap<String, Object> {
     private static final long serialVersionUID = -5412533432398907359L;
+    private transient int hashCode;
+    private transient boolean hashCodeValid;
+    private transient Set<String> keySet;
+    private transient Collection<Object> values;
+    private transient Set<Map.Entry<String, Object>> entrySet;
 
     public Properties() {
         super();
@@ -45,6 +60,143 @@ public class Properties extends HashMap<String, Object> {
         return new Properties((Map<String, Object>) super.clone());
     }
 
+    @Override
+    public Object put(final String name, final Object value) {
+        resetHashCode();
+        return super.put(name, value);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ?> properties) {
+        resetHashCode();
+        super.putAll(properties);
+    }
+
+    @Override
+    public Object remove(final Object name) {
+        resetHashCode();
+        return super.remove(name);
+    }
+
+    @Override
+    public boolean remove(final Object name, final Object value) {
+        resetHashCode();
+        return super.remove(name, value);
+    }
+
+    @Override
+    public Object putIfAbsent(final String name, final Object value) {
+        resetHashCode();
+        return super.putIfAbsent(name, value);
+    }
+
+    @Override
+    public Object replace(final String name, final Object value) {
+        resetHashCode();
+        return super.replace(name, value);
+    }
+
+    @Override
+    public boolean replace(final String name, final Object oldValue, final Object newValue) {
+        resetHashCode();
+        return super.replace(name, oldValue, newValue);
+    }
+
+    @Override
+    public void clear() {
+        resetHashCode();
+        super.clear();
+    }
+
+    // The functions passed to the following methods are called whilst the map is being modified, so the cached hash
+    // code is reset afterwards in case a function requested it.
+
+    @Override
+    public Object compute(final String name,
+                          final BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+        try {
+            return super.compute(name, remappingFunction);
+        } finally {
+            resetHashCode();
+        }
+    }
+
+    @Override
+    public Object computeIfAbsent(final String name, final Function<? super String, ? extends Object> mappingFunction) {
+        try {
+            return super.computeIfAbsent(name, mappingFunction);
+        } finally {
+            resetHashCode();
+        }
+    }
+
+    @Override
+    public Object computeIfPresent(final String name,
+                                   final BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+        try {
+            return super.computeIfPresent(name, remappingFunction);
+        } finally {
+            resetHashCode();
+        }
+    }
+
+    @Override
+    public Object merge(final String name, final Object value,
+                        final BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+        try {
+            return super.merge(name, value, remappingFunction);
+        } finally {
+            resetHashCode();
+        }
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super String, ? super Object, ? extends Object> function) {
+        try {
+            super.replaceAll(function);
+        } finally {
+            resetHashCode();
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (null == keySet) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<Object> values() {
+        if (null == values) {
+            values = new Values();
+        }
+        return values;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (null == entrySet) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashCodeValid) {
+            hashCode = super.hashCode();
+            hashCodeValid = true;
+        }
+        return hashCode;
+    }
+
     /**
      * Removes all properties with names that are not in the provided set.
      *
@@ -89,4 +241,161 @@ public class Properties extends HashMap<String, Object> {
         }
         return sb.append('}').toString();
     }
+
+    private void resetHashCode() {
+        hashCodeValid = false;
+    }
+
+    /**
+     * An {@link Iterator} over one of the map's views that resets the cached hash code when an item is removed.
+     */
+    private class ResettingIterator<T> implements Iterator<T> {
+        private final Iterator<T> iterator;
+
+        ResettingIterator(final Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            resetHashCode();
+            iterator.remove();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return new ResettingIterator<>(Properties.super.keySet().iterator());
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object name) {
+            return containsKey(name);
+        }
+
+        @Override
+        public boolean remove(final Object name) {
+            resetHashCode();
+            return Properties.super.keySet().remove(name);
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<Object> {
+        @Override
+        public Iterator<Object> iterator() {
+            return new ResettingIterator<>(Properties.super.values().iterator());
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object value) {
+            return containsValue(value);
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            final Iterator<Map.Entry<String, Object>> iterator = Properties.super.entrySet().iterator();
+            return new ResettingIterator<Map.Entry<String, Object>>(iterator) {
+                @Override
+                public Map.Entry<String, Object> next() {
+                    return new ResettingEntry(super.next());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object entry) {
+            return Properties.super.entrySet().contains(entry);
+        }
+
+        @Override
+        public boolean remove(final Object entry) {
+            resetHashCode();
+            return Properties.super.entrySet().remove(entry);
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+    }
+
+    /**
+     * A {@link Map.Entry} that resets the cached hash code when its value is set.
+     */
+    private final class ResettingEntry implements Map.Entry<String, Object> {
+        private final Map.Entry<String, Object> entry;
+
+        ResettingEntry(final Map.Entry<String, Object> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public Object getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            resetHashCode();
+            return entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return entry.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entry.toString();
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package gaffer.data.elementdefinition.view;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.elementdefinition.ElementDefinitions;
 import gaffer.data.elementdefinition.exception.SchemaException;
@@ -24,6 +25,7 @@ import java.io.UnsupportedEncodingException;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 
 /**
  * The <code>View</code> defines the {@link gaffer.data.element.Element}s to be returned for an operation.
@@ -40,7 +42,7 @@ import java.util.LinkedHashSet;
  * @see gaffer.data.element.function.ElementFilter
  * @see gaffer.data.element.function.ElementTransformer
  */
-public class View extends ElementDefinitions<ViewElementDefinition, ViewElementDefinition> {
+public class View extends ElementDefinitions<ViewElementDefinition, ViewElementDefinition> implements Cloneable {
     public View() {
         super();
     }
@@ -71,6 +73,26 @@ public class View extends ElementDefinitions<ViewElementDefinition, ViewElementD
         return (ViewElementDefinition) super.getElement(group);
     }
 
+    /**
+     * Creates a copy of this view. The element definitions are cloned, so the
+     * copy can be used at the same time as the original.
+     *
+     * @return a copy of this view.
+     */
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Copies the element definitions directly for better performance")
+    @Override
+    public View clone() {
+        final View clone = new View();
+        for (final Map.Entry<String, ViewElementDefinition> entry : getEntities().entrySet()) {
+            clone.addEntity(entry.getKey(), null != entry.getValue() ? entry.getValue().clone() : null);
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : getEdges().entrySet()) {
+            clone.addEdge(entry.getKey(), null != entry.getValue() ? entry.getValue().clone() : null);
+        }
+        return clone;
+    }
+
     public LinkedHashSet<String> getElementGroupBy(final String group) {
         ViewElementDefinition viewElementDef = (ViewElementDefinition) super.getElement(group);
         if (null == viewElementDef) {
@@ -19,6 +19,7 @@ package gaffer.data.elementdefinition.view;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.data.element.function.ElementTransformer;
@@ -42,7 +43,7 @@ import java.util.Set;
  * A <code>ViewElementDefinition</code> is an {@link ElementDefinition} containing
  * transient properties, an {@link ElementTransformer} and two {@link ElementFilter}'s.
  */
-public class ViewElementDefinition implements ElementDefinition {
+public class ViewElementDefinition implements ElementDefinition, Cloneable {
     private ElementTransformer transformer;
     private ElementFilter preAggregationFilter;
     private ElementFilter postAggregationFilter;
@@ -67,6 +68,19 @@ public class ViewElementDefinition implements ElementDefinition {
      */
     private LinkedHashSet<String> groupBy;
 
+    /**
+     * The properties to return. Stores may use this to avoid reading or
+     * sending the other properties, but the properties used by the
+     * transformer and post transform filter are still made available to them.
+     * <p>
+     * If null, then all properties are returned.
+     * </p>
+     * <p>
+     * If empty, then no properties are returned.
+     * </p>
+     */
+    private LinkedHashSet<String> properties;
+
     /**
      * Transient property map of property name to class.
      */
@@ -80,6 +94,14 @@ public class ViewElementDefinition implements ElementDefinition {
         this.groupBy = groupBy;
     }
 
+    public LinkedHashSet<String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(final LinkedHashSet<String> properties) {
+        this.properties = properties;
+    }
+
     @Override
     public void merge(final ElementDefinition elementDef) {
         if (elementDef instanceof ViewElementDefinition) {
@@ -243,6 +265,32 @@ public class ViewElementDefinition implements ElementDefinition {
         transformer.addFunctions(functions);
     }
 
+    /**
+     * Creates a copy of this element definition. The filters and transformer
+     * are cloned, as they are not thread safe, so the copy can be used at the
+     * same time as the original.
+     *
+     * @return a copy of this element definition.
+     */
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Copies the fields directly for better performance")
+    @Override
+    public ViewElementDefinition clone() {
+        final ViewElementDefinition clone = new ViewElementDefinition();
+        clone.transientProperties.putAll(transientProperties);
+        clone.groupBy = null != groupBy ? new LinkedHashSet<>(groupBy) : null;
+        clone.properties = null != properties ? new LinkedHashSet<>(properties) : null;
+        clone.preAggregationFilter = cloneFilter(preAggregationFilter);
+        clone.postAggregationFilter = cloneFilter(postAggregationFilter);
+        clone.postTransformFilter = cloneFilter(postTransformFilter);
+        clone.transformer = null != transformer && null != transformer.getFunctions() ? transformer.clone() : transformer;
+        return clone;
+    }
+
+    private static ElementFilter cloneFilter(final ElementFilter filter) {
+        return null != filter && null != filter.getFunctions() ? filter.clone() : filter;
+    }
+
     public static class Builder {
         private final ViewElementDefinition elDef;
 
@@ -283,6 +331,14 @@ public class ViewElementDefinition implements ElementDefinition {
             return this;
         }
 
+        public Builder properties(final String... properties) {
+            if (null == getElementDef().getProperties()) {
+                getElementDef().setProperties(new LinkedHashSet<String>());
+            }
+            Collections.addAll(getElementDef().getProperties(), properties);
+            return this;
+        }
+
         public ViewElementDefinition build() {
             return elDef;
         }
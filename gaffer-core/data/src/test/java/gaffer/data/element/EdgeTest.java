@@ -18,6 +18,7 @@ package gaffer.data.element;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import gaffer.commonutil.TestGroups;
@@ -108,7 +109,7 @@ public class EdgeTest extends ElementTest {
 
         // Then
         assertTrue(isEqual);
-        assertEquals(edge1.hashCode(), edge2.hashCode());
+        assertEquals(edge1.shallowHashCode(), edge2.shallowHashCode());
     }
 
     @Test
@@ -131,6 +132,31 @@ public class EdgeTest extends ElementTest {
         assertEquals(edge1.hashCode(), edge2.hashCode());
     }
 
+    @Test
+    public void shouldReturnDifferentHashCodesWhenOnlyPropertiesAreDifferent() {
+        // Given
+        final Edge edge1 = new Edge("group", "source vertex", "dest vertex", true);
+        edge1.putProperty("count", 1);
+
+        final Edge edge2 = cloneCoreFields(edge1);
+        edge2.putProperty("count", 2);
+
+        // When
+        final boolean isEqual = edge1.equals(edge2);
+
+        // Then
+        assertFalse(isEqual);
+        assertEquals(edge1.shallowHashCode(), edge2.shallowHashCode());
+        assertNotEquals(edge1.hashCode(), edge2.hashCode());
+
+        // When
+        edge2.putProperty("count", 1);
+
+        // Then
+        assertEquals(edge1, edge2);
+        assertEquals(edge1.hashCode(), edge2.hashCode());
+    }
+
     @Test
     public void shouldReturnFalseForEqualsWhenGroupIsDifferent() {
         // Given
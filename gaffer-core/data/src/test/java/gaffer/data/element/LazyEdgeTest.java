@@ -99,7 +99,7 @@ public class LazyEdgeTest {
         final ElementValueLoader edgeLoader = mock(ElementValueLoader.class);
         final LazyEdge lazyEdge = new LazyEdge(edge, edgeLoader);
         given(edgeLoader.getIdentifier(IdentifierType.DIRECTED)).willReturn(true);
-        lazyEdge.setDirected(true); // call it to load the value.
+        lazyEdge.isDirected(); // call it to load the value.
 
         // When
         boolean isDirected = lazyEdge.isDirected();
@@ -16,15 +16,21 @@
 
 package gaffer.data.element;
 
+import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
@@ -142,4 +148,116 @@ public class PropertiesTest {
         assertEquals(propertyValue1, clone.get(property1));
         assertEquals(propertyValue2, clone.get(property2));
     }
+
+    @Test
+    public void shouldUpdateHashCodeWhenPropertiesChange() {
+        // Given
+        final Properties properties = new Properties("property 1", "property value 1");
+        final int initialHashCode = properties.hashCode();
+
+        // When
+        properties.put("property 2", "property value 2");
+
+        // Then
+        assertNotEquals(initialHashCode, properties.hashCode());
+        assertEquals(new Properties(new HashMap<>(properties)).hashCode(), properties.hashCode());
+
+        // When
+        properties.remove("property 2");
+
+        // Then
+        assertEquals(initialHashCode, properties.hashCode());
+    }
+
+    @Test
+    public void shouldUpdateHashCodeWhenPropertiesChangeThroughViews() {
+        // Given
+        final Properties properties = new Properties("property 1", "property value 1");
+        properties.put("property 2", "property value 2");
+        final int initialHashCode = properties.hashCode();
+
+        // When
+        final Map.Entry<String, Object> entry = properties.entrySet().iterator().next();
+        entry.setValue("new value");
+
+        // Then
+        assertNotEquals(initialHashCode, properties.hashCode());
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+
+        // When
+        properties.keySet().remove(entry.getKey());
+
+        // Then
+        assertEquals(1, properties.size());
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+
+        // When
+        final Iterator<Object> values = properties.values().iterator();
+        values.next();
+        values.remove();
+
+        // Then
+        assertTrue(properties.isEmpty());
+        assertEquals(0, properties.hashCode());
+    }
+
+    @Test
+    public void shouldUpdateHashCodeWhenPropertiesChangeThroughComputeAndMerge() {
+        // Given
+        final Properties properties = new Properties("property 1", "property value 1");
+        final BiFunction<Object, Object, Object> concat = new BiFunction<Object, Object, Object>() {
+            @Override
+            public Object apply(final Object first, final Object second) {
+                return String.valueOf(first) + second;
+            }
+        };
+        final BiFunction<String, Object, Object> append = new BiFunction<String, Object, Object>() {
+            @Override
+            public Object apply(final String name, final Object value) {
+                return value + " updated";
+            }
+        };
+
+        // When / Then
+        properties.hashCode();
+        properties.compute("property 1", append);
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+
+        properties.computeIfPresent("property 1", append);
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+
+        properties.computeIfAbsent("property 2", new Function<String, Object>() {
+            @Override
+            public Object apply(final String name) {
+                return "property value 2";
+            }
+        });
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+
+        properties.merge("property 2", " merged", concat);
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+
+        properties.replaceAll(append);
+        assertEquals(new HashMap<>(properties).hashCode(), properties.hashCode());
+        assertEquals("property value 2 merged updated", properties.get("property 2"));
+    }
+
+    @Test
+    public void shouldNotChangePropertiesWhenIteratingOverViews() {
+        // Given
+        final Properties properties = new Properties("property 1", "property value 1");
+        final int initialHashCode = properties.hashCode();
+
+        // When
+        final String toString = properties.toString();
+        final boolean equal = properties.equals(new Properties("property 1", "property value 1"));
+
+        // Then
+        assertEquals("{property 1=<java.lang.String>property value 1}", toString);
+        assertTrue(equal);
+        assertEquals(initialHashCode, properties.hashCode());
+        assertEquals(Collections.singleton("property 1"), properties.keySet());
+        assertEquals(Collections.<Map.Entry<String, Object>>singleton(
+                new AbstractMap.SimpleEntry<String, Object>("property 1", "property value 1")), properties.entrySet());
+    }
 }
@@ -17,6 +17,7 @@
 package gaffer.data.elementdefinition.view;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -30,6 +31,8 @@ import gaffer.function.ExampleFilterFunction;
 import gaffer.function.ExampleTransformFunction;
 import org.junit.Test;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 public class ViewTest {
@@ -222,4 +225,68 @@ public class ViewTest {
         assertEquals(1, edgeDef.getPostTransformFilter().getFunctions().get(0).getSelection().size());
         assertEquals(TestPropertyNames.PROP_3, edgeDef.getPostTransformFilter().getFunctions().get(0).getSelection().get(0).getPropertyName());
     }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseProjectedProperties() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                        .build())
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties()
+                        .build())
+                .entity(TestGroups.ENTITY_2)
+                .build();
+
+        // When
+        final View deserialisedView = View.fromJson(view.toJson(true));
+
+        // Then
+        assertEquals(new LinkedHashSet<>(Arrays.asList(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)),
+                deserialisedView.getEdge(TestGroups.EDGE).getProperties());
+        assertTrue(deserialisedView.getEntity(TestGroups.ENTITY).getProperties().isEmpty());
+        assertNull(deserialisedView.getEntity(TestGroups.ENTITY_2).getProperties());
+    }
+
+    @Test
+    public void shouldCloneView() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .transientProperty(TestPropertyNames.PROP_3, String.class)
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                                .project(TestPropertyNames.PROP_3)
+                                .execute(new ExampleTransformFunction())
+                                .build())
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_3)
+                                .execute(new ExampleFilterFunction())
+                                .build())
+                        .groupBy(TestPropertyNames.PROP_1)
+                        .properties(TestPropertyNames.PROP_3)
+                        .build())
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new ExampleFilterFunction())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final View clone = view.clone();
+
+        // Then
+        JsonUtil.assertEquals(new String(view.toJson(false)), new String(clone.toJson(false)));
+        final ViewElementDefinition edgeDef = view.getEdge(TestGroups.EDGE);
+        final ViewElementDefinition clonedEdgeDef = clone.getEdge(TestGroups.EDGE);
+        assertNotSame(edgeDef, clonedEdgeDef);
+        assertNotSame(edgeDef.getTransformer(), clonedEdgeDef.getTransformer());
+        assertNotSame(edgeDef.getPostTransformFilter(), clonedEdgeDef.getPostTransformFilter());
+        assertNotSame(edgeDef.getGroupBy(), clonedEdgeDef.getGroupBy());
+        assertNotSame(view.getEntity(TestGroups.ENTITY).getPreAggregationFilter(),
+                clone.getEntity(TestGroups.ENTITY).getPreAggregationFilter());
+    }
 }
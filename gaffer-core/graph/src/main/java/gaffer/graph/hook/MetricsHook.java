@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A <code>MetricsHook</code> is a {@link GraphHook} that records the number of
+ * operation chains executed on a graph and the time taken to execute them in
+ * the {@link MetricsRegistry}. Times are recorded for all chains and for each
+ * distinct chain of operation classes, e.g.
+ * <code>graph.chain.GetAdjacentEntitySeeds-&gt;GetEdgesBySeed</code>.
+ * <p>
+ * To keep the number of timers bounded, repeated operations of the same class
+ * are only named once, chains longer than {@link #MAX_CHAIN_SIGNATURE_OPERATIONS}
+ * operations are truncated, and once {@link #MAX_CHAIN_TIMERS} distinct chains
+ * have been timed any other chains are recorded in {@link #OTHER_CHAINS_TIMER}.
+ * </p>
+ * <p>
+ * Chains that fail are counted as started but not completed.
+ * For chains that return lazy iterables the time recorded is the time taken to
+ * set up the queries, not to consume the results.
+ * </p>
+ */
+public class MetricsHook implements GraphHook {
+    public static final String CHAINS_STARTED = "graph.chains.started";
+    public static final String CHAINS_COMPLETED = "graph.chains.completed";
+    public static final String CHAINS_TIMER = "graph.chains";
+    public static final String CHAIN_TIMER_PREFIX = "graph.chain.";
+    public static final String OTHER_CHAINS_TIMER = CHAIN_TIMER_PREFIX + "other";
+    public static final int MAX_CHAIN_SIGNATURE_OPERATIONS = 5;
+    public static final int MAX_CHAIN_TIMERS = 100;
+
+    private final MetricsRegistry metrics;
+    private final Set<String> chainTimers = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final ThreadLocal<Long> startTime = new ThreadLocal<>();
+
+    public MetricsHook() {
+        this(MetricsRegistry.getInstance());
+    }
+
+    public MetricsHook(final MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final User user) {
+        metrics.counter(CHAINS_STARTED).inc();
+        startTime.set(System.nanoTime());
+    }
+
+    @Override
+    public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
+        final Long start = startTime.get();
+        startTime.remove();
+        metrics.counter(CHAINS_COMPLETED).inc();
+        if (null != start) {
+            final long duration = System.nanoTime() - start;
+            metrics.timer(CHAINS_TIMER).update(duration);
+            metrics.timer(getChainTimerName(opChain)).update(duration);
+        }
+    }
+
+    private String getChainTimerName(final OperationChain<?> opChain) {
+        final String timerName = CHAIN_TIMER_PREFIX + getChainSignature(opChain);
+        if (!chainTimers.contains(timerName)) {
+            synchronized (chainTimers) {
+                if (chainTimers.size() >= MAX_CHAIN_TIMERS) {
+                    return OTHER_CHAINS_TIMER;
+                }
+                chainTimers.add(timerName);
+            }
+        }
+
+        return timerName;
+    }
+
+    private static String getChainSignature(final OperationChain<?> opChain) {
+        final StringBuilder signature = new StringBuilder();
+        if (null != opChain.getOperations()) {
+            Class<?> previousClass = null;
+            int numOperations = 0;
+            for (final Operation<?, ?> op : opChain.getOperations()) {
+                if (null == op || op.getClass().equals(previousClass)) {
+                    continue;
+                }
+
+                if (numOperations > 0) {
+                    signature.append("->");
+                }
+
+                if (numOperations == MAX_CHAIN_SIGNATURE_OPERATIONS) {
+                    signature.append("...");
+                    break;
+                }
+
+                signature.append(op.getClass().getSimpleName());
+                previousClass = op.getClass();
+                numOperations++;
+            }
+        }
+
+        return signature.toString();
+    }
+}
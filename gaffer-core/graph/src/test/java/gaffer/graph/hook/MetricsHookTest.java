@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.impl.CountGroups;
+import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.Validate;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class MetricsHookTest {
+    @Test
+    public void shouldRecordChainCountsAndTimes() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+        final MetricsHook hook = new MetricsHook(registry);
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetAdjacentEntitySeeds())
+                .then(new GenerateObjects())
+                .build();
+        final User user = new User();
+
+        // When
+        hook.preExecute(opChain, user);
+        hook.postExecute(null, opChain, user);
+
+        // Then
+        assertEquals(1, registry.counter(MetricsHook.CHAINS_STARTED).getCount());
+        assertEquals(1, registry.counter(MetricsHook.CHAINS_COMPLETED).getCount());
+        assertEquals(1, registry.timer(MetricsHook.CHAINS_TIMER).getCount());
+        assertEquals(1, registry.timer(MetricsHook.CHAIN_TIMER_PREFIX + "GetAdjacentEntitySeeds->GenerateObjects").getCount());
+    }
+
+    @Test
+    public void shouldNotRecordCompletionOfFailedChains() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+        final MetricsHook hook = new MetricsHook(registry);
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetAdjacentEntitySeeds())
+                .build();
+
+        // When - postExecute is not called when a chain fails
+        hook.preExecute(opChain, new User());
+
+        // Then
+        assertEquals(1, registry.counter(MetricsHook.CHAINS_STARTED).getCount());
+        assertEquals(0, registry.counter(MetricsHook.CHAINS_COMPLETED).getCount());
+        assertEquals(0, registry.timer(MetricsHook.CHAINS_TIMER).getCount());
+    }
+
+    @Test
+    public void shouldCollapseRepeatedOperationsAndTruncateLongChainsInTimerNames() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+        final MetricsHook hook = new MetricsHook(registry);
+        final OperationChain opChain = new OperationChain(Arrays.<Operation>asList(new GetAdjacentEntitySeeds(),
+                new GetAdjacentEntitySeeds(), new GetAdjacentEntitySeeds(), new GetEdgesBySeed(), new Deduplicate(),
+                new Limit(), new CountGroups(), new GenerateObjects()));
+        final User user = new User();
+
+        // When
+        hook.preExecute(opChain, user);
+        hook.postExecute(null, opChain, user);
+
+        // Then
+        assertEquals(1, registry.timer(MetricsHook.CHAIN_TIMER_PREFIX
+                + "GetAdjacentEntitySeeds->GetEdgesBySeed->Deduplicate->Limit->CountGroups->...").getCount());
+    }
+
+    @Test
+    public void shouldRecordChainsInOtherTimerOnceMaxChainTimersIsReached() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+        final MetricsHook hook = new MetricsHook(registry);
+        final User user = new User();
+        final Operation[] ops = {new GetAdjacentEntitySeeds(), new GetEdgesBySeed(), new Deduplicate(),
+                new Limit(), new CountGroups(), new GenerateObjects(), new Validate()};
+        int numChains = 0;
+        for (int i = 0; i < ops.length && numChains < MetricsHook.MAX_CHAIN_TIMERS; i++) {
+            for (int j = 0; j < ops.length && numChains < MetricsHook.MAX_CHAIN_TIMERS; j++) {
+                for (int k = 0; k < ops.length && numChains < MetricsHook.MAX_CHAIN_TIMERS; k++) {
+                    if (i != j && j != k) {
+                        final OperationChain opChain = new OperationChain(Arrays.asList(ops[i], ops[j], ops[k]));
+                        hook.preExecute(opChain, user);
+                        hook.postExecute(null, opChain, user);
+                        numChains++;
+                    }
+                }
+            }
+        }
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetAdjacentEntitySeeds())
+                .build();
+
+        // When
+        hook.preExecute(opChain, user);
+        hook.postExecute(null, opChain, user);
+
+        // Then
+        assertEquals(MetricsHook.MAX_CHAIN_TIMERS + 1, registry.timer(MetricsHook.CHAINS_TIMER).getCount());
+        assertEquals(1, registry.timer(MetricsHook.OTHER_CHAINS_TIMER).getCount());
+        assertEquals(0, registry.timer(MetricsHook.CHAIN_TIMER_PREFIX + "GetAdjacentEntitySeeds").getCount());
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation;
+
+import gaffer.data.elementdefinition.view.View;
+import java.util.List;
+
+/**
+ * A <code>MultiViewOperation</code> defines an operation that uses other
+ * {@link View}s as well as the view returned by {@link #getView()}, for
+ * example a view for each stage the operation's handler executes. The store
+ * validates these views against the schema in the same way as the operation
+ * view.
+ *
+ * @param <INPUT>  the input type
+ * @param <OUTPUT> the output type
+ */
+public interface MultiViewOperation<INPUT, OUTPUT> extends Operation<INPUT, OUTPUT> {
+    /**
+     * @return the views used by the operation in addition to its own view.
+     * This may be null or contain null views.
+     */
+    List<View> getAdditionalViews();
+}
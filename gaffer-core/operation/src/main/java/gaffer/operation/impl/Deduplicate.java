@@ -22,11 +22,73 @@ import gaffer.operation.AbstractOperation;
 
 /**
  * A <code>Deduplicate</code> operation takes in an {@link Iterable} of items
- * and removes duplicates.
+ * and removes duplicates. Items are returned lazily, the first time they are
+ * seen, so the input is never held in memory all at once.
+ * <p>
+ * By default every distinct item seen is held in memory. If
+ * <code>maxItemsInMemory</code> is set, the seen items are spilled to sorted
+ * runs on local disk once the limit is reached. Alternatively, if
+ * <code>approximate</code> is set, the seen items are recorded in a Bloom
+ * filter sized using <code>expectedItems</code> and
+ * <code>falsePositiveRate</code>. In that mode no duplicates are returned but
+ * a small proportion of distinct items may be wrongly dropped.
  *
  * @see Deduplicate.Builder
  */
 public class Deduplicate<T> extends AbstractOperation<CloseableIterable<T>, CloseableIterable<T>> {
+    public static final int DEFAULT_EXPECTED_ITEMS = 1000000;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.0001;
+
+    private Integer maxItemsInMemory;
+    private boolean approximate;
+    private int expectedItems = DEFAULT_EXPECTED_ITEMS;
+    private double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+
+    /**
+     * @return the maximum number of seen items to hold in memory before they
+     * are spilled to disk, or null if there is no limit.
+     */
+    public Integer getMaxItemsInMemory() {
+        return maxItemsInMemory;
+    }
+
+    public void setMaxItemsInMemory(final Integer maxItemsInMemory) {
+        this.maxItemsInMemory = maxItemsInMemory;
+    }
+
+    /**
+     * @return true if a Bloom filter should be used to record the seen items.
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public void setApproximate(final boolean approximate) {
+        this.approximate = approximate;
+    }
+
+    /**
+     * @return the number of distinct items the Bloom filter is sized for.
+     */
+    public int getExpectedItems() {
+        return expectedItems;
+    }
+
+    public void setExpectedItems(final int expectedItems) {
+        this.expectedItems = expectedItems;
+    }
+
+    /**
+     * @return the probability of the Bloom filter wrongly reporting an item
+     * as already seen, when it holds the expected number of items.
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
 
     public abstract static class BaseBuilder<T, CHILD_CLASS extends BaseBuilder<T, ?>>
             extends AbstractOperation.BaseBuilder<Deduplicate<T>, CloseableIterable<T>, CloseableIterable<T>, CHILD_CLASS> {
@@ -52,6 +114,46 @@ public class Deduplicate<T> extends AbstractOperation<CloseableIterable<T>, Clos
         public CHILD_CLASS input(final CloseableIterable<T> input) {
             return super.input(input);
         }
+
+        /**
+         * @param maxItemsInMemory the maximum number of seen items to hold in memory
+         * @return this Builder
+         * @see Deduplicate#setMaxItemsInMemory(Integer)
+         */
+        public CHILD_CLASS maxItemsInMemory(final Integer maxItemsInMemory) {
+            op.setMaxItemsInMemory(maxItemsInMemory);
+            return self();
+        }
+
+        /**
+         * @param approximate true if a Bloom filter should be used to record the seen items
+         * @return this Builder
+         * @see Deduplicate#setApproximate(boolean)
+         */
+        public CHILD_CLASS approximate(final boolean approximate) {
+            op.setApproximate(approximate);
+            return self();
+        }
+
+        /**
+         * @param expectedItems the number of distinct items the Bloom filter is sized for
+         * @return this Builder
+         * @see Deduplicate#setExpectedItems(int)
+         */
+        public CHILD_CLASS expectedItems(final int expectedItems) {
+            op.setExpectedItems(expectedItems);
+            return self();
+        }
+
+        /**
+         * @param falsePositiveRate the false positive rate of the Bloom filter
+         * @return this Builder
+         * @see Deduplicate#setFalsePositiveRate(double)
+         */
+        public CHILD_CLASS falsePositiveRate(final double falsePositiveRate) {
+            op.setFalsePositiveRate(falsePositiveRate);
+            return self();
+        }
     }
 
     public static final class Builder<T> extends BaseBuilder<T, Builder<T>> {
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.AbstractGetOperation;
+import gaffer.operation.MultiViewOperation;
+import gaffer.operation.data.EntitySeed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A <code>GetKHopEntitySeeds</code> operation will return the
+ * {@link gaffer.operation.data.EntitySeed}s that are <code>hops</code> edges
+ * away from the seed {@link gaffer.operation.data.EntitySeed}s. It is
+ * equivalent to an {@link gaffer.operation.OperationChain} of
+ * {@link GetAdjacentEntitySeeds} operations, except that:
+ * <ul>
+ * <li>each hop can be given its own {@link View}; hops without a view of their
+ * own use the view of this operation,</li>
+ * <li>the hops are streamed, so a hop starts as soon as the previous hop starts
+ * returning results,</li>
+ * <li>each vertex is only expanded once - a vertex is not added to the frontier
+ * of a hop if it was a seed or was added to the frontier of an earlier hop,</li>
+ * <li>the results of the final hop are deduplicated, and</li>
+ * <li>the number of vertices returned by each hop can be limited with
+ * <code>maxSeedsPerHop</code>.</li>
+ * </ul>
+ * The expanded vertices and the results of the final hop are held in memory
+ * until <code>maxVerticesInMemory</code> vertices have been seen, after which
+ * they are spilled to sorted runs on local disk.
+ * The hops are chained lazily rather than run concurrently, so unless the
+ * store fetches results ahead of the consumer, a hop only queries for the
+ * next results of the previous hop once the current results are consumed.
+ * As the hops are streamed, in a graph with cycles the hop that expands a
+ * vertex reachable by more than one hop depends on the order the results are
+ * returned in.
+ * Seed matching is always RELATED.
+ *
+ * @see gaffer.operation.impl.get.GetKHopEntitySeeds.Builder
+ * @see gaffer.operation.impl.get.GetAdjacentEntitySeeds
+ */
+public class GetKHopEntitySeeds extends AbstractGetOperation<EntitySeed, CloseableIterable<EntitySeed>>
+        implements MultiViewOperation<CloseableIterable<EntitySeed>, CloseableIterable<EntitySeed>> {
+    public static final int DEFAULT_MAX_VERTICES_IN_MEMORY = 1000000;
+
+    private int hops = 1;
+    private List<View> hopViews;
+    private Integer maxSeedsPerHop;
+    private Integer maxVerticesInMemory = DEFAULT_MAX_VERTICES_IN_MEMORY;
+
+    public GetKHopEntitySeeds() {
+    }
+
+    public GetKHopEntitySeeds(final Iterable<EntitySeed> seeds) {
+        super(seeds);
+    }
+
+    public GetKHopEntitySeeds(final View view, final Iterable<EntitySeed> seeds) {
+        super(view, seeds);
+    }
+
+    @Override
+    public SeedMatchingType getSeedMatching() {
+        return SeedMatchingType.RELATED;
+    }
+
+    /**
+     * @return the number of hops to traverse.
+     */
+    public int getHops() {
+        return hops;
+    }
+
+    public void setHops(final int hops) {
+        this.hops = hops;
+    }
+
+    /**
+     * @return the views to use for each hop, in order. This may be null or
+     * contain fewer views than there are hops.
+     */
+    public List<View> getHopViews() {
+        return hopViews;
+    }
+
+    public void setHopViews(final List<View> hopViews) {
+        this.hopViews = hopViews;
+    }
+
+    /**
+     * @return the maximum number of vertices each hop returns, or null if
+     * there is no limit.
+     */
+    public Integer getMaxSeedsPerHop() {
+        return maxSeedsPerHop;
+    }
+
+    public void setMaxSeedsPerHop(final Integer maxSeedsPerHop) {
+        this.maxSeedsPerHop = maxSeedsPerHop;
+    }
+
+    /**
+     * @return the maximum number of expanded vertices, or final hop results,
+     * to hold in memory before they are spilled to disk, or null if there is
+     * no limit.
+     */
+    public Integer getMaxVerticesInMemory() {
+        return maxVerticesInMemory;
+    }
+
+    public void setMaxVerticesInMemory(final Integer maxVerticesInMemory) {
+        this.maxVerticesInMemory = maxVerticesInMemory;
+    }
+
+    /**
+     * @return the hop views, so they are validated by the store before the
+     * hops are executed.
+     */
+    @JsonIgnore
+    @Override
+    public List<View> getAdditionalViews() {
+        return hopViews;
+    }
+
+    /**
+     * @param hop the index of the hop, starting at 0
+     * @return the view for the given hop, or the view of this operation if the
+     * hop does not have a view of its own.
+     */
+    @JsonIgnore
+    public View getViewForHop(final int hop) {
+        if (null != hopViews && hop < hopViews.size() && null != hopViews.get(hop)) {
+            return hopViews.get(hop);
+        }
+
+        return getView();
+    }
+
+    public abstract static class BaseBuilder<CHILD_CLASS extends BaseBuilder<?>>
+            extends AbstractGetOperation.BaseBuilder<GetKHopEntitySeeds, EntitySeed, CloseableIterable<EntitySeed>, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new GetKHopEntitySeeds());
+        }
+
+        /**
+         * @param hops the number of hops to traverse
+         * @return this Builder
+         * @see GetKHopEntitySeeds#setHops(int)
+         */
+        public CHILD_CLASS hops(final int hops) {
+            op.setHops(hops);
+            return self();
+        }
+
+        /**
+         * @param hopViews the views to use for each hop, in order
+         * @return this Builder
+         * @see GetKHopEntitySeeds#setHopViews(List)
+         */
+        public CHILD_CLASS hopViews(final View... hopViews) {
+            op.setHopViews(new ArrayList<>(Arrays.asList(hopViews)));
+            return self();
+        }
+
+        /**
+         * @param maxSeedsPerHop the maximum number of vertices each hop returns
+         * @return this Builder
+         * @see GetKHopEntitySeeds#setMaxSeedsPerHop(Integer)
+         */
+        public CHILD_CLASS maxSeedsPerHop(final Integer maxSeedsPerHop) {
+            op.setMaxSeedsPerHop(maxSeedsPerHop);
+            return self();
+        }
+
+        /**
+         * @param maxVerticesInMemory the maximum number of seen vertices to hold in memory
+         * @return this Builder
+         * @see GetKHopEntitySeeds#setMaxVerticesInMemory(Integer)
+         */
+        public CHILD_CLASS maxVerticesInMemory(final Integer maxVerticesInMemory) {
+            op.setMaxVerticesInMemory(maxVerticesInMemory);
+            return self();
+        }
+    }
+
+    public static final class Builder extends BaseBuilder<Builder> {
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}
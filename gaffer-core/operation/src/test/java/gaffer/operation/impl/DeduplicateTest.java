@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationTest;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class DeduplicateTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final Deduplicate<String> op = new Deduplicate<>();
+        op.setMaxItemsInMemory(100);
+        op.setApproximate(true);
+        op.setExpectedItems(500);
+        op.setFalsePositiveRate(0.01);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final Deduplicate deserialisedOp = serialiser.deserialise(json, Deduplicate.class);
+
+        // Then
+        assertEquals(100, (int) deserialisedOp.getMaxItemsInMemory());
+        assertTrue(deserialisedOp.isApproximate());
+        assertEquals(500, deserialisedOp.getExpectedItems());
+        assertEquals(0.01, deserialisedOp.getFalsePositiveRate(), 0);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseOperationWithDefaults() throws SerialisationException {
+        // Given
+        final Deduplicate<String> op = new Deduplicate<>();
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final Deduplicate deserialisedOp = serialiser.deserialise(json, Deduplicate.class);
+
+        // Then
+        assertNull(deserialisedOp.getMaxItemsInMemory());
+        assertFalse(deserialisedOp.isApproximate());
+        assertEquals(Deduplicate.DEFAULT_EXPECTED_ITEMS, deserialisedOp.getExpectedItems());
+        assertEquals(Deduplicate.DEFAULT_FALSE_POSITIVE_RATE, deserialisedOp.getFalsePositiveRate(), 0);
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final Deduplicate<String> deduplicate = new Deduplicate.Builder<String>()
+                .input(Arrays.asList("1", "2", "1"))
+                .maxItemsInMemory(10)
+                .approximate(true)
+                .expectedItems(20)
+                .falsePositiveRate(0.1)
+                .option("testOption", "true")
+                .build();
+        assertEquals("true", deduplicate.getOption("testOption"));
+        assertEquals(Arrays.asList("1", "2", "1"), Lists.newArrayList(deduplicate.getInput()));
+        assertEquals(10, (int) deduplicate.getMaxItemsInMemory());
+        assertTrue(deduplicate.isApproximate());
+        assertEquals(20, deduplicate.getExpectedItems());
+        assertEquals(0.1, deduplicate.getFalsePositiveRate(), 0);
+    }
+}
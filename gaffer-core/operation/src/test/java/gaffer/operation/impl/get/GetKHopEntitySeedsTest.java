@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EntitySeed;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class GetKHopEntitySeedsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    public void shouldSetSeedMatchingTypeToRelated() {
+        // When
+        final GetKHopEntitySeeds op = new GetKHopEntitySeeds();
+
+        // Then
+        assertEquals(GetOperation.SeedMatchingType.RELATED, op.getSeedMatching());
+    }
+
+    @Test
+    public void shouldUseOperationViewForHopsWithoutAView() {
+        // Given
+        final View view = new View.Builder().edge("edgeGroup").build();
+        final View hopView = new View.Builder().edge("otherEdgeGroup").build();
+        final GetKHopEntitySeeds op = new GetKHopEntitySeeds.Builder()
+                .view(view)
+                .hopViews(hopView, null)
+                .hops(3)
+                .build();
+
+        // When / Then
+        assertSame(hopView, op.getViewForHop(0));
+        assertSame(view, op.getViewForHop(1));
+        assertSame(view, op.getViewForHop(2));
+    }
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final EntitySeed seed1 = new EntitySeed("identifier1");
+        final EntitySeed seed2 = new EntitySeed("identifier2");
+        final GetKHopEntitySeeds op = new GetKHopEntitySeeds.Builder()
+                .seeds(Arrays.asList(seed1, seed2))
+                .hops(2)
+                .hopViews(new View.Builder().edge("edgeGroup").build())
+                .maxSeedsPerHop(10)
+                .build();
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetKHopEntitySeeds deserialisedOp = serialiser.deserialise(json, GetKHopEntitySeeds.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getSeeds().iterator();
+        assertEquals(seed1, itr.next());
+        assertEquals(seed2, itr.next());
+        assertFalse(itr.hasNext());
+        assertEquals(2, deserialisedOp.getHops());
+        assertEquals(1, deserialisedOp.getHopViews().size());
+        assertEquals(1, deserialisedOp.getViewForHop(0).getEdgeGroups().size());
+        assertEquals(10, (int) deserialisedOp.getMaxSeedsPerHop());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final GetKHopEntitySeeds op = new GetKHopEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .hops(2)
+                .inOutType(GetOperation.IncludeIncomingOutgoingType.OUTGOING)
+                .option("testOption", "true")
+                .build();
+        assertEquals(2, op.getHops());
+        assertEquals(GetOperation.IncludeIncomingOutgoingType.OUTGOING, op.getIncludeIncomingOutGoing());
+        assertEquals("true", op.getOption("testOption"));
+        assertNull(op.getMaxSeedsPerHop());
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+/**
+ * A <code>OffsetDeserialisation</code> is a {@link Serialisation} that can deserialise an object directly from a
+ * range of a larger byte array, such as the value of an Accumulo key-value pair holding several properties.
+ * This avoids copying the serialised bytes of each object into a new array before deserialising it.
+ */
+public interface OffsetDeserialisation extends Serialisation {
+
+    /**
+     * From a range of a byte array representing the Serialised form of a Property we should reconstruct the Object.
+     *
+     * @param bytes  the byte array containing the serialised bytes
+     * @param offset the index of the first serialised byte
+     * @param length the number of serialised bytes
+     * @return Object the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException;
+}
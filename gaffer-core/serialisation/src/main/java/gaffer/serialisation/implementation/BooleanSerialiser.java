@@ -16,12 +16,12 @@
 package gaffer.serialisation.implementation;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetDeserialisation;
 
 /**
  * This class is used to serialise and deserialise a boolean value
  */
-public class BooleanSerialiser implements Serialisation {
+public class BooleanSerialiser implements OffsetDeserialisation {
 
     private static final long serialVersionUID = -3964992157560886710L;
     private static final byte FALSE = (byte) 0;
@@ -32,7 +32,12 @@ public class BooleanSerialiser implements Serialisation {
     }
 
     public Boolean deserialise(final byte[] bytes) throws SerialisationException {
-        return bytes.length == 1 && TRUE == bytes[0];
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Boolean deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return length == 1 && TRUE == bytes[offset];
     }
 
     public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
@@ -17,10 +17,10 @@ package gaffer.serialisation.implementation;
 
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetDeserialisation;
 import java.io.UnsupportedEncodingException;
 
-public class StringSerialiser implements Serialisation {
+public class StringSerialiser implements OffsetDeserialisation {
 
     private static final long serialVersionUID = 5647756843689779437L;
 
@@ -41,8 +41,13 @@ public class StringSerialiser implements Serialisation {
 
     @Override
     public String deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public String deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         try {
-            return new String(bytes, CommonConstants.UTF_8);
+            return new String(bytes, offset, length, CommonConstants.UTF_8);
         } catch (UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -17,7 +17,7 @@
 package gaffer.serialisation.implementation.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetDeserialisation;
 
 /**
  * Serialises integers using a variable-length scheme that means smaller integers get serialised into a smaller
@@ -29,7 +29,7 @@ import gaffer.serialisation.Serialisation;
  * equal to <code>Integer.MIN_VALUE</code>. This means that, in terms of serialised size, there is no benefit to
  * using an integer instead of a long.
  */
-public class CompactRawIntegerSerialiser implements Serialisation {
+public class CompactRawIntegerSerialiser implements OffsetDeserialisation {
 
     private static final long serialVersionUID = -2874472098583724627L;
 
@@ -45,7 +45,12 @@ public class CompactRawIntegerSerialiser implements Serialisation {
 
     @Override
     public Integer deserialise(final byte[] bytes) throws SerialisationException {
-        final long result = CompactRawSerialisationUtils.readLong(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Integer deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final long result = CompactRawSerialisationUtils.readLong(bytes, offset);
         if ((result > Integer.MAX_VALUE) || (result < Integer.MIN_VALUE)) {
             throw new SerialisationException("Value too long to fit in integer");
         }
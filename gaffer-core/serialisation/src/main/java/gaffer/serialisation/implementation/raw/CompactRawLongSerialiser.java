@@ -17,7 +17,7 @@
 package gaffer.serialisation.implementation.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetDeserialisation;
 
 /**
  * Serialises longs using a variable-length scheme that means smaller longs get serialised into a smaller
@@ -25,7 +25,7 @@ import gaffer.serialisation.Serialisation;
  * large longs may be serialised into 9 bytes. This is particularly well suited to serialising count properties in
  * power-law graphs where the majority of counts will be very small.
  */
-public class CompactRawLongSerialiser implements Serialisation {
+public class CompactRawLongSerialiser implements OffsetDeserialisation {
 
     private static final long serialVersionUID = 6104372357426908732L;
 
@@ -41,7 +41,12 @@ public class CompactRawLongSerialiser implements Serialisation {
 
     @Override
     public Long deserialise(final byte[] bytes) throws SerialisationException {
-        return CompactRawSerialisationUtils.readLong(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Long deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return CompactRawSerialisationUtils.readLong(bytes, offset);
     }
 
     @Override
@@ -61,13 +61,25 @@ public final class CompactRawSerialisationUtils {
     }
 
     public static long readLong(final byte[] bytes) throws SerialisationException {
-        final byte firstByte = bytes[0];
+        return readLong(bytes, 0);
+    }
+
+    /**
+     * Reads a long that starts at the given offset of the byte array, without copying the bytes of the long.
+     *
+     * @param bytes  The byte array containing the serialised long.
+     * @param offset The index of the first byte of the serialised long.
+     * @return The value of the serialised long.
+     * @throws SerialisationException if the long cannot be read.
+     */
+    public static long readLong(final byte[] bytes, final int offset) throws SerialisationException {
+        final byte firstByte = bytes[offset];
         final int len = decodeVIntSize(firstByte);
         if (len == 1) {
             return (long) firstByte;
         }
         long i = 0;
-        short place = 1;
+        int place = offset + 1;
         for (int idx = 0; idx < len - 1; idx++) {
             final byte b = bytes[place++];
             i = i << 8;
@@ -16,7 +16,7 @@
 package gaffer.serialisation.implementation.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetDeserialisation;
 import java.util.Date;
 
 /**
@@ -25,7 +25,7 @@ import java.util.Date;
  * then serialise(date1) is less than serialise(date2)
  * where the byte arrays are compared one byte at a time starting with the first.
  */
-public class RawDateSerialiser implements Serialisation {
+public class RawDateSerialiser implements OffsetDeserialisation {
     private static final long serialVersionUID = -1470994471883677977L;
 
     @Override
@@ -51,14 +51,19 @@ public class RawDateSerialiser implements Serialisation {
 
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
-        final long value = ((long) bytes[0] & 255L) << 56
-                | ((long) bytes[1] & 255L) << 48
-                | ((long) bytes[2] & 255L) << 40
-                | ((long) bytes[3] & 255L) << 32
-                | ((long) bytes[4] & 255L) << 24
-                | ((long) bytes[5] & 255L) << 16
-                | ((long) bytes[6] & 255L) << 8
-                | ((long) bytes[7] & 255L);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final long value = ((long) bytes[offset] & 255L) << 56
+                | ((long) bytes[offset + 1] & 255L) << 48
+                | ((long) bytes[offset + 2] & 255L) << 40
+                | ((long) bytes[offset + 3] & 255L) << 32
+                | ((long) bytes[offset + 4] & 255L) << 24
+                | ((long) bytes[offset + 5] & 255L) << 16
+                | ((long) bytes[offset + 6] & 255L) << 8
+                | ((long) bytes[offset + 7] & 255L);
         return new Date(value);
     }
 
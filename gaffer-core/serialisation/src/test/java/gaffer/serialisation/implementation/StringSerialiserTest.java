@@ -38,6 +38,18 @@ public class StringSerialiserTest {
         }
     }
 
+    @Test
+    public void shouldDeserialiseFromRangeOfByteArray() throws SerialisationException {
+        // Given
+        final byte[] b = SERIALISER.serialise("prefix value suffix");
+
+        // When
+        final String value = SERIALISER.deserialise(b, 7, 5);
+
+        // Then
+        assertEquals("value", value);
+    }
+
     @Test
     public void cantSerialiseLongClass() throws SerialisationException {
         assertFalse(SERIALISER.canHandle(Long.class));
@@ -78,6 +78,9 @@ package gaffer.serialisation.implementation.raw;
          final Object o = SERIALISER.deserialise(b);
          assertEquals(Long.class, o.getClass());
          assertEquals(value, o);
+         final byte[] padded = new byte[b.length + 2];
+         System.arraycopy(b, 0, padded, 1, b.length);
+         assertEquals(value, (long) SERIALISER.deserialise(padded, 1, b.length));
          final ByteArrayOutputStream baos = new ByteArrayOutputStream();
          CompactRawSerialisationUtils.write(value, new DataOutputStream(baos));
          final long result = CompactRawSerialisationUtils.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
@@ -21,6 +21,8 @@ import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.MultiViewOperation;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -31,6 +33,7 @@ import gaffer.operation.impl.Deduplicate;
 import gaffer.operation.impl.Limit;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.export.ExportOperation;
 import gaffer.operation.impl.export.FetchExport;
 import gaffer.operation.impl.export.FetchExporter;
 import gaffer.operation.impl.export.FetchExporters;
@@ -46,12 +49,16 @@ import gaffer.operation.impl.get.GetEdgesBySeed;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsBySeed;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
+import gaffer.operation.impl.get.GetKHopEntitySeeds;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.Serialisation;
+import gaffer.store.cache.GroupRecordingIterable;
+import gaffer.store.cache.ResultCache;
 import gaffer.store.operation.handler.CountGroupsHandler;
 import gaffer.store.operation.handler.DeduplicateHandler;
+import gaffer.store.operation.handler.GetKHopEntitySeedsHandler;
 import gaffer.store.operation.handler.LimitHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.ValidateHandler;
@@ -62,6 +69,7 @@ import gaffer.store.operation.handler.export.InitialiseExportHandler;
 import gaffer.store.operation.handler.export.UpdateExportHandler;
 import gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import gaffer.store.operation.handler.generate.GenerateObjectsHandler;
+import gaffer.store.metrics.MetricsRegistry;
 import gaffer.store.operationdeclaration.OperationDeclaration;
 import gaffer.store.operationdeclaration.OperationDeclarations;
 import gaffer.store.optimiser.CoreOperationChainOptimiser;
@@ -74,10 +82,13 @@ import gaffer.user.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A <code>Store</code> backs a Graph and is responsible for storing the {@link gaffer.data.element.Element}s and
@@ -87,7 +98,11 @@ import java.util.Set;
  * Optional functionality can be added to store implementations defined by the {@link gaffer.store.StoreTrait}s.
  */
 public abstract class Store {
+    public static final String OPERATION_METRIC_PREFIX = "store.operation.";
+    public static final String HANDLER_METRIC_PREFIX = "store.handler.";
+    public static final String FAILURES_METRIC_SUFFIX = ".failures";
     private static final Logger LOGGER = LoggerFactory.getLogger(Store.class);
+    private static final String UNHANDLED_OPERATION_HANDLER = "unhandled";
 
     /**
      * The schema - contains the type of {@link gaffer.data.element.Element}s to be stored and how to aggregate the elements.
@@ -103,6 +118,8 @@ public abstract class Store {
     private final List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
     private SchemaOptimiser schemaOptimiser;
     private ViewValidator viewValidator;
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private ResultCache resultCache;
 
     public Store() {
         opChainOptimisers.add(new CoreOperationChainOptimiser(this));
@@ -114,6 +131,10 @@ public abstract class Store {
         this.schema = schema;
         this.properties = properties;
         addOpHandlers();
+        resultCache = properties.isResultCacheEnabled()
+                ? new ResultCache(properties.getResultCacheMaxEntries(), properties.getResultCacheMaxResultsPerEntry(),
+                TimeUnit.SECONDS.toMillis(properties.getResultCacheTimeToLiveSeconds()))
+                : null;
         optimiseSchemas();
         validateSchemas();
     }
@@ -170,12 +191,32 @@ public abstract class Store {
     public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user) throws OperationException {
         validateOperationChain(operationChain, user);
 
+        final ResultCache.Key cacheKey = null != resultCache ? resultCache.createKey(operationChain, user) : null;
+        if (null != cacheKey) {
+            final Object cachedResult = resultCache.get(cacheKey);
+            if (null != cachedResult) {
+                return (OUTPUT) cachedResult;
+            }
+        }
+        final long cacheGeneration = null != cacheKey ? resultCache.getGeneration() : 0;
+
         OperationChain<OUTPUT> optimisedOperationChain = operationChain;
         for (final OperationChainOptimiser opChainOptimiser : opChainOptimisers) {
             optimisedOperationChain = opChainOptimiser.optimise(optimisedOperationChain);
         }
 
-        return handleOperationChain(optimisedOperationChain, createContext(user));
+        try {
+            final OUTPUT result = handleOperationChain(optimisedOperationChain, createContext(user));
+            if (null != cacheKey) {
+                return (OUTPUT) resultCache.put(cacheKey, result, cacheGeneration);
+            }
+
+            return result;
+        } finally {
+            if (null != resultCache && null == cacheKey) {
+                invalidateResultCache(optimisedOperationChain);
+            }
+        }
     }
 
     /**
@@ -277,6 +318,20 @@ public abstract class Store {
                         + op.getClass().getName()
                         + " is not valid. See the logs for more information.");
             }
+
+            // Additional views are used by the handler, so they must be validated here
+            if (op instanceof MultiViewOperation) {
+                final List<View> additionalViews = ((MultiViewOperation<?, ?>) op).getAdditionalViews();
+                if (null != additionalViews) {
+                    for (final View additionalView : additionalViews) {
+                        if (null != additionalView && !viewValidator.validate(additionalView, schema, hasTrait(StoreTrait.ORDERED))) {
+                            throw new SchemaException("Additional view for operation "
+                                    + op.getClass().getName()
+                                    + " is not valid. See the logs for more information.");
+                        }
+                    }
+                }
+            }
         }
     }
 
@@ -323,6 +378,16 @@ public abstract class Store {
      */
     protected abstract OperationHandler<? extends GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>> getAdjacentEntitySeedsHandler();
 
+    /**
+     * Get this Stores implementation of the handler for {@link gaffer.operation.impl.get.GetKHopEntitySeeds}.
+     * By default each hop is executed as a {@link gaffer.operation.impl.get.GetAdjacentEntitySeeds} operation.
+     *
+     * @return the implementation of the handler for {@link gaffer.operation.impl.get.GetKHopEntitySeeds}
+     */
+    protected OperationHandler<? extends GetKHopEntitySeeds, CloseableIterable<EntitySeed>> getKHopEntitySeedsHandler() {
+        return new GetKHopEntitySeedsHandler();
+    }
+
     /**
      * Get this Stores implementation of the handler for {@link gaffer.operation.impl.add.AddElements}. All Stores must implement this.
      *
@@ -360,18 +425,83 @@ public abstract class Store {
         return (OUTPUT) result;
     }
 
+    /**
+     * Executes a single operation using its registered handler. The time taken
+     * by the handler is recorded in the store.operation and store.handler
+     * {@link gaffer.store.metrics.Timer}s and failures are counted. For
+     * operations that return lazy iterables this is the time taken to set up
+     * the query, not to consume the results.
+     *
+     * @param operation   the operation to execute
+     * @param context     operation execution context
+     * @param <OPERATION> the operation type
+     * @param <OUTPUT>    the operation output type
+     * @return the result of the operation.
+     * @throws OperationException if the operation fails
+     */
     protected <OPERATION extends Operation<?, OUTPUT>, OUTPUT> OUTPUT handleOperation(final OPERATION operation, final Context context) throws OperationException {
         final OperationHandler<OPERATION, OUTPUT> handler = getOperationHandler(operation.getClass());
+        final String handlerName = null != handler ? handler.getClass().getName() : UNHANDLED_OPERATION_HANDLER;
+        final Set<String> addedGroups = recordAddedGroups(operation);
+        final long startTime = System.nanoTime();
+        boolean succeeded = false;
         OUTPUT result;
-        if (null != handler) {
-            result = handler.doOperation(operation, context, this);
-        } else {
-            result = doUnhandledOperation(operation, context);
+        try {
+            if (null != handler) {
+                result = handler.doOperation(operation, context, this);
+            } else {
+                result = doUnhandledOperation(operation, context);
+            }
+            succeeded = true;
+        } finally {
+            final long duration = System.nanoTime() - startTime;
+            final String operationName = operation.getClass().getName();
+            metrics.timer(OPERATION_METRIC_PREFIX + operationName).update(duration);
+            metrics.timer(HANDLER_METRIC_PREFIX + handlerName).update(duration);
+            if (!succeeded) {
+                metrics.counter(OPERATION_METRIC_PREFIX + operationName + FAILURES_METRIC_SUFFIX).inc();
+            }
+            if (null != addedGroups) {
+                resultCache.invalidate(addedGroups);
+            }
         }
 
         return result;
     }
 
+    /**
+     * @return the cache of operation chain results, or null if result caching
+     * is disabled in the store properties.
+     */
+    protected ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    private Set<String> recordAddedGroups(final Operation<?, ?> operation) {
+        if (null == resultCache || !(operation instanceof AddElements)) {
+            return null;
+        }
+
+        final AddElements addElements = (AddElements) operation;
+        final Set<String> addedGroups = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        if (null != addElements.getElements()) {
+            addElements.setElements(new GroupRecordingIterable(addElements.getElements(), addedGroups));
+        }
+        return addedGroups;
+    }
+
+    private void invalidateResultCache(final OperationChain<?> operationChain) {
+        for (final Operation operation : operationChain.getOperations()) {
+            if (!ResultCache.isReadOnly(operation)
+                    && !(operation instanceof AddElements)
+                    && !(operation instanceof ExportOperation)) {
+                // The operation may have modified any of the data in the store.
+                resultCache.invalidateAll();
+                return;
+            }
+        }
+    }
+
     protected void updateOperationInput(final Operation op,
                                         final Object result) {
         if (null != result && null == op.getInput()) {
@@ -418,6 +548,7 @@ public abstract class Store {
         addOperationHandler(GetRelatedEdges.class, (OperationHandler) getGetElementsHandler());
 
         addOperationHandler(GetAdjacentEntitySeeds.class, (OperationHandler) getAdjacentEntitySeedsHandler());
+        addOperationHandler(GetKHopEntitySeeds.class, (OperationHandler) getKHopEntitySeedsHandler());
 
         addOperationHandler(GetAllElements.class, (OperationHandler) getGetAllElementsHandler());
         addOperationHandler(GetAllEntities.class, (OperationHandler) getGetAllElementsHandler());
@@ -42,6 +42,15 @@ public class StoreProperties implements Cloneable {
     public static final String SCHEMA_CLASS = "gaffer.store.schema.class";
     public static final String STORE_PROPERTIES_CLASS = "gaffer.store.properties.class";
     public static final String OPERATION_DECLARATIONS = "gaffer.store.operation.declarations";
+    public static final String RESULT_CACHE_ENABLED = "gaffer.store.cache.results.enabled";
+    public static final String RESULT_CACHE_MAX_ENTRIES = "gaffer.store.cache.results.maxEntries";
+    public static final String RESULT_CACHE_MAX_RESULTS_PER_ENTRY = "gaffer.store.cache.results.maxResultsPerEntry";
+    public static final String RESULT_CACHE_TIME_TO_LIVE_SECONDS = "gaffer.store.cache.results.timeToLiveSeconds";
+
+    public static final String RESULT_CACHE_ENABLED_DEFAULT = "false";
+    public static final String RESULT_CACHE_MAX_ENTRIES_DEFAULT = "1000";
+    public static final String RESULT_CACHE_MAX_RESULTS_PER_ENTRY_DEFAULT = "10000";
+    public static final String RESULT_CACHE_TIME_TO_LIVE_SECONDS_DEFAULT = "60";
 
     private Path propFileLocation;
     private Properties props;
@@ -137,6 +146,54 @@ public class StoreProperties implements Cloneable {
         return declarations;
     }
 
+    /**
+     * @return true if the results of read only operation chains should be cached.
+     * @see gaffer.store.cache.ResultCache
+     */
+    public boolean isResultCacheEnabled() {
+        return Boolean.parseBoolean(get(RESULT_CACHE_ENABLED, RESULT_CACHE_ENABLED_DEFAULT));
+    }
+
+    public void setResultCacheEnabled(final boolean resultCacheEnabled) {
+        set(RESULT_CACHE_ENABLED, Boolean.toString(resultCacheEnabled));
+    }
+
+    /**
+     * @return the maximum number of operation chain results to cache. The least
+     * recently used results are evicted first.
+     */
+    public int getResultCacheMaxEntries() {
+        return Integer.parseInt(get(RESULT_CACHE_MAX_ENTRIES, RESULT_CACHE_MAX_ENTRIES_DEFAULT));
+    }
+
+    public void setResultCacheMaxEntries(final String resultCacheMaxEntries) {
+        set(RESULT_CACHE_MAX_ENTRIES, resultCacheMaxEntries);
+    }
+
+    /**
+     * @return the maximum number of items in a result for it to be cached.
+     * Larger results are returned without being cached.
+     */
+    public int getResultCacheMaxResultsPerEntry() {
+        return Integer.parseInt(get(RESULT_CACHE_MAX_RESULTS_PER_ENTRY, RESULT_CACHE_MAX_RESULTS_PER_ENTRY_DEFAULT));
+    }
+
+    public void setResultCacheMaxResultsPerEntry(final String resultCacheMaxResultsPerEntry) {
+        set(RESULT_CACHE_MAX_RESULTS_PER_ENTRY, resultCacheMaxResultsPerEntry);
+    }
+
+    /**
+     * @return the number of seconds a cached result is used for before the
+     * operation chain is executed again.
+     */
+    public long getResultCacheTimeToLiveSeconds() {
+        return Long.parseLong(get(RESULT_CACHE_TIME_TO_LIVE_SECONDS, RESULT_CACHE_TIME_TO_LIVE_SECONDS_DEFAULT));
+    }
+
+    public void setResultCacheTimeToLiveSeconds(final String resultCacheTimeToLiveSeconds) {
+        set(RESULT_CACHE_TIME_TO_LIVE_SECONDS, resultCacheTimeToLiveSeconds);
+    }
+
     public String getStoreClass() {
         return get(STORE_CLASS);
     }
@@ -267,6 +324,8 @@ public class StoreProperties implements Cloneable {
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+        } else {
+            props = new Properties();
         }
     }
 }
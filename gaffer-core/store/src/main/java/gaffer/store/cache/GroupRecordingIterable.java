@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.cache;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.data.element.Element;
+import java.util.Set;
+
+/**
+ * A <code>GroupRecordingIterable</code> wraps the elements being added to a
+ * store and records the groups of the elements as they are read, so the
+ * {@link ResultCache} can be invalidated for just those groups.
+ */
+public class GroupRecordingIterable implements CloseableIterable<Element> {
+    private final CloseableIterable<Element> elements;
+    private final Set<String> groups;
+
+    /**
+     * @param elements the elements to wrap
+     * @param groups   the set to add the groups to. This should be thread safe
+     *                 as stores may read the elements on several threads.
+     */
+    public GroupRecordingIterable(final CloseableIterable<Element> elements, final Set<String> groups) {
+        this.elements = elements;
+        this.groups = groups;
+    }
+
+    @Override
+    public void close() {
+        elements.close();
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        final CloseableIterator<Element> itr = elements.iterator();
+        return new CloseableIterator<Element>() {
+            @Override
+            public void close() {
+                itr.close();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return itr.hasNext();
+            }
+
+            @Override
+            public Element next() {
+                final Element element = itr.next();
+                if (null != element) {
+                    groups.add(element.getGroup());
+                }
+                return element;
+            }
+
+            @Override
+            public void remove() {
+                itr.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.EmptyClosableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.impl.CountGroups;
+import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.Validate;
+import gaffer.operation.impl.generate.GenerateElements;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.store.metrics.Counter;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A <code>ResultCache</code> holds the results of recently executed read only
+ * {@link OperationChain}s so that identical chains executed by users with the
+ * same data auths can be answered from memory.
+ * <p>
+ * A chain is cached if all of its operations are read only - gets, generators,
+ * {@link Deduplicate}, {@link Limit}, {@link CountGroups} and {@link Validate} -
+ * and its result is an {@link Iterable} of no more than
+ * <code>maxResultsPerEntry</code> items. Results are recorded whilst they are
+ * streamed to the caller and cached once they have been fully read. The key is
+ * the JSON of the chain, with properties and map entries sorted so the key
+ * does not depend on field order, along with the user's sorted data auths.
+ * The seeds are read to build the key, so a chain is only cached if the
+ * inputs of its operations are collections. Lazy or one-shot inputs, such as
+ * the frontier passed between the hops of a traversal, are not read.
+ * </p>
+ * <p>
+ * Results are evicted when they are older than the time to live, when the cache
+ * is full (least recently used first) and when elements are added to any of
+ * the groups in the views of the cached chain. {@link Element}s are copied
+ * when they are cached and each time they are returned from the cache, but
+ * their property values and any other items in the results are shared between
+ * callers, so they must not be modified.
+ * </p>
+ */
+public class ResultCache {
+    public static final String HITS_METRIC = "store.cache.results.hits";
+    public static final String MISSES_METRIC = "store.cache.results.misses";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final ObjectMapper KEY_MAPPER = createKeyMapper();
+
+    private final int maxResultsPerEntry;
+    private final long timeToLiveMillis;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Incremented on every invalidation. A result is only cached if no
+     * invalidations have occurred since its chain started executing, so results
+     * read during a write are not cached.
+     */
+    private long generation;
+
+    public ResultCache(final int maxEntries, final int maxResultsPerEntry, final long timeToLiveMillis) {
+        this.maxResultsPerEntry = maxResultsPerEntry;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.entries = new LeastRecentlyUsedMap(maxEntries);
+        this.hits = MetricsRegistry.getInstance().counter(HITS_METRIC);
+        this.misses = MetricsRegistry.getInstance().counter(MISSES_METRIC);
+    }
+
+    /**
+     * @param operation the operation to check
+     * @return true if the operation does not modify the store or any exports.
+     */
+    public static boolean isReadOnly(final Operation operation) {
+        return operation instanceof GetOperation
+                || operation instanceof GenerateElements
+                || operation instanceof GenerateObjects
+                || operation instanceof Deduplicate
+                || operation instanceof Limit
+                || operation instanceof CountGroups
+                || operation instanceof Validate;
+    }
+
+    /**
+     * Creates the key for an operation chain. This must be called before the
+     * chain is executed, as executing a chain sets the inputs of its operations.
+     *
+     * @param opChain the operation chain to be executed
+     * @param user    the user executing the operation chain
+     * @return the key, or null if the results of the chain cannot be cached.
+     */
+    public Key createKey(final OperationChain<?> opChain, final User user) {
+        if (null == opChain.getOperations() || opChain.getOperations().isEmpty()) {
+            return null;
+        }
+
+        Set<String> groups = new HashSet<>();
+        for (final Operation operation : opChain.getOperations()) {
+            if (!isReadOnly(operation) || !isBuilt(operation.getInput())) {
+                return null;
+            }
+
+            final View view = operation.getView();
+            if (null == view) {
+                groups = null;
+            } else if (null != groups) {
+                groups.addAll(view.getEntityGroups());
+                groups.addAll(view.getEdgeGroups());
+            }
+        }
+
+        final StringBuilder keyBuilder = new StringBuilder();
+        try {
+            keyBuilder.append(KEY_MAPPER.writeValueAsString(opChain));
+        } catch (final JsonProcessingException | RuntimeException e) {
+            LOGGER.debug("Unable to create a cache key for " + opChain + ", so the result will not be cached", e);
+            return null;
+        }
+
+        if (null != user && null != user.getDataAuths()) {
+            for (final String dataAuth : new TreeSet<>(user.getDataAuths())) {
+                keyBuilder.append(KEY_SEPARATOR).append(dataAuth);
+            }
+        }
+
+        return new Key(keyBuilder.toString(), groups);
+    }
+
+    /**
+     * @param input the input of an operation
+     * @return true if the input has already been built, so reading it to
+     * create the key does not run a query or consume a one-shot iterable.
+     */
+    private static boolean isBuilt(final Object input) {
+        if (input instanceof WrappedCloseableIterable) {
+            return isBuilt(((WrappedCloseableIterable<?>) input).getIterable());
+        }
+
+        return null == input
+                || input instanceof Collection
+                || input instanceof EmptyClosableIterable;
+    }
+
+    /**
+     * @param key the key of the operation chain
+     * @return the cached result, or null if there is no valid cached result.
+     */
+    public Object get(final Key key) {
+        final Entry entry;
+        synchronized (this) {
+            final Entry cachedEntry = entries.get(key.getValue());
+            if (null != cachedEntry && cachedEntry.isExpired(System.currentTimeMillis(), timeToLiveMillis)) {
+                entries.remove(key.getValue());
+                entry = null;
+            } else {
+                entry = cachedEntry;
+            }
+        }
+
+        if (null == entry) {
+            misses.inc();
+            return null;
+        }
+
+        hits.inc();
+        return new CopyingIterable(entry.getResults());
+    }
+
+    /**
+     * @return the current generation, to be passed to
+     * {@link #put(Key, Object, long)} once the chain has been executed.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Wraps the result of an operation chain so that it is cached once it has
+     * been read. The items are recorded as the caller iterates through the
+     * result, so the result is only read once. The result is only cached if an
+     * iteration reaches the end of the result without it being closed and it
+     * contains no more than <code>maxResultsPerEntry</code> items.
+     *
+     * @param key        the key of the operation chain
+     * @param result     the result of executing the operation chain
+     * @param generation the generation from before the chain was executed
+     * @return the result to return to the user.
+     */
+    public Object put(final Key key, final Object result, final long generation) {
+        if (!(result instanceof Iterable)) {
+            return result;
+        }
+
+        return new CachingIterable(key, (Iterable<?>) result, generation);
+    }
+
+    private void cache(final Key key, final List<Object> items, final long generation) {
+        final List<Object> results = Collections.unmodifiableList(items);
+        synchronized (this) {
+            if (generation == this.generation) {
+                entries.put(key.getValue(), new Entry(results, key.getGroups(), System.currentTimeMillis()));
+            }
+        }
+    }
+
+    private static Object copy(final Object item) {
+        if (item instanceof Element) {
+            final Element element = (Element) item;
+            final Element copy = element.emptyClone();
+            copy.copyProperties(element.getProperties());
+            return copy;
+        }
+
+        return item;
+    }
+
+    /**
+     * Removes the results of any chains with views containing the given groups.
+     *
+     * @param groups the groups that have been modified
+     */
+    public synchronized void invalidate(final Set<String> groups) {
+        generation++;
+        final Iterator<Entry> itr = entries.values().iterator();
+        while (itr.hasNext()) {
+            final Set<String> entryGroups = itr.next().getGroups();
+            if (null == entryGroups || !Collections.disjoint(entryGroups, groups)) {
+                itr.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static ObjectMapper createKeyMapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        mapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        return mapper;
+    }
+
+    /**
+     * The key of a cached result, along with the groups the result was read
+     * from. Null groups means the result may have been read from any group.
+     */
+    public static final class Key {
+        private final String value;
+        private final Set<String> groups;
+
+        private Key(final String value, final Set<String> groups) {
+            this.value = value;
+            this.groups = groups;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Set<String> getGroups() {
+            return groups;
+        }
+    }
+
+    private static final class LeastRecentlyUsedMap extends LinkedHashMap<String, Entry> {
+        private static final long serialVersionUID = 4385722004563498725L;
+        private final int maxEntries;
+
+        private LeastRecentlyUsedMap(final int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    /**
+     * Records the items of a result as they are iterated and caches them when
+     * the end of the result is reached.
+     */
+    private final class CachingIterable implements CloseableIterable<Object> {
+        private final Key key;
+        private final Iterable<?> result;
+        private final long generation;
+        private boolean cached;
+
+        private CachingIterable(final Key key, final Iterable<?> result, final long generation) {
+            this.key = key;
+            this.result = result;
+            this.generation = generation;
+        }
+
+        @Override
+        public void close() {
+            if (result instanceof CloseableIterable) {
+                ((CloseableIterable) result).close();
+            }
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            final Iterator<?> itr = result.iterator();
+            return new CloseableIterator<Object>() {
+                private List<Object> items = new ArrayList<>();
+
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext = itr.hasNext();
+                    if (!hasNext && null != items) {
+                        cacheItems(items);
+                        items = null;
+                    }
+
+                    return hasNext;
+                }
+
+                @Override
+                public Object next() {
+                    final Object item = itr.next();
+                    if (null != items) {
+                        if (items.size() < maxResultsPerEntry) {
+                            items.add(copy(item));
+                        } else {
+                            // Too large to cache - stop recording.
+                            items = null;
+                        }
+                    }
+
+                    return item;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("Cached results cannot be modified");
+                }
+
+                @Override
+                public void close() {
+                    items = null;
+                    if (itr instanceof CloseableIterator) {
+                        ((CloseableIterator) itr).close();
+                    }
+                }
+            };
+        }
+
+        private void cacheItems(final List<Object> items) {
+            synchronized (this) {
+                if (cached) {
+                    return;
+                }
+                cached = true;
+            }
+
+            cache(key, items, generation);
+        }
+    }
+
+    /**
+     * Returns copies of the cached items, so callers cannot modify the
+     * elements in the cache.
+     */
+    private static final class CopyingIterable implements CloseableIterable<Object> {
+        private final List<Object> results;
+
+        private CopyingIterable(final List<Object> results) {
+            this.results = results;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            return new CopyingIterator(results.iterator());
+        }
+    }
+
+    private static final class CopyingIterator implements CloseableIterator<Object> {
+        private final Iterator<Object> itr;
+
+        private CopyingIterator(final Iterator<Object> itr) {
+            this.itr = itr;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return itr.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return copy(itr.next());
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cached results cannot be modified");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Entry {
+        private final List<Object> results;
+        private final Set<String> groups;
+        private final long createdTime;
+
+        private Entry(final List<Object> results, final Set<String> groups, final long createdTime) {
+            this.results = results;
+            this.groups = groups;
+            this.createdTime = createdTime;
+        }
+
+        private List<Object> getResults() {
+            return results;
+        }
+
+        private Set<String> getGroups() {
+            return groups;
+        }
+
+        private boolean isExpired(final long time, final long timeToLiveMillis) {
+            return time - createdTime > timeToLiveMillis;
+        }
+    }
+}
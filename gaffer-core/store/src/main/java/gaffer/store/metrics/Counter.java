@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>Counter</code> is a metric that counts events.
+ */
+public class Counter implements CounterMXBean {
+    private final AtomicLong count = new AtomicLong();
+
+    public void inc() {
+        count.incrementAndGet();
+    }
+
+    public void inc(final long amount) {
+        count.addAndGet(amount);
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    public void reset() {
+        count.set(0);
+    }
+
+    public MetricSnapshot getSnapshot() {
+        final MetricSnapshot snapshot = new MetricSnapshot();
+        snapshot.setType(MetricSnapshot.COUNTER);
+        snapshot.setCount(getCount());
+        return snapshot;
+    }
+}
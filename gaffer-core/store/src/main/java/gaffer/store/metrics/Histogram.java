@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A <code>Histogram</code> records the distribution of non-negative long values,
+ * such as latencies or result counts, in a fixed amount of memory.
+ * <p>
+ * In the style of HdrHistogram, values are counted in log-linear buckets - each
+ * power of 2 is split into {@link #SUB_BUCKETS} equal sub buckets - so
+ * percentiles are accurate to within about 6% whatever the range of the values.
+ * Recording a value is lock free.
+ * </p>
+ */
+public class Histogram implements HistogramMXBean {
+    public static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+    private static final int NUM_BUCKETS = LINEAR_BUCKETS + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value to record
+     */
+    public void record(final long value) {
+        final long nonNegativeValue = Math.max(0, value);
+        buckets.incrementAndGet(getBucketIndex(nonNegativeValue));
+        count.incrementAndGet();
+        sum.addAndGet(nonNegativeValue);
+        updateMin(nonNegativeValue);
+        updateMax(nonNegativeValue);
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * @return the smallest value recorded, or 0 if no values have been recorded.
+     */
+    @Override
+    public long getMin() {
+        return 0 == getCount() ? 0 : min.get();
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if no values have been recorded.
+     */
+    @Override
+    public long getMax() {
+        return 0 == getCount() ? 0 : max.get();
+    }
+
+    @Override
+    public double getMean() {
+        final long currentCount = getCount();
+        return 0 == currentCount ? 0 : (double) getSum() / currentCount;
+    }
+
+    /**
+     * Gets the value that the given percentage of the recorded values are less
+     * than or equal to.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the approximate value at the percentile, or 0 if no values have
+     * been recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+
+        long total = 0;
+        final long[] counts = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (0 == total) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(getMax(), getBucketMidpoint(i)));
+            }
+        }
+
+        return getMax();
+    }
+
+    @Override
+    public long get50thPercentile() {
+        return getValueAtPercentile(50);
+    }
+
+    @Override
+    public long get95thPercentile() {
+        return getValueAtPercentile(95);
+    }
+
+    @Override
+    public long get99thPercentile() {
+        return getValueAtPercentile(99);
+    }
+
+    @Override
+    public long get999thPercentile() {
+        return getValueAtPercentile(99.9);
+    }
+
+    public void reset() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    public MetricSnapshot getSnapshot() {
+        final MetricSnapshot snapshot = new MetricSnapshot();
+        snapshot.setType(MetricSnapshot.HISTOGRAM);
+        snapshot.setCount(getCount());
+        snapshot.setMin((double) getMin());
+        snapshot.setMax((double) getMax());
+        snapshot.setMean(getMean());
+        snapshot.setP50((double) get50thPercentile());
+        snapshot.setP95((double) get95thPercentile());
+        snapshot.setP99((double) get99thPercentile());
+        snapshot.setP999((double) get999thPercentile());
+        return snapshot;
+    }
+
+    static int getBucketIndex(final long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (exponent - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketMidpoint(final int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+
+        final int offset = index - LINEAR_BUCKETS;
+        final int shift = offset / SUB_BUCKETS + 1;
+        final long lowerBound = (long) (offset % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowerBound + ((1L << shift) >>> 1);
+    }
+
+    private void updateMin(final long value) {
+        long current = min.get();
+        while (value < current && !min.compareAndSet(current, value)) {
+            current = min.get();
+        }
+    }
+
+    private void updateMax(final long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A <code>MetricSnapshot</code> is a point in time copy of the values of a
+ * metric, suitable for serialising to JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MetricSnapshot {
+    public static final String COUNTER = "counter";
+    public static final String TIMER = "timer";
+    public static final String HISTOGRAM = "histogram";
+
+    private String type;
+    private String unit;
+    private long count;
+    private Double min;
+    private Double max;
+    private Double mean;
+    private Double p50;
+    private Double p95;
+    private Double p99;
+    private Double p999;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(final String type) {
+        this.type = type;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public void setUnit(final String unit) {
+        this.unit = unit;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(final long count) {
+        this.count = count;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(final Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(final Double max) {
+        this.max = max;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(final Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getP50() {
+        return p50;
+    }
+
+    public void setP50(final Double p50) {
+        this.p50 = p50;
+    }
+
+    public Double getP95() {
+        return p95;
+    }
+
+    public void setP95(final Double p95) {
+        this.p95 = p95;
+    }
+
+    public Double getP99() {
+        return p99;
+    }
+
+    public void setP99(final Double p99) {
+        this.p99 = p99;
+    }
+
+    public Double getP999() {
+        return p999;
+    }
+
+    public void setP999(final Double p999) {
+        this.p999 = p999;
+    }
+}
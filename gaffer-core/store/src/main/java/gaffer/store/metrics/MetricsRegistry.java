@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The <code>MetricsRegistry</code> holds the named {@link Timer}s,
+ * {@link Counter}s and {@link Histogram}s recorded by Gaffer. Metrics are
+ * created the first time they are requested and are registered as MXBeans
+ * under the <code>gaffer.metrics</code> JMX domain.
+ * <p>
+ * Metric names are dot separated, e.g. <code>store.operation.gaffer.operation.impl.add.AddElements</code>.
+ * </p>
+ */
+public final class MetricsRegistry {
+    public static final String JMX_DOMAIN = "gaffer.metrics";
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry(true);
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final boolean registerMXBeans;
+
+    /**
+     * Creates a standalone registry whose metrics are not registered with JMX.
+     * Most code should use the shared registry from {@link #getInstance()}.
+     */
+    public MetricsRegistry() {
+        this(false);
+    }
+
+    private MetricsRegistry(final boolean registerMXBeans) {
+        this.registerMXBeans = registerMXBeans;
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Timer timer(final String name) {
+        Timer timer = timers.get(name);
+        if (null == timer) {
+            final Timer newTimer = new Timer();
+            timer = timers.putIfAbsent(name, newTimer);
+            if (null == timer) {
+                timer = newTimer;
+                register("Timer", name, timer);
+            }
+        }
+
+        return timer;
+    }
+
+    public Counter counter(final String name) {
+        Counter counter = counters.get(name);
+        if (null == counter) {
+            final Counter newCounter = new Counter();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (null == counter) {
+                counter = newCounter;
+                register("Counter", name, counter);
+            }
+        }
+
+        return counter;
+    }
+
+    public Histogram histogram(final String name) {
+        Histogram histogram = histograms.get(name);
+        if (null == histogram) {
+            final Histogram newHistogram = new Histogram();
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (null == histogram) {
+                histogram = newHistogram;
+                register("Histogram", name, histogram);
+            }
+        }
+
+        return histogram;
+    }
+
+    /**
+     * @return a snapshot of all the metrics, sorted by name.
+     */
+    public SortedMap<String, MetricSnapshot> getSnapshot() {
+        final SortedMap<String, MetricSnapshot> snapshot = new TreeMap<>();
+        for (final Map.Entry<String, Timer> entry : timers.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().getSnapshot());
+        }
+        for (final Map.Entry<String, Counter> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().getSnapshot());
+        }
+        for (final Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().getSnapshot());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Resets the values of all the metrics. The metrics remain registered.
+     */
+    public void reset() {
+        for (final Timer timer : timers.values()) {
+            timer.reset();
+        }
+        for (final Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (final Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    private void register(final String type, final String name, final Object metric) {
+        if (!registerMXBeans) {
+            return;
+        }
+
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (final JMException | RuntimeException e) {
+            LOGGER.warn("Unable to register metric " + name + " with JMX", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>Timer</code> records the distribution of the durations of an
+ * activity in a {@link Histogram} of nanoseconds.
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * final long startTime = System.nanoTime();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.update(System.nanoTime() - startTime);
+ * }
+ * </pre>
+ */
+public class Timer implements TimerMXBean {
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Histogram histogram = new Histogram();
+
+    /**
+     * @param durationNanos the duration of an activity in nanoseconds
+     */
+    public void update(final long durationNanos) {
+        histogram.record(durationNanos);
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMinMillis() {
+        return toMillis(histogram.getMin());
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return toMillis(histogram.getMax());
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return histogram.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double get50thPercentileMillis() {
+        return toMillis(histogram.getValueAtPercentile(50));
+    }
+
+    @Override
+    public double get95thPercentileMillis() {
+        return toMillis(histogram.getValueAtPercentile(95));
+    }
+
+    @Override
+    public double get99thPercentileMillis() {
+        return toMillis(histogram.getValueAtPercentile(99));
+    }
+
+    @Override
+    public double get999thPercentileMillis() {
+        return toMillis(histogram.getValueAtPercentile(99.9));
+    }
+
+    public void reset() {
+        histogram.reset();
+    }
+
+    public MetricSnapshot getSnapshot() {
+        final MetricSnapshot snapshot = new MetricSnapshot();
+        snapshot.setType(MetricSnapshot.TIMER);
+        snapshot.setUnit("ms");
+        snapshot.setCount(getCount());
+        snapshot.setMin(getMinMillis());
+        snapshot.setMax(getMaxMillis());
+        snapshot.setMean(getMeanMillis());
+        snapshot.setP50(get50thPercentileMillis());
+        snapshot.setP95(get95thPercentileMillis());
+        snapshot.setP99(get99thPercentileMillis());
+        snapshot.setP999(get999thPercentileMillis());
+        return snapshot;
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
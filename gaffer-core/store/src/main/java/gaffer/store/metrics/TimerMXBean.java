@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+/**
+ * The JMX view of a {@link Timer}. All durations are in milliseconds.
+ */
+public interface TimerMXBean {
+    long getCount();
+
+    double getMinMillis();
+
+    double getMaxMillis();
+
+    double getMeanMillis();
+
+    double get50thPercentileMillis();
+
+    double get95thPercentileMillis();
+
+    double get99thPercentileMillis();
+
+    double get999thPercentileMillis();
+}
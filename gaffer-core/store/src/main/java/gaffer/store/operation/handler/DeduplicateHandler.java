@@ -16,22 +16,22 @@
 
 package gaffer.store.operation.handler;
 
-import com.google.common.collect.Sets;
 import gaffer.commonutil.iterable.CloseableIterable;
-import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.Deduplicate;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import gaffer.store.operation.handler.deduplicate.DeduplicateIterable;
 
 /**
  * An <code>DeduplicateHandler</code> handles for {@link Deduplicate} operations.
- * Adds all the operation input items into a {@link java.util.LinkedHashSet} to
- * remove duplicate items.
+ * It wraps the operation input in a {@link DeduplicateIterable}, which returns
+ * each item the first time it is seen rather than reading the whole input into
+ * memory.
  */
 public class DeduplicateHandler<T> implements OperationHandler<Deduplicate<T>, CloseableIterable<T>> {
     @Override
     public CloseableIterable<T> doOperation(final Deduplicate<T> operation, final Context context, final Store store) throws OperationException {
-        return new WrappedCloseableIterable<>(Sets.newLinkedHashSet(operation.getInput()));
+        return new DeduplicateIterable<>(operation.getInput(), operation);
     }
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetKHopEntitySeeds;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.deduplicate.SpillableSeenSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An <code>GetKHopEntitySeedsHandler</code> handles {@link GetKHopEntitySeeds}
+ * operations by executing a {@link GetAdjacentEntitySeeds} operation for each
+ * hop. The hops are chained lazily: the seeds of each hop are the results of
+ * the previous hop, filtered so a vertex is only expanded once, so a hop can
+ * start as soon as the previous hop returns its first results rather than
+ * waiting for it to complete. The hops are not run concurrently by this
+ * handler: each hop pulls results from the previous hop as it needs them, so
+ * hop N+1 only overlaps with hop N if the store fetches the results of hop N
+ * ahead of the consumer, e.g. with batch prefetching on the Accumulo store,
+ * which is disabled by default.
+ * <p>
+ * The expanded vertices and the results of the final hop are recorded in
+ * {@link SpillableSeenSet}s, which spill to local disk once
+ * {@link GetKHopEntitySeeds#getMaxVerticesInMemory()} vertices are held in
+ * memory.
+ * <p>
+ * Each time the results are iterated the traversal is run again from the
+ * seeds.
+ */
+public class GetKHopEntitySeedsHandler implements OperationHandler<GetKHopEntitySeeds, CloseableIterable<EntitySeed>> {
+    @Override
+    public CloseableIterable<EntitySeed> doOperation(final GetKHopEntitySeeds operation, final Context context,
+                                                     final Store store) throws OperationException {
+        if (operation.getHops() < 1) {
+            throw new OperationException("The number of hops must be at least 1 but was " + operation.getHops());
+        }
+
+        final Traversal traversal = new Traversal(operation.getMaxVerticesInMemory());
+        final List<CloseableIterable<EntitySeed>> hopResults = new ArrayList<>(operation.getHops());
+        CloseableIterable<EntitySeed> frontier = new FrontierIterable(
+                new WrappedCloseableIterable<>(operation.getSeeds()), traversal, true, false, null);
+        for (int hop = 0; hop < operation.getHops(); hop++) {
+            final CloseableIterable<EntitySeed> hopResult = getAdjacentEntitySeeds(
+                    createHopOperation(operation, hop, frontier), context, store);
+            hopResults.add(hopResult);
+            frontier = new FrontierIterable(hopResult, traversal, false,
+                    hop == operation.getHops() - 1, operation.getMaxSeedsPerHop());
+        }
+
+        return new KHopIterable(frontier, hopResults, traversal);
+    }
+
+    /**
+     * Executes a single hop. By default the {@link GetAdjacentEntitySeeds}
+     * operation is executed on the store. Stores can override this to call
+     * their handler directly.
+     *
+     * @param hopOperation the operation for the hop
+     * @param context      the operation context
+     * @param store        the store the traversal is being run on
+     * @return the lazily evaluated adjacent seeds
+     * @throws OperationException if the hop could not be executed
+     */
+    protected CloseableIterable<EntitySeed> getAdjacentEntitySeeds(final GetAdjacentEntitySeeds hopOperation,
+                                                                   final Context context, final Store store)
+            throws OperationException {
+        return store.execute(hopOperation, context.getUser());
+    }
+
+    protected GetAdjacentEntitySeeds createHopOperation(final GetKHopEntitySeeds operation, final int hop,
+                                                        final CloseableIterable<EntitySeed> seeds) {
+        final GetAdjacentEntitySeeds hopOperation = new GetAdjacentEntitySeeds(operation.getViewForHop(hop), seeds);
+        hopOperation.setIncludeEdges(operation.getIncludeEdges());
+        hopOperation.setIncludeIncomingOutGoing(operation.getIncludeIncomingOutGoing());
+        hopOperation.setPopulateProperties(false);
+        // Duplicates are removed by the frontier, as it is streamed
+        hopOperation.setDeduplicate(false);
+        if (null != operation.getOptions()) {
+            hopOperation.setOptions(new HashMap<>(operation.getOptions()));
+        }
+        return hopOperation;
+    }
+
+    /**
+     * Holds the vertices that have been expanded by a single run of the
+     * traversal. The hops may be run on different threads so access to the
+     * set is synchronised.
+     */
+    private static final class Traversal {
+        private final Integer maxVerticesInMemory;
+        private SpillableSeenSet<Object> expandedVertices;
+
+        private Traversal(final Integer maxVerticesInMemory) {
+            this.maxVerticesInMemory = maxVerticesInMemory;
+        }
+
+        private synchronized void restart() {
+            close();
+            expandedVertices = newSeenVertices();
+        }
+
+        private synchronized boolean expand(final Object vertex) {
+            if (null == expandedVertices) {
+                expandedVertices = newSeenVertices();
+            }
+            return expandedVertices.add(vertex);
+        }
+
+        private synchronized void close() {
+            if (null != expandedVertices) {
+                expandedVertices.close();
+                expandedVertices = null;
+            }
+        }
+
+        private SpillableSeenSet<Object> newSeenVertices() {
+            return new SpillableSeenSet<>(maxVerticesInMemory);
+        }
+    }
+
+    /**
+     * Filters the seeds passed to a hop or the results of a hop. The seeds
+     * and the results of all but the final hop are the frontier of the next
+     * hop, so a vertex is skipped if it has already been expanded. The results
+     * of the final hop are only deduplicated.
+     */
+    private static final class FrontierIterable implements CloseableIterable<EntitySeed> {
+        private final CloseableIterable<EntitySeed> input;
+        private final Traversal traversal;
+        private final boolean seeds;
+        private final boolean finalHop;
+        private final Integer limit;
+
+        private FrontierIterable(final CloseableIterable<EntitySeed> input, final Traversal traversal,
+                                 final boolean seeds, final boolean finalHop, final Integer limit) {
+            this.input = input;
+            this.traversal = traversal;
+            this.seeds = seeds;
+            this.finalHop = finalHop;
+            this.limit = limit;
+        }
+
+        @Override
+        public CloseableIterator<EntitySeed> iterator() {
+            if (seeds) {
+                // The seeds are always iterated before any of the hop results.
+                traversal.restart();
+            }
+            return new FrontierIterator(input.iterator(), finalHop ? traversal.newSeenVertices() : null);
+        }
+
+        @Override
+        public void close() {
+            input.close();
+        }
+
+        private final class FrontierIterator implements CloseableIterator<EntitySeed> {
+            private final CloseableIterator<EntitySeed> iterator;
+            private final SpillableSeenSet<Object> seenVertices;
+            private EntitySeed nextSeed;
+            private int count;
+
+            private FrontierIterator(final CloseableIterator<EntitySeed> iterator,
+                                     final SpillableSeenSet<Object> seenVertices) {
+                this.iterator = iterator;
+                this.seenVertices = seenVertices;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (null != nextSeed) {
+                    return true;
+                }
+                if (null != limit && count >= limit) {
+                    return false;
+                }
+
+                while (iterator.hasNext()) {
+                    final EntitySeed seed = iterator.next();
+                    final boolean isNew = null != seenVertices
+                            ? seenVertices.add(seed.getVertex())
+                            : traversal.expand(seed.getVertex());
+                    if (isNew) {
+                        nextSeed = seed;
+                        count++;
+                        return true;
+                    }
+                }
+
+                // The results have all been returned, so the seen vertices can be released
+                closeSeenVertices();
+                return false;
+            }
+
+            @Override
+            public EntitySeed next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final EntitySeed seed = nextSeed;
+                nextSeed = null;
+                return seed;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void close() {
+                iterator.close();
+                closeSeenVertices();
+            }
+
+            private void closeSeenVertices() {
+                if (null != seenVertices) {
+                    seenVertices.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * The results of the final hop. Closing it closes the results of every
+     * hop and releases the expanded vertices.
+     */
+    private static final class KHopIterable implements CloseableIterable<EntitySeed> {
+        private final CloseableIterable<EntitySeed> results;
+        private final List<CloseableIterable<EntitySeed>> hopResults;
+        private final Traversal traversal;
+
+        private KHopIterable(final CloseableIterable<EntitySeed> results,
+                             final List<CloseableIterable<EntitySeed>> hopResults, final Traversal traversal) {
+            this.results = results;
+            this.hopResults = hopResults;
+            this.traversal = traversal;
+        }
+
+        @Override
+        public CloseableIterator<EntitySeed> iterator() {
+            return results.iterator();
+        }
+
+        @Override
+        public void close() {
+            results.close();
+            for (final CloseableIterable<EntitySeed> hopResult : hopResults) {
+                hopResult.close();
+            }
+            traversal.close();
+        }
+    }
+}
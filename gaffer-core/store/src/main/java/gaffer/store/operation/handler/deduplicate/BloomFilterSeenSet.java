@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.deduplicate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.PrimitiveSink;
+
+/**
+ * A <code>BloomFilterSeenSet</code> records the seen items in a fixed size
+ * {@link BloomFilter} of their JSON serialised form. Map entries and
+ * properties are serialised in sorted order, so equal items always have the
+ * same JSON whatever order their maps are iterated in. Memory use does not grow
+ * with the number of items, but a small proportion of items that have not been
+ * seen will be reported as seen.
+ *
+ * @param <T> the type of item
+ */
+public class BloomFilterSeenSet<T> implements SeenSet<T> {
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private final BloomFilter<T> filter;
+
+    public BloomFilterSeenSet(final int expectedItems, final double falsePositiveRate) {
+        filter = BloomFilter.create(new JsonFunnel<T>(), expectedItems, falsePositiveRate);
+    }
+
+    @Override
+    public boolean add(final T item) {
+        // If the bits of the filter change then the item has definitely not been seen before.
+        return filter.put(item);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static ObjectMapper createMapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        mapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        return mapper;
+    }
+
+    private static final class JsonFunnel<T> implements Funnel<T> {
+        private static final long serialVersionUID = 6466312727094823543L;
+
+        @Override
+        public void funnel(final T item, final PrimitiveSink into) {
+            try {
+                into.putBytes(MAPPER.writeValueAsBytes(item));
+            } catch (final JsonProcessingException e) {
+                throw new IllegalArgumentException("Unable to serialise item: " + item, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.deduplicate;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.EmptyCloseableIterator;
+import gaffer.operation.impl.Deduplicate;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>DeduplicateIterable</code> lazily removes duplicates from the
+ * {@link Deduplicate} operation input. Each item is returned the first time it
+ * is seen, so results are available straight away. Each iterator records the
+ * items it has seen in its own {@link SeenSet}, which is released when the
+ * iterator is exhausted or closed.
+ *
+ * @param <T> the type of item
+ */
+public class DeduplicateIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> input;
+    private final Deduplicate<T> operation;
+
+    public DeduplicateIterable(final CloseableIterable<T> input, final Deduplicate<T> operation) {
+        this.input = input;
+        this.operation = operation;
+    }
+
+    @Override
+    public void close() {
+        if (null != input) {
+            input.close();
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        if (null == input) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        return new DeduplicateIterator(input.iterator(), createSeenSet());
+    }
+
+    private SeenSet<T> createSeenSet() {
+        if (operation.isApproximate()) {
+            return new BloomFilterSeenSet<>(operation.getExpectedItems(), operation.getFalsePositiveRate());
+        }
+
+        return new SpillableSeenSet<>(operation.getMaxItemsInMemory());
+    }
+
+    private final class DeduplicateIterator implements CloseableIterator<T> {
+        private final CloseableIterator<T> iterator;
+        private final SeenSet<T> seen;
+        private T nextItem;
+        private boolean hasNextItem;
+
+        private DeduplicateIterator(final CloseableIterator<T> iterator, final SeenSet<T> seen) {
+            this.iterator = iterator;
+            this.seen = seen;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNextItem) {
+                return true;
+            }
+
+            while (iterator.hasNext()) {
+                final T item = iterator.next();
+                if (seen.add(item)) {
+                    nextItem = item;
+                    hasNextItem = true;
+                    return true;
+                }
+            }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            hasNextItem = false;
+            final T item = nextItem;
+            nextItem = null;
+            return item;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            seen.close();
+            iterator.close();
+        }
+    }
+}
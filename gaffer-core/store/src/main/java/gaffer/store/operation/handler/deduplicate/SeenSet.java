@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.deduplicate;
+
+import java.io.Closeable;
+
+/**
+ * A <code>SeenSet</code> records the items that have already been returned by
+ * a {@link DeduplicateIterable}.
+ *
+ * @param <T> the type of item
+ */
+public interface SeenSet<T> extends Closeable {
+    /**
+     * Records the item as seen.
+     *
+     * @param item the item to record
+     * @return true if this is the first time the item has been seen.
+     */
+    boolean add(final T item);
+
+    /**
+     * Releases any resources held by the set.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.deduplicate;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.PrimitiveSink;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A <code>SpillableSeenSet</code> holds the seen items in a {@link HashSet}
+ * until it contains <code>maxItemsInMemory</code> items. The items are then
+ * written to a run on local disk, sorted by hash code, and the in memory set is
+ * cleared. Each run keeps a sparse index of hash codes to file offsets and a
+ * Bloom filter of the hash codes in memory, so checking whether an item has
+ * been seen only reads from the runs that might contain an item with the same
+ * hash code.
+ * <p>
+ * Items are written to disk as JSON. An item is treated as seen if a spilled
+ * item with the same hash code has the same JSON or is equal to it once
+ * deserialised.
+ * <p>
+ * The runs are deleted when the set is closed, so the set must always be
+ * closed once it is no longer needed.
+ *
+ * @param <T> the type of item
+ */
+public class SpillableSeenSet<T> implements SeenSet<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillableSeenSet.class);
+    private static final JSONSerialiser SERIALISER = new JSONSerialiser();
+    private static final int INDEX_INTERVAL = 128;
+    private static final double RUN_FILTER_FALSE_POSITIVE_RATE = 0.01;
+
+    private final Integer maxItemsInMemory;
+    private final File spillDirectory;
+    private final Set<T> items = new HashSet<>();
+    private final List<Run> runs = new ArrayList<>();
+
+    /**
+     * @param maxItemsInMemory the number of items to hold in memory before
+     *                         spilling them to disk. If this is null or less
+     *                         than 1 the items are never spilled.
+     */
+    public SpillableSeenSet(final Integer maxItemsInMemory) {
+        this(maxItemsInMemory, null);
+    }
+
+    /**
+     * @param maxItemsInMemory the number of items to hold in memory before
+     *                         spilling them to disk. If this is null or less
+     *                         than 1 the items are never spilled.
+     * @param spillDirectory   the directory to write the runs to. If this is
+     *                         null the default temporary directory is used.
+     */
+    public SpillableSeenSet(final Integer maxItemsInMemory, final File spillDirectory) {
+        this.maxItemsInMemory = null != maxItemsInMemory && maxItemsInMemory > 0 ? maxItemsInMemory : null;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public boolean add(final T item) {
+        if (items.contains(item)) {
+            return false;
+        }
+
+        for (final Run run : runs) {
+            if (run.contains(item)) {
+                return false;
+            }
+        }
+
+        items.add(item);
+        if (null != maxItemsInMemory && items.size() >= maxItemsInMemory) {
+            spill();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void close() {
+        items.clear();
+        for (final Run run : runs) {
+            run.close();
+        }
+        runs.clear();
+    }
+
+    /**
+     * @return the number of runs that have been spilled to disk.
+     */
+    public int getNumberOfRuns() {
+        return runs.size();
+    }
+
+    private void spill() {
+        final List<T> sortedItems = new ArrayList<>(items);
+        Collections.sort(sortedItems, new Comparator<T>() {
+            @Override
+            public int compare(final T item1, final T item2) {
+                return Integer.compare(item1.hashCode(), item2.hashCode());
+            }
+        });
+
+        try {
+            runs.add(new Run(sortedItems, spillDirectory));
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to spill seen items to disk", e);
+        }
+        items.clear();
+    }
+
+    private static boolean matches(final Object item, final byte[] itemJson, final String className, final byte[] json) {
+        if (Arrays.equals(itemJson, json)) {
+            return true;
+        }
+
+        try {
+            return item.equals(SERIALISER.deserialise(json, Class.forName(className)));
+        } catch (final ClassNotFoundException | SerialisationException e) {
+            LOGGER.warn("Unable to deserialise spilled item of class " + className, e);
+            return false;
+        }
+    }
+
+    private static byte[] serialise(final Object item) {
+        try {
+            return SERIALISER.serialise(item);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise item: " + item, e);
+        }
+    }
+
+    /**
+     * A sorted run of spilled items. Each record is the item hash code, class
+     * name, the length of the JSON and then the JSON.
+     */
+    private static final class Run implements Closeable {
+        private final File file;
+        private final int[] indexHashCodes;
+        private final long[] indexOffsets;
+        private final BloomFilter<Integer> hashCodes;
+
+        private Run(final List<?> sortedItems, final File spillDirectory) throws IOException {
+            final int indexSize = (sortedItems.size() + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+            indexHashCodes = new int[indexSize];
+            indexOffsets = new long[indexSize];
+            hashCodes = BloomFilter.create(HashCodeFunnel.INSTANCE, sortedItems.size(), RUN_FILTER_FALSE_POSITIVE_RATE);
+
+            file = File.createTempFile("gaffer-deduplicate-", ".run", spillDirectory);
+            try {
+                write(sortedItems);
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void write(final List<?> sortedItems) throws IOException {
+            final CountingOutputStream countingStream = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            try (final DataOutputStream out = new DataOutputStream(countingStream)) {
+                int i = 0;
+                for (final Object item : sortedItems) {
+                    final int hashCode = item.hashCode();
+                    if (0 == i % INDEX_INTERVAL) {
+                        indexHashCodes[i / INDEX_INTERVAL] = hashCode;
+                        indexOffsets[i / INDEX_INTERVAL] = countingStream.getCount();
+                    }
+                    hashCodes.put(hashCode);
+
+                    final byte[] json = serialise(item);
+                    out.writeInt(hashCode);
+                    out.writeUTF(item.getClass().getName());
+                    out.writeInt(json.length);
+                    out.write(json);
+                    i++;
+                }
+            }
+        }
+
+        private boolean contains(final Object item) {
+            final int hashCode = item.hashCode();
+            if (!hashCodes.mightContain(hashCode)) {
+                return false;
+            }
+
+            byte[] itemJson = null;
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                ByteStreams.skipFully(in, getStartOffset(hashCode));
+                while (true) {
+                    final int recordHashCode = in.readInt();
+                    if (recordHashCode > hashCode) {
+                        return false;
+                    }
+
+                    final String className = in.readUTF();
+                    final int length = in.readInt();
+                    if (recordHashCode < hashCode) {
+                        ByteStreams.skipFully(in, length);
+                        continue;
+                    }
+
+                    final byte[] json = new byte[length];
+                    in.readFully(json);
+                    if (null == itemJson) {
+                        itemJson = serialise(item);
+                    }
+                    if (matches(item, itemJson, className, json)) {
+                        return true;
+                    }
+                }
+            } catch (final EOFException e) {
+                return false;
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to read seen items from " + file, e);
+            }
+        }
+
+        /**
+         * @param hashCode the hash code to find
+         * @return the offset of the last indexed record before any record with
+         * the given hash code.
+         */
+        private long getStartOffset(final int hashCode) {
+            int low = 0;
+            int high = indexHashCodes.length - 1;
+            long offset = 0;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (indexHashCodes[mid] < hashCode) {
+                    offset = indexOffsets[mid];
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            return offset;
+        }
+
+        @Override
+        public void close() {
+            if (!file.delete()) {
+                LOGGER.warn("Unable to delete " + file);
+            }
+        }
+    }
+
+    private enum HashCodeFunnel implements Funnel<Integer> {
+        INSTANCE;
+
+        @Override
+        public void funnel(final Integer hashCode, final PrimitiveSink into) {
+            into.putInt(hashCode);
+        }
+    }
+}
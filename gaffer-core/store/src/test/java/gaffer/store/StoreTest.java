@@ -28,11 +28,14 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.Lists;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.element.IdentifierType;
@@ -64,6 +67,7 @@ import gaffer.operation.impl.get.GetEdgesBySeed;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsBySeed;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
+import gaffer.operation.impl.get.GetKHopEntitySeeds;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.Serialisation;
@@ -87,10 +91,13 @@ import gaffer.store.schema.ViewValidator;
 import gaffer.user.User;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -258,6 +265,35 @@ public class StoreTest {
         }
     }
 
+    @Test
+    public void shouldThrowExceptionIfKHopViewIsInvalid() throws OperationException, StoreException {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final View view = mock(View.class);
+        final View hopView = mock(View.class);
+        final GetKHopEntitySeeds kHop = new GetKHopEntitySeeds.Builder()
+                .view(view)
+                .hopViews(hopView)
+                .build();
+        final ViewValidator viewValidator = mock(ViewValidator.class);
+        final StoreImpl store = new StoreImpl(viewValidator);
+
+        given(schema.validate()).willReturn(true);
+        given(viewValidator.validate(view, schema, true)).willReturn(true);
+        given(viewValidator.validate(hopView, schema, true)).willReturn(false);
+        store.initialise(schema, properties);
+
+        // When / Then
+        try {
+            store.execute(kHop, user);
+            fail("Exception expected");
+        } catch (final SchemaException e) {
+            verify(viewValidator).validate(hopView, schema, true);
+            assertTrue(e.getMessage().contains("Additional view"));
+        }
+    }
+
     @Test
     public void shouldCallDoUnhandledOperationWhenDoOperationWithUnknownOperationClass() throws Exception {
         // Given
@@ -326,6 +362,39 @@ public class StoreTest {
         assertSame(getElementsResult, result);
     }
 
+    @Test
+    public void shouldCacheResultsOfReadOnlyChainsUntilElementsAreAdded() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.isResultCacheEnabled()).willReturn(true);
+        given(properties.getResultCacheMaxEntries()).willReturn(10);
+        given(properties.getResultCacheMaxResultsPerEntry()).willReturn(10);
+        given(properties.getResultCacheTimeToLiveSeconds()).willReturn(60L);
+        final StoreImpl store = new StoreImpl();
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        given(getElementsHandler.doOperation(Mockito.any(GetElementsBySeed.class), Mockito.eq(context), Mockito.eq(store)))
+                .willReturn(new WrappedCloseableIterable<Element>(Collections.<Element>singletonList(entity)));
+        store.initialise(schema, properties);
+
+        // When - the result is only cached once it has been read
+        final List<Element> result1 = Lists.newArrayList(store.execute(createGetElementsBySeed(), user));
+        final List<Element> result2 = Lists.newArrayList(store.execute(createGetElementsBySeed(), user));
+
+        // Then
+        assertEquals(Collections.singletonList(entity), result1);
+        assertEquals(Collections.singletonList(entity), result2);
+        verify(getElementsHandler, times(1)).doOperation(Mockito.any(GetElementsBySeed.class), Mockito.eq(context), Mockito.eq(store));
+
+        // When
+        store.execute(new AddElements(Collections.<Element>singletonList(entity)), user);
+        final CloseableIterable<Element> result3 = store.execute(createGetElementsBySeed(), user);
+
+        // Then
+        assertEquals(Collections.singletonList(entity), Lists.newArrayList(result3));
+        verify(getElementsHandler, times(2)).doOperation(Mockito.any(GetElementsBySeed.class), Mockito.eq(context), Mockito.eq(store));
+    }
+
     @Test
     public void shouldReturnAllSupportedOperations() throws Exception {
         // Given
@@ -335,7 +404,7 @@ public class StoreTest {
         final Map<String, String> options = mock(HashMap.class);
 
         final StoreImpl store = new StoreImpl();
-        final int expectedNumberOfOperations = 26;
+        final int expectedNumberOfOperations = 27;
 
         given(validatable.isValidate()).willReturn(true);
         given(validatable.getOptions()).willReturn(options);
@@ -423,6 +492,12 @@ public class StoreTest {
         assertFalse(supported);
     }
 
+    private GetElementsBySeed<ElementSeed, Element> createGetElementsBySeed() {
+        return new GetElementsBySeed.Builder<>()
+                .addSeed(new EntitySeed("vertex"))
+                .build();
+    }
+
     private Schema createSchemaMock() {
         final Schema schema = mock(Schema.class);
         given(schema.validate()).willReturn(true);
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetElementsBySeed;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+public class ResultCacheTest {
+    private static final User USER = new User.Builder()
+            .userId("user")
+            .dataAuths("auth1", "auth2")
+            .build();
+
+    @Test
+    public void shouldCreateTheSameKeyForEquivalentChains() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final User userWithAuthsReordered = new User.Builder()
+                .userId("user")
+                .dataAuths("auth2", "auth1")
+                .build();
+
+        // When
+        final ResultCache.Key key1 = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final ResultCache.Key key2 = cache.createKey(createChain("vertex", TestGroups.ENTITY), userWithAuthsReordered);
+
+        // Then
+        assertEquals(key1.getValue(), key2.getValue());
+        assertEquals(Collections.singleton(TestGroups.ENTITY), key1.getGroups());
+    }
+
+    @Test
+    public void shouldCreateDifferentKeysForDifferentSeedsAndAuths() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final User otherUser = new User.Builder()
+                .userId("user")
+                .dataAuths("auth1")
+                .build();
+
+        // When
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final ResultCache.Key otherSeedKey = cache.createKey(createChain("vertex2", TestGroups.ENTITY), USER);
+        final ResultCache.Key otherAuthsKey = cache.createKey(createChain("vertex", TestGroups.ENTITY), otherUser);
+
+        // Then
+        assertNotEquals(key.getValue(), otherSeedKey.getValue());
+        assertNotEquals(key.getValue(), otherAuthsKey.getValue());
+    }
+
+    @Test
+    public void shouldNotCreateKeyForChainsThatAreNotReadOnly() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final OperationChain<Void> opChain = new OperationChain<>(new AddElements());
+
+        // When
+        final ResultCache.Key key = cache.createKey(opChain, USER);
+
+        // Then
+        assertNull(key);
+    }
+
+    @Test
+    public void shouldNotCreateKeyOrReadSeedsForChainsWithLazyInputs() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final CloseableIterable<EntitySeed> lazySeeds = new CloseableIterable<EntitySeed>() {
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public CloseableIterator<EntitySeed> iterator() {
+                throw new AssertionError("The seeds should not be read");
+            }
+        };
+        final OperationChain<?> opChain = new OperationChain<>(new GetAdjacentEntitySeeds.Builder()
+                .seeds(lazySeeds)
+                .build());
+
+        // When
+        final ResultCache.Key key = cache.createKey(opChain, USER);
+
+        // Then
+        assertNull(key);
+    }
+
+    @Test
+    public void shouldCacheIterableResults() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final List<Element> elements = Collections.<Element>singletonList(new Entity(TestGroups.ENTITY, "vertex"));
+
+        // When
+        final Object result = cache.put(key, new WrappedCloseableIterable<>(elements), cache.getGeneration());
+        final List<?> resultItems = consume(result);
+        final Object cachedResult = cache.get(key);
+
+        // Then
+        assertEquals(elements, resultItems);
+        assertEquals(elements, consume(cachedResult));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheResultsLargerThanMaxResultsPerEntry() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 1, 60000);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final CloseableIterable<Element> elements = new WrappedCloseableIterable<Element>(Arrays.<Element>asList(
+                new Entity(TestGroups.ENTITY, "vertex"),
+                new Entity(TestGroups.ENTITY, "vertex")));
+
+        // When
+        final List<?> resultItems = consume(cache.put(key, elements, cache.getGeneration()));
+
+        // Then
+        assertEquals(Lists.newArrayList(elements), resultItems);
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void shouldNotCacheResultsReadWhilstTheCacheWasInvalidated() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final long generation = cache.getGeneration();
+
+        // When
+        cache.invalidate(Collections.singleton(TestGroups.EDGE));
+        consume(cache.put(key, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), generation));
+
+        // Then
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void shouldExpireResultsAfterTimeToLive() throws InterruptedException {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 0);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        consume(cache.put(key, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), cache.getGeneration()));
+
+        // When
+        Thread.sleep(5);
+
+        // Then
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResults() {
+        // Given
+        final ResultCache cache = new ResultCache(2, 10, 60000);
+        final ResultCache.Key key1 = cache.createKey(createChain("vertex1", TestGroups.ENTITY), USER);
+        final ResultCache.Key key2 = cache.createKey(createChain("vertex2", TestGroups.ENTITY), USER);
+        final ResultCache.Key key3 = cache.createKey(createChain("vertex3", TestGroups.ENTITY), USER);
+        consume(cache.put(key1, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), cache.getGeneration()));
+        consume(cache.put(key2, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), cache.getGeneration()));
+
+        // When
+        cache.get(key1);
+        consume(cache.put(key3, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), cache.getGeneration()));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNull(cache.get(key2));
+        assertTrue(null != cache.get(key1));
+    }
+
+    @Test
+    public void shouldOnlyInvalidateResultsForModifiedGroups() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final ResultCache.Key entityKey = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final ResultCache.Key edgeKey = cache.createKey(createChain("vertex", TestGroups.EDGE), USER);
+        consume(cache.put(entityKey, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), cache.getGeneration()));
+        consume(cache.put(edgeKey, new WrappedCloseableIterable<>(Collections.<Element>emptyList()), cache.getGeneration()));
+
+        // When
+        cache.invalidate(Collections.singleton(TestGroups.EDGE));
+
+        // Then
+        assertTrue(null != cache.get(entityKey));
+        assertNull(cache.get(edgeKey));
+    }
+
+    @Test
+    public void shouldRecordGroupsOfAddedElements() {
+        // Given
+        final Set<String> groups = new HashSet<>();
+        final GroupRecordingIterable elements = new GroupRecordingIterable(new WrappedCloseableIterable<Element>(Arrays.<Element>asList(
+                new Entity(TestGroups.ENTITY, "vertex"),
+                new Entity(TestGroups.ENTITY_2, "vertex"))), groups);
+
+        // When
+        Lists.newArrayList(elements);
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(TestGroups.ENTITY, TestGroups.ENTITY_2)), groups);
+    }
+
+    @Test
+    public void shouldReadOneShotResultsOnlyOnce() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final List<Element> elements = Arrays.<Element>asList(
+                new Entity(TestGroups.ENTITY, "vertex1"),
+                new Entity(TestGroups.ENTITY, "vertex2"));
+        final OneShotIterable oneShotResult = new OneShotIterable(elements);
+
+        // When
+        final Object result = cache.put(key, oneShotResult, cache.getGeneration());
+
+        // Then
+        assertFalse(oneShotResult.read);
+        assertEquals(elements, consume(result));
+        assertEquals(elements, consume(cache.get(key)));
+    }
+
+    @Test
+    public void shouldNotCacheResultsThatAreNotFullyRead() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final CloseableIterable<?> result = (CloseableIterable<?>) cache.put(key,
+                new WrappedCloseableIterable<Element>(Arrays.<Element>asList(
+                        new Entity(TestGroups.ENTITY, "vertex1"),
+                        new Entity(TestGroups.ENTITY, "vertex2"))), cache.getGeneration());
+
+        // When
+        final CloseableIterator<?> itr = result.iterator();
+        itr.next();
+        itr.close();
+
+        // Then
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void shouldNotShareCachedElementsWithCallers() {
+        // Given
+        final ResultCache cache = new ResultCache(10, 10, 60000);
+        final ResultCache.Key key = cache.createKey(createChain("vertex", TestGroups.ENTITY), USER);
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(TestPropertyNames.COUNT, 1);
+        final Entity expectedEntity = new Entity(TestGroups.ENTITY, "vertex");
+        expectedEntity.putProperty(TestPropertyNames.COUNT, 1);
+
+        // When
+        final List<?> resultItems = consume(cache.put(key, new WrappedCloseableIterable<>(
+                Collections.<Element>singletonList(entity)), cache.getGeneration()));
+        ((Element) resultItems.get(0)).putProperty(TestPropertyNames.COUNT, 2);
+        ((Element) consume(cache.get(key)).get(0)).putProperty(TestPropertyNames.COUNT, 3);
+
+        // Then
+        assertEquals(Collections.singletonList(expectedEntity), consume(cache.get(key)));
+    }
+
+    private static List<?> consume(final Object result) {
+        return Lists.newArrayList((Iterable<?>) result);
+    }
+
+    private static final class OneShotIterable implements Iterable<Element> {
+        private final List<Element> elements;
+        private boolean read;
+
+        private OneShotIterable(final List<Element> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<Element> iterator() {
+            if (read) {
+                throw new IllegalStateException("Result has already been read");
+            }
+            read = true;
+            return elements.iterator();
+        }
+    }
+
+    private OperationChain<?> createChain(final String vertex, final String group) {
+        return new OperationChain.Builder()
+                .first(new GetAdjacentEntitySeeds.Builder()
+                        .addSeed(new EntitySeed(vertex))
+                        .view(new View.Builder()
+                                .entity(group)
+                                .build())
+                        .build())
+                .then(new GetElementsBySeed.Builder<EntitySeed, Element>()
+                        .view(new View.Builder()
+                                .entity(group)
+                                .build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class HistogramTest {
+    @Test
+    public void shouldReturnZeroesWhenNoValuesRecorded() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When / Then
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.get99thPercentile());
+    }
+
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        // Then
+        assertEquals(10, histogram.getCount());
+        assertEquals(55, histogram.getSum());
+        assertEquals(1, histogram.getMin());
+        assertEquals(10, histogram.getMax());
+        assertEquals(5.5, histogram.getMean(), 0);
+        assertEquals(5, histogram.get50thPercentile());
+        assertEquals(10, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldEstimatePercentilesOfLargeValuesWithinBucketPrecision() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        // Then
+        assertWithinPrecision(50000000, histogram.get50thPercentile());
+        assertWithinPrecision(95000000, histogram.get95thPercentile());
+        assertWithinPrecision(99000000, histogram.get99thPercentile());
+        assertWithinPrecision(99900000, histogram.get999thPercentile());
+        assertEquals(100000000, histogram.getMax());
+    }
+
+    @Test
+    public void shouldPlaceEveryValueInABucketContainingIt() {
+        for (final long value : new long[]{0, 1, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE}) {
+            final int index = Histogram.getBucketIndex(value);
+            final long midpoint = Histogram.getBucketMidpoint(index);
+            assertWithinPrecision(value, midpoint);
+        }
+    }
+
+    @Test
+    public void shouldRecordNegativeValuesAsZero() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        histogram.record(-5);
+
+        // Then
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void shouldResetValues() {
+        // Given
+        final Histogram histogram = new Histogram();
+        histogram.record(100);
+
+        // When
+        histogram.reset();
+
+        // Then
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.get50thPercentile());
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidPercentile() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When / Then
+        try {
+            histogram.getValueAtPercentile(101);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("101"));
+        }
+    }
+
+    private static void assertWithinPrecision(final long expected, final long actual) {
+        final double error = Math.abs((double) actual - expected) / Math.max(1, expected);
+        assertTrue("Expected " + expected + " but was " + actual, error <= 1.0 / Histogram.SUB_BUCKETS);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsRegistryTest {
+    @Test
+    public void shouldReturnTheSameMetricForTheSameName() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+
+        // When / Then
+        assertSame(registry.timer("a"), registry.timer("a"));
+        assertSame(registry.counter("a"), registry.counter("a"));
+        assertSame(registry.histogram("a"), registry.histogram("a"));
+    }
+
+    @Test
+    public void shouldReturnSortedSnapshotOfAllMetrics() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.timer("b.timer").update(TimeUnit.MILLISECONDS.toNanos(2));
+        registry.counter("c.counter").inc(3);
+        registry.histogram("a.histogram").record(4);
+
+        // When
+        final Map<String, MetricSnapshot> snapshot = registry.getSnapshot();
+
+        // Then
+        assertEquals(Arrays.asList("a.histogram", "b.timer", "c.counter"), Arrays.asList(snapshot.keySet().toArray()));
+
+        final MetricSnapshot timer = snapshot.get("b.timer");
+        assertEquals(MetricSnapshot.TIMER, timer.getType());
+        assertEquals("ms", timer.getUnit());
+        assertEquals(1, timer.getCount());
+        assertEquals(2, timer.getMax(), 0);
+
+        final MetricSnapshot counter = snapshot.get("c.counter");
+        assertEquals(MetricSnapshot.COUNTER, counter.getType());
+        assertEquals(3, counter.getCount());
+        assertNull(counter.getMax());
+
+        final MetricSnapshot histogram = snapshot.get("a.histogram");
+        assertEquals(MetricSnapshot.HISTOGRAM, histogram.getType());
+        assertEquals(4, histogram.getP50(), 0);
+    }
+
+    @Test
+    public void shouldResetAllMetrics() {
+        // Given
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.timer("timer").update(10);
+        registry.counter("counter").inc();
+
+        // When
+        registry.reset();
+
+        // Then
+        assertEquals(0, registry.timer("timer").getCount());
+        assertEquals(0, registry.counter("counter").getCount());
+    }
+
+    @Test
+    public void shouldRegisterSharedMetricsWithJmx() throws Exception {
+        // Given
+        final String name = getClass().getName() + ".jmx";
+
+        // When
+        MetricsRegistry.getInstance().counter(name).inc();
+
+        // Then
+        final ObjectName objectName = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Counter,name=" + ObjectName.quote(name));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "Count"));
+    }
+}
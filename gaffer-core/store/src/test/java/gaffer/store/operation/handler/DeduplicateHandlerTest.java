@@ -17,17 +17,26 @@
 package gaffer.store.operation.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.Lists;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.Deduplicate;
 import gaffer.store.Context;
 import org.junit.Test;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 public class DeduplicateHandlerTest {
 
@@ -62,4 +71,74 @@ public class DeduplicateHandlerTest {
         // Then
         assertEquals(Arrays.asList(10, 9, 8, 7, 6, 5, 4, 3, 2, 1), Lists.newArrayList(results));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnFirstItemBeforeReadingTheRestOfTheInput() throws OperationException {
+        // Given
+        final Iterator<Integer> input = mock(Iterator.class);
+        given(input.hasNext()).willReturn(true);
+        given(input.next()).willReturn(1, 1, 2);
+        final Deduplicate<Integer> operation = new Deduplicate.Builder<Integer>()
+                .input(new WrappedCloseableIterable<>(new Iterable<Integer>() {
+                    @Override
+                    public Iterator<Integer> iterator() {
+                        return input;
+                    }
+                }))
+                .build();
+        final DeduplicateHandler<Integer> handler = new DeduplicateHandler<>();
+
+        // When
+        final Iterator<Integer> results = handler.doOperation(operation, new Context(), null).iterator();
+
+        // Then
+        assertEquals(1, (int) results.next());
+        verify(input, times(1)).next();
+        assertEquals(2, (int) results.next());
+        verify(input, times(3)).next();
+    }
+
+    @Test
+    public void shouldDeduplicateResultsAndMaintainOrderWhenSpillingToDisk() throws OperationException {
+        // Given
+        final List<Object> input = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            input.add(new EntitySeed(i % 300));
+            input.add("item" + (i % 200));
+        }
+        final Deduplicate<Object> operation = new Deduplicate.Builder<>()
+                .input(input)
+                .maxItemsInMemory(50)
+                .build();
+        final DeduplicateHandler<Object> handler = new DeduplicateHandler<>();
+
+        // When
+        final Iterable<Object> results = handler.doOperation(operation, new Context(), null);
+
+        // Then
+        assertEquals(Lists.newArrayList(new LinkedHashSet<>(input)), Lists.newArrayList(results));
+    }
+
+    @Test
+    public void shouldNotReturnDuplicatesWhenApproximate() throws OperationException {
+        // Given
+        final List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            input.add(i % 100);
+        }
+        final Deduplicate<Integer> operation = new Deduplicate.Builder<Integer>()
+                .input(input)
+                .approximate(true)
+                .expectedItems(1000)
+                .falsePositiveRate(0.001)
+                .build();
+        final DeduplicateHandler<Integer> handler = new DeduplicateHandler<>();
+
+        // When
+        final List<Integer> results = Lists.newArrayList(handler.doOperation(operation, new Context(), null));
+
+        // Then
+        assertEquals(results.size(), new HashSet<>(results).size());
+        assertTrue(results.size() > 95);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetKHopEntitySeeds;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GetKHopEntitySeedsHandlerTest {
+    private final Map<Object, List<Object>> adjacentVertices = new HashMap<>();
+    private final List<Object> expandedVertices = Collections.synchronizedList(new ArrayList<>());
+    private final List<View> hopViews = new ArrayList<>();
+    private final Context context = new Context(new User());
+    private Store store;
+
+    @Before
+    public void setUp() throws OperationException {
+        store = mock(Store.class);
+        given(store.execute(any(GetAdjacentEntitySeeds.class), any(User.class))).willAnswer(new Answer<CloseableIterable<EntitySeed>>() {
+            @Override
+            public CloseableIterable<EntitySeed> answer(final InvocationOnMock invocation) {
+                final GetAdjacentEntitySeeds hop = (GetAdjacentEntitySeeds) invocation.getArguments()[0];
+                hopViews.add(hop.getView());
+                return new WrappedCloseableIterable<>(Iterables.concat(Iterables.transform(hop.getSeeds(),
+                        new Function<EntitySeed, Iterable<EntitySeed>>() {
+                            @Override
+                            public Iterable<EntitySeed> apply(final EntitySeed seed) {
+                                expandedVertices.add(seed.getVertex());
+                                return getAdjacentSeeds(seed.getVertex());
+                            }
+                        })));
+            }
+        });
+    }
+
+    @Test
+    public void shouldReturnDistinctSeedsFromFinalHop() throws OperationException {
+        // Given
+        addEdge("A", "B");
+        addEdge("B", "C");
+        addEdge("B", "D");
+        addEdge("A", "E");
+        addEdge("E", "C");
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .hops(2)
+                .build();
+
+        // When
+        final List<Object> results = execute(operation);
+
+        // Then
+        assertEquals(Arrays.<Object>asList("A", "C", "D"), results);
+    }
+
+    @Test
+    public void shouldNotExpandAVertexMoreThanOnce() throws OperationException {
+        // Given
+        addEdge("A", "B");
+        addEdge("B", "C");
+        addEdge("C", "A");
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .seeds(Arrays.asList(new EntitySeed("A"), new EntitySeed("A")))
+                .hops(4)
+                .build();
+
+        // When
+        final List<Object> results = execute(operation);
+
+        // Then
+        assertTrue(results.isEmpty());
+        final List<Object> expanded = new ArrayList<>(expandedVertices);
+        Collections.sort((List) expanded);
+        assertEquals(Arrays.<Object>asList("A", "B", "C"), expanded);
+    }
+
+    @Test
+    public void shouldReturnDistinctSeedsWhenSeenVerticesAreSpilledToDisk() throws OperationException {
+        // Given
+        addEdge("A", "B");
+        addEdge("B", "C");
+        addEdge("B", "D");
+        addEdge("A", "E");
+        addEdge("E", "C");
+        addEdge("E", "D");
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .hops(2)
+                .maxVerticesInMemory(1)
+                .build();
+
+        // When
+        final List<Object> results = execute(operation);
+
+        // Then
+        assertEquals(Arrays.<Object>asList("A", "C", "D"), results);
+        final List<Object> expanded = new ArrayList<>(expandedVertices);
+        Collections.sort((List) expanded);
+        assertEquals(Arrays.<Object>asList("A", "B", "E"), expanded);
+    }
+
+    @Test
+    public void shouldLimitTheNumberOfSeedsReturnedByEachHop() throws OperationException {
+        // Given
+        addEdge("A", "B");
+        addEdge("A", "C");
+        addEdge("A", "D");
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .hops(1)
+                .maxSeedsPerHop(2)
+                .build();
+
+        // When
+        final List<Object> results = execute(operation);
+
+        // Then
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void shouldUseTheViewForEachHop() throws OperationException {
+        // Given
+        addEdge("A", "B");
+        final View view = new View.Builder().edge("edgeGroup").build();
+        final View firstHopView = new View.Builder().edge("otherEdgeGroup").build();
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .view(view)
+                .hopViews(firstHopView)
+                .hops(2)
+                .build();
+
+        // When
+        new GetKHopEntitySeedsHandler().doOperation(operation, context, store);
+
+        // Then
+        assertEquals(2, hopViews.size());
+        assertSame(firstHopView, hopViews.get(0));
+        assertSame(view, hopViews.get(1));
+    }
+
+    @Test(expected = OperationException.class)
+    public void shouldThrowExceptionIfHopsIsLessThanOne() throws OperationException {
+        // Given
+        final GetKHopEntitySeeds operation = new GetKHopEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .hops(0)
+                .build();
+
+        // When
+        new GetKHopEntitySeedsHandler().doOperation(operation, context, store);
+    }
+
+    private List<Object> execute(final GetKHopEntitySeeds operation) throws OperationException {
+        final List<Object> results = new ArrayList<>();
+        try (final CloseableIterable<EntitySeed> seeds = new GetKHopEntitySeedsHandler().doOperation(operation, context, store)) {
+            for (final EntitySeed seed : seeds) {
+                results.add(seed.getVertex());
+            }
+        }
+        Collections.sort((List) results);
+        return results;
+    }
+
+    private void addEdge(final Object source, final Object destination) {
+        getAdjacentVertices(source).add(destination);
+        getAdjacentVertices(destination).add(source);
+    }
+
+    private List<Object> getAdjacentVertices(final Object vertex) {
+        List<Object> vertices = adjacentVertices.get(vertex);
+        if (null == vertices) {
+            vertices = new ArrayList<>();
+            adjacentVertices.put(vertex, vertices);
+        }
+        return vertices;
+    }
+
+    private List<EntitySeed> getAdjacentSeeds(final Object vertex) {
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (final Object adjacentVertex : getAdjacentVertices(vertex)) {
+            seeds.add(new EntitySeed(adjacentVertex));
+        }
+        return seeds;
+    }
+}
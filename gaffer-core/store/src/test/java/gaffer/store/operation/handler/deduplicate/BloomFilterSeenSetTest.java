@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.deduplicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BloomFilterSeenSetTest {
+    @Test
+    public void shouldTreatEqualMapsAsSeenWhateverTheirEntryOrder() {
+        // Given
+        final Map<String, Integer> item = new LinkedHashMap<>();
+        item.put("a", 1);
+        item.put("b", 2);
+        final Map<String, Integer> reorderedItem = new LinkedHashMap<>();
+        reorderedItem.put("b", 2);
+        reorderedItem.put("a", 1);
+        assertEquals(item, reorderedItem);
+
+        final BloomFilterSeenSet<Map<String, Integer>> seen = new BloomFilterSeenSet<>(1000, 0.0001);
+
+        // When
+        final boolean firstAdded = seen.add(item);
+        final boolean reorderedAdded = seen.add(reorderedItem);
+
+        // Then
+        assertTrue(firstAdded);
+        assertFalse(reorderedAdded);
+    }
+}
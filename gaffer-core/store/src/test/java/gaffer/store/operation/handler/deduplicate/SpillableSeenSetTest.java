@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.deduplicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+
+public class SpillableSeenSetTest {
+    @Rule
+    public final TemporaryFolder spillFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldDeleteSpilledRunsWhenClosed() {
+        // Given
+        final File spillDirectory = spillFolder.getRoot();
+        final SpillableSeenSet<String> seen = new SpillableSeenSet<>(10, spillDirectory);
+        for (int i = 0; i < 35; i++) {
+            assertTrue(seen.add("item" + i));
+        }
+        assertFalse(seen.add("item0"));
+        assertEquals(3, seen.getNumberOfRuns());
+        assertEquals(3, spillDirectory.listFiles().length);
+
+        // When
+        seen.close();
+
+        // Then
+        assertEquals(0, seen.getNumberOfRuns());
+        assertEquals(0, spillDirectory.listFiles().length);
+    }
+}
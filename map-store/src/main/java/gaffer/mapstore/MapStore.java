@@ -0,0 +1,328 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore;
+
+import static gaffer.store.StoreTrait.AGGREGATION;
+import static gaffer.store.StoreTrait.POST_AGGREGATION_FILTERING;
+import static gaffer.store.StoreTrait.PRE_AGGREGATION_FILTERING;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.mapstore.operation.handler.AddElementsHandler;
+import gaffer.mapstore.operation.handler.GetAdjacentEntitySeedsHandler;
+import gaffer.mapstore.operation.handler.GetAllElementsHandler;
+import gaffer.mapstore.operation.handler.GetElementsHandler;
+import gaffer.operation.Operation;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.StoreProperties;
+import gaffer.store.StoreTrait;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.store.schema.Schema;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A simple in memory {@link java.util.HashMap} implementation of {@link Store}.
+ * <p>
+ * This store indexes {@link Entity}s by their vertex and {@link Edge}s by both
+ * their source and their destination, so seeded look ups only touch the
+ * elements related to the seeds rather than scanning every element.
+ * Elements are not serialised and this store is not thread safe.
+ * <p>
+ * If aggregation is enabled in the {@link MapStoreProperties}, elements with
+ * the same group, identifiers, group by properties and visibility are merged
+ * on insert using the schema's {@link ElementAggregator}s, so only distinct
+ * elements are held in memory. Queries with a group by in their view are
+ * then summarised using the same aggregators.
+ */
+public class MapStore extends Store {
+    private static final Set<StoreTrait> TRAITS = new HashSet<>(Collections.singletonList(PRE_AGGREGATION_FILTERING));
+    private static final Set<StoreTrait> AGGREGATION_TRAITS = new HashSet<>(Arrays.asList(AGGREGATION, PRE_AGGREGATION_FILTERING, POST_AGGREGATION_FILTERING));
+    private final Map<Object, List<Entity>> entitiesByVertex = new HashMap<>();
+    private final Map<Object, List<Edge>> edgesBySource = new HashMap<>();
+    private final Map<Object, List<Edge>> edgesByDestination = new HashMap<>();
+    private final Map<Element, Element> aggregatedElements = new HashMap<>();
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+    private Set<StoreTrait> traits = TRAITS;
+
+    @Override
+    public void initialise(final Schema schema, final StoreProperties properties) throws StoreException {
+        super.initialise(schema, properties);
+        if (getProperties().isAggregationEnabled()) {
+            traits = AGGREGATION_TRAITS;
+        }
+    }
+
+    @Override
+    public Set<StoreTrait> getTraits() {
+        return traits;
+    }
+
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "The properties should always be MapStoreProperties")
+    @Override
+    public MapStoreProperties getProperties() {
+        return (MapStoreProperties) super.getProperties();
+    }
+
+    @Override
+    public boolean isValidationRequired() {
+        return false;
+    }
+
+    @Override
+    protected OperationHandler<GetElements<ElementSeed, Element>, CloseableIterable<Element>> getGetElementsHandler() {
+        return new GetElementsHandler();
+    }
+
+    @Override
+    protected OperationHandler<GetAllElements<Element>, CloseableIterable<Element>> getGetAllElementsHandler() {
+        return new GetAllElementsHandler();
+    }
+
+    @Override
+    protected OperationHandler<? extends GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>> getAdjacentEntitySeedsHandler() {
+        return new GetAdjacentEntitySeedsHandler();
+    }
+
+    @Override
+    protected OperationHandler<? extends AddElements, Void> getAddElementsHandler() {
+        return new AddElementsHandler();
+    }
+
+    /**
+     * This store does not support any other optional operations.
+     */
+    @Override
+    protected void addAdditionalOperationHandlers() {
+    }
+
+    @Override
+    protected <OUTPUT> OUTPUT doUnhandledOperation(final Operation<?, OUTPUT> operation, final Context context) {
+        throw new UnsupportedOperationException("I do not know how to handle: " + operation.getClass().getSimpleName());
+    }
+
+    /**
+     * @param vertex the vertex to look up
+     * @return the {@link Entity}s with the given vertex, never null.
+     */
+    public List<Entity> getEntities(final Object vertex) {
+        return getOrEmpty(entitiesByVertex, vertex);
+    }
+
+    /**
+     * @param source the source vertex to look up
+     * @return the {@link Edge}s with the given source, never null.
+     */
+    public List<Edge> getEdgesBySource(final Object source) {
+        return getOrEmpty(edgesBySource, source);
+    }
+
+    /**
+     * @param destination the destination vertex to look up
+     * @return the {@link Edge}s with the given destination, never null.
+     */
+    public List<Edge> getEdgesByDestination(final Object destination) {
+        return getOrEmpty(edgesByDestination, destination);
+    }
+
+    /**
+     * @return all the {@link Entity}s in the store, grouped by vertex.
+     */
+    public Collection<List<Entity>> getAllEntities() {
+        return entitiesByVertex.values();
+    }
+
+    /**
+     * @return all the {@link Edge}s in the store, grouped by source.
+     */
+    public Collection<List<Edge>> getAllEdges() {
+        return edgesBySource.values();
+    }
+
+    public void addElements(final Iterable<Element> elements) {
+        final boolean aggregationEnabled = hasTrait(AGGREGATION);
+        for (final Element element : elements) {
+            if (aggregationEnabled && aggregateWithExisting(element)) {
+                continue;
+            }
+
+            if (element instanceof Entity) {
+                addEntity((Entity) element);
+            } else {
+                // Assume it is an Edge
+                addEdge((Edge) element);
+            }
+        }
+    }
+
+    protected void addEntity(final Entity entity) {
+        addToIndex(entitiesByVertex, entity.getVertex(), entity);
+    }
+
+    protected void addEdge(final Edge edge) {
+        addToIndex(edgesBySource, edge.getSource(), edge);
+        addToIndex(edgesByDestination, edge.getDestination(), edge);
+    }
+
+    /**
+     * Summarises the elements using the group by properties set in the view.
+     * Elements of groups without a view group by are returned unchanged and
+     * the stored elements are never modified. The post aggregation filter is
+     * applied to the summarised elements.
+     *
+     * @param elements  the elements to summarise, which should already have
+     *                  passed the pre aggregation filter
+     * @param operation the operation containing the view
+     * @return the summarised elements that pass the post aggregation filter.
+     */
+    public List<Element> summarise(final List<Element> elements, final Operation<?, ?> operation) {
+        final View view = operation.getView();
+        final List<Element> result = new ArrayList<>();
+        final Map<Element, Element> summaries = new LinkedHashMap<>();
+        for (final Element element : elements) {
+            final Set<String> groupBy = view.getElementGroupBy(element.getGroup());
+            if (null == groupBy) {
+                addIfValid(result, element, operation);
+                continue;
+            }
+
+            final Element key = createAggregationKey(element, groupBy);
+            final Element summary = summaries.get(key);
+            if (null == summary) {
+                final Element copy = element.emptyClone();
+                copy.copyProperties(element.getProperties());
+                summaries.put(key, copy);
+            } else {
+                aggregate(summary, element, key);
+            }
+        }
+
+        for (final Element summary : summaries.values()) {
+            addIfValid(result, summary, operation);
+        }
+
+        return result;
+    }
+
+    /**
+     * Merges the element into the stored element with the same group,
+     * identifiers, group by properties and visibility, in the same way the
+     * Accumulo store aggregates elements on compaction.
+     *
+     * @param element the element to aggregate
+     * @return true if the element was merged into an existing element, false
+     * if it is a new element that needs to be indexed.
+     */
+    private boolean aggregateWithExisting(final Element element) {
+        final Element key = createAggregationKey(element, getSchema().getElement(element.getGroup()).getGroupBy());
+        final Element existing = aggregatedElements.get(key);
+        if (null == existing) {
+            aggregatedElements.put(key, element);
+            return false;
+        }
+
+        aggregate(existing, element, key);
+        return true;
+    }
+
+    private void aggregate(final Element existing, final Element element, final Element key) {
+        final ElementAggregator aggregator = getAggregator(element.getGroup());
+        aggregator.initFunctions();
+        aggregator.aggregate(existing);
+        aggregator.aggregate(element);
+        final Properties aggregatedProperties = new Properties();
+        aggregator.state(aggregatedProperties);
+        for (final Map.Entry<String, Object> entry : aggregatedProperties.entrySet()) {
+            putIfNotNull(existing, entry.getKey(), entry.getValue());
+        }
+
+        // The group by properties and visibility should be held constant.
+        existing.copyProperties(key.getProperties());
+    }
+
+    private Element createAggregationKey(final Element element, final Set<String> groupBy) {
+        final Element key = element.emptyClone();
+        for (final String propertyName : groupBy) {
+            putIfNotNull(key, propertyName, element.getProperty(propertyName));
+        }
+
+        final String visibilityProperty = getSchema().getVisibilityProperty();
+        if (null != visibilityProperty) {
+            putIfNotNull(key, visibilityProperty, element.getProperty(visibilityProperty));
+        }
+
+        return key;
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            aggregator = getSchema().getElement(group).getAggregator();
+            aggregators.put(group, aggregator);
+        }
+
+        return aggregator;
+    }
+
+    private static void addIfValid(final List<Element> result, final Element element, final Operation<?, ?> operation) {
+        if (operation.validatePostAggregationFilter(element)) {
+            result.add(element);
+        }
+    }
+
+    private static void putIfNotNull(final Element element, final String propertyName, final Object value) {
+        if (null != value) {
+            element.putProperty(propertyName, value);
+        }
+    }
+
+    private static <T> void addToIndex(final Map<Object, List<T>> index, final Object key, final T element) {
+        List<T> elements = index.get(key);
+        if (null == elements) {
+            elements = new ArrayList<>(1);
+            index.put(key, elements);
+        }
+        elements.add(element);
+    }
+
+    private static <T> List<T> getOrEmpty(final Map<Object, List<T>> index, final Object key) {
+        final List<T> elements = index.get(key);
+        return null != elements ? elements : Collections.<T>emptyList();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore;
+
+import gaffer.store.StoreProperties;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * MapStoreProperties contains specific configuration information for the
+ * {@link MapStore}.
+ */
+public class MapStoreProperties extends StoreProperties {
+    public static final String AGGREGATION_ENABLED = "gaffer.store.mapstore.aggregation.enabled";
+
+    // default values
+    private static final String AGGREGATION_ENABLED_DEFAULT = "false";
+
+    public MapStoreProperties() {
+        super(MapStore.class);
+        setStorePropertiesClass(MapStoreProperties.class);
+    }
+
+    public MapStoreProperties(final Path propFileLocation) {
+        super(propFileLocation);
+    }
+
+    public static MapStoreProperties loadStoreProperties(final InputStream storePropertiesStream) {
+        return ((MapStoreProperties) StoreProperties.loadStoreProperties(storePropertiesStream));
+    }
+
+    @Override
+    public MapStoreProperties clone() {
+        return (MapStoreProperties) super.clone();
+    }
+
+    /**
+     * If aggregation is enabled, elements are merged on insert using the
+     * schema's aggregate functions and group by properties, rather than
+     * every element being stored.
+     *
+     * @return true if elements should be aggregated when they are added.
+     */
+    public boolean isAggregationEnabled() {
+        return Boolean.parseBoolean(get(AGGREGATION_ENABLED, AGGREGATION_ENABLED_DEFAULT));
+    }
+
+    public void setAggregationEnabled(final boolean aggregationEnabled) {
+        set(AGGREGATION_ENABLED, Boolean.toString(aggregationEnabled));
+    }
+}
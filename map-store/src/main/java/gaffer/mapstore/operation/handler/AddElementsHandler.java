@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore.operation.handler;
+
+import gaffer.data.TransformIterable;
+import gaffer.data.element.Element;
+import gaffer.mapstore.MapStore;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.store.schema.SchemaElementDefinition;
+
+public class AddElementsHandler implements OperationHandler<AddElements, Void> {
+    @Override
+    public Void doOperation(final AddElements operation,
+                            final Context context, final Store store)
+            throws OperationException {
+        addElements(operation, (MapStore) store);
+        return null;
+    }
+
+    private void addElements(final AddElements operation, final MapStore store) {
+        store.addElements(new ElementCleaner(operation.getElements(), store));
+    }
+
+    private static final class ElementCleaner extends TransformIterable<Element, Element> {
+        private final Store store;
+
+        private ElementCleaner(final Iterable<Element> input, final Store store) {
+            super(input);
+            this.store = store;
+        }
+
+        @Override
+        protected Element transform(final Element element) {
+            final Element cleanElement = element.emptyClone();
+            final SchemaElementDefinition elementDefinition = store.getSchema().getElement(element.getGroup());
+            for (final String property : elementDefinition.getProperties()) {
+                final Object value = element.getProperty(property);
+                if (null != value) {
+                    cleanElement.putProperty(property, value);
+                }
+            }
+
+            return cleanElement;
+        }
+    }
+}
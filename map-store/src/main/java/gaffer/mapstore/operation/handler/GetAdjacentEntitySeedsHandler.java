@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore.operation.handler;
+
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.INCOMING;
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.OUTGOING;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.mapstore.MapStore;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreTrait;
+import gaffer.store.operation.handler.OperationHandler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>> {
+    @Override
+    public CloseableIterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation,
+                                                     final Context context, final Store store)
+            throws OperationException {
+        return new WrappedCloseableIterable<>(doOperation(operation, (MapStore) store));
+    }
+
+    private List<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final MapStore store) {
+        final List<EntitySeed> result = new ArrayList<>();
+        if (null == operation.getSeeds()) {
+            return result;
+        }
+
+        final Set<Object> vertices = new LinkedHashSet<>();
+        for (final EntitySeed seed : operation.getSeeds()) {
+            vertices.add(seed.getVertex());
+        }
+
+        // An edge between two seeds is found from both ends, but must only be expanded once.
+        final Set<Edge> visited = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+        final EntitySeed[] reuseableTuple = new EntitySeed[2];
+        final boolean postAggregationFiltering = store.hasTrait(StoreTrait.POST_AGGREGATION_FILTERING);
+        for (final Object vertex : vertices) {
+            addAdjacentSeeds(store.getEdgesBySource(vertex), operation, postAggregationFiltering, vertices, visited, reuseableTuple, result);
+            addAdjacentSeeds(store.getEdgesByDestination(vertex), operation, postAggregationFiltering, vertices, visited, reuseableTuple, result);
+        }
+
+        return result;
+    }
+
+    private void addAdjacentSeeds(final List<Edge> edges, final GetAdjacentEntitySeeds operation,
+                                  final boolean postAggregationFiltering, final Set<Object> vertices, final Set<Edge> visited,
+                                  final EntitySeed[] reuseableTuple, final List<EntitySeed> result) {
+        for (final Edge edge : edges) {
+            if (visited.add(edge) && operation.validateFlags(edge)) {
+                extractOtherEndOfSeededEdge(edge, operation, vertices, reuseableTuple);
+                if ((null != reuseableTuple[0] || null != reuseableTuple[1])
+                        && operation.validatePreAggregationFilter(edge)
+                        && (!postAggregationFiltering || operation.validatePostAggregationFilter(edge))) {
+                    if (null != reuseableTuple[0]) {
+                        result.add(reuseableTuple[0]);
+                    }
+                    if (null != reuseableTuple[1]) {
+                        result.add(reuseableTuple[1]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Extracts the vertex at other end of a seeded edge
+     *
+     * @param edge           the edge to extract the vertex at other end of
+     * @param operation      the operation
+     * @param vertices       the seed vertices
+     * @param reuseableTuple instead of creating an array every time the method is called this array is reused.
+     */
+    private void extractOtherEndOfSeededEdge(final Edge edge,
+                                             final GetAdjacentEntitySeeds operation,
+                                             final Set<Object> vertices,
+                                             final EntitySeed[] reuseableTuple) {
+        reuseableTuple[0] = null;
+        reuseableTuple[1] = null;
+        final boolean matchSource = !edge.isDirected() || !INCOMING.equals(operation.getIncludeIncomingOutGoing());
+        final boolean matchDestination = !edge.isDirected() || !OUTGOING.equals(operation.getIncludeIncomingOutGoing());
+
+        if (matchSource && vertices.contains(edge.getSource())) {
+            reuseableTuple[1] = new EntitySeed(edge.getDestination());
+        }
+
+        if (matchDestination && vertices.contains(edge.getDestination())) {
+            reuseableTuple[0] = new EntitySeed(edge.getSource());
+        }
+
+        // Don't return duplicate results
+        if (reuseableTuple[0] != null && reuseableTuple[1] != null && reuseableTuple[0].equals(reuseableTuple[1])) {
+            reuseableTuple[1] = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore.operation.handler;
+
+import static gaffer.operation.GetOperation.IncludeEdgeType;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.mapstore.MapStore;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreTrait;
+import gaffer.store.operation.handler.OperationHandler;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GetAllElementsHandler implements OperationHandler<GetAllElements<Element>, CloseableIterable<Element>> {
+    @Override
+    public CloseableIterable<Element> doOperation(final GetAllElements<Element> operation,
+                                                  final Context context, final Store store) {
+        return new WrappedCloseableIterable<>(doOperation(operation, (MapStore) store));
+    }
+
+    private List<Element> doOperation(final GetAllElements<Element> operation,
+                                      final MapStore store) {
+        final boolean aggregation = store.hasTrait(StoreTrait.AGGREGATION);
+        final List<Element> result = new ArrayList<>();
+        if (operation.isIncludeEntities()) {
+            for (final List<Entity> entities : store.getAllEntities()) {
+                for (final Entity entity : entities) {
+                    if (operation.validateFlags(entity) && isValid(entity, operation, aggregation)) {
+                        result.add(entity);
+                    }
+                }
+            }
+        }
+        if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
+            for (final List<Edge> edges : store.getAllEdges()) {
+                for (final Edge edge : edges) {
+                    if (operation.validateFlags(edge) && isValid(edge, operation, aggregation)) {
+                        result.add(edge);
+                    }
+                }
+            }
+        }
+
+        return aggregation ? store.summarise(result, operation) : result;
+    }
+
+    private boolean isValid(final Element element, final GetAllElements<Element> operation, final boolean aggregation) {
+        // When aggregating, the post aggregation filter is applied after summarising.
+        return aggregation ? operation.validatePreAggregationFilter(element) : operation.validate(element);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore.operation.handler;
+
+import static gaffer.operation.GetOperation.IncludeEdgeType;
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.mapstore.MapStore;
+import gaffer.operation.GetOperation.SeedMatchingType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.ElementSeed.Matches;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreTrait;
+import gaffer.store.operation.handler.OperationHandler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Handles {@link GetElements} operations by looking the seeds up in the
+ * {@link MapStore} indexes, so the cost is proportional to the number of
+ * related elements rather than the size of the store.
+ */
+public class GetElementsHandler implements OperationHandler<GetElements<ElementSeed, Element>, CloseableIterable<Element>> {
+    @Override
+    public CloseableIterable<Element> doOperation(final GetElements<ElementSeed, Element> operation,
+                                                  final Context context, final Store store)
+            throws OperationException {
+        return new WrappedCloseableIterable<>(doOperation(operation, (MapStore) store));
+    }
+
+    private List<Element> doOperation(final GetElements<ElementSeed, Element> operation, final MapStore store) {
+        if (null == operation.getSeeds()) {
+            return new ArrayList<>();
+        }
+
+        final SeedLookup lookup = new SeedLookup(operation);
+        final boolean related = SeedMatchingType.EQUAL != operation.getSeedMatching();
+        if (operation.isIncludeEntities()) {
+            for (final Object vertex : lookup.vertices) {
+                lookup.addEntities(store.getEntities(vertex));
+            }
+            if (related) {
+                for (final EdgeSeed edgeSeed : lookup.edgeSeeds) {
+                    lookup.addEntities(store.getEntities(edgeSeed.getSource()));
+                    lookup.addEntities(store.getEntities(edgeSeed.getDestination()));
+                }
+            }
+        }
+
+        if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
+            if (related) {
+                for (final Object vertex : lookup.vertices) {
+                    lookup.addRelatedEdges(store.getEdgesBySource(vertex));
+                    lookup.addRelatedEdges(store.getEdgesByDestination(vertex));
+                }
+            }
+            for (final EdgeSeed edgeSeed : lookup.edgeSeeds) {
+                for (final Edge edge : store.getEdgesBySource(edgeSeed.getSource())) {
+                    if (edgeSeed.equals(ElementSeed.createSeed(edge))) {
+                        lookup.addEdge(edge);
+                    }
+                }
+            }
+        }
+
+        if (store.hasTrait(StoreTrait.AGGREGATION)) {
+            return store.summarise(lookup.result, operation);
+        }
+
+        return lookup.result;
+    }
+
+    /**
+     * Holds the seeds of a single operation, split into vertices and
+     * {@link EdgeSeed}s, and collects the matching elements.
+     */
+    private static final class SeedLookup {
+        private final GetElements<ElementSeed, Element> operation;
+        private final Set<Object> vertices = new LinkedHashSet<>();
+        private final Set<EdgeSeed> edgeSeeds = new LinkedHashSet<>();
+        private final List<Element> result = new ArrayList<>();
+
+        // The same element can be reached from more than one seed.
+        private final Set<Element> visited = Collections.newSetFromMap(new IdentityHashMap<Element, Boolean>());
+
+        private SeedLookup(final GetElements<ElementSeed, Element> operation) {
+            this.operation = operation;
+            for (final ElementSeed seed : operation.getSeeds()) {
+                if (seed instanceof EntitySeed) {
+                    vertices.add(((EntitySeed) seed).getVertex());
+                } else {
+                    edgeSeeds.add((EdgeSeed) seed);
+                }
+            }
+        }
+
+        private void addEntities(final List<Entity> entities) {
+            for (final Entity entity : entities) {
+                if (visited.add(entity) && operation.validateFlags(entity) && operation.validatePreAggregationFilter(entity)) {
+                    result.add(entity);
+                }
+            }
+        }
+
+        private void addRelatedEdges(final List<Edge> edges) {
+            for (final Edge edge : edges) {
+                if (!visited.contains(edge) && isSeedRelated(edge)) {
+                    addEdge(edge);
+                }
+            }
+        }
+
+        private void addEdge(final Edge edge) {
+            if (visited.add(edge) && operation.validateFlags(edge) && operation.validatePreAggregationFilter(edge)) {
+                result.add(edge);
+            }
+        }
+
+        private boolean isSeedRelated(final Edge edge) {
+            final Matches seedMatches = getMatches(edge);
+            if (!seedMatches.isMatch()) {
+                return false;
+            }
+
+            if (edge.isDirected()) {
+                final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
+                if (IncludeIncomingOutgoingType.INCOMING == inOutType) {
+                    return seedMatches.isDestination();
+                }
+                if (IncludeIncomingOutgoingType.OUTGOING == inOutType) {
+                    return seedMatches.isSource();
+                }
+            }
+
+            return true;
+        }
+
+        private Matches getMatches(final Edge edge) {
+            final boolean matchesEdgeSeed = !edgeSeeds.isEmpty() && edgeSeeds.contains(ElementSeed.createSeed(edge));
+            final boolean matchesSource = matchesEdgeSeed || vertices.contains(edge.getSource());
+            final boolean matchesDestination = matchesEdgeSeed || vertices.contains(edge.getDestination());
+            if (matchesSource) {
+                if (matchesDestination) {
+                    return Matches.BOTH;
+                }
+                return Matches.SOURCE;
+            }
+
+            if (matchesDestination) {
+                return Matches.DESTINATION;
+            }
+
+            return Matches.NONE;
+        }
+    }
+}
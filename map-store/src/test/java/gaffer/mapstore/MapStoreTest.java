@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.function.simple.aggregate.StringConcat;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.graph.Graph;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreTrait;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.TypeDefinition;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class MapStoreTest {
+    private Graph graph;
+
+    @Before
+    public void setup() throws OperationException {
+        graph = new Graph.Builder()
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .addSchema(StreamUtil.schema(getClass()))
+                .build();
+
+        graph.execute(new AddElements.Builder()
+                .elements(Arrays.<Element>asList(
+                        createEntity(1), createEntity(2), createEntity(3),
+                        createEdge(1, 2, true), createEdge(2, 3, true),
+                        createEdge(3, 1, false), createEdge(2, 2, true)))
+                .build(), new User());
+    }
+
+    @Test
+    public void shouldGetRelatedElementsFromTheIndexes() throws OperationException {
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetRelatedElements.Builder<EntitySeed, Element>()
+                .addSeed(new EntitySeed(1))
+                .build(), new User()));
+
+        // Then
+        assertEquals(new HashSet<Element>(Arrays.asList(createEntity(1), createEdge(1, 2, true), createEdge(3, 1, false))),
+                new HashSet<>(results));
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    public void shouldReturnEachEdgeOnceWhenBothEndsAreSeeds() throws OperationException {
+        // When
+        final List<Edge> results = Lists.newArrayList(graph.execute(new GetRelatedEdges.Builder<EntitySeed>()
+                .addSeed(new EntitySeed(1))
+                .addSeed(new EntitySeed(2))
+                .addSeed(new EntitySeed(2))
+                .build(), new User()));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge(1, 2, true), createEdge(2, 3, true),
+                createEdge(3, 1, false), createEdge(2, 2, true))), new HashSet<>(results));
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    public void shouldOnlyGetOutgoingEdges() throws OperationException {
+        // When
+        final List<Edge> results = Lists.newArrayList(graph.execute(new GetRelatedEdges.Builder<EntitySeed>()
+                .addSeed(new EntitySeed(2))
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .build(), new User()));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge(2, 3, true), createEdge(2, 2, true))), new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldGetEdgesEqualToEdgeSeeds() throws OperationException {
+        // When
+        final List<Edge> results = Lists.newArrayList(graph.execute(new GetEdgesBySeed.Builder()
+                .addSeed(new EdgeSeed(1, 2, true))
+                .addSeed(new EdgeSeed(2, 1, true))
+                .build(), new User()));
+
+        // Then
+        assertEquals(Arrays.asList(createEdge(1, 2, true)), results);
+    }
+
+    @Test
+    public void shouldGetAdjacentEntitySeeds() throws OperationException {
+        // When
+        final CloseableIterable<EntitySeed> results = graph.execute(new GetAdjacentEntitySeeds.Builder()
+                .addSeed(new EntitySeed(1))
+                .addSeed(new EntitySeed(2))
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .build(), new User());
+
+        // Then
+        final List<EntitySeed> resultList = Lists.newArrayList(results);
+        assertEquals(new HashSet<>(Arrays.asList(new EntitySeed(2), new EntitySeed(3))), new HashSet<>(resultList));
+        assertEquals(4, resultList.size());
+    }
+
+    @Test
+    public void shouldGetAllElements() throws OperationException {
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetAllElements<>(), new User()));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEntity(1), createEntity(2), createEntity(3),
+                createEdge(1, 2, true), createEdge(2, 3, true), createEdge(3, 1, false), createEdge(2, 2, true))),
+                new HashSet<>(results));
+        assertEquals(7, results.size());
+    }
+
+    @Test
+    public void shouldAggregateElementsOnInsertWhenAggregationIsEnabled() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setAggregationEnabled(true);
+        final Graph aggregatingGraph = new Graph.Builder()
+                .storeProperties(storeProperties)
+                .addSchema(new Schema.Builder()
+                        .type("id.int", Integer.class)
+                        .type("prop.count", new TypeDefinition.Builder()
+                                .clazz(Long.class)
+                                .aggregateFunction(new Sum())
+                                .build())
+                        .type("prop.string", new TypeDefinition.Builder()
+                                .clazz(String.class)
+                                .aggregateFunction(new StringConcat())
+                                .build())
+                        .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                                .source("id.int")
+                                .destination("id.int")
+                                .property(TestPropertyNames.COUNT, "prop.count")
+                                .property(TestPropertyNames.STRING, "prop.string")
+                                .groupBy(TestPropertyNames.STRING)
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        aggregatingGraph.execute(new AddElements.Builder()
+                .elements(Arrays.<Element>asList(
+                        createCountEdge(1, 2, "a", 1L), createCountEdge(2, 1, "a", 2L), createCountEdge(1, 2, "b", 4L)))
+                .build(), new User());
+        aggregatingGraph.execute(new AddElements.Builder()
+                .elements(Collections.<Element>singletonList(createCountEdge(1, 2, "a", 8L)))
+                .build(), new User());
+
+        // Then
+        assertTrue(aggregatingGraph.hasTrait(StoreTrait.AGGREGATION));
+        final List<Element> results = Lists.newArrayList(aggregatingGraph.execute(new GetAllElements<>(), new User()));
+        assertEquals(new HashSet<>(Arrays.asList(createCountEdge(1, 2, "a", 11L), createCountEdge(1, 2, "b", 4L))),
+                new HashSet<>(results));
+        assertEquals(2, results.size());
+    }
+
+    private Edge createCountEdge(final int source, final int destination, final String groupBy, final long count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, false);
+        edge.putProperty(TestPropertyNames.STRING, groupBy);
+        edge.putProperty(TestPropertyNames.COUNT, count);
+        return edge;
+    }
+
+    private Entity createEntity(final int vertex) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(TestPropertyNames.INT, 1);
+        entity.putProperty(TestPropertyNames.STRING, "entity" + vertex);
+        return entity;
+    }
+
+    private Edge createEdge(final int source, final int destination, final boolean directed) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, directed);
+        edge.putProperty(TestPropertyNames.INT, 1);
+        edge.putProperty(TestPropertyNames.STRING, "edge" + source + destination);
+        return edge;
+    }
+}
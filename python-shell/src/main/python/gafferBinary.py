@@ -0,0 +1,196 @@
+#
+# Copyright 2016 Crown Copyright
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+"""
+This module reads the compact binary format that the Gaffer REST API returns
+elements and element seeds in when the 'application/x-gaffer-elements' media
+type is accepted. See gaffer.rest.serialisation.ElementBinarySerialiser.
+"""
+
+import struct
+
+import gaffer as g
+
+MEDIA_TYPE = 'application/x-gaffer-elements'
+
+_MAGIC = b'GAF\x01'
+_END = 0
+_GROUP = 1
+_ENTITY = 2
+_EDGE = 3
+_ENTITY_SEED = 4
+_EDGE_SEED = 5
+
+_SERIALISER_PACKAGE = 'gaffer.serialisation.implementation.'
+
+
+def _read_compact_long(data):
+    return _read_number(_BytesReader(data))
+
+
+def _read_tree_set_string(data):
+    value = data.decode('utf-8')[1:-1]
+    return [item for item in value.split('\\,') if item != '']
+
+
+# Decoders for the serialisers provided by Gaffer. Values serialised with any
+# other serialiser are returned as bytes.
+DECODERS = {
+    _SERIALISER_PACKAGE + 'StringSerialiser':
+        lambda data: data.decode('utf-8'),
+    _SERIALISER_PACKAGE + 'BooleanSerialiser':
+        lambda data: len(data) == 1 and data[0] == 1,
+    _SERIALISER_PACKAGE + 'TreeSetStringSerialiser': _read_tree_set_string,
+    _SERIALISER_PACKAGE + 'raw.RawLongSerialiser':
+        lambda data: struct.unpack('<q', data)[0],
+    _SERIALISER_PACKAGE + 'raw.RawIntegerSerialiser':
+        lambda data: struct.unpack('<i', data)[0],
+    _SERIALISER_PACKAGE + 'raw.RawDoubleSerialiser':
+        lambda data: struct.unpack('<d', data)[0],
+    _SERIALISER_PACKAGE + 'raw.RawFloatSerialiser':
+        lambda data: struct.unpack('<f', data)[0],
+    _SERIALISER_PACKAGE + 'raw.RawDateSerialiser':
+        lambda data: struct.unpack('>q', data)[0],
+    _SERIALISER_PACKAGE + 'raw.CompactRawLongSerialiser': _read_compact_long,
+    _SERIALISER_PACKAGE + 'raw.CompactRawIntegerSerialiser': _read_compact_long
+}
+
+
+def deserialise(stream):
+    """
+    Reads all of the elements and element seeds from a binary stream, such as
+    a http response, and returns them as a list of gaffer.Entity, gaffer.Edge,
+    gaffer.EntitySeed and gaffer.EdgeSeed objects.
+    """
+    reader = _StreamReader(stream)
+    if reader.read_fully(len(_MAGIC)) != _MAGIC:
+        raise ValueError('The stream does not start with the expected header')
+
+    vertex_decoder = _get_decoder(_read_string(reader))
+    groups = {}
+    items = []
+    while True:
+        record_type = reader.read_byte()
+        if record_type == _END:
+            return items
+        elif record_type == _GROUP:
+            group_id = _read_number(reader)
+            group = _read_string(reader)
+            properties = []
+            for i in range(_read_number(reader)):
+                properties.append((_read_string(reader),
+                                   _get_decoder(_read_string(reader))))
+            groups[group_id] = (group, properties)
+        elif record_type == _ENTITY:
+            group, properties = groups[_read_number(reader)]
+            vertex = vertex_decoder(_read_bytes(reader))
+            items.append(g.Entity(group, vertex,
+                                  _read_properties(reader, properties)))
+        elif record_type == _EDGE:
+            group, properties = groups[_read_number(reader)]
+            source = vertex_decoder(_read_bytes(reader))
+            destination = vertex_decoder(_read_bytes(reader))
+            directed = reader.read_byte() == 1
+            items.append(g.Edge(group, source, destination, directed,
+                                _read_properties(reader, properties)))
+        elif record_type == _ENTITY_SEED:
+            items.append(g.EntitySeed(vertex_decoder(_read_bytes(reader))))
+        elif record_type == _EDGE_SEED:
+            source = vertex_decoder(_read_bytes(reader))
+            destination = vertex_decoder(_read_bytes(reader))
+            directed = reader.read_byte() == 1
+            items.append(g.EdgeSeed(source, destination, directed))
+        else:
+            raise ValueError('Unknown record type: ' + str(record_type))
+
+
+def _get_decoder(serialiser_class):
+    return DECODERS.get(serialiser_class, lambda data: data)
+
+
+def _read_properties(reader, properties):
+    values = {}
+    for name, decoder in properties:
+        length = _read_number(reader)
+        if length > 0:
+            values[name] = decoder(reader.read_fully(length - 1))
+    return values
+
+
+def _read_string(reader):
+    return _read_bytes(reader).decode('utf-8')
+
+
+def _read_bytes(reader):
+    return reader.read_fully(_read_number(reader))
+
+
+def _read_number(reader):
+    """
+    Reads a number written by
+    gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils
+    """
+    first_byte = _to_signed(reader.read_byte())
+    if first_byte >= -112:
+        return first_byte
+
+    if first_byte < -120:
+        size = -119 - first_byte
+    else:
+        size = -111 - first_byte
+
+    value = 0
+    for i in range(size - 1):
+        value = (value << 8) | reader.read_byte()
+
+    if first_byte < -120:
+        return ~value
+    return value
+
+
+def _to_signed(byte):
+    return byte - 256 if byte > 127 else byte
+
+
+class _StreamReader:
+    def __init__(self, stream):
+        self._stream = stream
+
+    def read_byte(self):
+        return self.read_fully(1)[0]
+
+    def read_fully(self, length):
+        data = b''
+        while len(data) < length:
+            chunk = self._stream.read(length - len(data))
+            if not chunk:
+                raise EOFError('The stream ended before the end marker')
+            data += chunk
+        return data
+
+
+class _BytesReader(_StreamReader):
+    def __init__(self, data):
+        super().__init__(None)
+        self._data = data
+        self._offset = 0
+
+    def read_fully(self, length):
+        if self._offset + length > len(self._data):
+            raise EOFError('Not enough bytes to read')
+        data = self._data[self._offset:self._offset + length]
+        self._offset += length
+        return data
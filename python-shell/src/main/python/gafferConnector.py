@@ -23,6 +23,7 @@ import urllib.request
 import urllib.error
 
 import gaffer as g
+import gafferBinary
 
 
 class GafferConnector:
@@ -31,15 +32,20 @@ class GafferConnector:
     This class is initialised with a host to connect to.
     """
 
-    def __init__(self, host, verbose=False):
+    def __init__(self, host, verbose=False, binary=False):
         """
         This initialiser sets up a connection to the specified Gaffer server.
 
         The host (and port) of the Gaffer server, should be in the form,
         'hostname:1234/service-name/version'
+
+        If binary is True, results containing elements or element seeds are
+        fetched in Gaffer's compact binary format rather than JSON, which is
+        much faster for large results.
         """
         self._host = host
         self._verbose = verbose
+        self._binary = binary
 
         # Create the opener
         self._opener = urllib.request.build_opener(
@@ -72,9 +78,12 @@ class GafferConnector:
 
         # Convert the query dictionary into JSON and post the query to Gaffer
         json_body = bytes(json.dumps(operation_chain.toJson()), 'ascii')
+        headers = {'Content-Type': 'application/json;charset=utf-8'}
+        if self._binary:
+            headers['Accept'] = gafferBinary.MEDIA_TYPE + \
+                                ', application/json;q=0.9'
         request = urllib.request.Request(url,
-                                         headers={
-                                             'Content-Type': 'application/json;charset=utf-8'},
+                                         headers=headers,
                                          data=json_body)
 
         try:
@@ -84,6 +93,14 @@ class GafferConnector:
             new_error_string = 'HTTP error ' + str(
                 error.code) + ' ' + error.reason + ': ' + error_body
             raise ConnectionError(new_error_string)
+
+        content_type = response.headers.get('Content-Type', '')
+        if content_type.startswith(gafferBinary.MEDIA_TYPE):
+            result = gafferBinary.deserialise(response)
+            if self._verbose:
+                print('Query response: ' + str(result))
+            return result
+
         response_text = response.read().decode('utf-8')
 
         if self._verbose:
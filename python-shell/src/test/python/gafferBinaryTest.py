@@ -0,0 +1,140 @@
+#
+# Copyright 2016 Crown Copyright
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+"""
+Tests reading the binary format written by
+gaffer.rest.serialisation.ElementBinarySerialiser
+"""
+
+import io
+import os
+import struct
+import sys
+import unittest
+
+sys.path.insert(0, os.path.join(os.path.dirname(__file__), '..', '..', 'main',
+                                'python'))
+
+import gafferBinary
+
+_PACKAGE = 'gaffer.serialisation.implementation.'
+_STRING_SERIALISER = _PACKAGE + 'StringSerialiser'
+_LONG_SERIALISER = _PACKAGE + 'raw.CompactRawLongSerialiser'
+
+
+def _number(value):
+    """
+    Writes a number in the same way as CompactRawSerialisationUtils
+    """
+    if -112 <= value <= 127:
+        return struct.pack('b', value)
+
+    length = -112
+    if value < 0:
+        value = ~value
+        length = -120
+    tmp = value
+    while tmp != 0:
+        tmp >>= 8
+        length -= 1
+    size = -(length + 120) if length < -120 else -(length + 112)
+    return struct.pack('b', length) + value.to_bytes(size, 'big')
+
+
+def _bytes(data):
+    return _number(len(data)) + data
+
+
+def _string(value):
+    return _bytes(value.encode('utf-8'))
+
+
+def _property(data):
+    return _number(len(data) + 1) + data
+
+
+def _header():
+    return b'GAF\x01' + _string(_STRING_SERIALISER)
+
+
+def _group(group_id, group, properties):
+    data = bytes([1]) + _number(group_id) + _string(group) + \
+           _number(len(properties))
+    for name, serialiser in properties:
+        data += _string(name) + _string(serialiser)
+    return data
+
+
+class GafferBinaryTest(unittest.TestCase):
+    maxDiff = None
+
+    def test_reads_elements_and_seeds(self):
+        data = _header() \
+               + _group(0, 'BasicEntity', [('name', _STRING_SERIALISER),
+                                           ('count', _LONG_SERIALISER)]) \
+               + bytes([2]) + _number(0) + _string('vertex1') \
+               + _property(b'name1') + _property(_number(300)) \
+               + _group(1, 'BasicEdge', [('count', _LONG_SERIALISER)]) \
+               + bytes([3]) + _number(1) + _string('vertex1') \
+               + _string('vertex2') + bytes([1]) + _property(_number(-300)) \
+               + bytes([2]) + _number(0) + _string('vertex2') \
+               + _number(0) + _number(0) \
+               + bytes([4]) + _string('vertex3') \
+               + bytes([5]) + _string('vertex1') + _string('vertex3') \
+               + bytes([0]) \
+               + bytes([0])
+
+        items = gafferBinary.deserialise(io.BytesIO(data))
+
+        self.assertEqual([
+            {'class': 'gaffer.data.element.Entity', 'group': 'BasicEntity',
+             'vertex': 'vertex1',
+             'properties': {'name': 'name1', 'count': 300}},
+            {'class': 'gaffer.data.element.Edge', 'group': 'BasicEdge',
+             'source': 'vertex1', 'destination': 'vertex2', 'directed': True,
+             'properties': {'count': -300}},
+            {'class': 'gaffer.data.element.Entity', 'group': 'BasicEntity',
+             'vertex': 'vertex2', 'properties': {}},
+            {'gaffer.operation.data.EntitySeed': {'vertex': 'vertex3'}},
+            {'gaffer.operation.data.EdgeSeed': {
+                'source': 'vertex1', 'destination': 'vertex3',
+                'directed': False}}
+        ], [item.toJson() for item in items])
+
+    def test_returns_bytes_for_unknown_serialisers(self):
+        data = _header() \
+               + _group(0, 'BasicEntity', [('other', 'my.OtherSerialiser')]) \
+               + bytes([2]) + _number(0) + _string('vertex1') \
+               + _property(b'\x01\x02') \
+               + bytes([0])
+
+        items = gafferBinary.deserialise(io.BytesIO(data))
+
+        self.assertEqual({'other': b'\x01\x02'}, items[0].properties)
+
+    def test_raises_error_when_header_is_wrong(self):
+        with self.assertRaises(ValueError):
+            gafferBinary.deserialise(io.BytesIO(b'JSON' + bytes([0])))
+
+    def test_raises_error_when_stream_is_truncated(self):
+        data = _header() + bytes([4]) + _string('vertex1')
+
+        with self.assertRaises(EOFError):
+            gafferBinary.deserialise(io.BytesIO(data))
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -18,6 +18,7 @@ package gaffer.rest;
 
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.graph.Graph;
+import gaffer.graph.hook.MetricsHook;
 import gaffer.graph.hook.OperationAuthoriser;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -86,6 +87,10 @@ public class GraphFactory {
         if (null != opAuthoriser) {
             builder.addHook(opAuthoriser);
         }
+
+        if (Boolean.parseBoolean(System.getProperty(SystemProperty.METRICS_ENABLED, SystemProperty.METRICS_ENABLED_DEFAULT))) {
+            builder.addHook(new MetricsHook());
+        }
         return builder;
     }
 
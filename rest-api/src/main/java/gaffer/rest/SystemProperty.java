@@ -29,6 +29,11 @@ public abstract class SystemProperty {
     public static final String SERVICES_PACKAGE_PREFIX = "gaffer.rest-api.resourcePackage";
     public static final String PACKAGE_PREFIXES = "gaffer.package.prefixes";
     public static final String OP_AUTHS_PATH = "gaffer.operation.auths.path";
+    public static final String JOB_THREADS = "gaffer.rest-api.jobs.threads";
+    public static final String JOB_QUEUE_SIZE = "gaffer.rest-api.jobs.queueSize";
+    public static final String JOB_MAX_RESULTS = "gaffer.rest-api.jobs.maxResults";
+    public static final String JOB_MAX_RETAINED = "gaffer.rest-api.jobs.maxRetained";
+    public static final String METRICS_ENABLED = "gaffer.rest-api.metrics.enabled";
 
     // DEFAULTS
     /**
@@ -39,4 +44,9 @@ public abstract class SystemProperty {
     public static final String BASE_URL_DEFAULT = "rest/v1";
     public static final String CORE_VERSION = "1.0.0";
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = GraphFactory.class.getName();
+    public static final String JOB_THREADS_DEFAULT = "5";
+    public static final String JOB_QUEUE_SIZE_DEFAULT = "50";
+    public static final String JOB_MAX_RESULTS_DEFAULT = "100000";
+    public static final String JOB_MAX_RETAINED_DEFAULT = "100";
+    public static final String METRICS_ENABLED_DEFAULT = "true";
 }
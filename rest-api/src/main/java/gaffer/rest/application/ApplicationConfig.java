@@ -17,9 +17,11 @@
 package gaffer.rest.application;
 
 import gaffer.rest.SystemProperty;
+import gaffer.rest.serialisation.ElementBinaryProvider;
 import gaffer.rest.serialisation.RestJsonProvider;
 import gaffer.rest.service.SimpleExamplesService;
 import gaffer.rest.service.SimpleGraphConfigurationService;
+import gaffer.rest.service.SimpleJobService;
 import gaffer.rest.service.SimpleOperationService;
 import gaffer.rest.service.StatusService;
 import io.swagger.jaxrs.config.BeanConfig;
@@ -57,6 +59,7 @@ public class ApplicationConfig extends Application {
     protected void addServices() {
         resources.add(StatusService.class);
         resources.add(SimpleOperationService.class);
+        resources.add(SimpleJobService.class);
         resources.add(SimpleGraphConfigurationService.class);
         resources.add(SimpleExamplesService.class);
     }
@@ -65,6 +68,7 @@ public class ApplicationConfig extends Application {
         resources.add(ApiListingResource.class);
         resources.add(SwaggerSerializers.class);
         resources.add(RestJsonProvider.class);
+        resources.add(ElementBinaryProvider.class);
     }
 
     @Override
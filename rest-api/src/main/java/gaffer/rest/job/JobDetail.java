@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.job;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * A <code>JobDetail</code> is a snapshot of the state of a job, returned when
+ * a job is submitted and when its status is polled.
+ */
+public class JobDetail {
+    @ApiModelProperty
+    private String jobId;
+    @ApiModelProperty
+    private String userId;
+    @ApiModelProperty
+    private String description;
+    @ApiModelProperty
+    private JobStatus status;
+    @ApiModelProperty
+    private Long submittedTime;
+    @ApiModelProperty
+    private Long startTime;
+    @ApiModelProperty
+    private Long endTime;
+    @ApiModelProperty
+    private int resultCount;
+    @ApiModelProperty
+    private boolean truncated;
+    @ApiModelProperty
+    private String error;
+
+    public JobDetail() {
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(final String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(final String userId) {
+        this.userId = userId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(final String description) {
+        this.description = description;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(final JobStatus status) {
+        this.status = status;
+    }
+
+    public Long getSubmittedTime() {
+        return submittedTime;
+    }
+
+    public void setSubmittedTime(final Long submittedTime) {
+        this.submittedTime = submittedTime;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(final Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(final Long endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return the number of results held for the job. Whilst the job is
+     * running this is the number of results retrieved so far.
+     */
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    public void setResultCount(final int resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    /**
+     * @return true if the job produced more results than the job manager is
+     * configured to hold, in which case only the first results are available.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(final boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(final String error) {
+        this.error = error;
+    }
+}
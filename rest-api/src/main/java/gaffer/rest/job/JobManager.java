@@ -0,0 +1,378 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.job;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.rest.SystemProperty;
+import gaffer.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A <code>JobManager</code> runs long running tasks, such as operation chains,
+ * in the background on a bounded pool of threads and holds on to their
+ * results so they can be fetched a page at a time.
+ * <p>
+ * The number of threads and the number of jobs that can be queued waiting for
+ * a thread are fixed - once the queue is full new jobs are rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException}. Only the first maxResults results of a
+ * job are held, and once more than maxRetainedJobs jobs are held the oldest
+ * completed jobs, along with their results, are discarded.
+ * </p>
+ * <p>
+ * Jobs are only visible to the user that submitted them.
+ * </p>
+ */
+public class JobManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobManager.class);
+    private static JobManager instance;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxResults;
+    private final int maxRetainedJobs;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public JobManager(final int threads, final int queueSize, final int maxResults, final int maxRetainedJobs) {
+        if (threads < 1 || queueSize < 1 || maxResults < 0 || maxRetainedJobs < 1) {
+            throw new IllegalArgumentException("The job threads, queue size and max retained jobs must be positive and max results must not be negative");
+        }
+
+        this.maxResults = maxResults;
+        this.maxRetainedJobs = maxRetainedJobs;
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new JobThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the shared job manager, creating it from the job system properties
+     * the first time it is requested.
+     *
+     * @return the shared job manager
+     */
+    public static synchronized JobManager getInstance() {
+        if (null == instance) {
+            instance = new JobManager(
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_THREADS, SystemProperty.JOB_THREADS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_QUEUE_SIZE, SystemProperty.JOB_QUEUE_SIZE_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_MAX_RESULTS, SystemProperty.JOB_MAX_RESULTS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_MAX_RETAINED, SystemProperty.JOB_MAX_RETAINED_DEFAULT)));
+        }
+
+        return instance;
+    }
+
+    /**
+     * Submits a task to be run in the background. If the task returns an
+     * {@link Iterable} the items are held as the results of the job, otherwise
+     * the returned object is held as the only result.
+     *
+     * @param user        the user submitting the job
+     * @param description a short description of the job
+     * @param task        the task to run
+     * @return the details of the new job
+     * @throws java.util.concurrent.RejectedExecutionException if the job queue is full
+     */
+    public JobDetail submit(final User user, final String description, final Callable<?> task) {
+        final Job job = new Job(UUID.randomUUID().toString(), user.getUserId(), description);
+        job.setFuture(executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                runJob(job, task);
+            }
+        }));
+
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+            evictCompletedJobs();
+        }
+
+        return job.toDetail();
+    }
+
+    /**
+     * @param jobId the job id
+     * @param user  the user requesting the job
+     * @return the details of the job, or null if the job does not exist or
+     * was not submitted by the user.
+     */
+    public JobDetail getJob(final String jobId, final User user) {
+        final Job job = getUserJob(jobId, user);
+        return null != job ? job.toDetail() : null;
+    }
+
+    /**
+     * @param user the user requesting the jobs
+     * @return the details of all the jobs held for the user.
+     */
+    public List<JobDetail> getJobs(final User user) {
+        final List<JobDetail> details = new ArrayList<>();
+        synchronized (jobs) {
+            for (final Job job : jobs.values()) {
+                if (job.getUserId().equals(user.getUserId())) {
+                    details.add(job.toDetail());
+                }
+            }
+        }
+
+        return details;
+    }
+
+    /**
+     * Gets a page of the results of a job. Results can be fetched whilst the
+     * job is still running.
+     *
+     * @param jobId  the job id
+     * @param user   the user requesting the results
+     * @param offset the index of the first result to return
+     * @param limit  the maximum number of results to return
+     * @return the page of results, or null if the job does not exist or was
+     * not submitted by the user.
+     */
+    public JobResults getResults(final String jobId, final User user, final int offset, final int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("The offset and limit must not be negative");
+        }
+
+        final Job job = getUserJob(jobId, user);
+        return null != job ? job.getResults(offset, limit) : null;
+    }
+
+    /**
+     * Cancels a job. Any results retrieved before the job was cancelled are
+     * still available.
+     *
+     * @param jobId the job id
+     * @param user  the user cancelling the job
+     * @return the details of the job, or null if the job does not exist or
+     * was not submitted by the user.
+     */
+    public JobDetail cancel(final String jobId, final User user) {
+        final Job job = getUserJob(jobId, user);
+        if (null == job) {
+            return null;
+        }
+
+        job.cancel();
+        executor.purge();
+        return job.toDetail();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Job getUserJob(final String jobId, final User user) {
+        final Job job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+
+        return null != job && job.getUserId().equals(user.getUserId()) ? job : null;
+    }
+
+    private void evictCompletedJobs() {
+        final Iterator<Job> itr = jobs.values().iterator();
+        while (jobs.size() > maxRetainedJobs && itr.hasNext()) {
+            if (itr.next().getStatus().isComplete()) {
+                itr.remove();
+            }
+        }
+    }
+
+    private void runJob(final Job job, final Callable<?> task) {
+        if (!job.start()) {
+            return;
+        }
+
+        try {
+            final Object result = task.call();
+            if (result instanceof Iterable) {
+                addResults(job, (Iterable<?>) result);
+            } else if (null != result) {
+                job.addResult(result);
+            }
+            job.finish(null);
+        } catch (final Exception e) {
+            if (JobStatus.CANCELLED != job.getStatus()) {
+                LOGGER.error("Error running job " + job.getJobId(), e);
+            }
+            job.finish(e);
+        }
+    }
+
+    private void addResults(final Job job, final Iterable<?> results) {
+        try {
+            for (final Object result : results) {
+                if (Thread.currentThread().isInterrupted() || job.getStatus().isComplete()) {
+                    break;
+                }
+
+                if (job.getResultCount() >= maxResults) {
+                    job.setTruncated();
+                    break;
+                }
+
+                job.addResult(result);
+            }
+        } finally {
+            if (results instanceof CloseableIterable) {
+                ((CloseableIterable) results).close();
+            }
+        }
+    }
+
+    private static final class Job {
+        private final String jobId;
+        private final String userId;
+        private final String description;
+        private final long submittedTime = System.currentTimeMillis();
+        private final List<Object> results = new ArrayList<>();
+        private JobStatus status = JobStatus.QUEUED;
+        private Long startTime;
+        private Long endTime;
+        private boolean truncated;
+        private String error;
+        private Future<?> future;
+
+        private Job(final String jobId, final String userId, final String description) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.description = description;
+        }
+
+        private String getJobId() {
+            return jobId;
+        }
+
+        private String getUserId() {
+            return userId;
+        }
+
+        private synchronized JobStatus getStatus() {
+            return status;
+        }
+
+        private synchronized int getResultCount() {
+            return results.size();
+        }
+
+        private synchronized void setFuture(final Future<?> future) {
+            this.future = future;
+            if (JobStatus.CANCELLED == status) {
+                future.cancel(true);
+            }
+        }
+
+        private synchronized boolean start() {
+            if (JobStatus.QUEUED != status) {
+                return false;
+            }
+
+            status = JobStatus.RUNNING;
+            startTime = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void addResult(final Object result) {
+            results.add(result);
+        }
+
+        private synchronized void setTruncated() {
+            truncated = true;
+        }
+
+        private synchronized void finish(final Exception e) {
+            if (status.isComplete()) {
+                return;
+            }
+
+            if (null == e) {
+                status = JobStatus.FINISHED;
+            } else {
+                status = JobStatus.FAILED;
+                error = e.getMessage();
+            }
+            endTime = System.currentTimeMillis();
+        }
+
+        private synchronized void cancel() {
+            if (status.isComplete()) {
+                return;
+            }
+
+            status = JobStatus.CANCELLED;
+            endTime = System.currentTimeMillis();
+            if (null != future) {
+                future.cancel(true);
+            }
+        }
+
+        private synchronized JobResults getResults(final int offset, final int limit) {
+            final int from = Math.min(offset, results.size());
+            final int to = (int) Math.min((long) from + limit, results.size());
+
+            final JobResults page = new JobResults();
+            page.setJobId(jobId);
+            page.setStatus(status);
+            page.setOffset(offset);
+            page.setResultCount(results.size());
+            page.setTruncated(truncated);
+            page.setResults(Collections.unmodifiableList(new ArrayList<>(results.subList(from, to))));
+            return page;
+        }
+
+        private synchronized JobDetail toDetail() {
+            final JobDetail detail = new JobDetail();
+            detail.setJobId(jobId);
+            detail.setUserId(userId);
+            detail.setDescription(description);
+            detail.setStatus(status);
+            detail.setSubmittedTime(submittedTime);
+            detail.setStartTime(startTime);
+            detail.setEndTime(endTime);
+            detail.setResultCount(results.size());
+            detail.setTruncated(truncated);
+            detail.setError(error);
+            return detail;
+        }
+    }
+
+    private static final class JobThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "gaffer-rest-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
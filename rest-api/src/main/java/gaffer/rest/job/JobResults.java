@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.job;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+/**
+ * A <code>JobResults</code> is a single page of the results of a job.
+ */
+public class JobResults {
+    @ApiModelProperty
+    private String jobId;
+    @ApiModelProperty
+    private JobStatus status;
+    @ApiModelProperty
+    private int offset;
+    @ApiModelProperty
+    private int resultCount;
+    @ApiModelProperty
+    private boolean truncated;
+    @ApiModelProperty
+    private List<Object> results;
+
+    public JobResults() {
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(final String jobId) {
+        this.jobId = jobId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(final JobStatus status) {
+        this.status = status;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(final int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return the total number of results held for the job when this page
+     * was fetched.
+     */
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    public void setResultCount(final int resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(final boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<Object> getResults() {
+        return results;
+    }
+
+    public void setResults(final List<Object> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.ElementSeed;
+import gaffer.rest.GraphFactory;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An <code>ElementBinaryProvider</code> writes results containing
+ * {@link gaffer.data.element.Element}s and element seeds using the compact
+ * binary format of the {@link ElementBinarySerialiser}. It is used when a
+ * client accepts the {@link #APPLICATION_GAFFER_ELEMENTS} media type.
+ * <p>
+ * Like the {@link RestJsonProvider}, results are streamed to the client and the
+ * response is flushed after the first item and then every
+ * {@link RestJsonProvider#STREAM_FLUSH_INTERVAL} items. Any
+ * {@link CloseableIterable} is closed when the response is complete or the
+ * client disconnects.
+ * </p>
+ * <p>
+ * Only results declared as an {@link Iterable} of {@link Element}s or
+ * {@link ElementSeed}s are written, so unsupported results are rejected before
+ * the response is started rather than failing part way through the stream.
+ * The results of an operation chain are declared with the output type of the
+ * chain's last operation, see {@link #declareOutputType(Object, OperationChain)}.
+ * Results whose item type cannot be resolved are not written by this provider.
+ * </p>
+ */
+@Provider
+@Produces(ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS)
+public class ElementBinaryProvider implements MessageBodyWriter<Iterable<?>> {
+    public static final String APPLICATION_GAFFER_ELEMENTS = "application/x-gaffer-elements";
+    public static final MediaType APPLICATION_GAFFER_ELEMENTS_TYPE = MediaType.valueOf(APPLICATION_GAFFER_ELEMENTS);
+
+    private final GraphFactory graphFactory;
+
+    public ElementBinaryProvider() {
+        this(GraphFactory.createGraphFactory());
+    }
+
+    public ElementBinaryProvider(final GraphFactory graphFactory) {
+        this.graphFactory = graphFactory;
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        if (!Iterable.class.isAssignableFrom(type)) {
+            return false;
+        }
+
+        final Class<?> itemClass = getItemClass(genericType);
+        return null != itemClass
+                && (Element.class.isAssignableFrom(itemClass) || ElementSeed.class.isAssignableFrom(itemClass));
+    }
+
+    @Override
+    public long getSize(final Iterable<?> items, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Iterable<?> items, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        try {
+            final ElementBinarySerialiser serialiser = new ElementBinarySerialiser(graphFactory.getGraph().getSchema());
+            serialiser.writeHeader(entityStream);
+            int count = 0;
+            for (final Object item : items) {
+                serialiser.write(item, entityStream);
+                if (count++ % RestJsonProvider.STREAM_FLUSH_INTERVAL == 0) {
+                    entityStream.flush();
+                }
+            }
+            serialiser.writeEnd(entityStream);
+            entityStream.flush();
+        } finally {
+            if (items instanceof CloseableIterable) {
+                ((CloseableIterable) items).close();
+            }
+        }
+    }
+
+    /**
+     * Declares the output type of the last operation in a chain on the chain's
+     * result. The results of operation chains are returned as an
+     * {@link Object}, so without this their item type is unknown and they
+     * could not be written by this provider.
+     *
+     * @param result  the result of executing the operation chain
+     * @param opChain the operation chain
+     * @return the result wrapped in a {@link GenericEntity} of the last
+     * operation's output type, or the result if the type cannot be resolved.
+     */
+    public static Object declareOutputType(final Object result, final OperationChain<?> opChain) {
+        if (null == result || null == opChain.getOperations() || opChain.getOperations().isEmpty()) {
+            return result;
+        }
+
+        final Operation<?, ?> lastOperation = opChain.getOperations().get(opChain.getOperations().size() - 1);
+        final Type outputType = getTypeArgument(lastOperation.getClass(), Operation.class, 1,
+                Collections.<TypeVariable<?>, Type>emptyMap());
+        final Class<?> outputClass;
+        if (outputType instanceof Class) {
+            outputClass = (Class<?>) outputType;
+        } else if (outputType instanceof ParameterizedType
+                && ((ParameterizedType) outputType).getRawType() instanceof Class) {
+            outputClass = (Class<?>) ((ParameterizedType) outputType).getRawType();
+        } else {
+            return result;
+        }
+
+        return outputClass.isInstance(result) ? new GenericEntity<>(result, outputType) : result;
+    }
+
+    private static Class<?> getItemClass(final Type iterableType) {
+        Type itemType = getTypeArgument(iterableType, Iterable.class, 0, Collections.<TypeVariable<?>, Type>emptyMap());
+        if (itemType instanceof WildcardType) {
+            itemType = ((WildcardType) itemType).getUpperBounds()[0];
+        } else if (itemType instanceof TypeVariable) {
+            // An unresolved type variable, such as the element type of an operation, may be any subclass of its bound
+            itemType = ((TypeVariable<?>) itemType).getBounds()[0];
+        }
+        return itemType instanceof Class ? (Class<?>) itemType : null;
+    }
+
+    /**
+     * Finds a type argument of the target class for the given type, resolving
+     * type variables declared by the type's subclasses and sub-interfaces.
+     *
+     * @param type     the type to resolve
+     * @param target   the generic class or interface to find the type argument of
+     * @param index    the index of the type argument
+     * @param bindings the resolved type variables of the type
+     * @return the type argument, which may be an unresolved type variable, or
+     * null if the type is not a parameterised subtype of the target
+     */
+    private static Type getTypeArgument(final Type type, final Class<?> target, final int index,
+                                       final Map<TypeVariable<?>, Type> bindings) {
+        final Class<?> rawType;
+        final Map<TypeVariable<?>, Type> typeBindings;
+        if (type instanceof Class) {
+            rawType = (Class<?>) type;
+            typeBindings = Collections.emptyMap();
+        } else if (type instanceof ParameterizedType
+                && ((ParameterizedType) type).getRawType() instanceof Class) {
+            rawType = (Class<?>) ((ParameterizedType) type).getRawType();
+            final TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+            final Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            typeBindings = new HashMap<>();
+            for (int i = 0; i < typeParameters.length; i++) {
+                final Type typeArgument = bindings.get(typeArguments[i]);
+                typeBindings.put(typeParameters[i], null != typeArgument ? typeArgument : typeArguments[i]);
+            }
+        } else {
+            return null;
+        }
+
+        if (target.equals(rawType)) {
+            return typeBindings.get(target.getTypeParameters()[index]);
+        }
+
+        if (!target.isAssignableFrom(rawType)) {
+            return null;
+        }
+
+        for (final Type superInterface : rawType.getGenericInterfaces()) {
+            final Type typeArgument = getTypeArgument(superInterface, target, index, typeBindings);
+            if (null != typeArgument) {
+                return typeArgument;
+            }
+        }
+
+        return getTypeArgument(rawType.getGenericSuperclass(), target, index, typeBindings);
+    }
+}
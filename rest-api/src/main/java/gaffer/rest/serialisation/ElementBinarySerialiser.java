@@ -0,0 +1,413 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An <code>ElementBinarySerialiser</code> serialises streams of {@link Element}s,
+ * {@link EntitySeed}s and {@link EdgeSeed}s into a compact binary format using
+ * the {@link Serialisation}s defined in the {@link Schema}, and back again.
+ * <p>
+ * The stream starts with the bytes "GAF" and version 1, followed by the class name
+ * of the vertex serialiser. It is then made up of records, each starting with
+ * a record type byte:
+ * </p>
+ * <ul>
+ * <li>{@link #GROUP} - group id, group name, number of properties then the
+ * name and serialiser class name of each property. Written the first time
+ * an element of the group is written.</li>
+ * <li>{@link #ENTITY} - group id, vertex, property values.</li>
+ * <li>{@link #EDGE} - group id, source, destination, directed byte, property
+ * values.</li>
+ * <li>{@link #ENTITY_SEED} - vertex.</li>
+ * <li>{@link #EDGE_SEED} - source, destination, directed byte.</li>
+ * <li>{@link #END} - marks the end of the stream, so truncated streams can be
+ * detected.</li>
+ * </ul>
+ * <p>
+ * Numbers are written using {@link CompactRawSerialisationUtils}. Strings are
+ * written as a length followed by UTF-8 bytes. Vertices are written as a length
+ * followed by the bytes from the vertex serialiser. Property values are written
+ * in the order given in the group record, each as the length plus one followed by
+ * the bytes from the property serialiser - a length of 0 means the property is
+ * not set. Properties that are not in the schema, such as transient properties,
+ * are not written.
+ * </p>
+ */
+public class ElementBinarySerialiser {
+    private static final byte[] MAGIC = {'G', 'A', 'F', 1};
+    public static final byte END = 0;
+    public static final byte GROUP = 1;
+    public static final byte ENTITY = 2;
+    public static final byte EDGE = 3;
+    public static final byte ENTITY_SEED = 4;
+    public static final byte EDGE_SEED = 5;
+
+    private final Schema schema;
+    private final Map<String, GroupDefinition> groups = new HashMap<>();
+
+    public ElementBinarySerialiser(final Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Writes the header of the stream.
+     *
+     * @param output the stream to write to
+     * @throws IOException if the header could not be written
+     */
+    public void writeHeader(final OutputStream output) throws IOException {
+        if (null == schema.getVertexSerialiser()) {
+            throw new SerialisationException("The schema does not have a vertex serialiser");
+        }
+
+        output.write(MAGIC);
+        writeString(schema.getVertexSerialiser().getClass().getName(), output);
+    }
+
+    /**
+     * Writes a single record to the stream.
+     *
+     * @param item   the {@link Element}, {@link EntitySeed} or {@link EdgeSeed} to write
+     * @param output the stream to write to
+     * @throws IOException if the item could not be serialised or written
+     */
+    public void write(final Object item, final OutputStream output) throws IOException {
+        if (item instanceof Entity) {
+            final Entity entity = (Entity) item;
+            final GroupDefinition groupDef = getGroupDefinition(entity.getGroup(), output);
+            output.write(ENTITY);
+            writeNumber(groupDef.id, output);
+            writeVertex(entity.getVertex(), output);
+            writeProperties(entity, groupDef, output);
+        } else if (item instanceof Edge) {
+            final Edge edge = (Edge) item;
+            final GroupDefinition groupDef = getGroupDefinition(edge.getGroup(), output);
+            output.write(EDGE);
+            writeNumber(groupDef.id, output);
+            writeVertex(edge.getSource(), output);
+            writeVertex(edge.getDestination(), output);
+            output.write(edge.isDirected() ? 1 : 0);
+            writeProperties(edge, groupDef, output);
+        } else if (item instanceof EntitySeed) {
+            output.write(ENTITY_SEED);
+            writeVertex(((EntitySeed) item).getVertex(), output);
+        } else if (item instanceof EdgeSeed) {
+            final EdgeSeed seed = (EdgeSeed) item;
+            output.write(EDGE_SEED);
+            writeVertex(seed.getSource(), output);
+            writeVertex(seed.getDestination(), output);
+            output.write(seed.isDirected() ? 1 : 0);
+        } else {
+            throw new SerialisationException("Only elements and element seeds can be serialised to binary, not "
+                    + (null != item ? item.getClass().getName() : "null"));
+        }
+    }
+
+    /**
+     * Writes the end of the stream marker.
+     *
+     * @param output the stream to write to
+     * @throws IOException if the marker could not be written
+     */
+    public void writeEnd(final OutputStream output) throws IOException {
+        output.write(END);
+    }
+
+    /**
+     * Serialises all of the items, including the header and end marker.
+     *
+     * @param items  the items to write
+     * @param output the stream to write to
+     * @throws IOException if the items could not be serialised or written
+     */
+    public void serialise(final Iterable<?> items, final OutputStream output) throws IOException {
+        writeHeader(output);
+        for (final Object item : items) {
+            write(item, output);
+        }
+        writeEnd(output);
+    }
+
+    /**
+     * Deserialises a complete stream. The serialisers are looked up by the
+     * class names in the stream, which must be the classes of serialisers in
+     * the schema. Other classes are rejected, so the stream cannot cause
+     * arbitrary classes to be loaded.
+     *
+     * @param input the stream to read
+     * @return the elements and element seeds in the stream
+     * @throws IOException if the stream could not be read or is truncated
+     */
+    public List<Object> deserialise(final InputStream input) throws IOException {
+        final byte[] magic = readFully(input, MAGIC.length);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new SerialisationException("The stream does not start with the expected header");
+        }
+
+        final Map<String, Serialisation> schemaSerialisers = getSchemaSerialisers();
+        final Serialisation vertexSerialiser = getSerialiser(schemaSerialisers, readString(input));
+        final Map<Long, GroupDefinition> groupsById = new HashMap<>();
+        final List<Object> items = new ArrayList<>();
+        while (true) {
+            final int recordType = input.read();
+            switch (recordType) {
+                case END:
+                    return items;
+                case GROUP:
+                    final GroupDefinition groupDef = readGroupDefinition(schemaSerialisers, input);
+                    groupsById.put(groupDef.id, groupDef);
+                    break;
+                case ENTITY:
+                    final GroupDefinition entityGroup = getGroupDefinition(groupsById, readNumber(input));
+                    final Entity entity = new Entity(entityGroup.group, readVertex(vertexSerialiser, input));
+                    readProperties(entity, entityGroup, input);
+                    items.add(entity);
+                    break;
+                case EDGE:
+                    final GroupDefinition edgeGroup = getGroupDefinition(groupsById, readNumber(input));
+                    final Edge edge = new Edge(edgeGroup.group, readVertex(vertexSerialiser, input),
+                            readVertex(vertexSerialiser, input), 1 == readByte(input));
+                    readProperties(edge, edgeGroup, input);
+                    items.add(edge);
+                    break;
+                case ENTITY_SEED:
+                    items.add(new EntitySeed(readVertex(vertexSerialiser, input)));
+                    break;
+                case EDGE_SEED:
+                    items.add(new EdgeSeed(readVertex(vertexSerialiser, input),
+                            readVertex(vertexSerialiser, input), 1 == readByte(input)));
+                    break;
+                case -1:
+                    throw new EOFException("The stream ended before the end marker");
+                default:
+                    throw new SerialisationException("Unknown record type: " + recordType);
+            }
+        }
+    }
+
+    private GroupDefinition getGroupDefinition(final String group, final OutputStream output) throws IOException {
+        GroupDefinition groupDef = groups.get(group);
+        if (null == groupDef) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            if (null == elementDef) {
+                throw new SerialisationException("Group " + group + " is not in the schema");
+            }
+
+            final List<String> properties = new ArrayList<>(elementDef.getProperties());
+            final List<Serialisation> serialisers = new ArrayList<>(properties.size());
+            for (final String property : properties) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+                if (null == typeDef || null == typeDef.getSerialiser()) {
+                    throw new SerialisationException("No serialiser found for property " + property + " in group " + group);
+                }
+                serialisers.add(typeDef.getSerialiser());
+            }
+
+            groupDef = new GroupDefinition(groups.size(), group, properties, serialisers);
+            groups.put(group, groupDef);
+
+            output.write(GROUP);
+            writeNumber(groupDef.id, output);
+            writeString(group, output);
+            writeNumber(properties.size(), output);
+            for (int i = 0; i < properties.size(); i++) {
+                writeString(properties.get(i), output);
+                writeString(serialisers.get(i).getClass().getName(), output);
+            }
+        }
+
+        return groupDef;
+    }
+
+    private static GroupDefinition readGroupDefinition(final Map<String, Serialisation> schemaSerialisers,
+                                                       final InputStream input) throws IOException {
+        final long id = readNumber(input);
+        final String group = readString(input);
+        final int numProperties = (int) readNumber(input);
+        final List<String> properties = new ArrayList<>(numProperties);
+        final List<Serialisation> serialisers = new ArrayList<>(numProperties);
+        for (int i = 0; i < numProperties; i++) {
+            properties.add(readString(input));
+            serialisers.add(getSerialiser(schemaSerialisers, readString(input)));
+        }
+
+        return new GroupDefinition(id, group, properties, serialisers);
+    }
+
+    private static GroupDefinition getGroupDefinition(final Map<Long, GroupDefinition> groupsById, final long id)
+            throws SerialisationException {
+        final GroupDefinition groupDef = groupsById.get(id);
+        if (null == groupDef) {
+            throw new SerialisationException("Group id " + id + " has not been defined");
+        }
+
+        return groupDef;
+    }
+
+    private static void writeProperties(final Element element, final GroupDefinition groupDef,
+                                        final OutputStream output) throws IOException {
+        for (int i = 0; i < groupDef.properties.size(); i++) {
+            final Object value = element.getProperty(groupDef.properties.get(i));
+            if (null == value) {
+                writeNumber(0, output);
+            } else {
+                final byte[] bytes = groupDef.serialisers.get(i).serialise(value);
+                writeNumber(bytes.length + 1, output);
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static void readProperties(final Element element, final GroupDefinition groupDef,
+                                       final InputStream input) throws IOException {
+        for (int i = 0; i < groupDef.properties.size(); i++) {
+            final int length = (int) readNumber(input);
+            if (length > 0) {
+                element.putProperty(groupDef.properties.get(i),
+                        groupDef.serialisers.get(i).deserialise(readFully(input, length - 1)));
+            }
+        }
+    }
+
+    private void writeVertex(final Object vertex, final OutputStream output) throws IOException {
+        writeBytes(schema.getVertexSerialiser().serialise(vertex), output);
+    }
+
+    private static Object readVertex(final Serialisation vertexSerialiser, final InputStream input)
+            throws IOException {
+        return vertexSerialiser.deserialise(readBytes(input));
+    }
+
+    private static void writeString(final String str, final OutputStream output) throws IOException {
+        writeBytes(str.getBytes(CommonConstants.UTF_8), output);
+    }
+
+    private static String readString(final InputStream input) throws IOException {
+        try {
+            return new String(readBytes(input), CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    private static void writeBytes(final byte[] bytes, final OutputStream output) throws IOException {
+        writeNumber(bytes.length, output);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(final InputStream input) throws IOException {
+        return readFully(input, (int) readNumber(input));
+    }
+
+    private static void writeNumber(final long number, final OutputStream output) throws SerialisationException {
+        CompactRawSerialisationUtils.write(number, output);
+    }
+
+    private static long readNumber(final InputStream input) throws SerialisationException {
+        return CompactRawSerialisationUtils.read(input);
+    }
+
+    private static int readByte(final InputStream input) throws IOException {
+        final int value = input.read();
+        if (-1 == value) {
+            throw new EOFException("The stream ended before the end marker");
+        }
+
+        return value;
+    }
+
+    private static byte[] readFully(final InputStream input, final int length) throws IOException {
+        if (length < 0) {
+            throw new SerialisationException("Invalid length: " + length);
+        }
+
+        final byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            final int read = input.read(bytes, offset, length - offset);
+            if (-1 == read) {
+                throw new EOFException("The stream ended before the end marker");
+            }
+            offset += read;
+        }
+
+        return bytes;
+    }
+
+    private Map<String, Serialisation> getSchemaSerialisers() {
+        final Map<String, Serialisation> serialisers = new HashMap<>();
+        if (null != schema.getVertexSerialiser()) {
+            serialisers.put(schema.getVertexSerialiser().getClass().getName(), schema.getVertexSerialiser());
+        }
+        if (null != schema.getTypes()) {
+            for (final TypeDefinition typeDef : schema.getTypes().values()) {
+                if (null != typeDef.getSerialiser()) {
+                    serialisers.put(typeDef.getSerialiser().getClass().getName(), typeDef.getSerialiser());
+                }
+            }
+        }
+
+        return serialisers;
+    }
+
+    private static Serialisation getSerialiser(final Map<String, Serialisation> schemaSerialisers,
+                                               final String className) throws SerialisationException {
+        final Serialisation serialiser = schemaSerialisers.get(className);
+        if (null == serialiser) {
+            throw new SerialisationException("Serialiser class " + className + " is not used in the schema");
+        }
+
+        return serialiser;
+    }
+
+    private static final class GroupDefinition {
+        private final long id;
+        private final String group;
+        private final List<String> properties;
+        private final List<Serialisation> serialisers;
+
+        private GroupDefinition(final long id, final String group, final List<String> properties,
+                                final List<Serialisation> serialisers) {
+            this.id = id;
+            this.group = group;
+            this.properties = properties;
+            this.serialisers = serialisers;
+        }
+    }
+}
@@ -17,20 +17,47 @@
 package gaffer.rest.serialisation;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import gaffer.commonutil.iterable.CloseableIterable;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * A <code>RestJsonProvider</code> enables the automatic serialisation and deserialisation to/from JSON.
  * By default the JSON will not include nulls.
+ * <p>
+ * Lazy results, such as the {@link CloseableIterable}s returned by the graph,
+ * are streamed to the client as a JSON array one item at a time rather than
+ * being serialised in memory first. As the response has no known length it
+ * is sent using chunked transfer encoding, and as items are only read from the
+ * iterable when there is room to write them, a slow client slows down the
+ * query rather than the results building up on the server. The iterable is
+ * always closed once the response is complete or the client disconnects.
+ * </p>
  */
 @Provider
 @Produces(MediaType.APPLICATION_JSON)
 public class RestJsonProvider extends JacksonJaxbJsonProvider {
+    /**
+     * The number of streamed items to write between each flush of the
+     * response. The first item is always flushed straight away.
+     */
+    public static final int STREAM_FLUSH_INTERVAL = 100;
+
     public RestJsonProvider() {
         super.setMapper(createMapper());
     }
@@ -45,4 +72,132 @@ public class RestJsonProvider extends JacksonJaxbJsonProvider {
         mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         return mapper;
     }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        if (isStreamed(value)) {
+            writeStream((Iterable<?>) value, genericType, locateMapper(type, mediaType), entityStream);
+        } else {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+
+    protected boolean isStreamed(final Object value) {
+        return value instanceof CloseableIterable
+                || (value instanceof Iterable && !(value instanceof Collection));
+    }
+
+    /**
+     * Writes the items to the entity stream as a JSON array, flushing the
+     * response after the first item and then every
+     * {@link #STREAM_FLUSH_INTERVAL} items. The items are serialised in the
+     * same way as if the whole iterable was serialised in one go.
+     *
+     * @param items        the items to write
+     * @param genericType  the generic type of the items
+     * @param mapper       the object mapper to serialise the items with
+     * @param entityStream the stream to write to
+     * @throws IOException if the items could not be written, e.g. the client
+     *                     has disconnected
+     */
+    protected void writeStream(final Iterable<?> items, final Type genericType, final ObjectMapper mapper,
+                               final OutputStream entityStream) throws IOException {
+        final TypeFactory typeFactory = mapper.getTypeFactory();
+        final JavaType iterableType = typeFactory.constructParametrizedType(
+                Iterable.class, Iterable.class, getElementType(items, genericType, typeFactory));
+        final JsonGenerator generator = mapper.getFactory().createGenerator(entityStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            mapper.writerFor(iterableType).writeValue(generator, new FlushingIterable(items, generator));
+            generator.close();
+        } catch (final StreamingException e) {
+            throw e.getIOException();
+        } finally {
+            if (items instanceof CloseableIterable) {
+                ((CloseableIterable) items).close();
+            }
+        }
+    }
+
+    private static JavaType getElementType(final Iterable<?> items, final Type genericType,
+                                           final TypeFactory typeFactory) {
+        JavaType type = null != genericType ? typeFactory.constructType(genericType) : null;
+        if (null == type || !Iterable.class.isAssignableFrom(type.getRawClass())) {
+            type = typeFactory.constructType(items.getClass());
+        }
+
+        final JavaType[] params = typeFactory.findTypeParameters(type, Iterable.class);
+        return null != params && 1 == params.length ? params[0] : TypeFactory.unknownType();
+    }
+
+    /**
+     * Iterates through the items, flushing the generator before each batch of
+     * items is read, so the items already written are sent to the client
+     * before waiting for more results.
+     */
+    private static final class FlushingIterable implements Iterable<Object> {
+        private final Iterable<?> items;
+        private final JsonGenerator generator;
+
+        private FlushingIterable(final Iterable<?> items, final JsonGenerator generator) {
+            this.items = items;
+            this.generator = generator;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<?> itr = items.iterator();
+            return new Iterator<Object>() {
+                private int count;
+                private int flushedCount;
+
+                @Override
+                public boolean hasNext() {
+                    if (count != flushedCount && (1 == count || 0 == count % STREAM_FLUSH_INTERVAL)) {
+                        flush();
+                        flushedCount = count;
+                    }
+                    return itr.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    final Object next = itr.next();
+                    count++;
+                    return next;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("Unable to remove items from a streamed response");
+                }
+
+                private void flush() {
+                    try {
+                        generator.flush();
+                    } catch (final IOException e) {
+                        throw new StreamingException("Unable to write results to the client", e);
+                    }
+                }
+            };
+        }
+    }
+
+    private static final class StreamingException extends RuntimeException {
+        private static final long serialVersionUID = -6342391758934312745L;
+
+        private final IOException ioException;
+
+        private StreamingException(final String message, final IOException cause) {
+            super(message, cause);
+            this.ioException = cause;
+        }
+
+        private IOException getIOException() {
+            return ioException;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.service;
+
+import gaffer.operation.OperationChain;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobResults;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * An <code>IJobService</code> has methods to run {@link OperationChain}s as
+ * background jobs, poll their status, cancel them and fetch their results a
+ * page at a time.
+ */
+@Path("/graph/jobs")
+@Api(value = "/graph/jobs", description = "Allows operation chains to be executed asynchronously as jobs.")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public interface IJobService {
+    @POST
+    @ApiOperation(value = "Submits the given operation chain to be executed as a job", response = JobDetail.class)
+    JobDetail executeJob(final OperationChain opChain);
+
+    @GET
+    @ApiOperation(value = "Gets the details of all the jobs submitted by the user", response = JobDetail.class, responseContainer = "List")
+    List<JobDetail> getJobs();
+
+    @GET
+    @Path("/{jobId}")
+    @ApiOperation(value = "Gets the details of a job", response = JobDetail.class)
+    JobDetail getJob(@ApiParam(value = "a job id") @PathParam("jobId") final String jobId);
+
+    @GET
+    @Path("/{jobId}/results")
+    @ApiOperation(value = "Gets a page of the results of a job", response = JobResults.class)
+    JobResults getJobResults(@ApiParam(value = "a job id") @PathParam("jobId") final String jobId,
+                             @ApiParam(value = "the index of the first result") @QueryParam("offset") @DefaultValue("0") final int offset,
+                             @ApiParam(value = "the maximum number of results") @QueryParam("limit") @DefaultValue("1000") final int limit);
+
+    @DELETE
+    @Path("/{jobId}")
+    @ApiOperation(value = "Cancels a job", response = JobDetail.class)
+    JobDetail cancelJob(@ApiParam(value = "a job id") @PathParam("jobId") final String jobId);
+}
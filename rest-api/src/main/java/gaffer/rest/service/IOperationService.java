@@ -36,6 +36,7 @@ import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
+import gaffer.rest.serialisation.ElementBinaryProvider;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import javax.ws.rs.Consumes;
@@ -48,11 +49,17 @@ import javax.ws.rs.core.MediaType;
 /**
  * An <code>IOperationService</code> has methods to execute {@link gaffer.operation.Operation}s on the
  * {@link gaffer.graph.Graph}.
+ * <p>
+ * Results are returned as JSON by default. Results containing elements or
+ * element seeds can instead be returned in a compact binary format by
+ * accepting the {@link ElementBinaryProvider#APPLICATION_GAFFER_ELEMENTS}
+ * media type.
+ * </p>
  */
 @Path("/graph/doOperation")
 @Api(value = "/graph/doOperation", description = "Allows operations to be executed on the graph. See <a href='https://github.com/GovernmentCommunicationsHeadquarters/Gaffer/wiki/operation-examples' target='_blank'>Wiki</a>.")
 @Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
 public interface IOperationService {
 
     @POST
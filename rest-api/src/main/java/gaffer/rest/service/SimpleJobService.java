@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.service;
+
+import gaffer.operation.OperationChain;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobManager;
+import gaffer.rest.job.JobResults;
+import gaffer.user.User;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * An implementation of {@link IJobService}. Jobs are run on the graph from the
+ * {@link GraphFactory} by the shared {@link JobManager}, so the number of
+ * operation chains running at once and the results held for them are bounded.
+ * <p>
+ * As with {@link SimpleOperationService}, jobs will be executed with an
+ * UNKNOWN user by default - createUser() should be overridden to create a
+ * {@link User} from the http request. Users can only see their own jobs.
+ * </p>
+ */
+public class SimpleJobService implements IJobService {
+    private final GraphFactory graphFactory;
+    private final JobManager jobManager;
+
+    public SimpleJobService() {
+        this(GraphFactory.createGraphFactory(), JobManager.getInstance());
+    }
+
+    public SimpleJobService(final GraphFactory graphFactory, final JobManager jobManager) {
+        this.graphFactory = graphFactory;
+        this.jobManager = jobManager;
+    }
+
+    @Override
+    public JobDetail executeJob(final OperationChain opChain) {
+        return submit(opChain);
+    }
+
+    @Override
+    public List<JobDetail> getJobs() {
+        return jobManager.getJobs(createUser());
+    }
+
+    @Override
+    public JobDetail getJob(final String jobId) {
+        return checkFound(jobManager.getJob(jobId, createUser()));
+    }
+
+    @Override
+    public JobResults getJobResults(final String jobId, final int offset, final int limit) {
+        try {
+            return checkFound(jobManager.getResults(jobId, createUser(), offset, limit));
+        } catch (final IllegalArgumentException e) {
+            throw new WebApplicationException(e, Response.Status.BAD_REQUEST);
+        }
+    }
+
+    @Override
+    public JobDetail cancelJob(final String jobId) {
+        return checkFound(jobManager.cancel(jobId, createUser()));
+    }
+
+    /**
+     * Creates a {@link User} object containing information about the user
+     * querying Gaffer.
+     * By default this will return a user with id: UNKNOWN.
+     *
+     * @return the user querying Gaffer.
+     */
+    protected User createUser() {
+        return new User();
+    }
+
+    protected void preOperationHook(final OperationChain<?> opChain, final User user) {
+        // no action by default
+    }
+
+    protected void postOperationHook(final OperationChain<?> opChain, final User user) {
+        // no action by default
+    }
+
+    protected <OUTPUT> JobDetail submit(final OperationChain<OUTPUT> opChain) {
+        final User user = createUser();
+        preOperationHook(opChain, user);
+
+        try {
+            return jobManager.submit(user, opChain.toString(), new Callable<OUTPUT>() {
+                @Override
+                public OUTPUT call() throws Exception {
+                    try {
+                        return graphFactory.getGraph().execute(opChain, user);
+                    } finally {
+                        postOperationHook(opChain, user);
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            // The job will never run, so its post operation hook is run here instead.
+            postOperationHook(opChain, user);
+            throw new WebApplicationException(e, Response.Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private <T> T checkFound(final T item) {
+        if (null == item) {
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        }
+
+        return item;
+    }
+}
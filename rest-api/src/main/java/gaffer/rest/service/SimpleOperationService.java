@@ -40,9 +40,13 @@ import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobManager;
+import gaffer.rest.serialisation.ElementBinaryProvider;
 import gaffer.user.User;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * An implementation of {@link gaffer.rest.service.IOperationService}. By default it will use a singleton
@@ -55,9 +59,14 @@ import org.slf4j.LoggerFactory;
  * The createUser() method should be overridden and a {@link User} object should
  * be created from the http request.
  * </p>
+ * <p>
+ * Asynchronous executions are run by the shared {@link JobManager} and can
+ * be tracked using the {@link IJobService}. Their results are discarded, as
+ * no job id is returned to the caller; use {@link IJobService} to submit a
+ * job whose results can be fetched.
+ * </p>
  */
 public class SimpleOperationService implements IOperationService {
-    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleOperationService.class);
     private final GraphFactory graphFactory;
 
     public SimpleOperationService() {
@@ -70,7 +79,8 @@ public class SimpleOperationService implements IOperationService {
 
     @Override
     public Object execute(final OperationChain opChain) {
-        return execute(opChain, false);
+        // Declare the item type of the result so results containing elements can be written in binary
+        return ElementBinaryProvider.declareOutputType(execute(opChain, false), opChain);
     }
 
     @Override
@@ -165,27 +175,50 @@ public class SimpleOperationService implements IOperationService {
         return graphFactory.getGraph();
     }
 
+    protected JobManager getJobManager() {
+        return JobManager.getInstance();
+    }
+
     protected <OUTPUT> OUTPUT execute(final Operation<?, OUTPUT> operation) {
         return execute(new OperationChain<>(operation), false);
     }
 
+    /**
+     * Executes the operation chain. If <code>async</code> is true the chain is
+     * submitted to the {@link JobManager} and null is returned. The results of
+     * an asynchronous chain are closed and discarded rather than held by the
+     * {@link JobManager}, as the caller has no job id to fetch them with.
+     *
+     * @param opChain  the operation chain to execute
+     * @param async    true if the chain should be executed asynchronously
+     * @param <OUTPUT> the output type of the chain
+     * @return the result of the chain, or null if it was executed asynchronously
+     */
     protected <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final boolean async) {
         final User user = createUser();
         preOperationHook(opChain, user);
 
         if (async) {
-            new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        graphFactory.getGraph().execute(opChain, user);
-                    } catch (OperationException e) {
-                        LOGGER.error("Error executing opChain", e);
-                    } finally {
-                        postOperationHook(opChain, user);
+            try {
+                getJobManager().submit(user, opChain.toString(), new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        try {
+                            final OUTPUT result = graphFactory.getGraph().execute(opChain, user);
+                            if (result instanceof CloseableIterable) {
+                                ((CloseableIterable<?>) result).close();
+                            }
+                            return null;
+                        } finally {
+                            postOperationHook(opChain, user);
+                        }
                     }
-                }
-            }).start();
+                });
+            } catch (final RejectedExecutionException e) {
+                // The job will never run, so its post operation hook is run here instead.
+                postOperationHook(opChain, user);
+                throw new WebApplicationException(e, Response.Status.SERVICE_UNAVAILABLE);
+            }
             return null;
         } else {
             try {
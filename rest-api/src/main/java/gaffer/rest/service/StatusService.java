@@ -17,6 +17,8 @@
 package gaffer.rest.service;
 
 import gaffer.rest.SystemStatus;
+import gaffer.store.metrics.MetricSnapshot;
+import gaffer.store.metrics.MetricsRegistry;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -25,6 +27,7 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import java.util.Map;
 
 /**
  * An <code>StatusService</code> has methods to check the status of the system
@@ -40,4 +43,15 @@ public class StatusService {
     public SystemStatus status() {
         return new SystemStatus("The system is working normally.");
     }
+
+    @GET
+    @Path("/metrics")
+    @ApiOperation(value = "Returns the operation, graph hook and store metrics recorded since the service started",
+            notes = "Timer values are in milliseconds. The same metrics are available over JMX in the gaffer.metrics domain.",
+            response = MetricSnapshot.class, responseContainer = "Map")
+    @ApiResponses(value = {@ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 500, message = "Something wrong in Server")})
+    public Map<String, MetricSnapshot> metrics() {
+        return MetricsRegistry.getInstance().getSnapshot();
+    }
 }
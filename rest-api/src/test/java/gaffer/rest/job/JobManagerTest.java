@@ -0,0 +1,259 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.user.User;
+import org.junit.After;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class JobManagerTest {
+    private static final User USER = new User("user01");
+    private JobManager jobManager;
+
+    @After
+    public void tearDown() {
+        if (null != jobManager) {
+            jobManager.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRunJobAndGetPagesOfResults() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(2, 10, 100, 10);
+
+        // When
+        final JobDetail submitted = jobManager.submit(USER, "a job", returning(Arrays.asList(1, 2, 3, 4, 5)));
+        final JobDetail finished = waitForJob(submitted.getJobId());
+        final JobResults firstPage = jobManager.getResults(submitted.getJobId(), USER, 0, 2);
+        final JobResults lastPage = jobManager.getResults(submitted.getJobId(), USER, 4, 2);
+        final JobResults emptyPage = jobManager.getResults(submitted.getJobId(), USER, 10, 2);
+
+        // Then
+        assertEquals("a job", submitted.getDescription());
+        assertEquals(USER.getUserId(), submitted.getUserId());
+        assertEquals(JobStatus.FINISHED, finished.getStatus());
+        assertEquals(5, finished.getResultCount());
+        assertFalse(finished.isTruncated());
+        assertNotNull(finished.getEndTime());
+        assertEquals(Arrays.<Object>asList(1, 2), firstPage.getResults());
+        assertEquals(5, firstPage.getResultCount());
+        assertEquals(Collections.<Object>singletonList(5), lastPage.getResults());
+        assertTrue(emptyPage.getResults().isEmpty());
+    }
+
+    @Test
+    public void shouldHoldNonIterableOutputAsSingleResult() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 10, 100, 10);
+
+        // When
+        final JobDetail submitted = jobManager.submit(USER, "a job", returning("result"));
+        waitForJob(submitted.getJobId());
+        final JobResults results = jobManager.getResults(submitted.getJobId(), USER, 0, 10);
+
+        // Then
+        assertEquals(Collections.<Object>singletonList("result"), results.getResults());
+    }
+
+    @Test
+    public void shouldTruncateResultsAndCloseIterable() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 10, 3, 10);
+        final ClosedCheckingIterable iterable = new ClosedCheckingIterable(Arrays.<Object>asList(1, 2, 3, 4, 5));
+
+        // When
+        final JobDetail submitted = jobManager.submit(USER, "a job", returning(iterable));
+        final JobDetail finished = waitForJob(submitted.getJobId());
+
+        // Then
+        assertEquals(JobStatus.FINISHED, finished.getStatus());
+        assertEquals(3, finished.getResultCount());
+        assertTrue(finished.isTruncated());
+        assertTrue(iterable.closed);
+    }
+
+    @Test
+    public void shouldMarkJobAsFailedWhenTaskThrowsException() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 10, 100, 10);
+
+        // When
+        final JobDetail submitted = jobManager.submit(USER, "a job", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                throw new Exception("Operation failed");
+            }
+        });
+        final JobDetail finished = waitForJob(submitted.getJobId());
+
+        // Then
+        assertEquals(JobStatus.FAILED, finished.getStatus());
+        assertEquals("Operation failed", finished.getError());
+    }
+
+    @Test
+    public void shouldCancelRunningJob() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 10, 100, 10);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final JobDetail submitted = jobManager.submit(USER, "a job", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return null;
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // When
+        final JobDetail cancelled = jobManager.cancel(submitted.getJobId(), USER);
+
+        // Then
+        assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(JobStatus.CANCELLED, jobManager.getJob(submitted.getJobId(), USER).getStatus());
+    }
+
+    @Test
+    public void shouldRejectJobsWhenQueueIsFull() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 1, 100, 10);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<Object> blockingTask = new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                release.await();
+                return null;
+            }
+        };
+        jobManager.submit(USER, "running job", blockingTask);
+        jobManager.submit(USER, "queued job", blockingTask);
+
+        // When / Then
+        try {
+            jobManager.submit(USER, "rejected job", blockingTask);
+            fail("Exception expected");
+        } catch (final RejectedExecutionException e) {
+            assertNotNull(e);
+        } finally {
+            release.countDown();
+        }
+        assertEquals(2, jobManager.getJobs(USER).size());
+    }
+
+    @Test
+    public void shouldNotReturnJobsOfOtherUsers() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 10, 100, 10);
+        final User otherUser = new User("user02");
+        final JobDetail submitted = jobManager.submit(USER, "a job", returning("result"));
+        waitForJob(submitted.getJobId());
+
+        // When / Then
+        assertNull(jobManager.getJob(submitted.getJobId(), otherUser));
+        assertNull(jobManager.getResults(submitted.getJobId(), otherUser, 0, 10));
+        assertNull(jobManager.cancel(submitted.getJobId(), otherUser));
+        assertTrue(jobManager.getJobs(otherUser).isEmpty());
+        assertEquals(1, jobManager.getJobs(USER).size());
+    }
+
+    @Test
+    public void shouldDiscardOldestCompletedJobsWhenMaxRetainedJobsExceeded() throws InterruptedException {
+        // Given
+        jobManager = new JobManager(1, 10, 100, 2);
+        final JobDetail job1 = jobManager.submit(USER, "job 1", returning("result"));
+        waitForJob(job1.getJobId());
+        final JobDetail job2 = jobManager.submit(USER, "job 2", returning("result"));
+        waitForJob(job2.getJobId());
+
+        // When
+        final JobDetail job3 = jobManager.submit(USER, "job 3", returning("result"));
+
+        // Then
+        assertNull(jobManager.getJob(job1.getJobId(), USER));
+        assertNotNull(jobManager.getJob(job2.getJobId(), USER));
+        assertNotNull(jobManager.getJob(job3.getJobId(), USER));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenGettingResultsWithNegativeOffset() {
+        // Given
+        jobManager = new JobManager(1, 10, 100, 10);
+        final JobDetail submitted = jobManager.submit(USER, "a job", returning("result"));
+
+        // When
+        jobManager.getResults(submitted.getJobId(), USER, -1, 10);
+    }
+
+    private JobDetail waitForJob(final String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            final JobDetail detail = jobManager.getJob(jobId, USER);
+            if (detail.getStatus().isComplete()) {
+                return detail;
+            }
+            Thread.sleep(100);
+        }
+
+        fail("Job did not complete");
+        return null;
+    }
+
+    private static Callable<Object> returning(final Object result) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return result;
+            }
+        };
+    }
+
+    private static final class ClosedCheckingIterable extends WrappedCloseableIterable<Object> {
+        private volatile boolean closed;
+
+        private ClosedCheckingIterable(final List<Object> items) {
+            super(items);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+}
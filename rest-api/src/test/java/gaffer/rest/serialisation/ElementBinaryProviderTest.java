@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetElementsBySeed;
+import gaffer.rest.GraphFactory;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Before;
+import org.junit.Test;
+import javax.ws.rs.core.GenericEntity;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+public class ElementBinaryProviderTest {
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    private final Schema schema = new Schema.Builder()
+            .vertexSerialiser(new StringSerialiser())
+            .entity(ENTITY_GROUP, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .edge(EDGE_GROUP, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .build())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .build();
+
+    private ElementBinaryProvider provider;
+
+    @Before
+    public void setup() {
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(schema);
+        final Graph graph = new Graph.Builder().store(store).build();
+        final GraphFactory graphFactory = mock(GraphFactory.class);
+        given(graphFactory.getGraph()).willReturn(graph);
+        provider = new ElementBinaryProvider(graphFactory);
+    }
+
+    @Test
+    public void shouldBeWriteableForIterablesOfElementsAndSeeds() {
+        assertTrue(isWriteable(new TypeReference<CloseableIterable<Element>>() {
+        }.getType()));
+        assertTrue(isWriteable(new TypeReference<CloseableIterable<Entity>>() {
+        }.getType()));
+        assertTrue(isWriteable(new TypeReference<Iterable<Edge>>() {
+        }.getType()));
+        assertTrue(isWriteable(new TypeReference<CloseableIterable<EntitySeed>>() {
+        }.getType()));
+        assertTrue(isWriteable(new TypeReference<List<? extends ElementSeed>>() {
+        }.getType()));
+        assertTrue(isWriteable(new TypeReference<WrappedCloseableIterable<Element>>() {
+        }.getType()));
+    }
+
+    @Test
+    public void shouldNotBeWriteableForIterablesOfOtherObjectsOrUnknownTypes() {
+        assertFalse(isWriteable(new TypeReference<CloseableIterable<Object>>() {
+        }.getType()));
+        assertFalse(isWriteable(new TypeReference<Iterable<String>>() {
+        }.getType()));
+        assertFalse(isWriteable(WrappedCloseableIterable.class));
+        assertFalse(isWriteable(Object.class));
+        assertFalse(provider.isWriteable(Element.class, Element.class, new Annotation[0],
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE));
+    }
+
+    @Test
+    public void shouldDeclareOutputTypeOfOperationChainsSoElementResultsAreWriteable() {
+        // Given
+        final CloseableIterable<Element> result = new WrappedCloseableIterable<>();
+        final OperationChain<CloseableIterable<Element>> elementsChain = new OperationChain.Builder()
+                .first(new GetAdjacentEntitySeeds())
+                .then(new GetElementsBySeed<EntitySeed, Element>())
+                .build();
+        final OperationChain<CloseableIterable<EntitySeed>> seedsChain =
+                new OperationChain<>(new GetAdjacentEntitySeeds());
+        final OperationChain<CloseableIterable<Object>> objectsChain =
+                new OperationChain<>(new GenerateObjects<Element, Object>());
+
+        // When
+        final Object elementsResult = ElementBinaryProvider.declareOutputType(result, elementsChain);
+        final Object seedsResult = ElementBinaryProvider.declareOutputType(result, seedsChain);
+        final Object objectsResult = ElementBinaryProvider.declareOutputType(result, objectsChain);
+
+        // Then
+        assertTrue(elementsResult instanceof GenericEntity);
+        assertSame(result, ((GenericEntity<?>) elementsResult).getEntity());
+        assertTrue(isWriteable(((GenericEntity<?>) elementsResult).getType()));
+        assertTrue(isWriteable(((GenericEntity<?>) seedsResult).getType()));
+        assertFalse(isWriteable(((GenericEntity<?>) objectsResult).getType()));
+    }
+
+    @Test
+    public void shouldWriteElementsAndSeedsAndCloseIterable() throws IOException {
+        // Given
+        final List<Object> items = Arrays.<Object>asList(new Entity(ENTITY_GROUP, "vertex1"),
+                new Edge(EDGE_GROUP, "vertex1", "vertex2", true), new EntitySeed("vertex3"),
+                new EdgeSeed("vertex1", "vertex3", false));
+        final ClosingIterable iterable = new ClosingIterable(items);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(iterable, iterable.getClass(), iterable.getClass(), new Annotation[0],
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE, null, out);
+
+        // Then
+        assertEquals(items, new ElementBinarySerialiser(schema).deserialise(new ByteArrayInputStream(out.toByteArray())));
+        assertTrue(iterable.closed);
+    }
+
+    private boolean isWriteable(final Type type) {
+        final Class<?> rawType = type instanceof Class ? (Class<?>) type : WrappedCloseableIterable.class;
+        return provider.isWriteable(rawType, type, new Annotation[0],
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE);
+    }
+
+    private static final class ClosingIterable extends WrappedCloseableIterable<Object> {
+        private boolean closed;
+
+        private ClosingIterable(final Iterable<Object> items) {
+            super(items);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ElementBinarySerialiserTest {
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+    private static final String COUNT = "count";
+    private static final String NAME = "name";
+
+    private final Schema schema = new Schema.Builder()
+            .vertexSerialiser(new StringSerialiser())
+            .entity(ENTITY_GROUP, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(COUNT, "long")
+                    .property(NAME, "string")
+                    .build())
+            .edge(EDGE_GROUP, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .property(COUNT, "long")
+                    .build())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("long", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .build())
+            .build();
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElementsAndSeeds() throws IOException {
+        // Given
+        final Entity entity = new Entity(ENTITY_GROUP, "vertex1");
+        entity.putProperty(COUNT, 5L);
+        entity.putProperty(NAME, "name1");
+        final Entity entityWithoutName = new Entity(ENTITY_GROUP, "vertex2");
+        entityWithoutName.putProperty(COUNT, 100000L);
+        final Edge edge = new Edge(EDGE_GROUP, "vertex1", "vertex2", true);
+        edge.putProperty(COUNT, -3L);
+        final List<Object> items = Arrays.<Object>asList(entity, edge, entityWithoutName,
+                new EntitySeed("vertex3"), new EdgeSeed("vertex1", "vertex3", false));
+
+        // When
+        final List<Object> deserialisedItems = deserialise(serialise(items));
+
+        // Then
+        assertEquals(items, deserialisedItems);
+    }
+
+    @Test
+    public void shouldSerialiseElementsToFewerBytesThanJson() throws IOException {
+        // Given
+        final List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Edge edge = new Edge(EDGE_GROUP, "vertex" + i, "vertex" + (i + 1), true);
+            edge.putProperty(COUNT, (long) i);
+            items.add(edge);
+        }
+
+        // When
+        final byte[] bytes = serialise(items);
+        final byte[] json = new JSONSerialiser().serialise(items);
+
+        // Then
+        assertTrue(bytes.length * 3 < json.length);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGroupIsNotInSchema() throws IOException {
+        // Given
+        final List<Object> items = Arrays.<Object>asList(new Entity("unknownGroup", "vertex1"));
+
+        // When / Then
+        try {
+            serialise(items);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains("unknownGroup"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSerialiserIsNotInSchema() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{'G', 'A', 'F', 1});
+        final byte[] className = JavaSerialiser.class.getName().getBytes(CommonConstants.UTF_8);
+        out.write(className.length);
+        out.write(className);
+        out.write(ElementBinarySerialiser.END);
+
+        // When / Then
+        try {
+            deserialise(out.toByteArray());
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains(JavaSerialiser.class.getName()));
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void shouldThrowExceptionWhenStreamIsTruncated() throws IOException {
+        // Given
+        final byte[] bytes = serialise(Arrays.<Object>asList(new EntitySeed("vertex1")));
+
+        // When
+        deserialise(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    private byte[] serialise(final List<Object> items) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ElementBinarySerialiser(schema).serialise(items, out);
+        return out.toByteArray();
+    }
+
+    private List<Object> deserialise(final byte[] bytes) throws IOException {
+        return new ElementBinarySerialiser(schema).deserialise(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.junit.Test;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class RestJsonProviderTest {
+    private static final Type ELEMENTS_TYPE = new TypeReference<CloseableIterable<Element>>() {
+    }.getType();
+    private final RestJsonProvider provider = new RestJsonProvider();
+
+    @Test
+    public void shouldStreamCloseableIterableInSameFormatAsWithoutStreaming() throws IOException {
+        // Given
+        final List<Element> elements = createElements(RestJsonProvider.STREAM_FLUSH_INTERVAL * 2 + 1);
+        final CountingIterable iterable = new CountingIterable(elements);
+
+        // When
+        final String streamedJson = write(iterable, ELEMENTS_TYPE);
+
+        // Then
+        assertEquals(writeWithoutStreaming(new CountingIterable(elements), ELEMENTS_TYPE), streamedJson);
+        assertTrue(streamedJson.contains(Entity.class.getName()));
+        assertEquals(elements.size(), iterable.count);
+        assertTrue(iterable.closed);
+    }
+
+    @Test
+    public void shouldStreamIterableWithoutGenericTypeInSameFormatAsWithoutStreaming() throws IOException {
+        // Given
+        final List<Element> elements = createElements(5);
+        final CountingIterable iterable = new CountingIterable(elements);
+
+        // When
+        final String streamedJson = write(iterable, Object.class);
+
+        // Then
+        assertEquals(writeWithoutStreaming(new CountingIterable(elements), Object.class), streamedJson);
+        assertTrue(iterable.closed);
+    }
+
+    @Test
+    public void shouldStreamEmptyIterable() throws IOException {
+        // Given
+        final CountingIterable iterable = new CountingIterable(new ArrayList<Element>());
+
+        // When
+        final String json = write(iterable, ELEMENTS_TYPE);
+
+        // Then
+        assertEquals("[]", json);
+        assertTrue(iterable.closed);
+    }
+
+    @Test
+    public void shouldStopReadingAndCloseIterableWhenClientDisconnects() {
+        // Given
+        final int numElements = RestJsonProvider.STREAM_FLUSH_INTERVAL * 10;
+        final CountingIterable iterable = new CountingIterable(createElements(numElements));
+        final OutputStream disconnectedStream = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Client disconnected");
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                throw new IOException("Client disconnected");
+            }
+        };
+
+        // When
+        try {
+            provider.writeTo(iterable, iterable.getClass(), ELEMENTS_TYPE, new Annotation[0],
+                    MediaType.APPLICATION_JSON_TYPE, null, disconnectedStream);
+            fail("Exception expected");
+        } catch (final IOException e) {
+            // Then
+            assertTrue(iterable.closed);
+            assertTrue(iterable.count < numElements);
+        }
+    }
+
+    private String write(final Object value, final Type genericType) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(value, value.getClass(), genericType, new Annotation[0],
+                MediaType.APPLICATION_JSON_TYPE, null, out);
+        return new String(out.toByteArray(), CommonConstants.UTF_8);
+    }
+
+    private String writeWithoutStreaming(final Object value, final Type genericType) throws IOException {
+        final JacksonJaxbJsonProvider nonStreamingProvider = new JacksonJaxbJsonProvider();
+        nonStreamingProvider.setMapper(provider.locateMapper(Object.class, MediaType.APPLICATION_JSON_TYPE));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        nonStreamingProvider.writeTo(value, value.getClass(), genericType, new Annotation[0],
+                MediaType.APPLICATION_JSON_TYPE, null, out);
+        return new String(out.toByteArray(), CommonConstants.UTF_8);
+    }
+
+    private static List<Element> createElements(final int numElements) {
+        final List<Element> elements = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            elements.add(new Entity("BasicEntity", "vertex" + i));
+        }
+        return elements;
+    }
+
+    private static final class CountingIterable extends WrappedCloseableIterable<Element> {
+        private final List<Element> elements;
+        private int count;
+        private boolean closed;
+
+        private CountingIterable(final List<Element> elements) {
+            super(elements);
+            this.elements = elements;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            final Iterator<Element> itr = elements.iterator();
+            return new WrappedCloseableIterator<Element>(new Iterator<Element>() {
+                @Override
+                public boolean hasNext() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public Element next() {
+                    count++;
+                    return itr.next();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
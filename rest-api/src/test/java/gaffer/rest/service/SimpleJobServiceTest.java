@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobManager;
+import gaffer.rest.job.JobResults;
+import gaffer.rest.job.JobStatus;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+public class SimpleJobServiceTest {
+    private JobManager jobManager;
+    private Store store;
+    private SimpleJobService service;
+
+    @Before
+    public void setup() {
+        final GraphFactory graphFactory = mock(GraphFactory.class);
+        store = mock(Store.class);
+        given(store.getSchema()).willReturn(mock(Schema.class));
+        final Graph graph = new Graph.Builder().store(store).build();
+        given(graphFactory.getGraph()).willReturn(graph);
+
+        jobManager = new JobManager(1, 10, 100, 10);
+        service = new SimpleJobService(graphFactory, jobManager);
+    }
+
+    @After
+    public void tearDown() {
+        jobManager.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteOperationChainAsJobAndGetResults() throws OperationException, InterruptedException {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(new GetAllElements<>());
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new WrappedCloseableIterable<>(Arrays.asList("a", "b", "c")));
+
+        // When
+        final JobDetail submitted = service.executeJob(opChain);
+        final JobDetail finished = waitForJob(submitted.getJobId());
+        final JobResults results = service.getJobResults(submitted.getJobId(), 1, 10);
+
+        // Then
+        assertEquals("OperationChain[GetAllElements]", submitted.getDescription());
+        assertEquals(JobStatus.FINISHED, finished.getStatus());
+        assertEquals(Arrays.<Object>asList("b", "c"), results.getResults());
+        assertEquals(1, service.getJobs().size());
+    }
+
+    @Test
+    public void shouldThrowNotFoundForUnknownJob() {
+        // When / Then
+        try {
+            service.getJob("unknown job id");
+            fail("Exception expected");
+        } catch (final WebApplicationException e) {
+            assertEquals(Response.Status.NOT_FOUND.getStatusCode(), e.getResponse().getStatus());
+        }
+    }
+
+    @Test
+    public void shouldThrowBadRequestForNegativeLimit() throws InterruptedException {
+        // Given
+        final JobDetail submitted = service.executeJob(new OperationChain<>(new GetAllElements<>()));
+
+        // When / Then
+        try {
+            service.getJobResults(submitted.getJobId(), 0, -1);
+            fail("Exception expected");
+        } catch (final WebApplicationException e) {
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), e.getResponse().getStatus());
+        }
+    }
+
+    @Test
+    public void shouldRunPostOperationHookWhenJobIsRejected() {
+        // Given
+        final JobManager rejectingJobManager = mock(JobManager.class);
+        given(rejectingJobManager.submit(any(User.class), any(String.class), any(Callable.class)))
+                .willThrow(new RejectedExecutionException());
+        final List<String> hooks = new ArrayList<>();
+        final SimpleJobService hookService = new SimpleJobService(mock(GraphFactory.class), rejectingJobManager) {
+            @Override
+            protected void preOperationHook(final OperationChain<?> opChain, final User user) {
+                hooks.add("pre");
+            }
+
+            @Override
+            protected void postOperationHook(final OperationChain<?> opChain, final User user) {
+                hooks.add("post");
+            }
+        };
+
+        // When / Then
+        try {
+            hookService.executeJob(new OperationChain<>(new GetAllElements<>()));
+            fail("Exception expected");
+        } catch (final WebApplicationException e) {
+            assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), e.getResponse().getStatus());
+        }
+        assertEquals(Arrays.asList("pre", "post"), hooks);
+        verify(rejectingJobManager).submit(any(User.class), any(String.class), any(Callable.class));
+    }
+
+    private JobDetail waitForJob(final String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            final JobDetail detail = service.getJob(jobId);
+            if (detail.getStatus().isComplete()) {
+                return detail;
+            }
+            Thread.sleep(100);
+        }
+
+        fail("Job did not complete");
+        return null;
+    }
+}
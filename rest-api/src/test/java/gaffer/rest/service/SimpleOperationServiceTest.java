@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobManager;
+import gaffer.rest.job.JobStatus;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+public class SimpleOperationServiceTest {
+    private JobManager jobManager;
+    private Store store;
+    private SimpleOperationService service;
+
+    @Before
+    public void setup() {
+        final GraphFactory graphFactory = mock(GraphFactory.class);
+        store = mock(Store.class);
+        given(store.getSchema()).willReturn(mock(Schema.class));
+        final Graph graph = new Graph.Builder().store(store).build();
+        given(graphFactory.getGraph()).willReturn(graph);
+
+        jobManager = new JobManager(1, 10, 100, 10);
+        service = new SimpleOperationService(graphFactory) {
+            @Override
+            protected JobManager getJobManager() {
+                return jobManager;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        jobManager.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteAsyncOperationChainAndCloseAndDiscardTheResults() throws OperationException, InterruptedException {
+        // Given
+        final OperationChain<CloseableIterable<Element>> opChain = new OperationChain<>(new GetAllElements<>());
+        final CloseableIterable<?> output = mock(CloseableIterable.class);
+        given(store.execute(any(OperationChain.class), any(User.class))).willReturn(output);
+
+        // When
+        final Object result = service.execute(opChain, true);
+        final JobDetail finished = waitForJob();
+
+        // Then
+        assertNull(result);
+        assertEquals(JobStatus.FINISHED, finished.getStatus());
+        assertTrue(jobManager.getResults(finished.getJobId(), new User(), 0, 10).getResults().isEmpty());
+        verify(output).close();
+    }
+
+    @Test
+    public void shouldRunPostOperationHookWhenAsyncOperationChainIsRejected() {
+        // Given
+        final JobManager rejectingJobManager = mock(JobManager.class);
+        given(rejectingJobManager.submit(any(User.class), any(String.class), any(Callable.class)))
+                .willThrow(new RejectedExecutionException());
+        final List<String> hooks = new ArrayList<>();
+        final SimpleOperationService hookService = new SimpleOperationService(mock(GraphFactory.class)) {
+            @Override
+            protected JobManager getJobManager() {
+                return rejectingJobManager;
+            }
+
+            @Override
+            protected void preOperationHook(final OperationChain<?> opChain, final User user) {
+                hooks.add("pre");
+            }
+
+            @Override
+            protected void postOperationHook(final OperationChain<?> opChain, final User user) {
+                hooks.add("post");
+            }
+        };
+
+        // When / Then
+        try {
+            hookService.execute(new OperationChain<>(new GetAllElements<>()), true);
+            fail("Exception expected");
+        } catch (final WebApplicationException e) {
+            assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), e.getResponse().getStatus());
+        }
+        assertEquals(Arrays.asList("pre", "post"), hooks);
+    }
+
+    private JobDetail waitForJob() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            final List<JobDetail> jobs = jobManager.getJobs(new User());
+            if (1 == jobs.size() && jobs.get(0).getStatus().isComplete()) {
+                return jobs.get(0);
+            }
+            Thread.sleep(100);
+        }
+
+        fail("Job did not complete");
+        return null;
+    }
+}
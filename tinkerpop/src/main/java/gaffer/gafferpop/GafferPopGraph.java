@@ -20,8 +20,10 @@ import gaffer.commonutil.iterable.ChainedIterable;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.gafferpop.computer.GafferPopGraphComputer;
 import gaffer.gafferpop.generator.GafferPopEdgeGenerator;
 import gaffer.gafferpop.generator.GafferPopVertexGenerator;
 import gaffer.graph.Graph;
@@ -44,10 +46,14 @@ import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedEntities;
+import gaffer.operation.simple.spark.GetRDDOfAllElements;
 import gaffer.store.schema.Schema;
 import gaffer.user.User;
 import org.apache.commons.configuration.Configuration;
+import org.apache.spark.SparkContext;
+import org.apache.spark.rdd.RDD;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -99,18 +105,61 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
 
     public static final String DATA_AUTHS = "gaffer.dataAuths";
 
+    /**
+     * Configuration key for the maximum number of traversers whose vertices
+     * are queried for together when a traversal moves to adjacent vertices or
+     * edges.
+     *
+     * @see GafferPopVertexStep
+     */
+    public static final String TRAVERSAL_BATCH_SIZE = "gaffer.traversal.batchSize";
+
+    public static final int TRAVERSAL_BATCH_SIZE_DEFAULT = 1000;
+
+    /**
+     * Configuration key for the number of vertices and edges to buffer before
+     * adding them to Gaffer in a single batch. If this is not set, or is less
+     * than 1, each vertex and edge is added to Gaffer as soon as it is added
+     * to the graph.
+     *
+     * @see #tx()
+     * @see #flush()
+     */
+    public static final String WRITE_BUFFER_SIZE = "gaffer.write.bufferSize";
+
+    public static final int WRITE_BUFFER_SIZE_DEFAULT = 0;
+
+    /**
+     * Configuration key for the maximum time in milliseconds that a buffered
+     * vertex or edge waits before it is added to Gaffer. If this is not set,
+     * or is less than 1, the buffer is only flushed when it is full, when it
+     * is committed or flushed, or when the graph is closed.
+     */
+    public static final String WRITE_BUFFER_FLUSH_INTERVAL = "gaffer.write.flushIntervalMillis";
+
+    public static final long WRITE_BUFFER_FLUSH_INTERVAL_DEFAULT = 0;
+
     /**
      * The vertex label for vertex IDs. These are {@link GafferPopVertex}s that
      * don't have any properties, just an ID value and a label of 'id'.
      */
     public static final String ID_LABEL = "id";
 
+    static {
+        TraversalStrategies.GlobalCache.registerStrategies(GafferPopGraph.class,
+                TraversalStrategies.GlobalCache.getStrategies(org.apache.tinkerpop.gremlin.structure.Graph.class).clone()
+                        .addStrategies(GafferPopVertexStepStrategy.instance()));
+    }
+
     private final Graph graph;
     private final Configuration configuration;
     private final GafferPopGraphVariables variables;
     private final GafferPopGraphFeatures features;
     private final Map<String, String> opOptions;
     private final User user;
+    private final int traversalBatchSize;
+    private final GafferPopWriteBuffer writeBuffer;
+    private final GafferPopTransaction transaction;
 
     public GafferPopGraph(final Configuration configuration) {
         this(configuration, createGraph(configuration));
@@ -119,7 +168,6 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
     public GafferPopGraph(final Configuration configuration, final Graph graph) {
         this.configuration = configuration;
         this.graph = graph;
-        features = new GafferPopGraphFeatures();
         opOptions = new HashMap<>();
         if (configuration().containsKey(OP_OPTIONS)) {
             for (String option : configuration().getStringArray(OP_OPTIONS)) {
@@ -133,6 +181,19 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
                 .dataAuths(configuration().getStringArray(DATA_AUTHS))
                 .build();
 
+        traversalBatchSize = configuration().getInt(TRAVERSAL_BATCH_SIZE, TRAVERSAL_BATCH_SIZE_DEFAULT);
+
+        final int writeBufferSize = configuration().getInt(WRITE_BUFFER_SIZE, WRITE_BUFFER_SIZE_DEFAULT);
+        if (0 < writeBufferSize) {
+            writeBuffer = new GafferPopWriteBuffer(this, writeBufferSize,
+                    configuration().getLong(WRITE_BUFFER_FLUSH_INTERVAL, WRITE_BUFFER_FLUSH_INTERVAL_DEFAULT));
+            transaction = new GafferPopTransaction(this, writeBuffer);
+        } else {
+            writeBuffer = null;
+            transaction = null;
+        }
+        features = new GafferPopGraphFeatures(null != transaction);
+
         variables = createVariables();
     }
 
@@ -174,6 +235,12 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
     }
 
     public void addVertex(final GafferPopVertex vertex) {
+        if (null != writeBuffer) {
+            writeBuffer.add(new GafferPopVertexGenerator(this).getElement(vertex));
+            vertex.setReadOnly();
+            return;
+        }
+
         execute(new OperationChain.Builder()
                 .first(new GenerateElements.Builder<GafferPopVertex>()
                         .objects(Collections.singletonList(vertex))
@@ -186,6 +253,11 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
     }
 
     public void addEdge(final GafferPopEdge edge) {
+        if (null != writeBuffer) {
+            writeBuffer.add(new GafferPopEdgeGenerator(this).getElement(edge));
+            return;
+        }
+
         execute(new OperationChain.Builder()
                 .first(new GenerateElements.Builder<GafferPopEdge>()
                         .objects(Collections.singletonList(edge))
@@ -429,17 +501,41 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
 
     @Override
     public <C extends GraphComputer> C compute(final Class<C> graphComputerClass) throws IllegalArgumentException {
-        throw Exceptions.graphComputerNotSupported();
+        if (!GafferPopGraphComputer.class.equals(graphComputerClass)) {
+            throw Exceptions.graphDoesNotSupportProvidedGraphComputer(graphComputerClass);
+        }
+        return (C) compute();
     }
 
     @Override
     public GraphComputer compute() throws IllegalArgumentException {
-        throw Exceptions.graphComputerNotSupported();
+        return new GafferPopGraphComputer(this);
     }
 
+    /**
+     * Returns a transaction over the write buffer, if one has been configured
+     * using {@link #WRITE_BUFFER_SIZE}. Committing the transaction adds the
+     * buffered vertices and edges to Gaffer.
+     *
+     * @return the {@link GafferPopTransaction} for this graph
+     * @see GafferPopTransaction
+     */
     @Override
     public Transaction tx() {
-        throw Exceptions.transactionsNotSupported();
+        if (null == transaction) {
+            throw Exceptions.transactionsNotSupported();
+        }
+        return transaction;
+    }
+
+    /**
+     * Adds any buffered vertices and edges to Gaffer. This does nothing if
+     * writes are not buffered.
+     */
+    public void flush() {
+        if (null != writeBuffer) {
+            writeBuffer.flush();
+        }
     }
 
     @Override
@@ -454,6 +550,9 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
 
     @Override
     public void close() throws Exception {
+        if (null != writeBuffer) {
+            writeBuffer.close();
+        }
     }
 
     @Override
@@ -461,6 +560,64 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
         return features;
     }
 
+    /**
+     * This performs a getRelatedEdges operation on Gaffer for a batch of
+     * vertices, returning the Gaffer edges so the caller can match each edge
+     * to the vertices it is related to.
+     *
+     * @param vertexIds the vertex IDs to query for
+     * @param direction {@link Direction} of edges to return
+     * @param view      a Gaffer {@link View} containing edge groups
+     * @return the related Gaffer edges
+     */
+    CloseableIterable<gaffer.data.element.Edge> relatedEdges(final Iterable<Object> vertexIds, final Direction direction, final View view) {
+        return execute(new OperationChain<>(new GetRelatedEdges.Builder<EntitySeed>()
+                .seeds(getEntitySeeds(vertexIds))
+                .view(view)
+                .inOutType(getInOutType(direction))
+                .build()));
+    }
+
+    /**
+     * This performs a getEntitiesBySeed operation on Gaffer for a batch of
+     * vertices.
+     *
+     * @param vertexIds the vertex IDs to query for
+     * @param view      a Gaffer {@link View} containing entity groups
+     * @return the Gaffer entities
+     */
+    CloseableIterable<Entity> entities(final Iterable<Object> vertexIds, final View view) {
+        return execute(new OperationChain<>(new GetEntitiesBySeed.Builder()
+                .seeds(getEntitySeeds(vertexIds))
+                .view(view)
+                .build()));
+    }
+
+    /**
+     * This performs a getRDDOfAllElements operation on Gaffer.
+     *
+     * @param sparkContext the {@link SparkContext} to create the RDD with
+     * @return an RDD of all the Gaffer elements
+     */
+    public RDD<Element> allElements(final SparkContext sparkContext) {
+        return execute(new OperationChain<>(new GetRDDOfAllElements.Builder()
+                .sparkContext(sparkContext)
+                .build()));
+    }
+
+    /**
+     * This performs an addElements operation on Gaffer.
+     *
+     * @param elements the Gaffer elements to add
+     */
+    void addElements(final List<Element> elements) {
+        execute(new OperationChain<>(new AddElements(elements)));
+    }
+
+    int getTraversalBatchSize() {
+        return traversalBatchSize;
+    }
+
     private <T> T execute(final OperationChain<T> opChain) {
         for (Operation operation : opChain.getOperations()) {
             operation.setOptions(opOptions);
@@ -574,7 +731,7 @@ public class GafferPopGraph implements org.apache.tinkerpop.gremlin.structure.Gr
         return view;
     }
 
-    private View createView(final String[] labels) {
+    View createView(final String[] labels) {
         View view = null;
         if (null != labels && 0 < labels.length) {
             if (1 == labels.length && labels[0].startsWith("View{")) {
@@ -19,10 +19,22 @@ import org.apache.tinkerpop.gremlin.structure.Graph.Features;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 public class GafferPopGraphFeatures implements Features {
-    private final GafferPopGraphGraphFeatures graphFeatures = new GafferPopGraphGraphFeatures();
+    private final GafferPopGraphGraphFeatures graphFeatures;
     private final GafferPopGraphEdgeFeatures edgeFeatures = new GafferPopGraphEdgeFeatures();
     private final GafferPopGraphVertexFeatures vertexFeatures = new GafferPopGraphVertexFeatures();
 
+    public GafferPopGraphFeatures() {
+        this(false);
+    }
+
+    /**
+     * @param supportsTransactions true if writes are buffered and can be
+     *                             committed using a {@link GafferPopTransaction}
+     */
+    public GafferPopGraphFeatures(final boolean supportsTransactions) {
+        graphFeatures = new GafferPopGraphGraphFeatures(supportsTransactions);
+    }
+
     @Override
     public GraphFeatures graph() {
         return graphFeatures;
@@ -91,12 +103,15 @@ public class GafferPopGraphFeatures implements Features {
     }
 
     public static final class GafferPopGraphGraphFeatures implements Features.GraphFeatures {
-        private GafferPopGraphGraphFeatures() {
+        private final boolean supportsTransactions;
+
+        private GafferPopGraphGraphFeatures(final boolean supportsTransactions) {
+            this.supportsTransactions = supportsTransactions;
         }
 
         @Override
         public boolean supportsTransactions() {
-            return false;
+            return supportsTransactions;
         }
 
         @Override
@@ -106,7 +121,7 @@ public class GafferPopGraphFeatures implements Features {
 
         @Override
         public boolean supportsComputer() {
-            return false;
+            return true;
         }
     }
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop;
+
+import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadedTransaction;
+import org.apache.tinkerpop.gremlin.structure.util.AbstractTransaction.TransactionException;
+
+/**
+ * A <code>GafferPopTransaction</code> exposes the {@link GafferPopWriteBuffer}
+ * of a {@link GafferPopGraph} through the TinkerPop transaction API.
+ * Committing flushes the buffered vertices and edges to Gaffer in batches and
+ * rolling back discards them.
+ * <p>
+ * Gaffer is not transactional: a commit is not atomic, buffered elements are
+ * not visible to queries before they are committed and elements may already
+ * have been flushed, when the buffer filled up or on the flush interval,
+ * before a rollback. The transaction is shared by all threads using the graph.
+ * </p>
+ */
+public class GafferPopTransaction extends AbstractThreadedTransaction {
+    private final GafferPopWriteBuffer writeBuffer;
+
+    GafferPopTransaction(final GafferPopGraph graph, final GafferPopWriteBuffer writeBuffer) {
+        super(graph);
+        this.writeBuffer = writeBuffer;
+    }
+
+    @Override
+    protected void doOpen() {
+        // The write buffer is always open.
+    }
+
+    @Override
+    protected void doCommit() throws TransactionException {
+        try {
+            writeBuffer.flush();
+        } catch (final RuntimeException e) {
+            throw new TransactionException(e);
+        }
+    }
+
+    @Override
+    protected void doRollback() throws TransactionException {
+        writeBuffer.clear();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+}
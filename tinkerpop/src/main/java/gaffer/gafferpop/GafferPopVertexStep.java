@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.gafferpop.generator.GafferPopEdgeGenerator;
+import gaffer.gafferpop.generator.GafferPopVertexGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A <code>GafferPopVertexStep</code> replaces a TinkerPop {@link VertexStep}
+ * in traversals over a {@link GafferPopGraph}. Rather than running a Gaffer
+ * query for each traverser, it collects up to
+ * {@link GafferPopGraph#TRAVERSAL_BATCH_SIZE} traversers and runs a single
+ * getRelatedEdges query over all of their vertices, matching the edges back to
+ * the traversers. When adjacent vertices are required a single
+ * getEntitiesBySeed query is then run for all of the adjacent vertices in the
+ * batch.
+ * <p>
+ * As with {@link GafferPopGraph#adjVertices(Iterable, Direction, String...)}
+ * only vertices that exist as entities in Gaffer are returned.
+ * </p>
+ *
+ * @param <E> the type of the results - {@link Vertex} or {@link org.apache.tinkerpop.gremlin.structure.Edge}
+ * @see GafferPopVertexStepStrategy
+ */
+public class GafferPopVertexStep<E extends Element> extends AbstractStep<Vertex, E> {
+    private static final long serialVersionUID = -2870418397521212834L;
+
+    private final Direction direction;
+    private final String[] edgeLabels;
+    private final Class<E> returnClass;
+    // Views are not serialisable, so the step holds the view as JSON.
+    private byte[] viewJson;
+    private transient View view;
+    private Deque<Traverser.Admin<E>> results = new ArrayDeque<>();
+
+    public GafferPopVertexStep(final VertexStep<E> originalStep) {
+        super(originalStep.getTraversal());
+        this.direction = originalStep.getDirection();
+        this.edgeLabels = originalStep.getEdgeLabels();
+        this.returnClass = originalStep.getReturnClass();
+        for (final String label : originalStep.getLabels()) {
+            addLabel(label);
+        }
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return Arrays.copyOf(edgeLabels, edgeLabels.length);
+    }
+
+    public boolean returnsVertex() {
+        return Vertex.class.equals(returnClass);
+    }
+
+    /**
+     * @return the view used to query Gaffer, or null if the view is created
+     * from the edge labels.
+     */
+    public View getView() {
+        if (null == view && null != viewJson) {
+            view = View.fromJson(viewJson);
+        }
+        return view;
+    }
+
+    /**
+     * @param view the view to query Gaffer with, in place of a view created
+     *             from the edge labels.
+     */
+    public void setView(final View view) {
+        this.view = view;
+        this.viewJson = null != view ? view.toJson(false) : null;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() {
+        while (results.isEmpty()) {
+            if (!starts.hasNext()) {
+                throw FastNoSuchElementException.instance();
+            }
+            processBatch();
+        }
+
+        return results.remove();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        results.clear();
+    }
+
+    @Override
+    public GafferPopVertexStep<E> clone() {
+        final GafferPopVertexStep<E> clone = (GafferPopVertexStep<E>) super.clone();
+        clone.results = new ArrayDeque<>();
+        return clone;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.OBJECT);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, direction, Arrays.asList(edgeLabels), returnClass.getSimpleName().toLowerCase(Locale.ENGLISH), getView());
+    }
+
+    private void processBatch() {
+        final Traverser.Admin<Vertex> first = starts.next();
+        final GafferPopGraph graph = (GafferPopGraph) first.get().graph();
+
+        final Map<Object, List<Traverser.Admin<Vertex>>> traversersById = new LinkedHashMap<>();
+        addTraverser(first, traversersById);
+        for (int i = 1; i < graph.getTraversalBatchSize() && starts.hasNext(); i++) {
+            addTraverser(starts.next(), traversersById);
+        }
+
+        final View queryView = null != viewJson ? getView() : graph.createView(edgeLabels);
+        final List<Traverser.Admin<Vertex>> adjacentTraversers = new ArrayList<>();
+        final List<Object> adjacentIds = new ArrayList<>();
+        final GafferPopEdgeGenerator edgeGenerator = new GafferPopEdgeGenerator(graph, true);
+        try (final CloseableIterable<gaffer.data.element.Edge> edges = graph.relatedEdges(traversersById.keySet(), direction, queryView)) {
+            for (final gaffer.data.element.Edge edge : edges) {
+                final boolean selfLoop = Objects.equals(edge.getSource(), edge.getDestination());
+                final List<Traverser.Admin<Vertex>> sourceMatches = Direction.IN != direction || !edge.isDirected()
+                        ? traversersById.get(edge.getSource()) : null;
+                final List<Traverser.Admin<Vertex>> destMatches = !selfLoop && (Direction.OUT != direction || !edge.isDirected())
+                        ? traversersById.get(edge.getDestination()) : null;
+
+                if (returnsVertex()) {
+                    addAdjacent(sourceMatches, edge.getDestination(), adjacentTraversers, adjacentIds);
+                    addAdjacent(destMatches, edge.getSource(), adjacentTraversers, adjacentIds);
+                } else {
+                    final E gafferPopEdge = (E) edgeGenerator.getObject(edge);
+                    addResults(sourceMatches, gafferPopEdge);
+                    addResults(destMatches, gafferPopEdge);
+                }
+            }
+        }
+
+        if (!adjacentIds.isEmpty()) {
+            addAdjacentVertices(graph, queryView, adjacentTraversers, adjacentIds);
+        }
+    }
+
+    private void addAdjacentVertices(final GafferPopGraph graph, final View queryView,
+                                     final List<Traverser.Admin<Vertex>> adjacentTraversers,
+                                     final List<Object> adjacentIds) {
+        final Map<Object, List<E>> verticesById = new HashMap<>();
+        final GafferPopVertexGenerator vertexGenerator = new GafferPopVertexGenerator(graph);
+        try (final CloseableIterable<Entity> entities = graph.entities(new LinkedHashSet<>(adjacentIds), queryView)) {
+            for (final Entity entity : entities) {
+                verticesById.computeIfAbsent(entity.getVertex(), k -> new ArrayList<>())
+                        .add((E) vertexGenerator.getObject(entity));
+            }
+        }
+
+        for (int i = 0; i < adjacentIds.size(); i++) {
+            addResults(Collections.singletonList(adjacentTraversers.get(i)), verticesById.get(adjacentIds.get(i)));
+        }
+    }
+
+    private void addResults(final List<Traverser.Admin<Vertex>> traversers, final E result) {
+        if (null != traversers) {
+            for (final Traverser.Admin<Vertex> traverser : traversers) {
+                results.add(traverser.split(result, this));
+            }
+        }
+    }
+
+    private void addResults(final List<Traverser.Admin<Vertex>> traversers, final List<E> resultList) {
+        if (null != resultList) {
+            for (final E result : resultList) {
+                addResults(traversers, result);
+            }
+        }
+    }
+
+    private static void addTraverser(final Traverser.Admin<Vertex> traverser, final Map<Object, List<Traverser.Admin<Vertex>>> traversersById) {
+        traversersById.computeIfAbsent(traverser.get().id(), k -> new ArrayList<>()).add(traverser);
+    }
+
+    private static void addAdjacent(final List<Traverser.Admin<Vertex>> traversers, final Object adjacentId,
+                                    final List<Traverser.Admin<Vertex>> adjacentTraversers, final List<Object> adjacentIds) {
+        if (null != traversers) {
+            for (final Traverser.Admin<Vertex> traverser : traversers) {
+                adjacentTraversers.add(traverser);
+                adjacentIds.add(adjacentId);
+            }
+        }
+    }
+}
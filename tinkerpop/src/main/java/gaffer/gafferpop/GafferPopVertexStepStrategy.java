@@ -0,0 +1,265 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop;
+
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.FilterFunction;
+import gaffer.function.simple.filter.IsEqual;
+import gaffer.function.simple.filter.IsIn;
+import gaffer.function.simple.filter.IsLessThan;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>GafferPopVertexStepStrategy</code> replaces each TinkerPop
+ * {@link VertexStep} in a traversal over a {@link GafferPopGraph} with a
+ * {@link GafferPopVertexStep}, so each hop is executed as batched Gaffer
+ * queries rather than a query per vertex.
+ * <p>
+ * Any {@link HasStep}s directly following the vertex step are folded into the
+ * Gaffer {@link View} where possible: label predicates restrict the groups and
+ * eq, gt, gte, lt, lte and within predicates on properties become post
+ * aggregation filters. A has step is only folded if the types of the values
+ * match the property types in the schema, otherwise it is left in the
+ * traversal.
+ * </p>
+ * <p>
+ * Traversals running on a graph computer are not modified.
+ * </p>
+ */
+public final class GafferPopVertexStepStrategy
+        extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy>
+        implements TraversalStrategy.ProviderOptimizationStrategy {
+    private static final long serialVersionUID = 6148370437935233618L;
+    private static final GafferPopVertexStepStrategy INSTANCE = new GafferPopVertexStepStrategy();
+
+    private GafferPopVertexStepStrategy() {
+    }
+
+    public static GafferPopVertexStepStrategy instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal)) {
+            return;
+        }
+
+        for (final VertexStep<?> originalStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+            final GafferPopVertexStep<?> step = new GafferPopVertexStep<>(originalStep);
+            TraversalHelper.replaceStep((Step) originalStep, step, traversal);
+            if (traversal.getGraph().isPresent() && traversal.getGraph().get() instanceof GafferPopGraph) {
+                foldHasSteps(step, (GafferPopGraph) traversal.getGraph().get(), traversal);
+            }
+        }
+    }
+
+    private void foldHasSteps(final GafferPopVertexStep<?> step, final GafferPopGraph graph, final Traversal.Admin<?, ?> traversal) {
+        final String[] edgeLabels = step.getEdgeLabels();
+        if (1 == edgeLabels.length && edgeLabels[0].startsWith("View{")) {
+            // A view has been provided, so don't modify it.
+            return;
+        }
+
+        final Schema schema = (Schema) graph.variables().get(GafferPopGraphVariables.SCHEMA).get();
+        final View labelView = graph.createView(edgeLabels);
+        final Set<String> entityGroups = new LinkedHashSet<>(null != labelView ? labelView.getEntityGroups() : schema.getEntityGroups());
+        final Set<String> edgeGroups = new LinkedHashSet<>(null != labelView ? labelView.getEdgeGroups() : schema.getEdgeGroups());
+        final Set<String> filteredGroups = step.returnsVertex() ? entityGroups : edgeGroups;
+        final Map<String, List<Filter>> filters = new HashMap<>();
+
+        boolean folded = false;
+        Step<?, ?> nextStep = step.getNextStep();
+        while (nextStep instanceof HasStep) {
+            final Set<String> groups = new LinkedHashSet<>(filteredGroups);
+            final Map<String, List<Filter>> stepFilters = copy(filters);
+            if (!fold(((HasStep<?>) nextStep).getHasContainers(), schema, groups, stepFilters)) {
+                break;
+            }
+
+            filteredGroups.retainAll(groups);
+            filters.clear();
+            filters.putAll(stepFilters);
+            for (final String label : nextStep.getLabels()) {
+                step.addLabel(label);
+            }
+
+            final Step<?, ?> hasStep = nextStep;
+            nextStep = hasStep.getNextStep();
+            traversal.removeStep(hasStep);
+            folded = true;
+        }
+
+        if (folded) {
+            step.setView(createView(entityGroups, edgeGroups, filters));
+        }
+    }
+
+    private boolean fold(final List<HasContainer> hasContainers, final Schema schema,
+                         final Set<String> groups, final Map<String, List<Filter>> filters) {
+        for (final HasContainer hasContainer : hasContainers) {
+            final String key = hasContainer.getKey();
+            if (T.label.getAccessor().equals(key)) {
+                final Collection<?> labels = getValues(hasContainer);
+                if (null == labels) {
+                    return false;
+                }
+                groups.retainAll(labels);
+            } else if (key.startsWith("~")) {
+                // ids, keys and values can't be filtered using a view
+                return false;
+            } else {
+                final FilterFunction function = createFilterFunction(hasContainer);
+                if (null == function) {
+                    return false;
+                }
+
+                for (final String group : new ArrayList<>(groups)) {
+                    final SchemaElementDefinition elementDef = schema.getElement(group);
+                    final Class<?> propertyClass = null != elementDef ? elementDef.getPropertyClass(key) : null;
+                    if (null == propertyClass) {
+                        // The has step will filter out all elements without the property
+                        groups.remove(group);
+                    } else if (!isInstance(propertyClass, getValues(hasContainer))) {
+                        return false;
+                    } else {
+                        if (!filters.containsKey(group)) {
+                            filters.put(group, new ArrayList<Filter>());
+                        }
+                        filters.get(group).add(new Filter(key, function));
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private FilterFunction createFilterFunction(final HasContainer hasContainer) {
+        final Object biPredicate = hasContainer.getBiPredicate();
+        final Object value = hasContainer.getValue();
+        if (Compare.eq == biPredicate) {
+            return new IsEqual(value);
+        }
+        if (Contains.within == biPredicate && value instanceof Collection) {
+            return new IsIn(new ArrayList<Object>((Collection<?>) value));
+        }
+        if (value instanceof Comparable) {
+            if (Compare.gt == biPredicate || Compare.gte == biPredicate) {
+                return new IsMoreThan((Comparable) value, Compare.gte == biPredicate);
+            }
+            if (Compare.lt == biPredicate || Compare.lte == biPredicate) {
+                return new IsLessThan((Comparable) value, Compare.lte == biPredicate);
+            }
+        }
+
+        return null;
+    }
+
+    private Collection<?> getValues(final HasContainer hasContainer) {
+        final Object value = hasContainer.getValue();
+        if (Contains.within == hasContainer.getBiPredicate() && value instanceof Collection) {
+            return (Collection<?>) value;
+        }
+        if (Compare.eq == hasContainer.getBiPredicate() || !T.label.getAccessor().equals(hasContainer.getKey())) {
+            return Collections.singletonList(value);
+        }
+
+        return null;
+    }
+
+    private boolean isInstance(final Class<?> clazz, final Collection<?> values) {
+        for (final Object value : values) {
+            if (!clazz.isInstance(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private View createView(final Set<String> entityGroups, final Set<String> edgeGroups,
+                            final Map<String, List<Filter>> filters) {
+        final View.Builder viewBuilder = new View.Builder();
+        for (final String group : entityGroups) {
+            viewBuilder.entity(group, createElementDef(filters.get(group)));
+        }
+        for (final String group : edgeGroups) {
+            viewBuilder.edge(group, createElementDef(filters.get(group)));
+        }
+
+        return viewBuilder.build();
+    }
+
+    private ViewElementDefinition createElementDef(final List<Filter> groupFilters) {
+        if (null == groupFilters || groupFilters.isEmpty()) {
+            return new ViewElementDefinition();
+        }
+
+        final ElementFilter.Builder filterBuilder = new ElementFilter.Builder();
+        for (final Filter filter : groupFilters) {
+            filterBuilder.select(filter.property)
+                    .execute(filter.function.statelessClone());
+        }
+
+        return new ViewElementDefinition.Builder()
+                .postAggregationFilter(filterBuilder.build())
+                .build();
+    }
+
+    private static Map<String, List<Filter>> copy(final Map<String, List<Filter>> filters) {
+        final Map<String, List<Filter>> copy = new LinkedHashMap<>();
+        for (final Map.Entry<String, List<Filter>> entry : filters.entrySet()) {
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+
+        return copy;
+    }
+
+    private static final class Filter {
+        private final String property;
+        private final FilterFunction function;
+
+        private Filter(final String property, final FilterFunction function) {
+            this.property = property;
+            this.function = function;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop;
+
+import gaffer.data.element.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A <code>GafferPopWriteBuffer</code> collects the Gaffer {@link Element}s
+ * added to a {@link GafferPopGraph} and adds them to Gaffer in batches,
+ * rather than running an addElements operation for each vertex and edge.
+ * <p>
+ * The buffer is flushed when it reaches its maximum size, when
+ * {@link #flush()} is called and, if a flush interval is configured,
+ * periodically on a background thread. Buffered elements are not visible to
+ * queries until they have been flushed.
+ * </p>
+ * <p>
+ * Batches are written to Gaffer one at a time, so when {@link #flush()}
+ * returns all the elements added before it was called have been written,
+ * including any batches that were being written by other threads. If a
+ * periodic flush fails, the failure is rethrown by the next call to
+ * {@link #flush()}.
+ * </p>
+ */
+final class GafferPopWriteBuffer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GafferPopWriteBuffer.class);
+
+    private final GafferPopGraph graph;
+    private final int maxSize;
+    private final ScheduledExecutorService flushExecutor;
+    private final Object writeLock = new Object();
+    private final AtomicReference<RuntimeException> backgroundFailure = new AtomicReference<>();
+    private List<Element> elements;
+
+    GafferPopWriteBuffer(final GafferPopGraph graph, final int maxSize, final long flushIntervalMillis) {
+        this.graph = graph;
+        this.maxSize = Math.max(1, maxSize);
+        this.elements = new ArrayList<>(this.maxSize);
+
+        if (0 < flushIntervalMillis) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(new FlushThreadFactory());
+            flushExecutor.scheduleWithFixedDelay(() -> {
+                try {
+                    write();
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Failed to flush buffered elements to Gaffer", e);
+                    backgroundFailure.compareAndSet(null, e);
+                }
+            }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flushExecutor = null;
+        }
+    }
+
+    /**
+     * Adds an element to the buffer, flushing the buffer if it is full.
+     *
+     * @param element the element to add
+     */
+    public void add(final Element element) {
+        synchronized (this) {
+            elements.add(element);
+            if (elements.size() < maxSize) {
+                return;
+            }
+        }
+
+        write();
+    }
+
+    /**
+     * Adds all the buffered elements to Gaffer, waiting for any batches being
+     * written by other threads. If the add fails the elements are not returned
+     * to the buffer.
+     *
+     * @throws RuntimeException if the add fails or a periodic flush has failed
+     *                          since the last flush
+     */
+    public void flush() {
+        write();
+
+        final RuntimeException failure = backgroundFailure.getAndSet(null);
+        if (null != failure) {
+            throw new RuntimeException("Failed to flush buffered elements to Gaffer in the background: "
+                    + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Discards all the buffered elements.
+     */
+    public synchronized void clear() {
+        elements.clear();
+    }
+
+    public synchronized int size() {
+        return elements.size();
+    }
+
+    /**
+     * Stops any periodic flushing and flushes the remaining elements.
+     */
+    public void close() {
+        if (null != flushExecutor) {
+            flushExecutor.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * Swaps out and writes the buffered elements. The write lock is held
+     * across the swap and the write, so batches are written in order and a
+     * flush cannot complete whilst an earlier batch is still being written.
+     */
+    private void write() {
+        synchronized (writeLock) {
+            final List<Element> buffered;
+            synchronized (this) {
+                if (elements.isEmpty()) {
+                    return;
+                }
+                buffered = elements;
+                elements = new ArrayList<>(maxSize);
+            }
+
+            graph.addElements(buffered);
+        }
+    }
+
+    private static final class FlushThreadFactory implements ThreadFactory {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = defaultFactory.newThread(runnable);
+            thread.setName("gafferpop-write-buffer-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop.computer;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>GafferPopComputerResultGraph</code> is a read only, in memory
+ * {@link Graph} holding the vertices computed by a
+ * {@link GafferPopGraphComputer} job, along with the vertex properties written
+ * by the vertex program. It is returned when the vertex properties are
+ * persisted to a new graph.
+ */
+public class GafferPopComputerResultGraph implements Graph {
+    private final Map<Object, Vertex> vertices = new LinkedHashMap<>();
+    private final Configuration configuration = new BaseConfiguration();
+    private final Features features = new GafferPopComputerResultGraphFeatures();
+
+    public GafferPopComputerResultGraph(final Iterable<? extends Vertex> vertices) {
+        for (final Vertex vertex : vertices) {
+            this.vertices.put(vertex.id(), vertex);
+        }
+    }
+
+    @Override
+    public Vertex addVertex(final Object... keyValues) {
+        throw Exceptions.vertexAdditionsNotSupported();
+    }
+
+    @Override
+    public <C extends GraphComputer> C compute(final Class<C> graphComputerClass) throws IllegalArgumentException {
+        throw Exceptions.graphComputerNotSupported();
+    }
+
+    @Override
+    public GraphComputer compute() throws IllegalArgumentException {
+        throw Exceptions.graphComputerNotSupported();
+    }
+
+    @Override
+    public Iterator<Vertex> vertices(final Object... vertexIds) {
+        if (null == vertexIds || 0 == vertexIds.length) {
+            return vertices.values().iterator();
+        }
+
+        final List<Vertex> result = new ArrayList<>(vertexIds.length);
+        for (final Object id : getIds(vertexIds)) {
+            final Vertex vertex = vertices.get(id);
+            if (null != vertex) {
+                result.add(vertex);
+            }
+        }
+        return result.iterator();
+    }
+
+    @Override
+    public Iterator<Edge> edges(final Object... edgeIds) {
+        final Set<Object> ids = null == edgeIds || 0 == edgeIds.length ? null : getIds(edgeIds);
+        final List<Edge> result = new ArrayList<>();
+        for (final Vertex vertex : vertices.values()) {
+            final Iterator<Edge> edges = vertex.edges(Direction.OUT);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                if (null == ids || ids.contains(edge.id())) {
+                    result.add(edge);
+                }
+            }
+        }
+        return result.iterator();
+    }
+
+    @Override
+    public Transaction tx() {
+        throw Exceptions.transactionsNotSupported();
+    }
+
+    @Override
+    public void close() throws Exception {
+    }
+
+    @Override
+    public Variables variables() {
+        throw Exceptions.variablesNotSupported();
+    }
+
+    @Override
+    public Configuration configuration() {
+        return configuration;
+    }
+
+    @Override
+    public Features features() {
+        return features;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.graphString(this, "vertices:" + vertices.size());
+    }
+
+    private static Set<Object> getIds(final Object[] elementsOrIds) {
+        final Set<Object> ids = new HashSet<>(elementsOrIds.length);
+        for (final Object elementOrId : Arrays.asList(elementsOrIds)) {
+            ids.add(elementOrId instanceof Element ? ((Element) elementOrId).id() : elementOrId);
+        }
+        return ids;
+    }
+
+    private static final class GafferPopComputerResultGraphFeatures implements Features {
+        private final GraphFeatures graphFeatures = new GafferPopComputerResultGraphGraphFeatures();
+
+        @Override
+        public GraphFeatures graph() {
+            return graphFeatures;
+        }
+
+        @Override
+        public String toString() {
+            return StringFactory.featureString(this);
+        }
+    }
+
+    private static final class GafferPopComputerResultGraphGraphFeatures implements Features.GraphFeatures {
+        @Override
+        public boolean supportsComputer() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsPersistence() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsTransactions() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsThreadedTransactions() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop.computer;
+
+import gaffer.gafferpop.GafferPopGraph;
+import gaffer.serialisation.kryo.Registrator;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkContext;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import scala.Tuple2;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * A <code>GafferPopGraphComputer</code> is a {@link GraphComputer} that runs
+ * vertex programs and map reduce jobs over a {@link GafferPopGraph} using
+ * Spark.
+ * <p>
+ * The elements are read from Gaffer as an RDD, using a getRDDOfAllElements
+ * operation, and grouped into a {@link StarGraph} for each vertex. Each
+ * iteration of the vertex program is then executed in parallel over the
+ * partitions of vertices, with the messages sent between vertices shuffled
+ * by vertex ID and the memory values reduced on the driver.
+ * </p>
+ * <p>
+ * The Spark context is created from the keys of the graph configuration that
+ * start with <code>spark.</code>. By default Spark runs locally, using a
+ * thread per core, and serialises elements with Kryo using the Gaffer
+ * {@link Registrator}. The computed vertex properties can not be written back to
+ * Gaffer, so they are only available from a new result graph, held in
+ * memory on the driver.
+ * </p>
+ */
+public class GafferPopGraphComputer implements GraphComputer {
+    /**
+     * Configuration key for the Spark master. Defaults to local mode with a
+     * thread per core.
+     */
+    public static final String SPARK_MASTER = "spark.master";
+
+    public static final String SPARK_MASTER_DEFAULT = "local[*]";
+
+    public static final String SPARK_APP_NAME = "spark.app.name";
+
+    public static final String SPARK_APP_NAME_DEFAULT = "GafferPopGraphComputer";
+
+    /**
+     * Configuration key for the Spark serializer. Defaults to Kryo, which is
+     * used to shuffle the vertices and messages between partitions.
+     */
+    public static final String SPARK_SERIALIZER = "spark.serializer";
+
+    public static final String SPARK_SERIALIZER_DEFAULT = KryoSerializer.class.getName();
+
+    public static final String SPARK_KRYO_REGISTRATOR = "spark.kryo.registrator";
+
+    public static final String SPARK_KRYO_REGISTRATOR_DEFAULT = Registrator.class.getName();
+
+    private static final String SPARK_PREFIX = "spark";
+
+    private final GafferPopGraph graph;
+    private final Set<MapReduce> mapReducers = new LinkedHashSet<>();
+    private final GraphFilter graphFilter = new GraphFilter();
+    private VertexProgram<?> vertexProgram;
+    private Optional<ResultGraph> resultGraph = Optional.empty();
+    private Optional<Persist> persist = Optional.empty();
+    private int workers;
+    private boolean executed;
+
+    public GafferPopGraphComputer(final GafferPopGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public GraphComputer result(final ResultGraph resultGraph) {
+        this.resultGraph = Optional.of(resultGraph);
+        return this;
+    }
+
+    @Override
+    public GraphComputer persist(final Persist persist) {
+        this.persist = Optional.of(persist);
+        return this;
+    }
+
+    @Override
+    public GraphComputer program(final VertexProgram vertexProgram) {
+        this.vertexProgram = vertexProgram;
+        return this;
+    }
+
+    @Override
+    public GraphComputer mapReduce(final MapReduce mapReduce) {
+        mapReducers.add(mapReduce);
+        return this;
+    }
+
+    @Override
+    public GraphComputer workers(final int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    @Override
+    public GraphComputer vertices(final Traversal<Vertex, Vertex> vertexFilter) throws IllegalArgumentException {
+        graphFilter.setVertexFilter(vertexFilter);
+        return this;
+    }
+
+    @Override
+    public GraphComputer edges(final Traversal<Vertex, Edge> edgeFilter) throws IllegalArgumentException {
+        graphFilter.setEdgeFilter(edgeFilter);
+        return this;
+    }
+
+    @Override
+    public Future<ComputerResult> submit() {
+        if (executed) {
+            throw Exceptions.computerHasAlreadyBeenSubmittedAVertexProgram();
+        }
+        executed = true;
+
+        if (null == vertexProgram && mapReducers.isEmpty()) {
+            throw Exceptions.computerHasNoVertexProgramNorMapReducers();
+        }
+        if (null != vertexProgram) {
+            GraphComputerHelper.validateProgramOnComputer(this, vertexProgram);
+            mapReducers.addAll(vertexProgram.getMapReducers());
+        }
+
+        final ResultGraph resultGraphState = GraphComputerHelper.getResultGraphState(Optional.ofNullable(vertexProgram), resultGraph);
+        final Persist persistState = GraphComputerHelper.getPersistState(Optional.ofNullable(vertexProgram), persist);
+        if (!features().supportsResultGraphPersistCombination(resultGraphState, persistState)) {
+            throw Exceptions.resultGraphPersistCombinationNotSupported(resultGraphState, persistState);
+        }
+
+        final SparkContext sparkContext = SparkContext.getOrCreate(createSparkConf());
+        return CompletableFuture.supplyAsync(() -> execute(sparkContext, resultGraphState, persistState));
+    }
+
+    @Override
+    public Features features() {
+        return new GafferPopGraphComputerFeatures();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.graphComputerString(this);
+    }
+
+    private ComputerResult execute(final SparkContext sparkContext, final ResultGraph resultGraphState, final Persist persistState) {
+        final long startTime = System.currentTimeMillis();
+        final GafferPopMemory memory = new GafferPopMemory(vertexProgram, mapReducers);
+
+        JavaPairRDD<Object, StarGraph> vertices = GafferPopSparkExecutor.createStarGraphs(
+                graph.allElements(sparkContext).toJavaRDD(), graphFilter, workers)
+                .persist(StorageLevel.MEMORY_AND_DISK());
+
+        if (null != vertexProgram) {
+            vertices = executeVertexProgram(vertices, memory);
+        }
+
+        for (final MapReduce mapReduce : mapReducers) {
+            memory.set(mapReduce.getMemoryKey(), GafferPopSparkExecutor.executeMapReduce(vertices, mapReduce, storeState(mapReduce::storeState)));
+        }
+
+        final Graph resultGraphObject;
+        if (Persist.NOTHING == persistState) {
+            resultGraphObject = ResultGraph.ORIGINAL == resultGraphState ? graph : EmptyGraph.instance();
+        } else {
+            final List<Vertex> resultVertices = new ArrayList<>();
+            for (final StarGraph starGraph : vertices.values().collect()) {
+                resultVertices.add(starGraph.getStarVertex());
+            }
+            resultGraphObject = new GafferPopComputerResultGraph(resultVertices);
+        }
+        vertices.unpersist();
+
+        memory.setRuntime(System.currentTimeMillis() - startTime);
+        return new DefaultComputerResult(resultGraphObject, memory.asImmutable());
+    }
+
+    private <M> JavaPairRDD<Object, StarGraph> executeVertexProgram(final JavaPairRDD<Object, StarGraph> starGraphs,
+                                                                   final GafferPopMemory memory) {
+        final VertexProgram<M> program = (VertexProgram<M>) vertexProgram;
+        final Map<String, Object> programConfig = storeState(program::storeState);
+        final MessageCombiner<M> messageCombiner = program.getMessageCombiner().orElse(null);
+
+        program.setup(memory);
+        JavaPairRDD<Object, Tuple2<StarGraph, List<M>>> vertices = starGraphs
+                .mapValues(starGraph -> new Tuple2<>(starGraph, Collections.<M>emptyList()));
+        while (true) {
+            final JavaPairRDD<Object, Tuple2<StarGraph, List<M>>> nextVertices =
+                    GafferPopSparkExecutor.executeVertexProgramIteration(vertices, programConfig, memory, messageCombiner);
+            vertices.unpersist();
+            vertices = nextVertices;
+            if (program.terminate(memory)) {
+                break;
+            }
+            memory.incrIteration();
+        }
+        memory.complete();
+        starGraphs.unpersist();
+
+        final Set<String> transientKeys = new HashSet<>();
+        for (final VertexComputeKey key : program.getVertexComputeKeys()) {
+            if (key.isTransient()) {
+                transientKeys.add(key.getKey());
+            }
+        }
+
+        return GafferPopSparkExecutor.removeTransientProperties(vertices.mapValues(Tuple2::_1), transientKeys)
+                .persist(StorageLevel.MEMORY_AND_DISK());
+    }
+
+    SparkConf createSparkConf() {
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster(SPARK_MASTER_DEFAULT)
+                .setAppName(SPARK_APP_NAME_DEFAULT)
+                .set(SPARK_SERIALIZER, SPARK_SERIALIZER_DEFAULT)
+                .set(SPARK_KRYO_REGISTRATOR, SPARK_KRYO_REGISTRATOR_DEFAULT);
+        final Iterator<String> keys = graph.configuration().getKeys(SPARK_PREFIX);
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            sparkConf.set(key, graph.configuration().getString(key));
+        }
+        return sparkConf;
+    }
+
+    private static Map<String, Object> storeState(final Consumer<Configuration> stateStore) {
+        final Configuration configuration = new BaseConfiguration();
+        stateStore.accept(configuration);
+
+        final Map<String, Object> state = new HashMap<>();
+        final Iterator<String> keys = configuration.getKeys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            state.put(key, configuration.getProperty(key));
+        }
+        return state;
+    }
+
+    private static final class GafferPopGraphComputerFeatures implements Features {
+        @Override
+        public boolean supportsResultGraphPersistCombination(final ResultGraph resultGraph, final Persist persist) {
+            return Persist.NOTHING == persist
+                    || (Persist.VERTEX_PROPERTIES == persist && ResultGraph.NEW == resultGraph);
+        }
+
+        @Override
+        public boolean supportsVertexAddition() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsVertexRemoval() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsVertexPropertyRemoval() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsEdgeAddition() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsEdgeRemoval() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsEdgePropertyAddition() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsEdgePropertyRemoval() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>GafferPopMemory</code> is the {@link Memory} of a
+ * {@link GafferPopGraphComputer} job.
+ * <p>
+ * The memory held on the driver can be set during vertex program setup and
+ * terminate. Each partition of vertices is given a worker copy of the memory,
+ * which can be read and added to while the vertices are executed. The values
+ * added by the workers are reduced and merged into the driver memory at the
+ * end of each iteration.
+ * </p>
+ */
+public final class GafferPopMemory implements Memory.Admin, Serializable {
+    private static final long serialVersionUID = -4327810561237651943L;
+
+    private final Map<String, MemoryComputeKey> memoryKeys;
+    private final Map<String, Object> values;
+    private final Map<String, Object> updates;
+    private int iteration;
+    private long runtime;
+
+    public GafferPopMemory(final VertexProgram<?> vertexProgram, final Collection<MapReduce> mapReducers) {
+        this.memoryKeys = new HashMap<>();
+        if (null != vertexProgram) {
+            for (final MemoryComputeKey key : (Set<MemoryComputeKey>) vertexProgram.getMemoryComputeKeys()) {
+                memoryKeys.put(key.getKey(), key);
+            }
+        }
+        for (final MapReduce mapReduce : mapReducers) {
+            memoryKeys.put(mapReduce.getMemoryKey(), MemoryComputeKey.of(mapReduce.getMemoryKey(), Operator.assign, false, false));
+        }
+        this.values = new HashMap<>();
+        this.updates = null;
+    }
+
+    private GafferPopMemory(final GafferPopMemory memory) {
+        this.memoryKeys = memory.memoryKeys;
+        this.values = new HashMap<>(memory.values);
+        this.updates = new HashMap<>();
+        this.iteration = memory.iteration;
+        this.runtime = memory.runtime;
+    }
+
+    /**
+     * @return a copy of this memory for a worker to use while executing a
+     * partition of vertices.
+     */
+    public GafferPopMemory createWorkerMemory() {
+        return new GafferPopMemory(this);
+    }
+
+    /**
+     * @return the values added to this worker memory, reduced by key.
+     */
+    public Map<String, Object> getUpdates() {
+        return null != updates ? updates : Collections.<String, Object>emptyMap();
+    }
+
+    /**
+     * Merges the values added by a worker into this memory.
+     *
+     * @param workerUpdates the values added by a worker
+     */
+    public void addUpdates(final Map<String, Object> workerUpdates) {
+        for (final Map.Entry<String, Object> entry : workerUpdates.entrySet()) {
+            reduce(values, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes the values of any transient memory keys, once the vertex program
+     * has terminated.
+     */
+    public void complete() {
+        for (final MemoryComputeKey key : memoryKeys.values()) {
+            if (key.isTransient()) {
+                values.remove(key.getKey());
+            }
+        }
+    }
+
+    @Override
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    @Override
+    public <R> R get(final String key) throws IllegalArgumentException {
+        if (!values.containsKey(key)) {
+            throw Memory.Exceptions.memoryDoesNotExist(key);
+        }
+        return (R) values.get(key);
+    }
+
+    @Override
+    public void set(final String key, final Object value) {
+        if (isWorker()) {
+            throw Memory.Exceptions.memorySetOnlyDuringVertexProgramSetUpAndTerminate(key);
+        }
+        checkKey(key);
+        values.put(key, value);
+    }
+
+    @Override
+    public void add(final String key, final Object value) {
+        if (!isWorker()) {
+            throw Memory.Exceptions.memoryAddOnlyDuringVertexProgramExecute(key);
+        }
+        checkKey(key);
+        reduce(updates, key, value);
+    }
+
+    @Override
+    public int getIteration() {
+        return iteration;
+    }
+
+    @Override
+    public void setIteration(final int iteration) {
+        this.iteration = iteration;
+    }
+
+    @Override
+    public long getRuntime() {
+        return runtime;
+    }
+
+    @Override
+    public void setRuntime(final long runtime) {
+        this.runtime = runtime;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.memoryString(this);
+    }
+
+    private boolean isWorker() {
+        return null != updates;
+    }
+
+    private void checkKey(final String key) {
+        if (!memoryKeys.containsKey(key)) {
+            throw GraphComputer.Exceptions.providedKeyIsNotAMemoryComputeKey(key);
+        }
+    }
+
+    private void reduce(final Map<String, Object> map, final String key, final Object value) {
+        final Object existing = map.get(key);
+        map.put(key, null == existing ? value : memoryKeys.get(key).getReducer().apply(existing, value));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop.computer;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import scala.Tuple2;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A <code>GafferPopMessenger</code> is the {@link Messenger} given to a vertex
+ * program as it executes a vertex in a {@link GafferPopGraphComputer} job.
+ * It holds the messages sent to the vertex in the previous iteration and
+ * collects the messages the vertex sends, keyed by the ID of the vertex each
+ * message is sent to.
+ *
+ * @param <M> the type of the messages
+ */
+public class GafferPopMessenger<M> implements Messenger<M> {
+    private final Vertex vertex;
+    private final Iterable<M> incomingMessages;
+    private final List<Tuple2<Object, M>> outgoingMessages = new ArrayList<>();
+
+    public GafferPopMessenger(final Vertex vertex, final Iterable<M> incomingMessages) {
+        this.vertex = vertex;
+        this.incomingMessages = incomingMessages;
+    }
+
+    @Override
+    public Iterator<M> receiveMessages() {
+        return incomingMessages.iterator();
+    }
+
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If a message scope is not Local it must be Global")
+    @Override
+    public void sendMessage(final MessageScope messageScope, final M message) {
+        if (messageScope instanceof MessageScope.Local) {
+            final MessageScope.Local<M> localScope = (MessageScope.Local<M>) messageScope;
+            final Traversal.Admin<Vertex, Edge> incidentTraversal = localScope.getIncidentTraversal().get().asAdmin();
+            final Direction direction = getDirection(incidentTraversal);
+            incidentTraversal.addStart(incidentTraversal.getTraverserGenerator()
+                    .generate(vertex, (Step) incidentTraversal.getStartStep(), 1L));
+            while (incidentTraversal.hasNext()) {
+                final Edge edge = incidentTraversal.next();
+                outgoingMessages.add(new Tuple2<>(getAdjacentId(edge, direction),
+                        localScope.getEdgeFunction().apply(message, edge)));
+            }
+        } else {
+            for (final Vertex adjacentVertex : ((MessageScope.Global) messageScope).vertices()) {
+                outgoingMessages.add(new Tuple2<>(adjacentVertex.id(), message));
+            }
+        }
+    }
+
+    /**
+     * @return the messages sent by the vertex, paired with the ID of the
+     * vertex each message is sent to.
+     */
+    public List<Tuple2<Object, M>> getOutgoingMessages() {
+        return outgoingMessages;
+    }
+
+    private Object getAdjacentId(final Edge edge, final Direction direction) {
+        final Object outId = edge.outVertex().id();
+        final Object inId = edge.inVertex().id();
+        switch (direction) {
+            case OUT:
+                return inId;
+            case IN:
+                return outId;
+            default:
+                return Objects.equals(vertex.id(), outId) ? inId : outId;
+        }
+    }
+
+    private static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
+        return TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal)
+                .map(VertexStep::getDirection)
+                .orElse(Direction.BOTH);
+    }
+}
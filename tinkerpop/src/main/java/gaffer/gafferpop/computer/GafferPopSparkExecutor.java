@@ -0,0 +1,334 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop.computer;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.gafferpop.GafferPopGraph;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import scala.Tuple2;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Utility methods for running the stages of a {@link GafferPopGraphComputer}
+ * job over Spark RDDs. The graph is held as an RDD of {@link StarGraph}s,
+ * keyed by vertex ID, each containing a vertex with its properties and its
+ * incident edges.
+ */
+public final class GafferPopSparkExecutor {
+    private GafferPopSparkExecutor() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Groups Gaffer elements into star graphs. Each entity becomes the vertex
+     * of the star graph for its vertex value and each edge is added to the
+     * star graphs of its source and destination. Vertices that only appear in
+     * edges are given the {@link GafferPopGraph#ID_LABEL} label.
+     *
+     * @param elements      the Gaffer elements
+     * @param graphFilter   the filter to apply to the vertices and edges
+     * @param numPartitions the number of partitions, or less than 1 to use the default
+     * @return the star graphs, keyed by vertex ID
+     */
+    public static JavaPairRDD<Object, StarGraph> createStarGraphs(final JavaRDD<Element> elements,
+                                                                  final GraphFilter graphFilter,
+                                                                  final int numPartitions) {
+        final JavaPairRDD<Object, Element> elementsByVertex = elements.flatMapToPair(element -> {
+            final List<Tuple2<Object, Element>> keyedElements = new ArrayList<>(2);
+            if (element instanceof Entity) {
+                keyedElements.add(new Tuple2<>(((Entity) element).getVertex(), element));
+            } else {
+                final Edge edge = (Edge) element;
+                keyedElements.add(new Tuple2<>(edge.getSource(), element));
+                if (!Objects.equals(edge.getSource(), edge.getDestination())) {
+                    keyedElements.add(new Tuple2<>(edge.getDestination(), element));
+                }
+            }
+            return keyedElements.iterator();
+        });
+
+        final JavaPairRDD<Object, StarGraph> starGraphs = (0 < numPartitions
+                ? elementsByVertex.groupByKey(numPartitions)
+                : elementsByVertex.groupByKey())
+                .mapToPair(vertexElements -> new Tuple2<>(vertexElements._1(), createStarGraph(vertexElements._1(), vertexElements._2())));
+
+        if (!graphFilter.hasFilter()) {
+            return starGraphs;
+        }
+
+        return starGraphs.mapValues(starGraph -> starGraph.applyGraphFilter(graphFilter).orElse(null))
+                .filter(starGraph -> null != starGraph._2());
+    }
+
+    /**
+     * Runs a single iteration of a vertex program. Each partition creates the
+     * vertex program from its configuration, executes each of its vertices
+     * and sends the values added to its worker memory back to the driver.
+     *
+     * @param vertices             the star graphs, with the messages sent to each vertex in the previous iteration
+     * @param vertexProgramConfig  the stored state of the vertex program
+     * @param memory               the driver memory, which is updated with the values added by the workers
+     * @param messageCombiner      the combiner for messages sent to the same vertex, or null
+     * @param <M>                  the type of the messages
+     * @return the persisted star graphs, with the messages sent to each vertex in this iteration
+     */
+    public static <M> JavaPairRDD<Object, Tuple2<StarGraph, List<M>>> executeVertexProgramIteration(
+            final JavaPairRDD<Object, Tuple2<StarGraph, List<M>>> vertices,
+            final Map<String, Object> vertexProgramConfig,
+            final GafferPopMemory memory,
+            final MessageCombiner<M> messageCombiner) {
+        final JavaPairRDD<Object, Object> output = vertices.mapPartitionsToPair(partition -> {
+            final VertexProgram<M> vertexProgram = VertexProgram.createVertexProgram(EmptyGraph.instance(), new MapConfiguration(vertexProgramConfig));
+            final GafferPopMemory workerMemory = memory.createWorkerMemory();
+            final List<Tuple2<Object, Object>> results = new ArrayList<>();
+            vertexProgram.workerIterationStart(workerMemory);
+            while (partition.hasNext()) {
+                final Tuple2<Object, Tuple2<StarGraph, List<M>>> vertex = partition.next();
+                final StarGraph.StarVertex starVertex = vertex._2()._1().getStarVertex();
+                final GafferPopMessenger<M> messenger = new GafferPopMessenger<>(starVertex, vertex._2()._2());
+                vertexProgram.execute(starVertex, messenger, workerMemory);
+                results.add(new Tuple2<>(vertex._1(), vertex._2()._1()));
+                for (final Tuple2<Object, M> message : messenger.getOutgoingMessages()) {
+                    results.add(new Tuple2<>(message._1(), new Message(message._2())));
+                }
+            }
+            vertexProgram.workerIterationEnd(workerMemory);
+            results.add(new Tuple2<>(null, new MemoryUpdates(workerMemory.getUpdates())));
+            return results.iterator();
+        }).persist(StorageLevel.MEMORY_AND_DISK());
+
+        for (final Object updates : output.filter(result -> result._2() instanceof MemoryUpdates).values().collect()) {
+            memory.addUpdates(((MemoryUpdates) updates).getUpdates());
+        }
+
+        final JavaPairRDD<Object, M> messages = output.filter(result -> result._2() instanceof Message)
+                .mapToPair(result -> new Tuple2<>(result._1(), ((Message<M>) result._2()).getValue()));
+        final JavaPairRDD<Object, List<M>> messagesByVertex = null != messageCombiner
+                ? messages.reduceByKey(messageCombiner::combine).mapValues(Collections::singletonList)
+                : messages.groupByKey().mapValues(GafferPopSparkExecutor::toList);
+
+        final JavaPairRDD<Object, Tuple2<StarGraph, List<M>>> nextVertices = output.filter(result -> result._2() instanceof StarGraph)
+                .mapToPair(result -> new Tuple2<>(result._1(), (StarGraph) result._2()))
+                .leftOuterJoin(messagesByVertex)
+                .mapValues(vertex -> new Tuple2<>(vertex._1(), vertex._2().orElse(Collections.<M>emptyList())))
+                .persist(StorageLevel.MEMORY_AND_DISK());
+        nextVertices.count();
+        output.unpersist();
+
+        return nextVertices;
+    }
+
+    /**
+     * Removes the values of the transient vertex compute keys from each
+     * vertex, once the vertex program has terminated.
+     *
+     * @param vertices      the star graphs
+     * @param transientKeys the transient vertex compute keys
+     * @return the star graphs without the transient properties
+     */
+    public static JavaPairRDD<Object, StarGraph> removeTransientProperties(final JavaPairRDD<Object, StarGraph> vertices,
+                                                                           final Set<String> transientKeys) {
+        if (transientKeys.isEmpty()) {
+            return vertices;
+        }
+
+        return vertices.mapValues(starGraph -> {
+            final List<VertexProperty<Object>> properties = new ArrayList<>();
+            starGraph.getStarVertex().properties(transientKeys.toArray(new String[transientKeys.size()]))
+                    .forEachRemaining(properties::add);
+            for (final VertexProperty<Object> property : properties) {
+                property.remove();
+            }
+            return starGraph;
+        });
+    }
+
+    /**
+     * Runs the map and reduce stages of a {@link MapReduce} over the vertices
+     * and generates its final result. The combine stage is not run; the
+     * mapped values are grouped by key and passed straight to the reduce
+     * stage.
+     *
+     * @param vertices        the star graphs
+     * @param mapReduce       the map reduce
+     * @param mapReduceConfig the stored state of the map reduce
+     * @return the final result of the map reduce
+     */
+    public static Object executeMapReduce(final JavaPairRDD<Object, StarGraph> vertices,
+                                          final MapReduce mapReduce,
+                                          final Map<String, Object> mapReduceConfig) {
+        JavaPairRDD<Object, Object> keyValues = vertices.values().mapPartitionsToPair(partition -> {
+            final MapReduce workerMapReduce = MapReduce.createMapReduce(EmptyGraph.instance(), new MapConfiguration(mapReduceConfig));
+            final Emitter emitter = new Emitter();
+            workerMapReduce.workerStart(MapReduce.Stage.MAP);
+            while (partition.hasNext()) {
+                workerMapReduce.map(partition.next().getStarVertex(), emitter);
+            }
+            workerMapReduce.workerEnd(MapReduce.Stage.MAP);
+            return emitter.getKeyValues().iterator();
+        });
+
+        Optional<Comparator> keySort = mapReduce.getMapKeySort();
+        if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+            keyValues = keyValues.groupByKey().mapPartitionsToPair(partition -> {
+                final MapReduce workerMapReduce = MapReduce.createMapReduce(EmptyGraph.instance(), new MapConfiguration(mapReduceConfig));
+                final Emitter emitter = new Emitter();
+                workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
+                while (partition.hasNext()) {
+                    final Tuple2<Object, Iterable<Object>> values = partition.next();
+                    workerMapReduce.reduce(values._1(), values._2().iterator(), emitter);
+                }
+                workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
+                return emitter.getKeyValues().iterator();
+            });
+            keySort = mapReduce.getReduceKeySort();
+        }
+
+        final List<KeyValue> result = new ArrayList<>();
+        for (final Tuple2<Object, Object> keyValue : keyValues.collect()) {
+            result.add(new KeyValue<>(keyValue._1(), keyValue._2()));
+        }
+        if (keySort.isPresent()) {
+            final Comparator comparator = keySort.get();
+            result.sort((first, second) -> comparator.compare(first.getKey(), second.getKey()));
+        }
+
+        return mapReduce.generateFinalResult(result.iterator());
+    }
+
+    private static StarGraph createStarGraph(final Object vertexId, final Iterable<Element> elements) {
+        final List<Entity> entities = new ArrayList<>();
+        final List<Edge> edges = new ArrayList<>();
+        for (final Element element : elements) {
+            if (element instanceof Entity) {
+                entities.add((Entity) element);
+            } else {
+                edges.add((Edge) element);
+            }
+        }
+
+        final StarGraph starGraph = StarGraph.open();
+        final String label = entities.isEmpty() ? GafferPopGraph.ID_LABEL : entities.get(0).getGroup();
+        final StarGraph.StarVertex starVertex = (StarGraph.StarVertex) starGraph.addVertex(T.id, vertexId, T.label, label);
+        for (final Entity entity : entities) {
+            for (final Map.Entry<String, Object> property : entity.getProperties().entrySet()) {
+                if (null != property.getValue()) {
+                    starVertex.property(VertexProperty.Cardinality.list, property.getKey(), property.getValue());
+                }
+            }
+        }
+
+        for (final Edge edge : edges) {
+            final Object[] keyValues = getKeyValues(edge);
+            // Vertices added after the star vertex are its adjacent vertices.
+            // An edge added from an adjacent vertex to the star vertex is
+            // stored as an in edge of the star vertex.
+            if (Objects.equals(vertexId, edge.getSource())) {
+                starVertex.addEdge(edge.getGroup(), starGraph.addVertex(T.id, edge.getDestination()), keyValues);
+            }
+            if (Objects.equals(vertexId, edge.getDestination())) {
+                starGraph.addVertex(T.id, edge.getSource()).addEdge(edge.getGroup(), starVertex, keyValues);
+            }
+        }
+
+        return starGraph;
+    }
+
+    private static Object[] getKeyValues(final Edge edge) {
+        final List<Object> keyValues = new ArrayList<>();
+        for (final Map.Entry<String, Object> property : edge.getProperties().entrySet()) {
+            if (null != property.getValue()) {
+                keyValues.add(property.getKey());
+                keyValues.add(property.getValue());
+            }
+        }
+        return keyValues.toArray();
+    }
+
+    private static <T> List<T> toList(final Iterable<T> iterable) {
+        final List<T> list = new ArrayList<>();
+        for (final T item : iterable) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    private static final class Message<M> implements Serializable {
+        private static final long serialVersionUID = 2193557036129645813L;
+        private final M value;
+
+        private Message(final M value) {
+            this.value = value;
+        }
+
+        private M getValue() {
+            return value;
+        }
+    }
+
+    private static final class MemoryUpdates implements Serializable {
+        private static final long serialVersionUID = -8120467306531792376L;
+        private final Map<String, Object> updates;
+
+        private MemoryUpdates(final Map<String, Object> updates) {
+            this.updates = updates;
+        }
+
+        private Map<String, Object> getUpdates() {
+            return updates;
+        }
+    }
+
+    private static final class Emitter implements MapReduce.MapEmitter<Object, Object>, MapReduce.ReduceEmitter<Object, Object> {
+        private final List<Tuple2<Object, Object>> keyValues = new ArrayList<>();
+
+        @Override
+        public void emit(final Object key, final Object value) {
+            keyValues.add(new Tuple2<>(key, value));
+        }
+
+        @Override
+        public void emit(final Object value) {
+            emit(MapReduce.NullObject.instance(), value);
+        }
+
+        private List<Tuple2<Object, Object>> getKeyValues() {
+            return keyValues;
+        }
+    }
+}
@@ -22,10 +22,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import gaffer.commonutil.StreamUtil;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.gafferpop.computer.GafferPopGraphComputer;
 import gaffer.graph.Graph;
 import gaffer.user.User;
 import org.apache.commons.configuration.BaseConfiguration;
@@ -90,22 +92,22 @@ public class GafferPopGraphTest {
     }
 
     @Test
-    public void shouldThrowUnsupportedExceptionForCompute() {
+    public void shouldReturnGafferPopGraphComputer() {
         // Given
         final Graph gafferGraph = getGafferGraph();
         final GafferPopGraph graph = GafferPopGraph.open(TEST_CONFIGURATION, gafferGraph);
 
-        // When / Then
-        try {
-            graph.compute();
-            fail("Exception expected");
-        } catch (final UnsupportedOperationException e) {
-            assertNotNull(e.getMessage());
-        }
+        // When
+        final GraphComputer computer = graph.compute();
+
+        // Then
+        assertTrue(computer instanceof GafferPopGraphComputer);
+        assertTrue(graph.features().graph().supportsComputer());
+        assertTrue(graph.compute(GafferPopGraphComputer.class) instanceof GafferPopGraphComputer);
     }
 
     @Test
-    public void shouldThrowUnsupportedExceptionForComputeWithClass() {
+    public void shouldThrowExceptionForComputeWithUnsupportedClass() {
         // Given
         final Graph gafferGraph = getGafferGraph();
         final GafferPopGraph graph = GafferPopGraph.open(TEST_CONFIGURATION, gafferGraph);
@@ -114,7 +116,7 @@ public class GafferPopGraphTest {
         try {
             graph.compute(GraphComputer.class);
             fail("Exception expected");
-        } catch (final UnsupportedOperationException e) {
+        } catch (final IllegalArgumentException e) {
             assertNotNull(e.getMessage());
         }
     }
@@ -315,6 +317,80 @@ public class GafferPopGraphTest {
         }
     }
 
+    @Test
+    public void shouldBufferAddedEdgesUntilTheTransactionIsCommitted() {
+        // Given
+        final GafferPopGraph graph = GafferPopGraph.open(getBufferedConfiguration(10), getGafferGraph());
+        final GafferPopEdge edgeToAdd1 = new GafferPopEdge(CREATED_EDGE_GROUP, VERTEX_1, VERTEX_2, graph);
+        final GafferPopEdge edgeToAdd2 = new GafferPopEdge(DEPENDS_ON_EDGE_GROUP, VERTEX_2, VERTEX_1, graph);
+        graph.addEdge(edgeToAdd1);
+        graph.addEdge(edgeToAdd2);
+
+        // When
+        final boolean edgesBeforeCommit = graph.edges().hasNext();
+        graph.tx().commit();
+        final List<Edge> edgesAfterCommit = new ArrayList<>();
+        graph.edges().forEachRemaining(edgesAfterCommit::add);
+
+        // Then
+        assertFalse(edgesBeforeCommit);
+        assertTrue(graph.features().graph().supportsTransactions());
+        assertEquals(2, edgesAfterCommit.size());
+        assertThat(edgesAfterCommit, IsCollectionContaining.hasItems(edgeToAdd1, edgeToAdd2));
+    }
+
+    @Test
+    public void shouldFlushBufferedEdgesWhenTheBufferIsFull() {
+        // Given
+        final GafferPopGraph graph = GafferPopGraph.open(getBufferedConfiguration(2), getGafferGraph());
+        graph.addEdge(new GafferPopEdge(CREATED_EDGE_GROUP, VERTEX_1, VERTEX_2, graph));
+        final boolean edgesBeforeFull = graph.edges().hasNext();
+
+        // When
+        graph.addEdge(new GafferPopEdge(DEPENDS_ON_EDGE_GROUP, VERTEX_2, VERTEX_1, graph));
+
+        // Then
+        assertFalse(edgesBeforeFull);
+        assertTrue(graph.edges().hasNext());
+    }
+
+    @Test
+    public void shouldDiscardBufferedEdgesWhenTheTransactionIsRolledBack() throws Exception {
+        // Given
+        final GafferPopGraph graph = GafferPopGraph.open(getBufferedConfiguration(10), getGafferGraph());
+        graph.addEdge(new GafferPopEdge(CREATED_EDGE_GROUP, VERTEX_1, VERTEX_2, graph));
+
+        // When
+        graph.tx().rollback();
+        graph.close();
+
+        // Then
+        assertFalse(graph.edges().hasNext());
+    }
+
+    @Test
+    public void shouldNotSupportTransactionsIfWritesAreNotBuffered() {
+        // Given
+        final GafferPopGraph graph = GafferPopGraph.open(TEST_CONFIGURATION, getGafferGraph());
+
+        // When / Then
+        assertFalse(graph.features().graph().supportsTransactions());
+        try {
+            graph.tx();
+            fail("Exception expected");
+        } catch (final UnsupportedOperationException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    private Configuration getBufferedConfiguration(final int bufferSize) {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(GafferPopGraph.GRAPH, GafferPopGraph.class.getName());
+        configuration.setProperty(GafferPopGraph.USER_ID, USER_ID);
+        configuration.setProperty(GafferPopGraph.WRITE_BUFFER_SIZE, bufferSize);
+        return configuration;
+    }
+
     private Graph getGafferGraph() {
         return new Graph.Builder()
                 .storeProperties(StreamUtil.openStream(this.getClass(), "/gaffer/store.properties", true))
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package gaffer.gafferpop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.commonutil.StreamUtil;
+import gaffer.graph.Graph;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GafferPopVertexStepStrategyTest {
+    private static final String PERSON_GROUP = "person";
+    private static final String SOFTWARE_GROUP = "software";
+    private static final String KNOWS_EDGE_GROUP = "knows";
+    private static final String CREATED_EDGE_GROUP = "created";
+    private static final String NAME_PROPERTY = "name";
+    private static final String AGE_PROPERTY = "age";
+    private static final String WEIGHT_PROPERTY = "weight";
+
+    private static final Configuration TEST_CONFIGURATION = new BaseConfiguration() {{
+        this.setProperty(GafferPopGraph.GRAPH, GafferPopGraph.class.getName());
+        this.setProperty(GafferPopGraph.USER_ID, "user01");
+        this.setProperty(GafferPopGraph.TRAVERSAL_BATCH_SIZE, 2);
+    }};
+
+    private GraphTraversalSource g;
+
+    @Before
+    public void setUp() {
+        final GafferPopGraph graph = GafferPopGraph.open(TEST_CONFIGURATION, getGafferGraph());
+        final Vertex marko = graph.addVertex(T.label, PERSON_GROUP, T.id, "marko", NAME_PROPERTY, "marko", AGE_PROPERTY, 29);
+        final Vertex vadas = graph.addVertex(T.label, PERSON_GROUP, T.id, "vadas", NAME_PROPERTY, "vadas", AGE_PROPERTY, 27);
+        final Vertex josh = graph.addVertex(T.label, PERSON_GROUP, T.id, "josh", NAME_PROPERTY, "josh", AGE_PROPERTY, 32);
+        final Vertex peter = graph.addVertex(T.label, PERSON_GROUP, T.id, "peter", NAME_PROPERTY, "peter", AGE_PROPERTY, 35);
+        final Vertex lop = graph.addVertex(T.label, SOFTWARE_GROUP, T.id, "lop", NAME_PROPERTY, "lop");
+        final Vertex ripple = graph.addVertex(T.label, SOFTWARE_GROUP, T.id, "ripple", NAME_PROPERTY, "ripple");
+        marko.addEdge(KNOWS_EDGE_GROUP, vadas, WEIGHT_PROPERTY, 0.5d);
+        marko.addEdge(KNOWS_EDGE_GROUP, josh, WEIGHT_PROPERTY, 1.0d);
+        marko.addEdge(CREATED_EDGE_GROUP, lop, WEIGHT_PROPERTY, 0.4d);
+        josh.addEdge(CREATED_EDGE_GROUP, ripple, WEIGHT_PROPERTY, 1.0d);
+        josh.addEdge(CREATED_EDGE_GROUP, lop, WEIGHT_PROPERTY, 0.4d);
+        peter.addEdge(CREATED_EDGE_GROUP, lop, WEIGHT_PROPERTY, 0.2d);
+
+        g = graph.traversal();
+    }
+
+    @Test
+    public void shouldReplaceVertexStepsWithGafferPopVertexSteps() {
+        // Given
+        final GraphTraversal<Vertex, Vertex> traversal = g.V("marko").out().out();
+
+        // When
+        traversal.asAdmin().applyStrategies();
+
+        // Then
+        int gafferPopVertexSteps = 0;
+        for (final Step<?, ?> step : traversal.asAdmin().getSteps()) {
+            assertFalse(step instanceof VertexStep);
+            if (step instanceof GafferPopVertexStep) {
+                gafferPopVertexSteps++;
+            }
+        }
+        assertEquals(2, gafferPopVertexSteps);
+    }
+
+    @Test
+    public void shouldGetAdjacentVerticesForAWholeFrontier() {
+        // When
+        final List<Vertex> vertices = g.V("marko", "josh", "peter").hasLabel(PERSON_GROUP)
+                .out(CREATED_EDGE_GROUP, SOFTWARE_GROUP).toList();
+
+        // Then - lop is returned once for each person that created it
+        assertEquals(4, vertices.size());
+        assertEquals(new HashSet<>(Arrays.asList("lop", "ripple")), getIds(vertices));
+    }
+
+    @Test
+    public void shouldTraverseMultipleHopsInBatches() {
+        // When
+        final List<Vertex> vertices = g.V("marko").hasLabel(PERSON_GROUP)
+                .out(KNOWS_EDGE_GROUP, PERSON_GROUP)
+                .out(CREATED_EDGE_GROUP, SOFTWARE_GROUP).toList();
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList("lop", "ripple")), getIds(vertices));
+        assertEquals(2, vertices.size());
+    }
+
+    @Test
+    public void shouldGetIncomingVertices() {
+        // When
+        final List<Vertex> vertices = g.V("lop").hasLabel(SOFTWARE_GROUP).in(CREATED_EDGE_GROUP, PERSON_GROUP).toList();
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList("marko", "josh", "peter")), getIds(vertices));
+    }
+
+    @Test
+    public void shouldGetEdgesForAWholeFrontier() {
+        // When
+        final List<Edge> edges = g.V("marko", "josh").hasLabel(PERSON_GROUP).outE(CREATED_EDGE_GROUP).toList();
+
+        // Then
+        assertEquals(3, edges.size());
+        for (final Edge edge : edges) {
+            assertEquals(CREATED_EDGE_GROUP, edge.label());
+        }
+    }
+
+    @Test
+    public void shouldFoldHasStepsIntoTheView() {
+        // Given
+        final GraphTraversal<Vertex, Vertex> traversal = g.V("marko").hasLabel(PERSON_GROUP).out().has(AGE_PROPERTY, P.gt(28));
+
+        // When
+        final List<Vertex> vertices = traversal.toList();
+
+        // Then
+        assertFalse(hasStepAfterVertexStep(traversal));
+        assertEquals(1, vertices.size());
+        assertEquals("josh", vertices.get(0).id());
+    }
+
+    @Test
+    public void shouldFoldLabelAndPropertyHasStepsOnEdges() {
+        // When
+        final List<Edge> edges = g.V("marko", "josh").hasLabel(PERSON_GROUP).outE()
+                .hasLabel(CREATED_EDGE_GROUP)
+                .has(WEIGHT_PROPERTY, P.gte(0.4d))
+                .toList();
+
+        // Then
+        assertEquals(3, edges.size());
+        for (final Edge edge : edges) {
+            assertEquals(CREATED_EDGE_GROUP, edge.label());
+        }
+    }
+
+    @Test
+    public void shouldNotFoldHasStepsWithValuesOfTheWrongType() {
+        // Given
+        final GraphTraversal<Vertex, Vertex> traversal = g.V("marko").hasLabel(PERSON_GROUP).out().has(AGE_PROPERTY, "32");
+
+        // When
+        final List<Vertex> vertices = traversal.toList();
+
+        // Then
+        assertTrue(hasStepAfterVertexStep(traversal));
+        assertTrue(vertices.isEmpty());
+    }
+
+    @Test
+    public void shouldReturnTheSameResultsAsTheUnoptimisedTraversal() {
+        // Given
+        final GraphTraversalSource unoptimised = g.withoutStrategies(GafferPopVertexStepStrategy.class);
+
+        // When
+        final List<Vertex> vertices = g.V("marko", "josh").out(KNOWS_EDGE_GROUP, CREATED_EDGE_GROUP, PERSON_GROUP, SOFTWARE_GROUP).toList();
+        final List<Vertex> expectedVertices = unoptimised.V("marko", "josh").out(KNOWS_EDGE_GROUP, CREATED_EDGE_GROUP, PERSON_GROUP, SOFTWARE_GROUP).toList();
+        final List<Edge> edges = g.V("marko", "josh").outE(CREATED_EDGE_GROUP).toList();
+        final List<Edge> expectedEdges = unoptimised.V("marko", "josh").outE(CREATED_EDGE_GROUP).toList();
+
+        // Then
+        assertEquals(sort(expectedVertices), sort(vertices));
+        assertEquals(sort(expectedEdges), sort(edges));
+    }
+
+    private boolean hasStepAfterVertexStep(final GraphTraversal<?, ?> traversal) {
+        boolean afterVertexStep = false;
+        for (final Step<?, ?> step : traversal.asAdmin().getSteps()) {
+            if (afterVertexStep && step instanceof HasStep) {
+                return true;
+            }
+            afterVertexStep = afterVertexStep || step instanceof GafferPopVertexStep;
+        }
+        return false;
+    }
+
+    private Set<Object> getIds(final List<Vertex> vertices) {
+        final Set<Object> ids = new HashSet<>();
+        for (final Vertex vertex : vertices) {
+            ids.add(vertex.id());
+        }
+        return ids;
+    }
+
+    private List<String> sort(final List<?> elements) {
+        final List<String> sorted = new ArrayList<>();
+        for (final Object element : elements) {
+            sorted.add(element.toString());
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private Graph getGafferGraph() {
+        return new Graph.Builder()
+                .storeProperties(StreamUtil.openStream(this.getClass(), "/gaffer/store.properties", true))
+                .addSchemas(StreamUtil.openStreams(this.getClass(), "/gaffer/schema", true))
+                .build();
+    }
+}
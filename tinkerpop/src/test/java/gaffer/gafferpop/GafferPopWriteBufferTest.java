@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.gafferpop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.junit.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class GafferPopWriteBufferTest {
+    @Test
+    public void shouldRethrowFailureOfPeriodicFlushFromNextFlush() throws InterruptedException {
+        // Given
+        final GafferPopGraph graph = mock(GafferPopGraph.class);
+        final RuntimeException addFailure = new RuntimeException("Add failed");
+        doThrow(addFailure).when(graph).addElements(anyListOf(Element.class));
+        final GafferPopWriteBuffer buffer = new GafferPopWriteBuffer(graph, 10, 1);
+        buffer.add(new Entity(TestGroups.ENTITY, "vertex"));
+
+        // When
+        RuntimeException flushFailure = null;
+        for (int i = 0; i < 500 && null == flushFailure; i++) {
+            Thread.sleep(10);
+            try {
+                buffer.flush();
+            } catch (final RuntimeException e) {
+                flushFailure = e;
+            }
+        }
+
+        // Then
+        assertNotNull(flushFailure);
+        assertSame(addFailure, flushFailure.getCause());
+        assertEquals(0, buffer.size());
+        buffer.flush();
+    }
+
+    @Test
+    public void shouldWaitForBatchesBeingWrittenByOtherThreadsWhenFlushing() throws InterruptedException {
+        // Given
+        final GafferPopGraph graph = mock(GafferPopGraph.class);
+        final CountDownLatch writeStarted = new CountDownLatch(1);
+        final CountDownLatch finishWrite = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            finishWrite.await();
+            return null;
+        }).when(graph).addElements(anyListOf(Element.class));
+        final GafferPopWriteBuffer buffer = new GafferPopWriteBuffer(graph, 1, 0);
+        final Thread writer = new Thread(() -> buffer.add(new Entity(TestGroups.ENTITY, "vertex")));
+        final Thread flusher = new Thread(buffer::flush);
+
+        // When
+        writer.start();
+        writeStarted.await(5, TimeUnit.SECONDS);
+        flusher.start();
+        flusher.join(200);
+
+        // Then
+        assertFalse(flusher.getState() == Thread.State.TERMINATED);
+
+        // When
+        finishWrite.countDown();
+        writer.join(5000);
+        flusher.join(5000);
+
+        // Then
+        assertEquals(Thread.State.TERMINATED, flusher.getState());
+    }
+}
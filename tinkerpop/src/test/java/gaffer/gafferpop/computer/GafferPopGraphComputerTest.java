@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package gaffer.gafferpop.computer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.commonutil.StreamUtil;
+import gaffer.gafferpop.GafferPopGraph;
+import gaffer.graph.Graph;
+import gaffer.serialisation.kryo.Registrator;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.JavaSerializer;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+public class GafferPopGraphComputerTest {
+    private static final String PERSON_GROUP = "person";
+    private static final String SOFTWARE_GROUP = "software";
+    private static final String KNOWS_EDGE_GROUP = "knows";
+    private static final String CREATED_EDGE_GROUP = "created";
+    private static final String NAME_PROPERTY = "name";
+    private static final String WEIGHT_PROPERTY = "weight";
+
+    private static final Configuration TEST_CONFIGURATION = new BaseConfiguration() {{
+        this.setProperty(GafferPopGraph.GRAPH, GafferPopGraph.class.getName());
+        this.setProperty(GafferPopGraph.USER_ID, "user01");
+        this.setProperty(GafferPopGraphComputer.SPARK_MASTER, "local");
+        this.setProperty(GafferPopGraphComputer.SPARK_APP_NAME, "GafferPopGraphComputerTest");
+    }};
+
+    private GafferPopGraph graph;
+
+    @Before
+    public void setUp() {
+        graph = GafferPopGraph.open(TEST_CONFIGURATION, getGafferGraph());
+        final Vertex marko = graph.addVertex(T.label, PERSON_GROUP, T.id, "marko", NAME_PROPERTY, "marko");
+        final Vertex vadas = graph.addVertex(T.label, PERSON_GROUP, T.id, "vadas", NAME_PROPERTY, "vadas");
+        final Vertex josh = graph.addVertex(T.label, PERSON_GROUP, T.id, "josh", NAME_PROPERTY, "josh");
+        final Vertex lop = graph.addVertex(T.label, SOFTWARE_GROUP, T.id, "lop", NAME_PROPERTY, "lop");
+        final Vertex ripple = graph.addVertex(T.label, SOFTWARE_GROUP, T.id, "ripple", NAME_PROPERTY, "ripple");
+        marko.addEdge(KNOWS_EDGE_GROUP, vadas, WEIGHT_PROPERTY, 0.5d);
+        marko.addEdge(KNOWS_EDGE_GROUP, josh, WEIGHT_PROPERTY, 1.0d);
+        marko.addEdge(CREATED_EDGE_GROUP, lop, WEIGHT_PROPERTY, 0.4d);
+        josh.addEdge(CREATED_EDGE_GROUP, ripple, WEIGHT_PROPERTY, 1.0d);
+        josh.addEdge(CREATED_EDGE_GROUP, lop, WEIGHT_PROPERTY, 0.4d);
+    }
+
+    @Test
+    public void shouldRunPageRankOverAllVertices() throws Exception {
+        // When
+        final ComputerResult result = graph.compute()
+                .program(PageRankVertexProgram.build().iterations(5).create(graph))
+                .submit()
+                .get();
+
+        // Then
+        int vertexCount = 0;
+        double markoRank = 0;
+        double lopRank = 0;
+        final Iterator<Vertex> vertices = result.graph().vertices();
+        while (vertices.hasNext()) {
+            final Vertex vertex = vertices.next();
+            final double rank = vertex.<Double>value(PageRankVertexProgram.PAGE_RANK);
+            if ("marko".equals(vertex.id())) {
+                markoRank = rank;
+            } else if ("lop".equals(vertex.id())) {
+                lopRank = rank;
+            }
+            vertexCount++;
+        }
+        assertEquals(5, vertexCount);
+        assertTrue(lopRank > markoRank);
+    }
+
+    @Test
+    public void shouldRunMapReduceOverAllVertices() throws Exception {
+        // When
+        final ComputerResult result = graph.compute()
+                .mapReduce(new VertexCountMapReduce())
+                .submit()
+                .get();
+
+        // Then
+        assertEquals(5L, (long) result.memory().get(VertexCountMapReduce.MEMORY_KEY));
+        assertSame(graph, result.graph());
+    }
+
+    @Test
+    public void shouldOnlyComputeVerticesMatchingTheVertexFilter() throws Exception {
+        // When
+        final ComputerResult result = graph.compute()
+                .vertices(__.hasLabel(PERSON_GROUP))
+                .mapReduce(new VertexCountMapReduce())
+                .submit()
+                .get();
+
+        // Then
+        assertEquals(3L, (long) result.memory().get(VertexCountMapReduce.MEMORY_KEY));
+    }
+
+    @Test
+    public void shouldSerialiseWithKryoByDefault() {
+        // When
+        final SparkConf sparkConf = new GafferPopGraphComputer(graph).createSparkConf();
+
+        // Then
+        assertEquals(KryoSerializer.class.getName(), sparkConf.get(GafferPopGraphComputer.SPARK_SERIALIZER));
+        assertEquals(Registrator.class.getName(), sparkConf.get(GafferPopGraphComputer.SPARK_KRYO_REGISTRATOR));
+        assertEquals("local", sparkConf.get(GafferPopGraphComputer.SPARK_MASTER));
+    }
+
+    @Test
+    public void shouldOverrideDefaultSparkConfigurationWithGraphConfiguration() {
+        // Given
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.copy(TEST_CONFIGURATION);
+        configuration.setProperty(GafferPopGraphComputer.SPARK_SERIALIZER, JavaSerializer.class.getName());
+        final GafferPopGraph javaSerialisedGraph = GafferPopGraph.open(configuration, getGafferGraph());
+
+        // When
+        final SparkConf sparkConf = new GafferPopGraphComputer(javaSerialisedGraph).createSparkConf();
+
+        // Then
+        assertEquals(JavaSerializer.class.getName(), sparkConf.get(GafferPopGraphComputer.SPARK_SERIALIZER));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotPersistVertexPropertiesToTheOriginalGraph() {
+        graph.compute()
+                .program(PageRankVertexProgram.build().create(graph))
+                .result(GraphComputer.ResultGraph.ORIGINAL)
+                .persist(GraphComputer.Persist.VERTEX_PROPERTIES)
+                .submit();
+    }
+
+    private Graph getGafferGraph() {
+        return new Graph.Builder()
+                .storeProperties(StreamUtil.openStream(this.getClass(), "/gaffer/store.properties", true))
+                .addSchemas(StreamUtil.openStreams(this.getClass(), "/gaffer/schema", true))
+                .build();
+    }
+
+    public static class VertexCountMapReduce implements MapReduce<MapReduce.NullObject, Long, MapReduce.NullObject, Long, Long> {
+        public static final String MEMORY_KEY = "vertexCount";
+
+        @Override
+        public boolean doStage(final Stage stage) {
+            return Stage.COMBINE != stage;
+        }
+
+        @Override
+        public void map(final Vertex vertex, final MapEmitter<NullObject, Long> emitter) {
+            emitter.emit(1L);
+        }
+
+        @Override
+        public void reduce(final NullObject key, final Iterator<Long> values, final ReduceEmitter<NullObject, Long> emitter) {
+            long count = 0;
+            while (values.hasNext()) {
+                count += values.next();
+            }
+            emitter.emit(key, count);
+        }
+
+        @Override
+        public Long generateFinalResult(final Iterator<KeyValue<NullObject, Long>> keyValues) {
+            return keyValues.hasNext() ? keyValues.next().getValue() : 0L;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return MEMORY_KEY;
+        }
+
+        @Override
+        public VertexCountMapReduce clone() {
+            return this;
+        }
+    }
+}